@@ -17,6 +17,7 @@
 package com.speedment.connector.h2.internal;
 
 import com.speedment.runtime.core.internal.db.AbstractDbmsOperationHandler;
+import java.sql.Connection;
 
 /**
  *
@@ -25,5 +26,9 @@ import com.speedment.runtime.core.internal.db.AbstractDbmsOperationHandler;
  */
 public final class H2DbmsOperationHandler extends AbstractDbmsOperationHandler {
 
+    @Override
+    protected boolean isBatchedGeneratedKeysSupported(Connection conn) {
+        return false; // H2 only returns the key of the last row in a batch
+    }
 
 }
@@ -26,9 +26,12 @@ import com.speedment.runtime.core.internal.db.AbstractDatabaseNamingConvention;
 import com.speedment.runtime.core.internal.db.AbstractDbmsType;
 import com.speedment.runtime.core.internal.manager.sql.MySqlSpeedmentPredicateView;
 import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.function.Predicate;
 import static java.util.stream.Collectors.collectingAndThen;
+import static java.util.stream.Collectors.joining;
 import static java.util.stream.Collectors.toSet;
 import java.util.stream.Stream;
 
@@ -119,6 +122,19 @@ public final class H2DbmsType extends AbstractDbmsType {
         return "select version() as `MySQL version`";
     }
 
+    @Override
+    public Optional<String> renderMerge(
+            String tableReference, 
+            List<String> columns, 
+            List<String> primaryKeyColumns) {
+        
+        return Optional.of("MERGE INTO " + tableReference + " (" +
+            String.join(",", columns) + ") KEY (" + 
+            String.join(",", primaryKeyColumns) + ") VALUES (" +
+            columns.stream().map(c -> "?").collect(joining(",")) + ")"
+        );
+    }
+
     @Override
     public DbmsColumnHandler getColumnHandler() {
         return new DbmsColumnHandler() {
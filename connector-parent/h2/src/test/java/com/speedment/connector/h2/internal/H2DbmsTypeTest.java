@@ -0,0 +1,70 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.connector.h2.internal;
+
+import com.speedment.runtime.core.db.DbmsType;
+import org.junit.Test;
+
+import java.lang.reflect.Constructor;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class H2DbmsTypeTest {
+
+    private final DbmsType instance = newInstance();
+
+    @Test
+    public void testRenderMerge() {
+        assertEquals(
+            "MERGE INTO `schema`.`point` (`id`,`x`,`y`) KEY (`id`) VALUES (?,?,?)",
+            instance.renderMerge(
+                "`schema`.`point`",
+                asList("`id`", "`x`", "`y`"),
+                asList("`id`")
+            ).get()
+        );
+    }
+
+    @Test
+    public void testRenderMergeOnlyPrimaryKeyColumns() {
+        assertEquals(
+            "MERGE INTO `schema`.`tag` (`a`,`b`) KEY (`a`,`b`) VALUES (?,?)",
+            instance.renderMerge(
+                "`schema`.`tag`",
+                asList("`a`", "`b`"),
+                asList("`a`", "`b`")
+            ).get()
+        );
+    }
+
+    @Test
+    public void testNoGeneratedKeysForEveryRow() {
+        assertFalse(instance.hasGeneratedKeysForEveryRow());
+    }
+
+    private static DbmsType newInstance() {
+        try {
+            final Constructor<H2DbmsType> constructor = H2DbmsType.class.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            return constructor.newInstance();
+        } catch (ReflectiveOperationException ex) {
+            throw new AssertionError(ex);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.generator;
+
+import com.speedment.common.codegen.model.Class;
+import com.speedment.common.codegen.model.Interface;
+import com.speedment.generator.standard.StandardTranslatorKey;
+import com.speedment.generator.translator.component.CodeGenerationComponent;
+import com.speedment.generator.translator.namer.JavaLanguageNamer;
+import com.speedment.runtime.config.Column;
+import com.speedment.runtime.config.Table;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.*;
+
+public class DirtyTrackedTranslatorTest extends SimpleModel {
+
+    private JavaLanguageNamer namer;
+
+    @Before
+    public void setUp() {
+        namer = speedment.getOrThrow(JavaLanguageNamer.class);
+
+        table.mutator().setTrackingDirtyFields(true);
+        column.mutator().setOrdinalPosition(3);
+        addColumn("last_name", 1, true);
+        addColumn("password", 2, false);
+        addColumn("age", 4, true);
+    }
+
+    @Test
+    public void testSetterBitIndexIsFieldIndex() {
+        final String manager = speedment.getOrThrow(CodeGenerationComponent.class)
+            .<Table, Interface>findTranslator(table, StandardTranslatorKey.GENERATED_MANAGER)
+            .toCode();
+        final String entityImpl = speedment.getOrThrow(CodeGenerationComponent.class)
+            .<Table, Class>findTranslator(table, StandardTranslatorKey.GENERATED_ENTITY_IMPL)
+            .toCode();
+        
+        assertTrue(entityImpl.contains("implements User, DirtyTracked"));
+        assertTrue(entityImpl.contains("this.dirtyFields |= fields;"));
+
+        final List<String> fields = fieldsOf(manager);
+        assertEquals(
+            Stream.of("last_name", "first_name", "age")
+                .map(namer::javaStaticFieldName)
+                .collect(toList()),
+            fields
+        );
+
+        for (int i = 0; i < fields.size(); i++) {
+            final String setter = setterBody(entityImpl, fields.get(i));
+            assertTrue(setter, setter.contains("this.dirtyFields |= 1L << " + i + ";"));
+        }
+    }
+
+    private void addColumn(String name, int ordinalPosition, boolean enabled) {
+        final Column added = table.mutator().addNewColumn();
+        added.mutator().setName(name);
+        added.mutator().setOrdinalPosition(ordinalPosition);
+        added.mutator().setEnabled(enabled);
+        added.mutator().setDatabaseType(String.class);
+    }
+
+    /**
+     * Returns the names of the fields in the generated {@code FIELDS} list,
+     * in the order of {@code Manager.fields()}.
+     */
+    private static List<String> fieldsOf(String manager) {
+        final int start = manager.indexOf("FIELDS = unmodifiableList(asList(");
+        assertTrue(manager, start >= 0);
+        final String list = manager.substring(start, manager.indexOf("))", start));
+        
+        final List<String> fields = new ArrayList<>();
+        final Matcher matcher = Pattern.compile("User\\.(\\w+)").matcher(list);
+        while (matcher.find()) {
+            fields.add(matcher.group(1));
+        }
+        return fields;
+    }
+
+    private String setterBody(String entityImpl, String staticFieldName) {
+        final String name = Stream.of("last_name", "first_name", "age")
+            .filter(n -> namer.javaStaticFieldName(n).equals(staticFieldName))
+            .findAny().get();
+        
+        final String signature = "public User set" + namer.javaTypeName(name) + "(";
+        final int start = entityImpl.indexOf(signature);
+        assertTrue(entityImpl, start >= 0);
+        return entityImpl.substring(start, entityImpl.indexOf("}", start));
+    }
+}
@@ -0,0 +1,101 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.generator;
+
+import com.speedment.common.codegen.model.Class;
+import com.speedment.generator.standard.StandardTranslatorKey;
+import com.speedment.generator.translator.component.CodeGenerationComponent;
+import com.speedment.runtime.config.Column;
+import com.speedment.runtime.config.Table;
+import com.speedment.runtime.typemapper.primitive.PrimitiveTypeMapper;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.*;
+
+public class SqlAdapterBinderTranslatorTest extends SimpleModel {
+
+    @Before
+    public void setUp() {
+        column.mutator().setNullable(false);
+        addColumn("age", Integer.class, PrimitiveTypeMapper.class, false, true);
+        addColumn("score", Double.class, PrimitiveTypeMapper.class, false, true);
+        addColumn("created", Timestamp.class, null, false, true);
+        addColumn("nickname", String.class, null, true, true);
+        addColumn("password", String.class, null, false, false);
+    }
+
+    @Test
+    public void testBinderForEveryEnabledColumn() {
+        final String adapter = speedment.getOrThrow(CodeGenerationComponent.class)
+            .<Table, Class>findTranslator(table, StandardTranslatorKey.GENERATED_SQL_ADAPTER)
+            .toCode();
+
+        assertTrue(adapter, adapter.contains("persistenceComponent.install(tableIdentifier, this::binderFor);"));
+        assertEquals(asList(
+            "case \"first_name\" : return (ps, i, entity) -> ps.setString(i, entity.getFirstName());",
+            "case \"age\" : return (ps, i, entity) -> ps.setInt(i, entity.getAge());",
+            "case \"score\" : return (ps, i, entity) -> ps.setDouble(i, entity.getScore());",
+            "case \"created\" : return (ps, i, entity) -> ps.setTimestamp(i, entity.getCreated());",
+            "default : return null;"
+        ), casesOf(adapter));
+    }
+
+    private void addColumn(
+            String name,
+            java.lang.Class<?> databaseType,
+            java.lang.Class<?> typeMapper,
+            boolean nullable,
+            boolean enabled) {
+
+        final Column added = table.mutator().addNewColumn();
+        added.mutator().setName(name);
+        added.mutator().setDatabaseType(databaseType);
+        if (typeMapper != null) {
+            added.mutator().setTypeMapper(typeMapper);
+        }
+        added.mutator().setNullable(nullable);
+        added.mutator().setEnabled(enabled);
+    }
+
+    /**
+     * Returns the trimmed lines of the switch in the generated
+     * {@code binderFor} method.
+     */
+    private static List<String> casesOf(String adapter) {
+        final int start = adapter.indexOf("binderFor(ColumnIdentifier<User> column)");
+        assertTrue(adapter, start >= 0);
+        final String body = adapter.substring(
+            adapter.indexOf("switch (column.getColumnName()) {", start),
+            adapter.indexOf("default : return null;", start) + "default : return null;".length()
+        );
+
+        final List<String> cases = new ArrayList<>();
+        final Matcher matcher = Pattern.compile("(?m)^\\s*((case|default) .*)$").matcher(body);
+        while (matcher.find()) {
+            cases.add(matcher.group(1).trim());
+        }
+        return cases;
+    }
+}
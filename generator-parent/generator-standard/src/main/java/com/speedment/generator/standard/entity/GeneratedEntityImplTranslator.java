@@ -30,7 +30,9 @@ import static com.speedment.common.codegen.util.Formatting.block;
 import com.speedment.common.injector.Injector;
 import com.speedment.common.injector.annotation.Inject;
 import static com.speedment.generator.standard.entity.GeneratedEntityTranslator.getterReturnType;
+import static com.speedment.generator.standard.internal.util.ColumnUtil.dirtyFieldIndex;
 import static com.speedment.generator.standard.internal.util.ColumnUtil.optionalGetterName;
+import static com.speedment.generator.standard.internal.util.ColumnUtil.tracksDirtyFields;
 import static com.speedment.generator.standard.internal.util.ColumnUtil.usesOptional;
 import com.speedment.generator.standard.internal.util.EntityTranslatorSupport;
 import com.speedment.generator.standard.internal.util.FkHolder;
@@ -38,6 +40,7 @@ import com.speedment.generator.translator.AbstractEntityAndManagerTranslator;
 import com.speedment.generator.translator.TranslatorSupport;
 import com.speedment.generator.translator.component.TypeMapperComponent;
 import com.speedment.runtime.config.Table;
+import com.speedment.runtime.core.manager.DirtyTracked;
 import com.speedment.runtime.core.manager.Manager;
 import com.speedment.runtime.core.util.OptionalUtil;
 import java.lang.reflect.Type;
@@ -69,12 +72,28 @@ public final class GeneratedEntityImplTranslator extends AbstractEntityAndManage
             /**
              * Class details
              */
-            .forEveryTable((clazz, table) -> 
+            .forEveryTable((clazz, table) -> {
                 clazz.public_()
                     .abstract_()
                     .add(getSupport().entityType())
-                    .add(Constructor.of().protected_())
-            )
+                    .add(Constructor.of().protected_());
+                
+                if (tracksDirtyFields(table)) {
+                    file.add(Import.of(DirtyTracked.class));
+                    clazz.add(DirtyTracked.class)
+                        .add(Field.of("dirtyFields", long.class).private_())
+                        .add(Method.of("dirtyFields", long.class)
+                            .public_().add(OVERRIDE)
+                            .add("return dirtyFields;"))
+                        .add(Method.of("clearDirtyFields", void.class)
+                            .public_().add(OVERRIDE)
+                            .add("this.dirtyFields = 0;"))
+                        .add(Method.of("markDirtyFields", void.class)
+                            .public_().add(OVERRIDE)
+                            .add(Field.of("fields", long.class))
+                            .add("this.dirtyFields |= fields;"));
+                }
+            })
             
             /**
              * Getters
@@ -103,15 +122,20 @@ public final class GeneratedEntityImplTranslator extends AbstractEntityAndManage
             /**
              * Setters
              */
-            .forEveryColumn((clazz, col) -> 
-                clazz
-                    .add(Method.of(SETTER_METHOD_PREFIX + getSupport().typeName(col), getSupport().entityType())
-                        .public_()
-                        .add(OVERRIDE)
-                        .add(fieldFor(col))
-                        .add("this." + getSupport().variableName(col) + " = " + getSupport().variableName(col) + ";")
-                        .add("return this;"))
-            )
+            .forEveryColumn((clazz, col) -> {
+                final Method setter = Method.of(SETTER_METHOD_PREFIX + getSupport().typeName(col), getSupport().entityType())
+                    .public_()
+                    .add(OVERRIDE)
+                    .add(fieldFor(col))
+                    .add("this." + getSupport().variableName(col) + " = " + getSupport().variableName(col) + ";");
+                
+                final Table table = getSupport().tableOrThrow();
+                if (tracksDirtyFields(table)) {
+                    setter.add("this.dirtyFields |= 1L << " + dirtyFieldIndex(table, col) + ";");
+                }
+                
+                clazz.add(setter.add("return this;"));
+            })
             
             /**
              * Finders
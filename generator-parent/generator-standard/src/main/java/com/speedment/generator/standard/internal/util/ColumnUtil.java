@@ -18,10 +18,16 @@ package com.speedment.generator.standard.internal.util;
 
 import com.speedment.generator.translator.component.TypeMapperComponent;
 import com.speedment.runtime.config.Column;
+import com.speedment.runtime.config.Table;
+import com.speedment.runtime.config.trait.HasEnabled;
 import com.speedment.runtime.config.trait.HasNullable;
+import com.speedment.runtime.core.manager.DirtyTracked;
 import java.lang.reflect.Type;
 import java.util.Optional;
 
+import static java.util.Comparator.comparing;
+import static java.util.stream.Collectors.toList;
+
 /**
  *
  * @author Emil Forslund
@@ -55,6 +61,36 @@ public final class ColumnUtil {
         return Optional.of(getterName);
     }
     
+    /**
+     * Returns if the entities generated for the specified table should
+     * implement {@link DirtyTracked}.
+     * 
+     * @param table  the table
+     * @return       if modified fields should be tracked
+     */
+    public static boolean tracksDirtyFields(Table table) {
+        return table.isTrackingDirtyFields()
+            && table.columns().filter(HasEnabled::isEnabled).count() <= DirtyTracked.MAX_FIELDS;
+    }
+    
+    /**
+     * Returns the bit that represents the specified column in 
+     * {@link DirtyTracked#dirtyFields()}, which is the position of the column
+     * in the generated {@code Manager.fields()}.
+     * 
+     * @param table   the table
+     * @param column  the column
+     * @return        the bit index
+     */
+    public static int dirtyFieldIndex(Table table, Column column) {
+        return table.columns()
+            .sorted(comparing(Column::getOrdinalPosition))
+            .filter(HasEnabled::isEnabled)
+            .map(Column::getId)
+            .collect(toList())
+            .indexOf(column.getId());
+    }
+    
     /**
      * Utility classes should not be instantiated.
      */
@@ -100,11 +100,28 @@ public final class GenerateMethodBodyUtil {
             TranslatorSupport<Table> support,
             File file,
             Supplier<Stream<? extends Column>> columnsSupplier) {
+        
+        return generateApplyResultSetBody(
+            readFromResultSet, support, file, columnsSupplier, false
+        );
+    }
+
+    public static String[] generateApplyResultSetBody(
+            ReadFromResultSet readFromResultSet,
+            TranslatorSupport<Table> support,
+            File file,
+            Supplier<Stream<? extends Column>> columnsSupplier,
+            boolean clearDirtyFields) {
 
         file.add(Import.of(SQLException.class));
         
         final List<String> rows = new LinkedList<>();
-        rows.add("final " + support.entityName() + " entity = createEntity();");
+        if (clearDirtyFields) {
+            // The implementation type is needed to reach clearDirtyFields()
+            rows.add("final " + support.entityImplName() + " entity = createEntity();");
+        } else {
+            rows.add("final " + support.entityName() + " entity = createEntity();");
+        }
 
         final Stream.Builder<String> streamBuilder = Stream.builder();
 
@@ -123,6 +140,9 @@ public final class GenerateMethodBodyUtil {
             " catch (final " + SQLException.class.getSimpleName() + " sqle) " + block(
             "throw new " + SpeedmentException.class.getSimpleName() + "(sqle);"
         ));
+        if (clearDirtyFields) {
+            rows.add("entity.clearDirtyFields();");
+        }
         rows.add("return entity;");
 
         return rows.toArray(new String[rows.size()]);
@@ -32,12 +32,14 @@ import com.speedment.runtime.config.Column;
 import com.speedment.runtime.config.Dbms;
 import com.speedment.runtime.config.Project;
 import com.speedment.runtime.config.Table;
+import com.speedment.runtime.config.identifier.ColumnIdentifier;
 import com.speedment.runtime.config.identifier.TableIdentifier;
 import com.speedment.runtime.config.trait.HasEnabled;
 import com.speedment.runtime.core.component.DbmsHandlerComponent;
 import com.speedment.runtime.core.component.ProjectComponent;
 import com.speedment.runtime.core.component.resultset.ResultSetMapperComponent;
 import com.speedment.runtime.core.component.resultset.ResultSetMapping;
+import com.speedment.runtime.core.component.sql.SqlParameterBinder;
 import com.speedment.runtime.core.component.sql.SqlPersistenceComponent;
 import com.speedment.runtime.core.component.sql.SqlStreamSupplierComponent;
 import com.speedment.runtime.core.component.sql.SqlTypeMapperHelper;
@@ -50,6 +52,9 @@ import java.math.BigDecimal;
 import java.sql.Blob;
 import java.sql.Clob;
 import java.sql.ResultSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
@@ -57,7 +62,9 @@ import java.util.stream.Stream;
 
 import static com.speedment.common.codegen.constant.DefaultType.isPrimitive;
 import static com.speedment.common.codegen.constant.DefaultType.wrapperFor;
+import static com.speedment.common.codegen.util.Formatting.indent;
 import static com.speedment.common.codegen.util.Formatting.shortName;
+import static com.speedment.generator.standard.internal.util.ColumnUtil.tracksDirtyFields;
 import static com.speedment.generator.standard.internal.util.GenerateMethodBodyUtil.generateApplyResultSetBody;
 import static com.speedment.runtime.core.util.DatabaseUtil.dbmsTypeOf;
 import static java.util.stream.Collectors.joining;
@@ -73,7 +80,8 @@ extends AbstractEntityAndManagerTranslator<Class> {
 
     public final static String
         CREATE_HELPERS_METHOD_NAME = "createHelpers",
-        INSTALL_METHOD_NAME        = "installMethodName";
+        INSTALL_METHOD_NAME        = "installMethodName",
+        BINDER_FOR_METHOD_NAME     = "binderFor";
 
     private @Inject ResultSetMapperComponent resultSetMapperComponent;
     private @Inject DbmsHandlerComponent dbmsHandlerComponent;
@@ -127,9 +135,10 @@ extends AbstractEntityAndManagerTranslator<Class> {
                             .add(AnnotationUsage.of(WithState.class).set(Value.ofReference("RESOLVED")))
                         )
                         .add("streamSupplierComponent.install(tableIdentifier, this::apply);")
-                        .add("persistenceComponent.install(tableIdentifier);")
+                        .add("persistenceComponent.install(tableIdentifier, this::" + BINDER_FOR_METHOD_NAME + ");")
                     )
-                    .add(generateApplyResultSet(getSupport(), file, table::columns))
+                    .add(generateApplyResultSet(getSupport(), file, table::columns, tracksDirtyFields(table)))
+                    .add(generateBinderFor(file, table::columns))
                     .add(generateCreateEntity(file))
                     .call(() -> {
                         file.add(Import.of(State.class).setStaticMember("RESOLVED").static_());
@@ -211,15 +220,79 @@ extends AbstractEntityAndManagerTranslator<Class> {
     private Method generateApplyResultSet(
             TranslatorSupport<Table> support,
             File file,
-            Supplier<Stream<? extends Column>> columnsSupplier) {
+            Supplier<Stream<? extends Column>> columnsSupplier,
+            boolean clearDirtyFields) {
 
         return Method.of("apply", support.entityType())
             .protected_()
             .add(SpeedmentException.class)
             .add(Field.of("resultSet", ResultSet.class))
             .add(generateApplyResultSetBody(
-                this::readFromResultSet, support, file, columnsSupplier
+                this::readFromResultSet, support, file, columnsSupplier, clearDirtyFields
+            ));
+    }
+
+    /**
+     * Generates a method that returns a binder for each column that can be
+     * set using a typed setter directly from the entity. Other columns are
+     * bound by the runtime using their type mapper.
+     */
+    private Method generateBinderFor(
+            File file,
+            Supplier<Stream<? extends Column>> columnsSupplier) {
+
+        file.add(Import.of(ColumnIdentifier.class));
+        file.add(Import.of(SqlParameterBinder.class));
+
+        final Method method = Method.of(BINDER_FOR_METHOD_NAME, SimpleParameterizedType
+                .create(SqlParameterBinder.class, getSupport().entityType()))
+            .protected_()
+            .add(Field.of("column", SimpleParameterizedType
+                .create(ColumnIdentifier.class, getSupport().entityType())))
+            .add("switch (column.getColumnName()) {");
+
+        columnsSupplier.get()
+            .filter(HasEnabled::test)
+            .forEachOrdered(col -> binderSetterName(col).ifPresent(setter ->
+                method.add(indent("case \"" + col.getId() + "\" : return (ps, i, entity) -> ps."
+                    + setter + "(i, entity." + GETTER_METHOD_PREFIX
+                    + getSupport().typeName(col) + "());"))
             ));
+
+        return method
+            .add(indent("default : return null;"))
+            .add("}");
+    }
+
+    private static final Map<String, String> BINDER_SETTERS = new HashMap<>();
+    static {
+        BINDER_SETTERS.put(int.class.getName(),                "setInt");
+        BINDER_SETTERS.put(long.class.getName(),               "setLong");
+        BINDER_SETTERS.put(short.class.getName(),              "setShort");
+        BINDER_SETTERS.put(byte.class.getName(),               "setByte");
+        BINDER_SETTERS.put(float.class.getName(),              "setFloat");
+        BINDER_SETTERS.put(double.class.getName(),             "setDouble");
+        BINDER_SETTERS.put(boolean.class.getName(),            "setBoolean");
+        BINDER_SETTERS.put(String.class.getName(),             "setString");
+        BINDER_SETTERS.put(BigDecimal.class.getName(),         "setBigDecimal");
+        BINDER_SETTERS.put(java.sql.Date.class.getName(),      "setDate");
+        BINDER_SETTERS.put(java.sql.Time.class.getName(),      "setTime");
+        BINDER_SETTERS.put(java.sql.Timestamp.class.getName(), "setTimestamp");
+    }
+
+    private Optional<String> binderSetterName(Column c) {
+        if (c.isNullable()) {
+            return Optional.empty();
+        }
+
+        final TypeMapper<?, ?> tm = typeMapperComponent.get(c);
+        final java.lang.Class<?> typeMapperClass = tm.getClass();
+        if (!TypeMapper.identity().getClass().isAssignableFrom(typeMapperClass)
+        &&  !TypeMapper.primitive().getClass().isAssignableFrom(typeMapperClass)) {
+            return Optional.empty();
+        }
+
+        return Optional.ofNullable(BINDER_SETTERS.get(tm.getJavaType(c).getTypeName()));
     }
 
     private static Set<java.lang.Class<?>> NULL_AWARE_GETTERS = Stream.of(
@@ -25,8 +25,6 @@ import com.speedment.plugins.enums.internal.GeneratedEnumType;
 import com.speedment.runtime.config.Column;
 import com.speedment.runtime.typemapper.TypeMapper;
 
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.lang.reflect.Type;
 
 import static com.speedment.plugins.enums.internal.EnumGeneratorUtil.classesIn;
@@ -91,28 +89,9 @@ implements TypeMapper<Integer, T> {
                     .findAny()
                     .orElse(null);
 
-                final Method values;
-                try {
-                    values = enumClass.getMethod("values");
-                } catch (final NoSuchMethodException ex) {
-                    throw new RuntimeException(
-                        "Could not find 'values()'-method in enum class '" +
-                        enumClass.getName() + "'.", ex
-                    );
-                }
-
-                try {
-                    @SuppressWarnings("unchecked")
-                    final T[] result = (T[]) values.invoke(null);
-                    return result;
-                } catch (final IllegalAccessException
-                    | IllegalArgumentException
-                    | InvocationTargetException ex) {
-                    throw new RuntimeException(
-                        "Error executing 'values()' in generated enum class '" +
-                        enumClass.getName() + "'.", ex
-                    );
-                }
+                @SuppressWarnings("unchecked")
+                final T[] result = (T[]) enumClass.getEnumConstants();
+                return result;
             });
 
             return constants[value];
@@ -124,32 +103,7 @@ implements TypeMapper<Integer, T> {
         if (constant == null) {
             return null;
         } else {
-            final Class<?> enumClass = constant.getClass();
-
-            final Method ordinal;
-            try {
-                ordinal = enumClass.getMethod("ordinal");
-            } catch (final NoSuchMethodException ex) {
-                throw new RuntimeException(
-                    "Could not find generated 'ordinal()'-method in enum " +
-                    "class '" + constant.getClass().getName() + "'.", ex
-                );
-            }
-
-            try {
-                @SuppressWarnings("unchecked")
-                final Integer result = (Integer) ordinal.invoke(constant);
-                return result;
-
-            } catch (final IllegalAccessException
-                         | IllegalArgumentException
-                         | InvocationTargetException ex) {
-
-                throw new RuntimeException(
-                    "Error executing 'ordinal()' in generated enum class '" +
-                    constant.getClass().getName() + "'.", ex
-                );
-            }
+            return constant.ordinal();
         }
     }
 }
\ No newline at end of file
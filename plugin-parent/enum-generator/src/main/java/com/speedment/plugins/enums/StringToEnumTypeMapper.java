@@ -18,6 +18,8 @@ package com.speedment.plugins.enums;
 
 import com.speedment.common.injector.Injector;
 import com.speedment.common.injector.annotation.Inject;
+import com.speedment.common.lazy.Lazy;
+import com.speedment.common.lazy.LazyReference;
 import com.speedment.common.lazy.specialized.LazyClass;
 import com.speedment.plugins.enums.internal.EnumGeneratorUtil;
 import com.speedment.plugins.enums.internal.GeneratedEnumType;
@@ -27,6 +29,9 @@ import com.speedment.runtime.typemapper.TypeMapper;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.stream.Stream;
 
 import static com.speedment.plugins.enums.internal.GeneratedEntityDecorator.FROM_DATABASE_METHOD;
@@ -44,11 +49,15 @@ import static java.util.Objects.requireNonNull;
 public final class StringToEnumTypeMapper<T extends Enum<T>> implements TypeMapper<String, T> {
 
     private final LazyClass cachedEnum;
+    private final Lazy<Map<String, T>> cachedConstants;
+    private final Lazy<Map<T, String>> cachedNames;
    
     private @Inject Injector injector;
     
     public StringToEnumTypeMapper() {
-        cachedEnum = LazyClass.create();
+        cachedEnum      = LazyClass.create();
+        cachedConstants = LazyReference.create();
+        cachedNames     = LazyReference.create();
     }
 
     @Override
@@ -79,56 +88,17 @@ public final class StringToEnumTypeMapper<T extends Enum<T>> implements TypeMapp
         if (value == null) {
             return null;
         } else {
-            final Class<?> enumClass = cachedEnum.getOrCompute(
-                () -> EnumGeneratorUtil.classesIn(entityType)
-
-                    // Include only enum subclasses
-                    .filter(Enum.class::isAssignableFrom)
-                    
-                    // Include only enums with the correct name
-                    .filter(c -> c.getSimpleName().equalsIgnoreCase(
-                        column.getJavaName().replace("_", "")
-                    ))
-
-                    // Include only enums with a method called fromDatabase()
-                    // that takes the right parameters
-                    .filter(c -> Stream.of(c.getMethods())
-                        .filter(m -> m.getName().equals(FROM_DATABASE_METHOD))
-                        .anyMatch(m -> {
-                            final Class<?>[] params = m.getParameterTypes();
-                            return params.length == 1 
-                                && params[0] == column.findDatabaseType();
-                        })
-                    )
-
-                    // Return it as the enumClass or throw an exception.
-                    .findAny()
-                    .orElse(null)
+            final Map<String, T> constants = cachedConstants.getOrCompute(
+                () -> constantsByName(enumClassOf(column, entityType))
             );
 
-            final Method fromDatabase;
-            try {
-                fromDatabase = enumClass.getMethod(FROM_DATABASE_METHOD, String.class);
-            } catch (final NoSuchMethodException ex) {
-                throw new RuntimeException(
-                    "Could not find generated '" + FROM_DATABASE_METHOD + 
-                    "'-method in enum class '" + enumClass.getName() + "'.", ex
-                );
-            }
-
-            try {
-                @SuppressWarnings("unchecked")
-                final T result = (T) fromDatabase.invoke(null, value);
-                return result;
-            } catch (final IllegalAccessException 
-                         | IllegalArgumentException 
-                         | InvocationTargetException ex) {
-                throw new RuntimeException(
-                    "Error executing '" + FROM_DATABASE_METHOD + 
-                    "' in generated enum class '" + enumClass.getName() + "'.",
-                    ex
+            final T constant = constants.get(value);
+            if (constant == null) {
+                throw new UnsupportedOperationException(
+                    "Unknown enum constant '" + value + "'."
                 );
             }
+            return constant;
         }
     }
 
@@ -137,30 +107,93 @@ public final class StringToEnumTypeMapper<T extends Enum<T>> implements TypeMapp
         if (constant == null) {
             return null;
         } else {
-            final Class<?> enumClass = constant.getClass();
+            return cachedNames.getOrCompute(
+                () -> namesByConstant(constant.getDeclaringClass())
+            ).get(constant);
+        }
+    }
 
-            final Method toDatabase;
-            try {
-                toDatabase = enumClass.getMethod(TO_DATABASE_METHOD);
+    private Class<?> enumClassOf(Column column, Class<?> entityType) {
+        return cachedEnum.getOrCompute(
+            () -> EnumGeneratorUtil.classesIn(entityType)
+
+                // Include only enum subclasses
+                .filter(Enum.class::isAssignableFrom)
+                
+                // Include only enums with the correct name
+                .filter(c -> c.getSimpleName().equalsIgnoreCase(
+                    column.getJavaName().replace("_", "")
+                ))
+
+                // Include only enums with a method called fromDatabase()
+                // that takes the right parameters
+                .filter(c -> Stream.of(c.getMethods())
+                    .filter(m -> m.getName().equals(FROM_DATABASE_METHOD))
+                    .anyMatch(m -> {
+                        final Class<?>[] params = m.getParameterTypes();
+                        return params.length == 1 
+                            && params[0] == column.findDatabaseType();
+                    })
+                )
+
+                // Return it as the enumClass or throw an exception.
+                .findAny()
+                .orElse(null)
+        );
+    }
 
-            } catch (final NoSuchMethodException ex) {
-                throw new RuntimeException(
-                    "Could not find generated '" + TO_DATABASE_METHOD + 
-                    "'-method in enum class '" + 
-                    constant.getClass().getName() + "'.", ex
-                );
-            }
+    /**
+     * Creates a lookup table from the database name of each constant in the
+     * specified enum class to the constant itself. The table is the inverse
+     * of the generated {@code toDatabase}-method, which gives the same 
+     * constant as the generated {@code fromDatabase}-method for every known
+     * name without having to invoke it reflectively for each row.
+     * 
+     * @param enumClass  the generated enum class
+     * @return           map from database name to enum constant
+     */
+    private Map<String, T> constantsByName(Class<?> enumClass) {
+        @SuppressWarnings("unchecked")
+        final Class<T> castedClass = (Class<T>) enumClass;
+        final Map<T, String> names = namesByConstant(castedClass);
+        final Map<String, T> constants = new HashMap<>(names.size() * 2);
+        names.forEach((constant, name) -> constants.put(name, constant));
+        return constants;
+    }
 
+    /**
+     * Creates a lookup table from each constant in the specified enum class 
+     * to its database name by invoking the generated 
+     * {@code toDatabase}-method once per constant.
+     * 
+     * @param enumClass  the generated enum class
+     * @return           map from enum constant to database name
+     */
+    private Map<T, String> namesByConstant(Class<T> enumClass) {
+        final Method toDatabase;
+        try {
+            toDatabase = enumClass.getMethod(TO_DATABASE_METHOD);
+        } catch (final NoSuchMethodException ex) {
+            throw new RuntimeException(
+                "Could not find generated '" + TO_DATABASE_METHOD + 
+                "'-method in enum class '" + enumClass.getName() + "'.", ex
+            );
+        }
+
+        final Map<T, String> names = new EnumMap<>(enumClass);
+        for (final T constant : enumClass.getEnumConstants()) {
             try {
-                @SuppressWarnings("unchecked")
-                final String result = (String) toDatabase.invoke(constant);
-                return result;
-            } catch (final IllegalAccessException | IllegalArgumentException | InvocationTargetException ex) {
+                names.put(constant, (String) toDatabase.invoke(constant));
+            } catch (final IllegalAccessException 
+                         | IllegalArgumentException 
+                         | InvocationTargetException ex) {
                 throw new RuntimeException(
                     "Error executing '" + TO_DATABASE_METHOD + 
-                    "' in generated enum class '" + constant.getClass().getName() + "'.", ex
+                    "' in generated enum class '" + enumClass.getName() + "'.", 
+                    ex
                 );
             }
         }
+        return names;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,107 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.plugins.enums;
+
+import com.speedment.runtime.config.Column;
+import com.speedment.runtime.config.internal.ColumnImpl;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class StringToEnumTypeMapperTest {
+
+    private final StringToEnumTypeMapper<Hare.Color> instance = 
+        new StringToEnumTypeMapper<>();
+
+    private final Column column = column();
+
+    @Test
+    public void testToJavaTypeMatchesFromDatabase() {
+        for (final Hare.Color color : Hare.Color.values()) {
+            assertSame(
+                Hare.Color.fromDatabase(color.toDatabase()),
+                instance.toJavaType(column, Hare.class, color.toDatabase())
+            );
+        }
+    }
+
+    @Test
+    public void testToDatabaseType() {
+        for (final Hare.Color color : Hare.Color.values()) {
+            assertEquals(color.toDatabase(), instance.toDatabaseType(color));
+        }
+    }
+
+    @Test
+    public void testNull() {
+        assertNull(instance.toJavaType(column, Hare.class, null));
+        assertNull(instance.toDatabaseType(null));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testUnknownValue() {
+        instance.toJavaType(column, Hare.class, "green");
+    }
+
+    private static Column column() {
+        final Map<String, Object> data = new HashMap<>();
+        data.put(Column.NAME, "color");
+        data.put(Column.DATABASE_TYPE, String.class.getName());
+        return new ColumnImpl(null, data);
+    }
+
+    /**
+     * An entity with an enum that looks like the ones generated by the enum
+     * generator.
+     */
+    interface Hare {
+
+        enum Color {
+            RED       ("red", 0),
+            DARK_BLUE ("dark blue", 1);
+
+            private final String databaseName;
+            private final int databaseOrdinal;
+
+            Color(String databaseName, int databaseOrdinal) {
+                this.databaseName    = databaseName;
+                this.databaseOrdinal = databaseOrdinal;
+            }
+
+            public static Color fromDatabase(String databaseName) {
+                switch (databaseName) {
+                    case "red"       : return RED;
+                    case "dark blue" : return DARK_BLUE;
+                    default : throw new UnsupportedOperationException(
+                        "Unknown enum constant '" + databaseName + "'."
+                    );
+                }
+            }
+
+            public String toDatabase() {
+                return databaseName;
+            }
+
+            public int toDatabaseOrdinal() {
+                return databaseOrdinal;
+            }
+        }
+    }
+}
@@ -0,0 +1,56 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.bulk;
+
+import com.speedment.common.injector.annotation.InjectKey;
+import com.speedment.runtime.core.exception.SpeedmentException;
+import com.speedment.runtime.core.exception.TransactionException;
+
+/**
+ * A component that can execute a {@link BulkOperation}. All the operations of
+ * the bulk operation are executed in order within a single transaction.
+ * <p>
+ * Operations whose predicates are all built from fields (like
+ * {@code Film.RATING.equal("PG")}) and whose updates are all expressed as
+ * field setters (like {@code Film.LENGTH.setTo(90)}) are rendered as single
+ * set-based statements ({@code UPDATE ... SET ... WHERE ...} or
+ * {@code DELETE ... WHERE ...}). Operations that contain opaque lambdas are
+ * executed by reading the affected entities and writing them back in batches.
+ *
+ * @since  3.0.20
+ */
+@InjectKey(BulkOperationExecutor.class)
+public interface BulkOperationExecutor {
+
+    /**
+     * Executes all the operations in the given bulk operation within a single
+     * transaction. If any of the operations fail, the entire bulk operation is
+     * rolled back. If the current thread already participates in a
+     * transaction, the operations are executed within that transaction
+     * instead.
+     *
+     * @param bulkOperation to execute
+     *
+     * @throws SpeedmentException if the bulk operation could not be executed
+     * @throws TransactionException if the operations failed within the
+     * transaction created for them
+     * @throws IllegalArgumentException if the operations are not all
+     * targeting the same dbms
+     */
+    void execute(BulkOperation bulkOperation) throws SpeedmentException;
+
+}
@@ -0,0 +1,336 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.bulk.internal.executor;
+
+import com.speedment.common.injector.annotation.Config;
+import com.speedment.common.injector.annotation.Inject;
+import com.speedment.common.logger.Logger;
+import com.speedment.common.logger.LoggerManager;
+import com.speedment.runtime.bulk.BulkOperation;
+import com.speedment.runtime.bulk.BulkOperationExecutor;
+import com.speedment.runtime.bulk.Operation;
+import com.speedment.runtime.bulk.PersistOperation;
+import com.speedment.runtime.bulk.RemoveOperation;
+import com.speedment.runtime.bulk.UpdateOperation;
+import com.speedment.runtime.config.Dbms;
+import com.speedment.runtime.config.Project;
+import com.speedment.runtime.config.identifier.ColumnIdentifier;
+import com.speedment.runtime.config.identifier.TableIdentifier;
+import com.speedment.runtime.config.util.DocumentDbUtil;
+import com.speedment.runtime.core.component.DbmsHandlerComponent;
+import com.speedment.runtime.core.component.ProjectComponent;
+import com.speedment.runtime.core.component.cache.EntityCacheComponent;
+import com.speedment.runtime.core.component.transaction.TransactionComponent;
+import com.speedment.runtime.core.db.DatabaseNamingConvention;
+import com.speedment.runtime.core.db.DbmsType;
+import com.speedment.runtime.core.exception.SpeedmentException;
+import com.speedment.runtime.core.internal.stream.builder.streamterminator.StreamTerminatorUtil;
+import com.speedment.runtime.core.internal.stream.builder.streamterminator.StreamTerminatorUtil.RenderResult;
+import com.speedment.runtime.core.manager.Manager;
+import com.speedment.runtime.core.util.DatabaseUtil;
+import com.speedment.runtime.field.Field;
+import com.speedment.runtime.field.trait.HasComparableOperators;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import static com.speedment.runtime.core.util.KeysetPaginationUtil.chunkedScan;
+import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
+
+/**
+ * Default implementation of the {@link BulkOperationExecutor}-interface.
+ *
+ * @since  3.0.20
+ */
+public final class BulkOperationExecutorImpl implements BulkOperationExecutor {
+
+    private static final Logger LOGGER = LoggerManager.getLogger(BulkOperationExecutorImpl.class);
+
+    private @Config(name = "bulk.chunkSize", value = "1000") int chunkSize;
+    private @Inject ProjectComponent projectComponent;
+    private @Inject DbmsHandlerComponent dbmsHandlerComponent;
+    private @Inject TransactionComponent transactionComponent;
+    private @Inject EntityCacheComponent entityCacheComponent; // Only if installed
+
+    @Override
+    public void execute(BulkOperation bulkOperation) {
+        requireNonNull(bulkOperation);
+        final List<Operation<?>> operations = bulkOperation.operations()
+            .collect(toList());
+
+        if (operations.isEmpty()) {
+            return;
+        }
+
+        final Project project = projectComponent.getProject();
+        final Set<String> dbmsNames = operations.stream()
+            .map(o -> o.manager().getTableIdentifier().getDbmsName())
+            .collect(toSet());
+
+        if (dbmsNames.size() != 1) {
+            throw new IllegalArgumentException(
+                "All operations in a bulk operation must target the same " +
+                "dbms but the operations target " + dbmsNames + "."
+            );
+        }
+
+        final Dbms dbms = DocumentDbUtil.referencedDbms(
+            project, operations.get(0).manager().getTableIdentifier()
+        );
+
+        if (transactionComponent.get(Thread.currentThread()).isPresent()) {
+            operations.forEach(o -> executeOperation(project, o));
+        } else {
+            transactionComponent.creaateTransactionHandler(dbms).createAndAccept(tx -> {
+                operations.forEach(o -> executeOperation(project, o));
+                tx.commit();
+            });
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <ENTITY> void executeOperation(Project project, Operation<ENTITY> operation) {
+        switch (operation.type()) {
+            case PERSIST: {
+                executePersist((PersistOperation<ENTITY>) operation);
+                break;
+            }
+            case UPDATE: {
+                executeUpdate(project, (UpdateOperation<ENTITY>) operation);
+                break;
+            }
+            case REMOVE: {
+                executeRemove(project, (RemoveOperation<ENTITY>) operation);
+                break;
+            }
+            default: throw new UnsupportedOperationException(
+                "Unknown operation type '" + operation.type() + "'."
+            );
+        }
+    }
+
+    private <ENTITY> void executePersist(PersistOperation<ENTITY> operation) {
+        operation.generatorSuppliers().forEachOrdered(generatorSupplier -> {
+            try (final Stream<? extends ENTITY> entities = generatorSupplier.get()) {
+                operation.manager().persister().persistAll(entities);
+            }
+        });
+    }
+
+    private <ENTITY> void executeUpdate(Project project, UpdateOperation<ENTITY> operation) {
+        final Manager<ENTITY> manager = operation.manager();
+        final List<Predicate<ENTITY>> predicates = operation.predicates().collect(toList());
+        final List<Function<? super ENTITY, ? extends ENTITY>> mappers = operation.mappers().collect(toList());
+        final List<Consumer<? super ENTITY>> consumers = operation.consumers().collect(toList());
+
+        if (mappers.isEmpty() && consumers.isEmpty()) {
+            LOGGER.debug("Skipping update of %s since nothing is set", manager.getTableIdentifier());
+            return;
+        }
+
+        // Later assignments of the same column replace earlier ones
+        final Map<ColumnIdentifier<ENTITY>, FieldAssignment<ENTITY>> assignments = new LinkedHashMap<>();
+        mappers.stream()
+            .map(FieldAssignment::<ENTITY>of)
+            .filter(Optional::isPresent)
+            .map(Optional::get)
+            .forEachOrdered(a -> assignments.put(a.getField().identifier(), a));
+
+        final boolean onlyAssignments = consumers.isEmpty()
+            && mappers.stream().map(FieldAssignment::<ENTITY>of).allMatch(Optional::isPresent);
+
+        if (onlyAssignments && isRenderable(predicates)) {
+            final SqlTable<ENTITY> table = new SqlTable<>(project, manager.getTableIdentifier());
+            final RenderResult where = table.renderWhere(predicates);
+
+            final String sql = "UPDATE " + table.reference() + " SET "
+                + assignments.values().stream()
+                    .map(a -> table.naming().encloseField(a.getField().identifier().getColumnName()) + " = ?")
+                    .collect(joining(", "))
+                + where(where);
+
+            final List<Object> values = new ArrayList<>();
+            assignments.values().stream()
+                .map(FieldAssignment::getDatabaseValue)
+                .forEachOrdered(values::add);
+            values.addAll(where.getValues());
+
+            try {
+                table.dbmsType().getOperationHandler().executeUpdate(table.dbms(), sql, values);
+            } catch (final SQLException ex) {
+                throw new SpeedmentException(ex);
+            } finally {
+                invalidateCache(manager.getTableIdentifier());
+            }
+        } else {
+            manager.updater().updateAll(matching(manager, predicates).map(entity -> {
+                ENTITY result = entity;
+                for (final Function<? super ENTITY, ? extends ENTITY> mapper : mappers) {
+                    result = mapper.apply(result);
+                }
+                for (final Consumer<? super ENTITY> consumer : consumers) {
+                    consumer.accept(result);
+                }
+                return result;
+            }));
+        }
+    }
+
+    private <ENTITY> void executeRemove(Project project, RemoveOperation<ENTITY> operation) {
+        final Manager<ENTITY> manager = operation.manager();
+        final List<Predicate<ENTITY>> predicates = operation.predicates().collect(toList());
+
+        if (isRenderable(predicates)) {
+            final SqlTable<ENTITY> table = new SqlTable<>(project, manager.getTableIdentifier());
+            final RenderResult where = table.renderWhere(predicates);
+            final String sql = "DELETE FROM " + table.reference() + where(where);
+
+            try {
+                table.dbmsType().getOperationHandler().executeDelete(table.dbms(), sql, where.getValues());
+            } catch (final SQLException ex) {
+                throw new SpeedmentException(ex);
+            } finally {
+                invalidateCache(manager.getTableIdentifier());
+            }
+        } else {
+            manager.remover().removeAll(matching(manager, predicates));
+        }
+    }
+
+    private void invalidateCache(TableIdentifier<?> tableIdentifier) {
+        // Set-based statements bypass the persistence component
+        if (entityCacheComponent != null) {
+            entityCacheComponent.invalidate(tableIdentifier);
+        }
+    }
+
+    private <ENTITY> boolean isRenderable(List<Predicate<ENTITY>> predicates) {
+        return predicates.stream().allMatch(StreamTerminatorUtil::isContainingOnlyFieldPredicate);
+    }
+
+    private String where(RenderResult renderResult) {
+        return renderResult.getSql().isEmpty() ? "" : " WHERE " + renderResult.getSql();
+    }
+
+    /**
+     * Returns a stream of all entities that match the given predicates. If
+     * the table has a single unique primary key, the entities are read lazily
+     * in chunks of {@code chunkSize} entities, one keyset page query per
+     * chunk. Each chunk is read to the end before its entities are returned,
+     * since some databases do not allow other statements to execute on a 
+     * connection that is streaming results. Other tables are read in full
+     * before any entity is returned.
+     */
+    private <ENTITY> Stream<ENTITY> matching(Manager<ENTITY> manager, List<Predicate<ENTITY>> predicates) {
+        final Optional<HasComparableOperators<ENTITY, Comparable<Object>>> keyField = keyFieldOf(manager);
+
+        Stream<ENTITY> matching;
+        if (keyField.isPresent()) {
+            matching = chunkedScan(manager, keyField.get(), chunkSize);
+        } else {
+            LOGGER.debug("Reading all entities of %s since it has no single unique key", manager.getTableIdentifier());
+            try (final Stream<ENTITY> stream = manager.stream()) {
+                matching = stream.collect(toList()).stream();
+            }
+        }
+
+        for (final Predicate<ENTITY> predicate : predicates) {
+            matching = matching.filter(predicate);
+        }
+        return matching;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <ENTITY> Optional<HasComparableOperators<ENTITY, Comparable<Object>>> keyFieldOf(Manager<ENTITY> manager) {
+        final List<Field<ENTITY>> keyFields = manager.primaryKeyFields().collect(toList());
+        if (keyFields.size() == 1
+            && keyFields.get(0) instanceof HasComparableOperators
+            && keyFields.get(0).isUnique()) {
+            return Optional.of((HasComparableOperators<ENTITY, Comparable<Object>>) keyFields.get(0));
+        } else {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Holds the SQL naming details of the table a manager operates on.
+     *
+     * @param <ENTITY> the entity type
+     */
+    private final class SqlTable<ENTITY> {
+
+        private final Project project;
+        private final Dbms dbms;
+        private final DbmsType dbmsType;
+        private final DatabaseNamingConvention naming;
+        private final String reference;
+
+        private SqlTable(Project project, TableIdentifier<ENTITY> tableId) {
+            this.project  = requireNonNull(project);
+            this.dbms     = DocumentDbUtil.referencedDbms(project, tableId);
+            this.dbmsType = DatabaseUtil.dbmsTypeOf(dbmsHandlerComponent, dbms);
+            this.naming   = dbmsType.getDatabaseNamingConvention();
+            this.reference = naming.fullNameOf(DocumentDbUtil.referencedTable(project, tableId));
+        }
+
+        private Dbms dbms() {
+            return dbms;
+        }
+
+        private DbmsType dbmsType() {
+            return dbmsType;
+        }
+
+        private DatabaseNamingConvention naming() {
+            return naming;
+        }
+
+        private String reference() {
+            return reference;
+        }
+
+        private RenderResult renderWhere(List<Predicate<ENTITY>> predicates) {
+            return StreamTerminatorUtil.renderSqlWhere(
+                dbmsType,
+                this::columnName,
+                this::columnDatabaseType,
+                predicates
+            );
+        }
+
+        private String columnName(Field<ENTITY> field) {
+            return naming.fullNameOf(field.identifier());
+        }
+
+        private Class<?> columnDatabaseType(Field<ENTITY> field) {
+            return DocumentDbUtil.referencedColumn(project, field.identifier())
+                .findDatabaseType();
+        }
+    }
+}
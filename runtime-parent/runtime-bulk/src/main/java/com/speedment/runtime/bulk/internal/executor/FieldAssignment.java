@@ -0,0 +1,108 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.bulk.internal.executor;
+
+import com.speedment.runtime.field.Field;
+import com.speedment.runtime.field.method.*;
+import com.speedment.runtime.typemapper.TypeMapper;
+
+import java.util.Optional;
+import java.util.function.Function;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A field together with the value it should be set to. Assignments are
+ * extracted from the {@code SetToXxx} mappers produced by
+ * {@code field.setTo(value)} so that they can be rendered as a column in the
+ * {@code SET} clause of an SQL {@code UPDATE} statement.
+ *
+ * @param <ENTITY> the entity type
+ *
+ * @since  3.0.20
+ */
+final class FieldAssignment<ENTITY> {
+
+    private final Field<ENTITY> field;
+    private final Object value;
+
+    private FieldAssignment(Field<ENTITY> field, Object value) {
+        this.field = requireNonNull(field);
+        this.value = value; // Nullable
+    }
+
+    Field<ENTITY> getField() {
+        return field;
+    }
+
+    /**
+     * Returns the value to set, converted to the database type of the field.
+     *
+     * @return the database value
+     */
+    Object getDatabaseValue() {
+        @SuppressWarnings("unchecked")
+        final TypeMapper<Object, Object> tm = (TypeMapper<Object, Object>) field.typeMapper();
+        return tm.toDatabaseType(value);
+    }
+
+    /**
+     * Returns a {@code FieldAssignment} for the given mapper if it is one of
+     * the known field setters, otherwise an empty {@code Optional}.
+     *
+     * @param <ENTITY> the entity type
+     * @param mapper to examine
+     * @return the assignment, or empty if the mapper is opaque
+     */
+    @SuppressWarnings("unchecked")
+    static <ENTITY> Optional<FieldAssignment<ENTITY>> of(Function<? super ENTITY, ? extends ENTITY> mapper) {
+        if (mapper instanceof SetToReference) {
+            final SetToReference<ENTITY, ?, ?> s = (SetToReference<ENTITY, ?, ?>) mapper;
+            return Optional.of(new FieldAssignment<>(s.getField(), s.getValue()));
+        } else if (mapper instanceof SetToInt) {
+            final SetToInt<ENTITY, ?> s = (SetToInt<ENTITY, ?>) mapper;
+            return Optional.of(new FieldAssignment<>(s.getField(), s.getValue()));
+        } else if (mapper instanceof SetToLong) {
+            final SetToLong<ENTITY, ?> s = (SetToLong<ENTITY, ?>) mapper;
+            return Optional.of(new FieldAssignment<>(s.getField(), s.getValue()));
+        } else if (mapper instanceof SetToDouble) {
+            final SetToDouble<ENTITY, ?> s = (SetToDouble<ENTITY, ?>) mapper;
+            return Optional.of(new FieldAssignment<>(s.getField(), s.getValue()));
+        } else if (mapper instanceof SetToFloat) {
+            final SetToFloat<ENTITY, ?> s = (SetToFloat<ENTITY, ?>) mapper;
+            return Optional.of(new FieldAssignment<>(s.getField(), s.getValue()));
+        } else if (mapper instanceof SetToShort) {
+            final SetToShort<ENTITY, ?> s = (SetToShort<ENTITY, ?>) mapper;
+            return Optional.of(new FieldAssignment<>(s.getField(), s.getValue()));
+        } else if (mapper instanceof SetToByte) {
+            final SetToByte<ENTITY, ?> s = (SetToByte<ENTITY, ?>) mapper;
+            return Optional.of(new FieldAssignment<>(s.getField(), s.getValue()));
+        } else if (mapper instanceof SetToChar) {
+            final SetToChar<ENTITY, ?> s = (SetToChar<ENTITY, ?>) mapper;
+            return Optional.of(new FieldAssignment<>(s.getField(), s.getValue()));
+        } else if (mapper instanceof SetToBoolean) {
+            final SetToBoolean<ENTITY, ?> s = (SetToBoolean<ENTITY, ?>) mapper;
+            return Optional.of(new FieldAssignment<>(s.getField(), s.getValue()));
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public String toString() {
+        return field.identifier().getColumnName() + " = " + value;
+    }
+}
@@ -0,0 +1,308 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.bulk.internal.executor;
+
+import com.speedment.common.mapstream.MapStream;
+import com.speedment.runtime.bulk.BulkOperation;
+import com.speedment.runtime.config.Column;
+import com.speedment.runtime.config.Dbms;
+import com.speedment.runtime.config.PrimaryKeyColumn;
+import com.speedment.runtime.config.Project;
+import com.speedment.runtime.config.Schema;
+import com.speedment.runtime.config.Table;
+import com.speedment.runtime.config.identifier.ColumnIdentifier;
+import com.speedment.runtime.config.identifier.TableIdentifier;
+import com.speedment.runtime.config.internal.ProjectImpl;
+import com.speedment.runtime.core.component.ProjectComponent;
+import com.speedment.runtime.core.component.transaction.TransactionComponent;
+import com.speedment.runtime.core.internal.component.ProjectComponentImpl;
+import com.speedment.runtime.core.internal.component.transaction.TransactionComponentImpl;
+import com.speedment.runtime.core.manager.Manager;
+import com.speedment.runtime.core.manager.Persister;
+import com.speedment.runtime.core.manager.Remover;
+import com.speedment.runtime.core.manager.Updater;
+import com.speedment.runtime.field.Field;
+import com.speedment.runtime.field.IntField;
+import com.speedment.runtime.typemapper.TypeMapper;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.*;
+
+public class BulkOperationExecutorImplTest {
+
+    private static final int CHUNK_SIZE = 10;
+    private static final int SIZE = 25;
+
+    private BulkOperationExecutorImpl instance;
+    private PointManager manager;
+
+    @Before
+    public void setUp() throws Exception {
+        final ProjectComponent projectComponent = new ProjectComponentImpl();
+        projectComponent.setProject(project());
+
+        // Operations are executed directly if a transaction is active
+        final TransactionComponent transactionComponent = new TransactionComponentImpl();
+        transactionComponent.put(Thread.currentThread(), new Object());
+
+        instance = new BulkOperationExecutorImpl();
+        set("projectComponent", projectComponent);
+        set("transactionComponent", transactionComponent);
+        set("chunkSize", CHUNK_SIZE);
+
+        manager = new PointManager(true);
+    }
+
+    @Test
+    public void testUpdateNotRenderable() {
+        instance.execute(BulkOperation.builder()
+            .update(manager).where(p -> p.getX() % 2 == 0).set(p -> p.setX(-p.getX()))
+            .build()
+        );
+
+        manager.points.values().forEach(p ->
+            assertEquals(p.toString(), p.getId() % 2 == 0 ? -p.getId() : p.getId(), p.getX())
+        );
+        assertEquals(SIZE / 2 + 1, manager.events.stream().filter("update"::equals).count());
+    }
+
+    @Test
+    public void testUpdateIsStreamedInChunks() {
+        instance.execute(BulkOperation.builder()
+            .update(manager).where(p -> true).set(p -> p.setX(0))
+            .build()
+        );
+
+        // Two full chunks and a last, smaller chunk
+        assertEquals(SIZE / CHUNK_SIZE + 1, manager.events.stream().filter("query"::equals).count());
+
+        // The first chunk is updated before the second chunk is read
+        assertTrue(manager.events.toString(), 
+            manager.events.indexOf("update") < manager.events.lastIndexOf("query")
+        );
+        assertEquals(0, manager.openStreams);
+    }
+
+    @Test
+    public void testRemoveNotRenderable() {
+        instance.execute(BulkOperation.builder()
+            .remove(manager).where(p -> p.getId() >= 20)
+            .build()
+        );
+
+        assertEquals(
+            IntStream.range(0, 20).boxed().collect(toList()),
+            new ArrayList<>(manager.points.keySet())
+        );
+    }
+
+    @Test
+    public void testRemoveWithoutUniqueKey() {
+        manager = new PointManager(false);
+        instance.execute(BulkOperation.builder()
+            .remove(manager).where(p -> p.getId() % 5 != 0)
+            .build()
+        );
+
+        assertEquals(
+            Stream.of(0, 5, 10, 15, 20).collect(toList()),
+            new ArrayList<>(manager.points.keySet())
+        );
+        assertEquals(1, manager.events.stream().filter("query"::equals).count());
+    }
+
+    private void set(String fieldName, Object value) throws Exception {
+        final java.lang.reflect.Field field = BulkOperationExecutorImpl.class.getDeclaredField(fieldName);
+        field.setAccessible(true);
+        field.set(instance, value);
+    }
+
+    private static Project project() {
+        return new ProjectImpl(map(
+            entry(Project.NAME, "project"),
+            entry(Project.ENABLED, true),
+            entry(Project.DBMSES, map(
+                entry(Dbms.NAME, "db"),
+                entry(Dbms.ENABLED, true),
+                entry(Dbms.SCHEMAS, map(
+                    entry(Schema.NAME, "schema"),
+                    entry(Schema.ENABLED, true),
+                    entry(Schema.TABLES, map(
+                        entry(Table.NAME, "point"),
+                        entry(Table.ENABLED, true),
+                        entry(Table.COLUMNS, map(
+                            entry(Column.NAME, "id"),
+                            entry(Column.ENABLED, true),
+                            entry(Column.DATABASE_TYPE, Integer.class.getName())
+                        ), map(
+                            entry(Column.NAME, "x"),
+                            entry(Column.ENABLED, true),
+                            entry(Column.DATABASE_TYPE, Integer.class.getName())
+                        )),
+                        entry(Table.PRIMARY_KEY_COLUMNS, map(
+                            entry(PrimaryKeyColumn.NAME, "id")
+                        ))
+                    ))
+                ))
+            ))
+        ));
+    }
+
+    private static Map.Entry<String, Object> entry(String key, String value) {
+        return new AbstractMap.SimpleEntry<>(key, value);
+    }
+
+    private static Map.Entry<String, Object> entry(String key, boolean value) {
+        return new AbstractMap.SimpleEntry<>(key, value);
+    }
+
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    private static Map.Entry<String, Object> entry(String key, Map<String, Object>... children) {
+        return new AbstractMap.SimpleEntry<>(key, Stream.of(children).collect(toList()));
+    }
+
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    private static Map<String, Object> map(Map.Entry<String, Object>... entries) {
+        return MapStream.of(Stream.of(entries)).toMap();
+    }
+
+    private static final class Point {
+
+        private final int id;
+        private int x;
+
+        private Point(int id, int x) {
+            this.id = id;
+            this.x  = x;
+        }
+
+        int getId() {
+            return id;
+        }
+
+        int getX() {
+            return x;
+        }
+
+        Point setX(int x) {
+            this.x = x;
+            return this;
+        }
+
+        @Override
+        public String toString() {
+            return "Point(" + id + ", " + x + ")";
+        }
+    }
+
+    /**
+     * In-memory manager that records the queries and the writes it gets.
+     */
+    private static final class PointManager implements Manager<Point> {
+
+        private static final TableIdentifier<Point> TABLE =
+            TableIdentifier.of("db", "schema", "point");
+
+        private final IntField<Point, Integer> id;
+        private final IntField<Point, Integer> x;
+        private final boolean uniqueKey;
+        private final Map<Integer, Point> points = new TreeMap<>();
+        private final List<String> events = new ArrayList<>();
+        private int openStreams;
+
+        private PointManager(boolean uniqueKey) {
+            this.uniqueKey = uniqueKey;
+            this.id = IntField.create(
+                ColumnIdentifier.of("db", "schema", "point", "id"),
+                Point::getId, (p, v) -> p, TypeMapper.primitive(), uniqueKey
+            );
+            this.x = IntField.create(
+                ColumnIdentifier.of("db", "schema", "point", "x"),
+                Point::getX, Point::setX, TypeMapper.primitive(), false
+            );
+            IntStream.range(0, SIZE).forEach(i -> points.put(i, new Point(i, i)));
+        }
+
+        @Override
+        public TableIdentifier<Point> getTableIdentifier() {
+            return TABLE;
+        }
+
+        @Override
+        public Class<Point> getEntityClass() {
+            return Point.class;
+        }
+
+        @Override
+        public Stream<Field<Point>> fields() {
+            return Stream.of(id, x);
+        }
+
+        @Override
+        public Stream<Field<Point>> primaryKeyFields() {
+            return uniqueKey ? Stream.of(id) : Stream.empty();
+        }
+
+        @Override
+        public Stream<Point> stream() {
+            events.add("query");
+            openStreams++;
+            return new ArrayList<>(points.values()).stream()
+                .onClose(() -> openStreams--);
+        }
+
+        @Override
+        public Persister<Point> persister() {
+            return p -> {
+                points.put(p.getId(), p);
+                return p;
+            };
+        }
+
+        @Override
+        public Updater<Point> updater() {
+            return p -> {
+                assertEquals("A result set is open during update", 0, openStreams);
+                events.add("update");
+                points.put(p.getId(), p);
+                return p;
+            };
+        }
+
+        @Override
+        public Remover<Point> remover() {
+            return p -> {
+                assertEquals("A result set is open during remove", 0, openStreams);
+                events.add("remove");
+                points.remove(p.getId());
+                return p;
+            };
+        }
+    }
+}
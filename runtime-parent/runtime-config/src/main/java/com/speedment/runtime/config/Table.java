@@ -47,7 +47,8 @@ public interface Table extends
            INDEXES             = "indexes",
            FOREIGN_KEYS        = "foreignKeys",
            PRIMARY_KEY_COLUMNS = "primaryKeyColumns",
-           IS_VIEW             = "isView";
+           IS_VIEW             = "isView",
+           TRACK_DIRTY_FIELDS  = "trackDirtyFields";
 
     /**
      * Returns {@code true} if this {@code Table} represents a VIEW in the
@@ -63,6 +64,21 @@ public interface Table extends
         return getAsBoolean(IS_VIEW).orElse(false);
     }
 
+    /**
+     * Returns {@code true} if the entities generated for this {@code Table}
+     * should keep track of which fields that have been modified, so that only
+     * the modified columns are written when an entity is updated. Tables with
+     * more than 64 enabled columns are never tracked.
+     * <p>
+     * The default value for this property is {@code false}.
+     *
+     * @return  {@code true} if modified fields are tracked, else {@code false}
+     * @since   3.0.20
+     */
+    default boolean isTrackingDirtyFields() {
+        return getAsBoolean(TRACK_DIRTY_FIELDS).orElse(false);
+    }
+
     /**
      * Creates a stream of columns located in this document.
      * 
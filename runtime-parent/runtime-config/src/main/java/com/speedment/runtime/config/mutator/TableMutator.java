@@ -52,6 +52,10 @@ public class TableMutator<DOC extends Table> extends DocumentMutatorImpl<DOC> im
         put(IS_VIEW, isView);
     }
 
+    public void setTrackingDirtyFields(boolean trackDirtyFields) {
+        put(TRACK_DIRTY_FIELDS, trackDirtyFields);
+    }
+
     public Column addNewColumn() {
         return new ColumnImpl(document(), newDocument(document(), COLUMNS));
     }
@@ -0,0 +1,44 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core;
+
+import com.speedment.common.injector.InjectBundle;
+import com.speedment.runtime.core.internal.component.columnar.ColumnarStreamSupplierComponentImpl;
+
+import java.util.stream.Stream;
+
+/**
+ * The {@link InjectBundle} for the columnar table snapshots. Add it to an
+ * application to serve streams from column arrays in the JVM:
+ * <pre>{@code
+ *     new SakilaApplicationBuilder()
+ *         .withBundle(ColumnarBundle.class)
+ *         .withParam("columnar.tables", "sakila.payment")
+ *         .build();
+ * }</pre>
+ *
+ * @since  3.0.20
+ *
+ * @see com.speedment.runtime.core.component.columnar.ColumnarStreamSupplierComponent
+ */
+public class ColumnarBundle implements InjectBundle {
+
+    @Override
+    public Stream<Class<?>> injectables() {
+        return Stream.of(ColumnarStreamSupplierComponentImpl.class);
+    }
+}
@@ -0,0 +1,44 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core;
+
+import com.speedment.common.injector.InjectBundle;
+import com.speedment.runtime.core.internal.component.cache.EntityCacheComponentImpl;
+
+import java.util.stream.Stream;
+
+/**
+ * The {@link InjectBundle} for the read-through entity cache. Add it to an
+ * application to serve streams and primary key lookups from the JVM:
+ * <pre>{@code
+ *     new SakilaApplicationBuilder()
+ *         .withBundle(EntityCacheBundle.class)
+ *         .withParam("cache.tables", "sakila.language,sakila.category")
+ *         .build();
+ * }</pre>
+ *
+ * @since  3.0.20
+ *
+ * @see com.speedment.runtime.core.component.cache.EntityCacheComponent
+ */
+public class EntityCacheBundle implements InjectBundle {
+
+    @Override
+    public Stream<Class<?>> injectables() {
+        return Stream.of(EntityCacheComponentImpl.class);
+    }
+}
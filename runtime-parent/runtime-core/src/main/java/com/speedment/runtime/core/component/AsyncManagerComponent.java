@@ -0,0 +1,54 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.component;
+
+import com.speedment.common.injector.annotation.InjectKey;
+import com.speedment.runtime.core.manager.AsyncManager;
+import com.speedment.runtime.core.manager.Manager;
+
+import java.util.concurrent.Executor;
+
+/**
+ * A component that owns a dedicated, bounded executor for database
+ * operations and that creates {@link AsyncManager AsyncManagers} that use it.
+ *
+ * @since 3.0.20
+ */
+@InjectKey(AsyncManagerComponent.class)
+public interface AsyncManagerComponent {
+
+    /**
+     * Returns the executor that is used to execute asynchronous database
+     * operations.
+     *
+     * @return the executor
+     */
+    Executor getExecutor();
+
+    /**
+     * Creates and returns a new AsyncManager that executes the operations of
+     * the given manager using the executor of this component.
+     *
+     * @param <ENTITY> the entity type
+     * @param manager to wrap
+     * @return a new AsyncManager
+     */
+    default <ENTITY> AsyncManager<ENTITY> asyncManager(Manager<ENTITY> manager) {
+        return AsyncManager.of(manager, getExecutor());
+    }
+
+}
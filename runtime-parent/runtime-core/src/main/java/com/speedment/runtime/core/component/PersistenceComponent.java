@@ -19,6 +19,7 @@ package com.speedment.runtime.core.component;
 import com.speedment.common.injector.annotation.InjectKey;
 import com.speedment.runtime.config.identifier.TableIdentifier;
 import com.speedment.runtime.core.exception.SpeedmentException;
+import com.speedment.runtime.core.manager.Merger;
 import com.speedment.runtime.core.manager.Persister;
 import com.speedment.runtime.core.manager.Remover;
 import com.speedment.runtime.core.manager.Updater;
@@ -74,4 +75,27 @@ public interface PersistenceComponent {
      */
     <ENTITY> Remover<ENTITY> remover(TableIdentifier<ENTITY> tableIdentifier) throws SpeedmentException;
     
+    /**
+     * Creates and returns a {@link Merger} that describes how entities are 
+     * inserted into or updated in the specified table. The returned 
+     * {@code Merger} can then be applied by supplying an entity.
+     * <p>
+     * The default implementation returns a {@code Merger} that throws an
+     * {@code UnsupportedOperationException}.
+     * 
+     * @param <ENTITY>         the entity type
+     * @param tableIdentifier  identifier for the table to merge into
+     * @return                 the created {@link Merger}
+     * 
+     * @throws SpeedmentException  if it could not be created
+     * @since  3.0.20
+     */
+    default <ENTITY> Merger<ENTITY> merger(TableIdentifier<ENTITY> tableIdentifier) throws SpeedmentException {
+        return entity -> {
+            throw new UnsupportedOperationException(
+                "Merging entities into " + tableIdentifier + " is not supported."
+            );
+        };
+    }
+    
 }
\ No newline at end of file
@@ -18,9 +18,12 @@ package com.speedment.runtime.core.component;
 
 import com.speedment.common.injector.annotation.InjectKey;
 import com.speedment.runtime.config.identifier.TableIdentifier;
+import com.speedment.runtime.core.util.PrimaryKeyUtil;
 import com.speedment.runtime.core.stream.parallel.ParallelStrategy;
+import com.speedment.runtime.field.Field;
 import com.speedment.runtime.field.trait.HasComparableOperators;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.stream.Stream;
 
@@ -82,6 +85,35 @@ public interface StreamSupplierComponent {
             .findAny();
     }
 
+    /**
+     * Finds the entity in the source where the specified primary key fields
+     * have the specified values. Implementations are free to bypass the
+     * stream pipeline and use a precomputed query.
+     *
+     * @param <ENTITY>          the entity type
+     * @param tableIdentifier   the identifier to use
+     * @param primaryKeyFields  the primary key fields of the table
+     * @param primaryKeyValues  the values of the primary key fields, in the
+     *                          same order as the fields
+     * @return                  entity found or empty if none existed with
+     *                          that primary key
+     *
+     * @since 3.0.20
+     */
+    default <ENTITY> Optional<ENTITY> findByPrimaryKey(
+            TableIdentifier<ENTITY> tableIdentifier,
+            List<? extends Field<ENTITY>> primaryKeyFields,
+            List<?> primaryKeyValues) {
+
+        try (final Stream<ENTITY> stream = stream(tableIdentifier)) {
+            return PrimaryKeyUtil.filterByKey(
+                stream,
+                primaryKeyFields,
+                primaryKeyValues
+            ).findAny();
+        }
+    }
+
     /**
      * Returns if this stream component will return the same stream result over
      * time (immutable or analytics type of data).
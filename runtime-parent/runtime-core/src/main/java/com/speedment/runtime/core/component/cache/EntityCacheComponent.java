@@ -0,0 +1,75 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.component.cache;
+
+import com.speedment.common.injector.annotation.InjectKey;
+import com.speedment.runtime.config.identifier.TableIdentifier;
+import com.speedment.runtime.core.component.StreamSupplierComponent;
+
+/**
+ * A {@link StreamSupplierComponent} that keeps the content of tables in the
+ * JVM and serves streams and primary key lookups from there instead of
+ * querying the database every time. Entities that have not been read are
+ * loaded from the underlying stream supplier the first time they are
+ * requested.
+ * <p>
+ * Cached content is discarded when it has reached a certain age or when it is
+ * explicitly invalidated. The persistence component invalidates the affected
+ * table every time an entity is persisted, updated or removed.
+ * <p>
+ * This component is not installed by default. It can be added to an
+ * application using the
+ * {@link com.speedment.runtime.core.EntityCacheBundle}.
+ *
+ * @since  3.0.20
+ */
+@InjectKey(EntityCacheComponent.class)
+public interface EntityCacheComponent extends StreamSupplierComponent {
+
+    /**
+     * Returns {@code true} if the specified table is served by this cache,
+     * else {@code false}. Tables that are not cached are always read from the
+     * underlying stream supplier.
+     *
+     * @param tableIdentifier  the table
+     * @return                 if the table is cached
+     */
+    boolean isCached(TableIdentifier<?> tableIdentifier);
+
+    /**
+     * Discards everything that has been cached for the specified table.
+     *
+     * @param tableIdentifier  the table to invalidate
+     */
+    void invalidate(TableIdentifier<?> tableIdentifier);
+
+    /**
+     * Discards the cached state of the specified table that may be affected
+     * by a change of the specified entity. This includes any full snapshot
+     * of the table and the entry for the primary key of the entity.
+     *
+     * @param <ENTITY>         the entity type
+     * @param tableIdentifier  the table of the entity
+     * @param entity           the entity that has changed
+     */
+    <ENTITY> void invalidate(TableIdentifier<ENTITY> tableIdentifier, ENTITY entity);
+
+    /**
+     * Discards everything that has been cached for every table.
+     */
+    void invalidateAll();
+}
@@ -0,0 +1,90 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.component.columnar;
+
+import com.speedment.common.injector.annotation.InjectKey;
+import com.speedment.runtime.config.identifier.TableIdentifier;
+import com.speedment.runtime.core.component.StreamSupplierComponent;
+
+/**
+ * A {@link StreamSupplierComponent} that loads tables once into column
+ * arrays and serves streams from that snapshot. Primitive fields are stored
+ * in primitive arrays and string fields are dictionary encoded.
+ * <p>
+ * Initial field predicates are evaluated directly against the columns, so
+ * entities are only created for the rows that pass them. A terminating
+ * {@code count()} or a {@code mapToInt}, {@code mapToLong} or
+ * {@code mapToDouble} with the getter of a field does not create any
+ * entities at all:
+ * <pre>{@code
+ *     long adults = persons.stream()
+ *         .filter(Person.AGE.greaterOrEqual(18))
+ *         .count();
+ *
+ *     int totalAge = persons.stream()
+ *         .filter(Person.AGE.greaterOrEqual(18))
+ *         .mapToInt(Person.AGE.getter())
+ *         .sum();
+ * }</pre>
+ * <p>
+ * The snapshot of a table is discarded whenever the table is modified
+ * through a manager of the application, and reloaded the next time the table
+ * is streamed. Changes that are made to the database by others are only
+ * seen once {@link #refresh(TableIdentifier)} has been called or the
+ * snapshot has expired. Snapshots expire after {@code columnar.ttl}
+ * milliseconds, or never if the parameter is 0 (default).
+ * <p>
+ * This component is not installed by default. It can be added to an
+ * application using the {@link com.speedment.runtime.core.ColumnarBundle}.
+ *
+ * @since  3.0.20
+ */
+@InjectKey(ColumnarStreamSupplierComponent.class)
+public interface ColumnarStreamSupplierComponent extends StreamSupplierComponent {
+
+    /**
+     * Returns {@code true} if the specified table is served from a columnar
+     * snapshot, else {@code false}. Tables that are not served from a snapshot
+     * are always read from the underlying stream supplier.
+     *
+     * @param tableIdentifier  the table
+     * @return                 if the table is served from a snapshot
+     */
+    boolean isColumnar(TableIdentifier<?> tableIdentifier);
+
+    /**
+     * Discards the snapshot of the specified table so that it is reloaded
+     * from the underlying stream supplier the next time it is streamed.
+     *
+     * @param tableIdentifier  the table to refresh
+     */
+    void refresh(TableIdentifier<?> tableIdentifier);
+
+    /**
+     * Returns the number of rows in the current snapshot of the specified
+     * table, or {@code -1} if the table has not been loaded.
+     *
+     * @param tableIdentifier  the table
+     * @return                 the number of rows or -1
+     */
+    long loadedRows(TableIdentifier<?> tableIdentifier);
+
+    @Override
+    default boolean isImmutable() {
+        return true;
+    }
+}
@@ -0,0 +1,7 @@
+/**
+ * The {@link ColumnarStreamSupplierComponent} is located in this package.
+ * <p>
+ * This package is part of the API. Modifications to classes here should only
+ * (if ever) be done in major releases.
+ */
+package com.speedment.runtime.core.component.columnar;
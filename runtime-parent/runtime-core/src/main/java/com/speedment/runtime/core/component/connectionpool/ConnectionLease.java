@@ -0,0 +1,59 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.component.connectionpool;
+
+import java.util.Optional;
+
+/**
+ * Information about a connection that is currently leased from a
+ * {@link ConnectionPoolComponent}.
+ *
+ * @since  3.0.20
+ */
+public interface ConnectionLease {
+
+    /**
+     * Returns the id of the leased connection.
+     *
+     * @return  the connection id
+     * @see     PoolableConnection#getId()
+     */
+    long getConnectionId();
+
+    /**
+     * Returns the uri of the leased connection.
+     *
+     * @return  the connection uri
+     */
+    String getUri();
+
+    /**
+     * Returns the number of milliseconds the connection has been leased.
+     *
+     * @return  the lease time so far
+     */
+    long getLeaseMillis();
+
+    /**
+     * Returns the stack trace of the thread that leased the connection, if
+     * leak detection was enabled when the connection was leased.
+     *
+     * @return  the stack trace of the lease, if recorded
+     */
+    Optional<StackTraceElement[]> getLeaseStackTrace();
+
+}
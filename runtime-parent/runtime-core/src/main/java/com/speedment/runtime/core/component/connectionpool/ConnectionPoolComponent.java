@@ -98,6 +98,18 @@ public interface ConnectionPoolComponent {
      */
     int leaseSize();
 
+    /**
+     * Returns the metrics of this pool. The default implementation returns
+     * {@link ConnectionPoolMetrics#empty() empty} metrics for pools that do
+     * not measure how their connections are used.
+     *
+     * @return the metrics of this pool
+     * @since  3.0.20
+     */
+    default ConnectionPoolMetrics getMetrics() {
+        return ConnectionPoolMetrics.empty();
+    }
+
     /**
      * Returns the maximum number of connection this pool will retain when
      * connections are returned. If the number of connections in the pool
@@ -0,0 +1,90 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.component.connectionpool;
+
+import com.speedment.runtime.core.internal.pool.ConnectionPoolMetricsImpl;
+
+import java.util.stream.Stream;
+
+/**
+ * Measurements of how the connections of a {@link ConnectionPoolComponent}
+ * are used. This can be used to size the pool and to find code that does not
+ * close its connections, for an example streams that are never closed.
+ *
+ * @since  3.0.20
+ */
+public interface ConnectionPoolMetrics {
+
+    /**
+     * Returns a histogram of how long connections were leased before they
+     * were returned to the pool.
+     *
+     * @return  the lease time histogram
+     */
+    DurationHistogram getLeaseTime();
+
+    /**
+     * Returns a histogram of how long callers waited until an idle
+     * connection was found or a new connection could be opened. The time it
+     * takes to open a new connection is not included, see
+     * {@link #getCreationTime()}.
+     *
+     * @return  the acquisition wait time histogram
+     */
+    DurationHistogram getWaitTime();
+
+    /**
+     * Returns a histogram of how long it took to open new connections.
+     *
+     * @return  the connection creation time histogram
+     */
+    DurationHistogram getCreationTime();
+
+    /**
+     * Returns the number of connections that have been discarded for the
+     * given reason.
+     *
+     * @param reason  the discard reason
+     * @return        the number of discarded connections
+     */
+    long getDiscardCount(DiscardReason reason);
+
+    /**
+     * Returns the number of times a caller gave up waiting for a connection.
+     *
+     * @return  the number of timeouts
+     */
+    long getTimeoutCount();
+
+    /**
+     * Returns information about the connections that are currently leased.
+     *
+     * @return  the current leases
+     */
+    Stream<ConnectionLease> leases();
+
+    /**
+     * Returns metrics where nothing has been recorded. This can be used by
+     * pools that do not measure how their connections are used.
+     *
+     * @return  empty metrics
+     */
+    static ConnectionPoolMetrics empty() {
+        return ConnectionPoolMetricsImpl.EMPTY;
+    }
+
+}
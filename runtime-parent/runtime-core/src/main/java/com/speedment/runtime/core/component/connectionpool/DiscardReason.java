@@ -0,0 +1,57 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.component.connectionpool;
+
+/**
+ * The reason why a {@link ConnectionPoolComponent} closed one of its
+ * connections.
+ *
+ * @since  3.0.20
+ */
+public enum DiscardReason {
+
+    /**
+     * The connection was older than the maximum age of the pool.
+     */
+    EXPIRED,
+
+    /**
+     * The underlying connection was already closed.
+     */
+    CLOSED,
+
+    /**
+     * The connection was returned when the pool already retained the maximum
+     * number of idle connections.
+     */
+    OVER_RETAIN,
+
+    /**
+     * The connection had been idle for longer than the idle timeout.
+     */
+    IDLE_TIMEOUT,
+
+    /**
+     * The connection did not pass validation.
+     */
+    INVALID,
+
+    /**
+     * The pool was shut down.
+     */
+    POOL_CLOSED
+}
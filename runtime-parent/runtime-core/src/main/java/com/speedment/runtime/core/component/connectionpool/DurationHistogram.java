@@ -0,0 +1,72 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.component.connectionpool;
+
+/**
+ * A histogram of durations measured in nanoseconds. Values are recorded in
+ * buckets that are powers of two wide, so percentiles are approximate and
+ * are never reported smaller than the actual value.
+ *
+ * @since  3.0.20
+ */
+public interface DurationHistogram {
+
+    /**
+     * Returns the number of recorded durations.
+     *
+     * @return  the number of recorded durations
+     */
+    long getCount();
+
+    /**
+     * Returns the shortest recorded duration in nanoseconds, or 0 if no
+     * durations have been recorded.
+     *
+     * @return  the shortest recorded duration
+     */
+    long getMin();
+
+    /**
+     * Returns the longest recorded duration in nanoseconds, or 0 if no
+     * durations have been recorded.
+     *
+     * @return  the longest recorded duration
+     */
+    long getMax();
+
+    /**
+     * Returns the mean of all recorded durations in nanoseconds, or 0 if no
+     * durations have been recorded.
+     *
+     * @return  the mean duration
+     */
+    double getMean();
+
+    /**
+     * Returns an upper bound in nanoseconds of the duration that the given
+     * share of all recorded durations are shorter than or equal to. For an
+     * example, {@code getPercentile(0.99)} returns the 99th percentile.
+     *
+     * @param percentile  the percentile as a value between 0 and 1
+     * @return            the approximate percentile
+     *
+     * @throws IllegalArgumentException  if the percentile is not between
+     *                                   0 and 1
+     */
+    long getPercentile(double percentile);
+
+}
@@ -50,4 +50,27 @@ public interface PoolableConnection extends Connection {
 
     void setOnClose(Runnable onClose);
 
+    /**
+     * Returns the number of times a prepared statement could be reused from
+     * the statement cache of this connection.
+     *
+     * @return  the number of statement cache hits
+     * @since   3.0.20
+     */
+    default long getStatementCacheHits() {
+        return 0;
+    }
+
+    /**
+     * Returns the number of times a prepared statement had to be prepared
+     * by the database because it was not in the statement cache of this
+     * connection.
+     *
+     * @return  the number of statement cache misses
+     * @since   3.0.20
+     */
+    default long getStatementCacheMisses() {
+        return 0;
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,50 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.component.sql;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * Binds the value of a particular column of an entity to a parameter of a
+ * {@code PreparedStatement}.
+ * <p>
+ * Binders are typically generated for each table so that values can be set
+ * using typed setters like {@code setInt(int, int)} directly from the entity,
+ * without boxing the value or first collecting all values in a list.
+ *
+ * @param <ENTITY>  the entity type
+ *
+ * @since   3.0.20
+ *
+ * @see SqlPersistenceComponent#install(com.speedment.runtime.config.identifier.TableIdentifier, java.util.function.Function)
+ */
+@FunctionalInterface
+public interface SqlParameterBinder<ENTITY> {
+
+    /**
+     * Sets the parameter with the specified index in the specified statement
+     * to the value of the column in the specified entity.
+     *
+     * @param ps              the statement to set the parameter in
+     * @param parameterIndex  the index of the parameter, starting from 1
+     * @param entity          the entity to read the value from
+     * @throws SQLException   if the parameter could not be set
+     */
+    void bind(PreparedStatement ps, int parameterIndex, ENTITY entity) throws SQLException;
+
+}
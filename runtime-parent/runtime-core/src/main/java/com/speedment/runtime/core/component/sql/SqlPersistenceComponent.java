@@ -16,9 +16,12 @@
  */
 package com.speedment.runtime.core.component.sql;
 
+import com.speedment.runtime.config.identifier.ColumnIdentifier;
 import com.speedment.runtime.config.identifier.TableIdentifier;
 import com.speedment.runtime.core.component.PersistenceComponent;
 
+import java.util.function.Function;
+
 /**
  * A component responsible for persisting, updating and removing entities in the
  * database. This is a general component for entity management that is invoked
@@ -48,4 +51,31 @@ public interface SqlPersistenceComponent extends PersistenceComponent {
      */
     <ENTITY> void install(TableIdentifier<ENTITY> tableIdentifier);
     
+    /**
+     * Install the specified table in this component, using the specified
+     * binders to set the parameters of the statements that are sent to the
+     * database. The binders are typically generated for the table.
+     * <p>
+     * The binder function is called once for every column when the table is
+     * installed. If it returns {@code null} for a column, the value of that
+     * column is converted using the type mapper of the field and set using
+     * {@code setObject}, the same way as if this method was not used.
+     * <p>
+     * The default implementation ignores the binders and calls
+     * {@link #install(TableIdentifier)}.
+     * 
+     * @param <ENTITY>         the entity type
+     * @param tableIdentifier  identifier for the table to prepare
+     * @param binders          function from a column to its binder, or to
+     *                         {@code null} if the column has no binder
+     * 
+     * @since 3.0.20
+     */
+    default <ENTITY> void install(
+            TableIdentifier<ENTITY> tableIdentifier,
+            Function<ColumnIdentifier<ENTITY>, SqlParameterBinder<ENTITY>> binders) {
+        
+        install(tableIdentifier);
+    }
+    
 }
\ No newline at end of file
@@ -25,6 +25,8 @@ import com.speedment.runtime.core.db.DbmsType;
 import com.speedment.runtime.core.internal.component.sql.SqlStreamOptimizerInfoImpl;
 import com.speedment.runtime.field.Field;
 import java.util.List;
+import static java.util.Objects.requireNonNull;
+import java.util.Optional;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.ToLongBiFunction;
@@ -73,6 +75,32 @@ public interface SqlStreamOptimizerInfo<ENTITY> {
      */
     ToLongBiFunction<String, List<Object>> getCounter();
 
+    /**
+     * Returns a BiFunction that will read in the column values of the first
+     * row from the database, if such a function is available. Column values
+     * that are SQL {@code NULL} are returned as {@code null} elements.
+     * <p>
+     * E.g. getAggregator().get().apply("select sum(age), count(*) from user",
+     * emptyList()))
+     *
+     * @return a BiFunction that will read in the column values of the first
+     * row from the database, if available
+     */
+    Optional<BiFunction<String, List<Object>, List<Object>>> getAggregator();
+
+    /**
+     * Returns a BiFunction that will read in the column values of all rows
+     * from the database, if such a function is available. Column values that
+     * are SQL {@code NULL} are returned as {@code null} elements.
+     * <p>
+     * E.g. getGroupAggregator().get().apply("select age, count(*) from user
+     * group by age", emptyList()))
+     *
+     * @return a BiFunction that will read in the column values of all rows
+     * from the database, if available
+     */
+    Optional<BiFunction<String, List<Object>, List<List<Object>>>> getGroupAggregator();
+
     /**
      * Returns a Function that will map a Field to a column name.
      *
@@ -101,7 +129,52 @@ public interface SqlStreamOptimizerInfo<ENTITY> {
             sqlSelectCount,
             counter,
             sqlColumnNamer,
-            sqlDatabaseTypeFunction
+            sqlDatabaseTypeFunction,
+            null,
+            null
+        );
+    }
+
+    static <ENTITY> SqlStreamOptimizerInfo<ENTITY> of(
+        final DbmsType dbmsType,
+        final String sqlSelect,
+        final String sqlSelectCount,
+        final ToLongBiFunction<String, List<Object>> counter,
+        final Function<Field<ENTITY>, String> sqlColumnNamer,
+        final Function<Field<ENTITY>, Class<?>> sqlDatabaseTypeFunction,
+        final BiFunction<String, List<Object>, List<Object>> aggregator
+    ) {
+        return new SqlStreamOptimizerInfoImpl<>(
+            dbmsType,
+            sqlSelect,
+            sqlSelectCount,
+            counter,
+            sqlColumnNamer,
+            sqlDatabaseTypeFunction,
+            requireNonNull(aggregator),
+            null
+        );
+    }
+
+    static <ENTITY> SqlStreamOptimizerInfo<ENTITY> of(
+        final DbmsType dbmsType,
+        final String sqlSelect,
+        final String sqlSelectCount,
+        final ToLongBiFunction<String, List<Object>> counter,
+        final Function<Field<ENTITY>, String> sqlColumnNamer,
+        final Function<Field<ENTITY>, Class<?>> sqlDatabaseTypeFunction,
+        final BiFunction<String, List<Object>, List<Object>> aggregator,
+        final BiFunction<String, List<Object>, List<List<Object>>> groupAggregator
+    ) {
+        return new SqlStreamOptimizerInfoImpl<>(
+            dbmsType,
+            sqlSelect,
+            sqlSelectCount,
+            counter,
+            sqlColumnNamer,
+            sqlDatabaseTypeFunction,
+            requireNonNull(aggregator),
+            requireNonNull(groupAggregator)
         );
     }
 
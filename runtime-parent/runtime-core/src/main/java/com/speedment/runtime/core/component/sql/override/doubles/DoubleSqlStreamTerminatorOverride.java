@@ -30,4 +30,12 @@ public interface DoubleSqlStreamTerminatorOverride {
 
     <ENTITY> void setDoubleCountTerminator(DoubleCountTerminator<ENTITY> count);
 
+    <ENTITY> DoubleSumTerminator<ENTITY> getDoubleSumTerminator();
+
+    <ENTITY> void setDoubleSumTerminator(DoubleSumTerminator<ENTITY> sum);
+
+    <ENTITY> DoubleAverageTerminator<ENTITY> getDoubleAverageTerminator();
+
+    <ENTITY> void setDoubleAverageTerminator(DoubleAverageTerminator<ENTITY> average);
+
 }
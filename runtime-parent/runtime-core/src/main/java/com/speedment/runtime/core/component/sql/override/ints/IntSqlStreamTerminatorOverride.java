@@ -30,4 +30,12 @@ public interface IntSqlStreamTerminatorOverride {
 
     <ENTITY> void setIntCountTerminator(IntCountTerminator<ENTITY> count);
 
+    <ENTITY> IntSumTerminator<ENTITY> getIntSumTerminator();
+
+    <ENTITY> void setIntSumTerminator(IntSumTerminator<ENTITY> sum);
+
+    <ENTITY> IntAverageTerminator<ENTITY> getIntAverageTerminator();
+
+    <ENTITY> void setIntAverageTerminator(IntAverageTerminator<ENTITY> average);
+
 }
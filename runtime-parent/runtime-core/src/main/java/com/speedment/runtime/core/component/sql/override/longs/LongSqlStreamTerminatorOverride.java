@@ -30,4 +30,12 @@ public interface LongSqlStreamTerminatorOverride {
 
     <ENTITY> void setLongCountTerminator(LongCountTerminator<ENTITY> count);
 
+    <ENTITY> LongSumTerminator<ENTITY> getLongSumTerminator();
+
+    <ENTITY> void setLongSumTerminator(LongSumTerminator<ENTITY> sum);
+
+    <ENTITY> LongAverageTerminator<ENTITY> getLongAverageTerminator();
+
+    <ENTITY> void setLongAverageTerminator(LongAverageTerminator<ENTITY> average);
+
 }
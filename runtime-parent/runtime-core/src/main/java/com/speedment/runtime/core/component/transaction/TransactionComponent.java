@@ -18,6 +18,7 @@ package com.speedment.runtime.core.component.transaction;
 
 import com.speedment.common.injector.annotation.InjectKey;
 import java.util.Optional;
+import static java.util.Objects.requireNonNull;
 import java.util.stream.Stream;
 
 /**
@@ -118,4 +119,30 @@ public interface TransactionComponent {
      */
     Stream<Thread> threads(Object txObject);
 
+    /**
+     * Registers actions that shall be run once the transaction that the given
+     * thread currently participates in has completed. The {@code afterCommit}
+     * action is run after the transaction has been committed and the
+     * {@code afterRollback} action is run after the transaction has been
+     * rolled back (explicitly or implicitly when the transaction is
+     * discarded). Actions are only run once, so actions registered before a
+     * commit are not run again by a later rollback.
+     * <p>
+     * If the thread is not associated with a transaction aware object, all
+     * work has already been committed and {@code afterCommit} is run directly.
+     * This is also what the default implementation does.
+     *
+     * @param thread        that participates in the transaction
+     * @param afterCommit   action to run after a commit
+     * @param afterRollback action to run after a rollback
+     * @throws NullPointerException if any of the parameters is null
+     *
+     * @since 3.0.20
+     */
+    default void afterCompletion(Thread thread, Runnable afterCommit, Runnable afterRollback) {
+        requireNonNull(thread);
+        requireNonNull(afterRollback);
+        afterCommit.run();
+    }
+
 }
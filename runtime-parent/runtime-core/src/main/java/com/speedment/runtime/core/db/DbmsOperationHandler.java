@@ -18,6 +18,7 @@ package com.speedment.runtime.core.db;
 
 import com.speedment.runtime.config.Dbms;
 import com.speedment.runtime.core.internal.manager.sql.SqlInsertStatement;
+import com.speedment.runtime.core.internal.manager.sql.SqlStatement;
 import com.speedment.runtime.core.stream.parallel.ParallelStrategy;
 import com.speedment.runtime.field.Field;
 import java.sql.*;
@@ -60,11 +61,12 @@ public interface DbmsOperationHandler {
     }
 
     /**
-     * Eagerly executes a SQL query and subsequently maps each row in the
+     * Executes a SQL query and subsequently maps each row in the
      * {@link ResultSet} using a provided mapper and return a stream of the
-     * mapped objects. The {@code ResultSet} is eagerly consumed. If no objects
-     * are present or if an {@link SQLException} is thrown internally, an
-     * {@code empty} stream is returned.
+     * mapped objects. Depending on the implementation, the {@code ResultSet}
+     * is either consumed eagerly or as the stream is consumed. In the latter
+     * case, database resources are held until the stream is closed or all
+     * rows have been read, so the stream should always be closed after use.
      *
      * @param <T> the type of the objects in the stream to return
      * @param dbms the dbms to send it to
@@ -82,6 +84,47 @@ public interface DbmsOperationHandler {
         SqlFunction<ResultSet, T> rsMapper
     );
 
+    /**
+     * Lazily executes a SQL query and subsequently maps each row in the
+     * {@link ResultSet} using a provided mapper and return a stream of the
+     * mapped objects. The query is executed immediately but the
+     * {@code ResultSet} is consumed one row at a time as the stream is
+     * consumed, so that the entire result never has to reside on the heap.
+     * <p>
+     * The returned stream holds on to database resources (a connection, a
+     * statement and a result set) until it is closed. It is therefore
+     * important that the stream is always closed, preferably using a
+     * try-with-resources block:
+     * <pre>{@code
+     *     try (Stream<Long> s = handler.executeQueryLazy(dbms, sql, values, rs -> rs.getLong(1))) {
+     *         return s.findAny().get();
+     *     }
+     * }</pre>
+     * <p>
+     * The default implementation delegates to
+     * {@link #executeQuery(Dbms, String, List, SqlFunction)}. Implementations
+     * that can hold on to a database cursor should override this method.
+     *
+     * @param <T> the type of the objects in the stream to return
+     * @param dbms the dbms to send it to
+     * @param sql the non-null SQL command to execute
+     * @param values non-null values to use for "?" parameters in the sql
+     * command
+     * @param rsMapper the non-null mapper to use when iterating over the
+     * {@link ResultSet}
+     * @return a stream of the mapped objects that must be closed after use
+     *
+     * @since 3.0.20
+     */
+    default <T> Stream<T> executeQueryLazy(
+        Dbms dbms,
+        String sql,
+        List<?> values,
+        SqlFunction<ResultSet, T> rsMapper
+    ) {
+        return executeQuery(dbms, sql, values, rsMapper);
+    }
+
     /**
      * Lazily Executes a SQL query and subsequently maps each row in the
      * {@link ResultSet} using a provided mapper and return a stream of the
@@ -151,6 +194,52 @@ public interface DbmsOperationHandler {
      */
     void executeDelete(Dbms dbms, String sql, List<?> values) throws SQLException;
 
+    /**
+     * Executes a list of SQL statements in a single transaction. Consecutive
+     * statements that share the same SQL are sent to the database as JDBC
+     * batches. Generated key(s) following insert statements (if any) will be
+     * fed to the consumer of each statement once the transaction has been
+     * completed successfully.
+     * <p>
+     * If the current thread is participating in a transaction, the statements
+     * are executed within that transaction instead.
+     * <p>
+     * The default implementation executes the statements one by one using
+     * {@link #executeInsert(Dbms, String, List, Collection, Consumer)},
+     * {@link #executeUpdate(Dbms, String, List)} and
+     * {@link #executeDelete(Dbms, String, List)}. It neither batches the
+     * statements nor runs them in a common transaction of its own.
+     *
+     * @param dbms the dbms to send it to
+     * @param sqlStatementList the non-null statements to execute
+     * @throws SQLException if an error occurs
+     *
+     * @since 3.0.20
+     */
+    default void execute(Dbms dbms, List<? extends SqlStatement> sqlStatementList) throws SQLException {
+        for (final SqlStatement sqlStatement : sqlStatementList) {
+            switch (sqlStatement.getType()) {
+                case INSERT: {
+                    @SuppressWarnings("unchecked")
+                    final SqlInsertStatement<Object> insert = (SqlInsertStatement<Object>) sqlStatement;
+                    executeInsert(dbms, insert.getSql(), insert.getBoundValues(), insert.getGeneratedColumnFields(), keys -> {
+                        keys.forEach(insert::addGeneratedKey);
+                        insert.acceptGeneratedKeys();
+                    });
+                    break;
+                }
+                case UPDATE: {
+                    executeUpdate(dbms, sqlStatement.getSql(), sqlStatement.getBoundValues());
+                    break;
+                }
+                case DELETE: {
+                    executeDelete(dbms, sqlStatement.getSql(), sqlStatement.getBoundValues());
+                    break;
+                }
+            }
+        }
+    }
+
     /**
      * Constructs an object that implements the <code>Clob</code> interface. The
      * object returned initially contains no data. The
@@ -294,4 +294,60 @@ public interface DbmsType {
      */
     SortByNullOrderInsertion getSortByNullOrderInsertion();
 
+    /**
+     * Returns the maximum number of parameters that a single statement may
+     * have for this database type. This limits how many rows that can be
+     * inserted using a single statement.
+     * <p>
+     * By default, {@code 32767} is returned, which is the lowest limit among
+     * the supported drivers.
+     *
+     * @return the maximum number of parameters in a single statement
+     * @since 3.0.20
+     */
+    default int getMaxParameterCount() {
+        return Short.MAX_VALUE;
+    }
+
+    /**
+     * Returns if a single INSERT statement with several rows in its VALUES
+     * clause returns one generated key for every inserted row, in the same
+     * order as the rows. If not, rows of tables with generated columns are
+     * inserted using one statement per row so that every entity can be given
+     * its key.
+     * <p>
+     * By default, {@code false} is returned.
+     *
+     * @return if multi-row inserts return a generated key for every row
+     * @since 3.0.20
+     */
+    default boolean hasGeneratedKeysForEveryRow() {
+        return false;
+    }
+
+    /**
+     * Renders a single statement that inserts a row into the specified table
+     * or, if a row with the same primary key already exists, updates that
+     * row. The statement has one parameter for each of the specified columns,
+     * in the same order.
+     * <p>
+     * By default, merging is not supported and an empty {@code Optional} is
+     * returned.
+     *
+     * @param tableReference     the full, enclosed name of the table
+     * @param columns            the enclosed names of the columns to insert
+     *                           or update, including the primary key columns
+     * @param primaryKeyColumns  the enclosed names of the primary key columns
+     * @return the statement, or an empty {@code Optional} if this database
+     * type can not merge rows
+     * @since 3.0.20
+     */
+    default Optional<String> renderMerge(
+            String tableReference, 
+            List<String> columns, 
+            List<String> primaryKeyColumns) {
+        
+        return Optional.empty();
+    }
+
 }
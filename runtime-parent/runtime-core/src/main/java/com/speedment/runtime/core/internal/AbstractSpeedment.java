@@ -46,6 +46,7 @@ public abstract class AbstractSpeedment implements Speedment {
 
     public static InjectBundle include() {
         return InjectBundle.of(
+            AsyncManagerComponentImpl.class,
             InfoComponentImpl.class,
             ConnectionPoolComponentImpl.class,
             DbmsHandlerComponentImpl.class,
@@ -0,0 +1,82 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component;
+
+import com.speedment.common.injector.State;
+import com.speedment.common.injector.annotation.Config;
+import com.speedment.common.injector.annotation.ExecuteBefore;
+import com.speedment.runtime.core.component.AsyncManagerComponent;
+import com.speedment.runtime.core.exception.SpeedmentException;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Default implementation of the {@link AsyncManagerComponent}. The executor
+ * has a fixed number of daemon threads and a bounded queue. Tasks that are
+ * submitted when the queue is full are rejected.
+ *
+ * @since 3.0.20
+ */
+public final class AsyncManagerComponentImpl implements AsyncManagerComponent {
+
+    private @Config(name = "async.threads", value = "8") int threads;
+    private @Config(name = "async.queueSize", value = "1024") int queueSize;
+
+    private volatile ThreadPoolExecutor executor;
+
+    @ExecuteBefore(State.STARTED)
+    void start() {
+        final AtomicInteger threadCounter = new AtomicInteger();
+        final ThreadPoolExecutor newExecutor = new ThreadPoolExecutor(
+            threads,
+            threads,
+            60,
+            TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(queueSize),
+            r -> {
+                final Thread t = new Thread(r, "speedment-async-" + threadCounter.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            }
+        );
+        newExecutor.allowCoreThreadTimeOut(true);
+        executor = newExecutor;
+    }
+
+    @ExecuteBefore(State.STOPPED)
+    void stop() {
+        final ThreadPoolExecutor oldExecutor = executor;
+        if (oldExecutor != null) {
+            oldExecutor.shutdown();
+            executor = null;
+        }
+    }
+
+    @Override
+    public Executor getExecutor() {
+        final ThreadPoolExecutor result = executor;
+        if (result == null) {
+            throw new SpeedmentException("The " + AsyncManagerComponent.class.getSimpleName() + " is not started.");
+        }
+        return result;
+    }
+
+}
@@ -16,33 +16,56 @@
  */
 package com.speedment.runtime.core.internal.component;
 
+import com.speedment.common.injector.State;
 import com.speedment.common.injector.annotation.Config;
+import com.speedment.common.injector.annotation.ExecuteBefore;
 import com.speedment.common.injector.annotation.Inject;
+import com.speedment.common.injector.annotation.WithState;
 import com.speedment.common.logger.Logger;
 import com.speedment.common.logger.LoggerManager;
 import com.speedment.runtime.config.Dbms;
 import com.speedment.runtime.core.ApplicationBuilder;
 import com.speedment.runtime.core.component.DbmsHandlerComponent;
 import com.speedment.runtime.core.component.PasswordComponent;
+import com.speedment.runtime.core.component.ProjectComponent;
+import com.speedment.runtime.core.component.connectionpool.ConnectionLease;
 import com.speedment.runtime.core.component.connectionpool.ConnectionPoolComponent;
+import com.speedment.runtime.core.component.connectionpool.ConnectionPoolMetrics;
 import com.speedment.runtime.core.component.connectionpool.PoolableConnection;
 import com.speedment.runtime.core.exception.SpeedmentException;
+import com.speedment.runtime.core.internal.pool.ConnectionPoolMetricsImpl;
+import com.speedment.runtime.core.internal.pool.Partition;
+import com.speedment.runtime.core.internal.pool.PoolKey;
 import com.speedment.runtime.core.internal.pool.PoolableConnectionImpl;
 import com.speedment.runtime.core.util.DatabaseUtil;
 import static com.speedment.runtime.core.util.OptionalUtil.unwrap;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
-import java.util.Collection;
-import java.util.Deque;
 import java.util.Map;
-import java.util.Objects;
 import static java.util.Objects.requireNonNull;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 /**
  * A fully concurrent implementation of a connection pool.
+ * <p>
+ * Connections are pooled separately for every combination of uri, user and
+ * password. Each such partition has at most
+ * {@code connectionpool.maxTotal} open connections, where 0 (the default)
+ * means that the number of connections is unlimited. Callers that request a
+ * connection when all connections are leased wait in order for up to
+ * {@code connectionpool.maxWait} milliseconds. A background thread discards
+ * idle connections that have expired, have been idle for longer than
+ * {@code connectionpool.idleTimeout} milliseconds or are no longer valid,
+ * and keeps at least {@code connectionpool.minIdle} idle connections open.
+ * <p>
+ * If {@code connectionpool.leakDetectionThreshold} is set to a positive
+ * number of milliseconds, the stack trace of every lease is recorded and a
+ * warning with that stack trace is logged for every connection that has been
+ * leased for longer than the threshold.
  *
  * @author Per Minborg
  */
@@ -56,9 +79,26 @@ public class ConnectionPoolComponentImpl implements ConnectionPoolComponent {
     private long maxAge;
     @Config(name = "connectionpool.maxRetainSize", value = "32")
     private int maxRetainSize;
+    @Config(name = "connectionpool.statementCacheSize", value = "64")
+    private int statementCacheSize;
+    @Config(name = "connectionpool.maxTotal", value = "0")
+    private int maxTotal;
+    @Config(name = "connectionpool.minIdle", value = "0")
+    private int minIdle;
+    @Config(name = "connectionpool.maxWait", value = "30000")
+    private long maxWait;
+    @Config(name = "connectionpool.idleTimeout", value = "60000")
+    private long idleTimeout;
+    @Config(name = "connectionpool.evictionInterval", value = "5000")
+    private long evictionInterval;
+    @Config(name = "connectionpool.validationTimeout", value = "5")
+    private int validationTimeout;
+    @Config(name = "connectionpool.leakDetectionThreshold", value = "0")
+    private long leakDetectionThreshold;
 
-    private final Map<Long, PoolableConnection> leasedConnections;
-    private final Map<String, Deque<PoolableConnection>> pools;
+    private final Map<PoolKey, Partition> partitions;
+    private final ConnectionPoolMetricsImpl metrics;
+    private volatile ScheduledExecutorService evictor;
 
     @Inject
     private DbmsHandlerComponent dbmsHandlerComponent;
@@ -66,8 +106,54 @@ public class ConnectionPoolComponentImpl implements ConnectionPoolComponent {
     private PasswordComponent passwordComponent;
 
     public ConnectionPoolComponentImpl() {
-        pools = new ConcurrentHashMap<>();
-        leasedConnections = new ConcurrentHashMap<>();
+        partitions = new ConcurrentHashMap<>();
+        metrics = new ConnectionPoolMetricsImpl(
+            () -> partitions.values().stream().flatMap(Partition::leases)
+        );
+    }
+
+    @ExecuteBefore(State.STARTED)
+    void start(@WithState(State.RESOLVED) ProjectComponent projectComponent) {
+        if (minIdle > 0) {
+            projectComponent.getProject().dbmses().forEach(dbms -> {
+                try {
+                    final String uri = DatabaseUtil.findConnectionUrl(dbmsHandlerComponent, dbms);
+                    final String username = unwrap(dbms.getUsername());
+                    final char[] password = unwrap(passwordComponent.get(dbms));
+                    acquirePartition(new PoolKey(uri, username, password)).fill(minIdle);
+                } catch (final RuntimeException ex) {
+                    LOGGER_CONNECTION.warn(ex, "Unable to pre-warm connections for %s.", dbms.getName());
+                }
+            });
+        }
+
+        if (evictionInterval > 0) {
+            final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                final Thread t = new Thread(r, "speedment-connection-evictor");
+                t.setDaemon(true);
+                return t;
+            });
+
+            scheduler.scheduleWithFixedDelay(
+                this::evict,
+                evictionInterval,
+                evictionInterval,
+                TimeUnit.MILLISECONDS
+            );
+
+            evictor = scheduler;
+        }
+    }
+
+    @ExecuteBefore(State.STOPPED)
+    void stop() {
+        final ScheduledExecutorService scheduler = evictor;
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            evictor = null;
+        }
+        partitions.values().forEach(Partition::close);
+        partitions.clear();
     }
 
     @Override
@@ -89,19 +175,7 @@ public class ConnectionPoolComponentImpl implements ConnectionPoolComponent {
         // user nullable
         // password nullable
         LOGGER_CONNECTION.debug("getConnection(%s, %s, *****)", uri, user);
-        final String key = makeKey(uri, user, password);
-        final Deque<PoolableConnection> q = acquireDeque(key);
-        final PoolableConnection reusedConnection = pollValidOrNull(q);
-        if (reusedConnection != null) {
-            LOGGER_CONNECTION.debug("Reuse Connection: %s", reusedConnection);
-            return lease(reusedConnection);
-        } else {
-            final Connection newRawConnection = newConnection(uri, user, password);
-            final PoolableConnection newConnection = new PoolableConnectionImpl(uri, user, password, newRawConnection, System.currentTimeMillis() + getMaxAge());
-            newConnection.setOnClose(() -> returnConnection(newConnection));
-            LOGGER_CONNECTION.debug("New Connection: %s", newConnection);
-            return lease(newConnection);
-        }
+        return acquirePartition(new PoolKey(uri, user, password)).lease(maxWait);
     }
 
     @Override
@@ -136,18 +210,14 @@ public class ConnectionPoolComponentImpl implements ConnectionPoolComponent {
     @Override
     public void returnConnection(PoolableConnection connection) {
         requireNonNull(connection);
-        leaseReturn(connection);
-        if (!isValidOrNull(connection)) {
+        final Partition partition = partitions.get(
+            new PoolKey(connection.getUri(), connection.getUser(), connection.getPassword())
+        );
+
+        if (partition == null || !(connection instanceof PoolableConnectionImpl)) {
             discard(connection);
         } else {
-            final String key = makeKey(connection);
-            final Deque<PoolableConnection> q = acquireDeque(key);
-            if (q.size() >= getMaxRetainSize()) {
-                discard(connection);
-            } else {
-                LOGGER_CONNECTION.debug("Recycled: %s", connection);
-                q.addFirst(connection);
-            }
+            partition.giveBack((PoolableConnectionImpl) connection);
         }
     }
 
@@ -165,65 +235,87 @@ public class ConnectionPoolComponentImpl implements ConnectionPoolComponent {
         }
     }
 
-    private PoolableConnection lease(PoolableConnection poolableConnection) {
-        leasedConnections.put(poolableConnection.getId(), poolableConnection);
-        return poolableConnection;
-    }
+    private Partition acquirePartition(PoolKey key) {
+        final Partition partition = partitions.get(key);
+        if (partition != null) {
+            return partition;
+        }
 
-    private PoolableConnection leaseReturn(PoolableConnection poolableConnection) {
-        leasedConnections.remove(poolableConnection.getId());
-        return poolableConnection;
+        // The key is copied since the caller might clear the password later
+        return partitions.computeIfAbsent(key.copy(), this::newPartition);
     }
 
-    private boolean isValidOrNull(PoolableConnection connection) {
-        // connection nullable
-        try {
-            return connection == null || (connection.getExpires() > System.currentTimeMillis() && !connection.isClosed());
-        } catch (SQLException sqle) {
-            LOGGER_CONNECTION.error(sqle, "Error while checking if a connection is closed.");
-            return false;
-        }
+    private Partition newPartition(PoolKey key) {
+        return new Partition(
+            key,
+            () -> newPoolableConnection(key),
+            maxTotal,
+            maxRetainSize,
+            metrics,
+            leakDetectionThreshold > 0
+        );
     }
 
-    private PoolableConnection pollValidOrNull(Deque<PoolableConnection> q) {
-        requireNonNull(q);
-        PoolableConnection pc = q.pollLast();
-        while (!isValidOrNull(pc)) {
-            discard(pc); // If we discover an old connection, we discard it from the queue. Otherwise it will not be closed
-            pc = q.pollLast();
-        }
-        return pc;
+    private PoolableConnectionImpl newPoolableConnection(PoolKey key) {
+        final char[] password = key.getPassword();
+        final Connection newRawConnection = newConnection(key.getUri(), key.getUser(), password);
+        final PoolableConnectionImpl newConnection = new PoolableConnectionImpl(
+            key.getUri(),
+            key.getUser(),
+            password,
+            newRawConnection,
+            System.currentTimeMillis() + getMaxAge(),
+            statementCacheSize
+        );
+
+        newConnection.setOnClose(() -> returnConnection(newConnection));
+        LOGGER_CONNECTION.debug("New Connection: %s", newConnection);
+        return newConnection;
     }
 
-    private String makeKey(PoolableConnection connection) {
-        requireNonNull(connection);
-        return makeKey(connection.getUri(), connection.getUser(), connection.getPassword());
+    private void evict() {
+        try {
+            partitions.values().forEach(p -> p.maintain(idleTimeout, validationTimeout, minIdle));
+            if (leakDetectionThreshold > 0) {
+                partitions.values().stream()
+                    .flatMap(p -> p.newLeaks(leakDetectionThreshold))
+                    .forEach(this::reportLeak);
+            }
+        } catch (final RuntimeException ex) {
+            LOGGER_CONNECTION.error(ex, "Error while evicting idle connections.");
+        }
     }
 
-    private String makeKey(String uri, String user, char[] password) {
-        requireNonNull(uri);
-        // user nullable
-        // password nullable
-        return uri + Objects.toString(user) + ((password == null) ? "null" : new String(password));
+    private void reportLeak(ConnectionLease lease) {
+        final Throwable trace = new Throwable("Lease of connection " + lease.getConnectionId());
+        lease.getLeaseStackTrace().ifPresent(trace::setStackTrace);
+        LOGGER_CONNECTION.warn(trace,
+            "Connection %d to %s has been leased for %d ms without being " +
+            "returned. It might have been leaked by a stream that was never " +
+            "closed.",
+            lease.getConnectionId(), lease.getUri(), lease.getLeaseMillis()
+        );
     }
 
-    private Deque<PoolableConnection> acquireDeque(String key) {
-        requireNonNull(key);
-        return pools.computeIfAbsent(key, $ -> new ConcurrentLinkedDeque<>());
+    @Override
+    public ConnectionPoolMetrics getMetrics() {
+        return metrics;
     }
 
     @Override
     public int poolSize() {
-        return pools
-            .values()
+        return partitions.values()
             .stream()
-            .mapToInt(Collection::size)
+            .mapToInt(Partition::idleSize)
             .sum();
     }
 
     @Override
     public int leaseSize() {
-        return leasedConnections.size();
+        return partitions.values()
+            .stream()
+            .mapToInt(Partition::leaseSize)
+            .sum();
     }
 
     @Override
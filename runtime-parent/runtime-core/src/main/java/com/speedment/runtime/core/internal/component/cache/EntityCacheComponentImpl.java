@@ -0,0 +1,215 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component.cache;
+
+import com.speedment.common.injector.State;
+import com.speedment.common.injector.annotation.Config;
+import com.speedment.common.injector.annotation.ExecuteBefore;
+import com.speedment.common.injector.annotation.Inject;
+import com.speedment.runtime.config.identifier.TableIdentifier;
+import com.speedment.runtime.core.component.ManagerComponent;
+import com.speedment.runtime.core.component.cache.EntityCacheComponent;
+import com.speedment.runtime.core.component.sql.SqlStreamSupplierComponent;
+import com.speedment.runtime.core.component.transaction.TransactionComponent;
+import com.speedment.runtime.core.exception.SpeedmentException;
+import com.speedment.runtime.core.internal.util.TableSelectionUtil;
+import com.speedment.runtime.core.manager.Manager;
+import com.speedment.runtime.core.stream.parallel.ParallelStrategy;
+import com.speedment.runtime.field.Field;
+import com.speedment.runtime.field.trait.HasComparableOperators;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Default implementation of the {@link EntityCacheComponent}-interface that
+ * decorates the {@link SqlStreamSupplierComponent}.
+ * <p>
+ * Streams and primary key lookups are served from the cache unless the
+ * current thread participates in a transaction, in which case the database
+ * is always queried so that uncommitted changes are visible and never leak
+ * into the cache.
+ *
+ * @since  3.0.20
+ */
+public final class EntityCacheComponentImpl implements EntityCacheComponent {
+
+    @Config(name = "cache.tables", value = "")
+    private String tables; // Comma separated, empty means all tables
+    @Config(name = "cache.ttl", value = "30000")
+    private long ttl; // milliseconds
+    @Config(name = "cache.maxSize", value = "10000")
+    private int maxSize; // entities per table
+    @Config(name = "cache.copyOnRead", value = "true")
+    private boolean copyOnRead;
+
+    private @Inject SqlStreamSupplierComponent source;
+    private @Inject ManagerComponent managerComponent;
+    private @Inject TransactionComponent transactionComponent;
+
+    private final Map<TableIdentifier<?>, TableCache<?>> caches;
+    private volatile Set<String> tableNames;
+
+    public EntityCacheComponentImpl() {
+        this.caches = new ConcurrentHashMap<>();
+    }
+
+    @ExecuteBefore(State.STARTED)
+    void parseTables() {
+        tableNames = TableSelectionUtil.parse(tables);
+    }
+
+    @Override
+    public <ENTITY> Stream<ENTITY> stream(
+            TableIdentifier<ENTITY> tableIdentifier,
+            ParallelStrategy strategy) {
+
+        if (isBypassed(tableIdentifier)) {
+            return source.stream(tableIdentifier, strategy);
+        }
+
+        final Stream<ENTITY> cached = cacheFor(tableIdentifier).stream();
+        return cached == null
+            ? source.stream(tableIdentifier, strategy)
+            : cached;
+    }
+
+    @Override
+    public <ENTITY, V extends Comparable<? super V>> Optional<ENTITY> findAny(
+            TableIdentifier<ENTITY> tableIdentifier,
+            HasComparableOperators<ENTITY, V> field,
+            V value) {
+
+        if (isBypassed(tableIdentifier)) {
+            return source.findAny(tableIdentifier, field, value);
+        }
+
+        final Stream<ENTITY> cached = cacheFor(tableIdentifier).stream();
+        return cached == null
+            ? source.findAny(tableIdentifier, field, value)
+            : cached.filter(field.equal(value)).findAny();
+    }
+
+    @Override
+    public <ENTITY> Optional<ENTITY> findByPrimaryKey(
+            TableIdentifier<ENTITY> tableIdentifier,
+            List<? extends Field<ENTITY>> primaryKeyFields,
+            List<?> primaryKeyValues) {
+
+        if (isBypassed(tableIdentifier)) {
+            return source.findByPrimaryKey(
+                tableIdentifier, primaryKeyFields, primaryKeyValues
+            );
+        }
+
+        return cacheFor(tableIdentifier)
+            .findByPrimaryKey(primaryKeyFields, primaryKeyValues);
+    }
+
+    @Override
+    public boolean isImmutable() {
+        return source.isImmutable();
+    }
+
+    @Override
+    public void start() {
+        source.start();
+    }
+
+    @Override
+    public void stop() {
+        invalidateAll();
+        source.stop();
+    }
+
+    @Override
+    public boolean isCached(TableIdentifier<?> tableIdentifier) {
+        requireNonNull(tableIdentifier);
+        final Set<String> names = tableNames;
+        return names == null
+            || TableSelectionUtil.isSelected(names, tableIdentifier);
+    }
+
+    @Override
+    public void invalidate(TableIdentifier<?> tableIdentifier) {
+        final TableCache<?> cache = caches.get(requireNonNull(tableIdentifier));
+        if (cache != null) {
+            cache.invalidate();
+        }
+    }
+
+    @Override
+    public <ENTITY> void invalidate(TableIdentifier<ENTITY> tableIdentifier, ENTITY entity) {
+        requireNonNull(entity);
+        @SuppressWarnings("unchecked")
+        final TableCache<ENTITY> cache = (TableCache<ENTITY>)
+            caches.get(requireNonNull(tableIdentifier));
+
+        if (cache != null) {
+            cache.invalidate(entity);
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        caches.values().forEach(TableCache::invalidate);
+    }
+
+    private boolean isBypassed(TableIdentifier<?> tableIdentifier) {
+        return !isCached(tableIdentifier)
+            || transactionComponent.get(Thread.currentThread()).isPresent();
+    }
+
+    private <ENTITY> TableCache<ENTITY> cacheFor(TableIdentifier<ENTITY> tableIdentifier) {
+        @SuppressWarnings("unchecked")
+        final TableCache<ENTITY> cache = (TableCache<ENTITY>)
+            caches.computeIfAbsent(tableIdentifier, this::newCache);
+        return cache;
+    }
+
+    private <ENTITY> TableCache<ENTITY> newCache(TableIdentifier<ENTITY> tableIdentifier) {
+        @SuppressWarnings("unchecked")
+        final Manager<ENTITY> manager = (Manager<ENTITY>) managerComponent.stream()
+            .filter(m -> tableIdentifier.equals(m.getTableIdentifier()))
+            .findAny().orElseThrow(() -> new SpeedmentException(
+                "Could not find any manager for table '" + tableIdentifier + "'."
+            ));
+
+        final List<Field<ENTITY>> fields = manager.fields().collect(toList());
+        final UnaryOperator<ENTITY> copier = copyOnRead
+            ? new EntityCopier<>(fields)
+            : UnaryOperator.identity();
+
+        return new TableCache<>(
+            tableIdentifier,
+            source,
+            manager.primaryKeyFields().collect(toList()),
+            copier,
+            ttl,
+            maxSize,
+            System::nanoTime
+        );
+    }
+}
@@ -0,0 +1,96 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component.cache;
+
+import com.speedment.common.logger.Logger;
+import com.speedment.common.logger.LoggerManager;
+import com.speedment.runtime.field.Field;
+
+import java.lang.reflect.Constructor;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.UnaryOperator;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Creates shallow copies of entities by instantiating the implementing class
+ * using its default constructor and then copying the value of every field.
+ * Cached and memoized entities are never handed out directly since the
+ * caller might modify them.
+ * <p>
+ * If the implementing class does not have an accessible default constructor,
+ * the original entity is returned instead.
+ *
+ * @param <ENTITY>  the entity type
+ *
+ * @since  3.0.20
+ */
+public final class EntityCopier<ENTITY> implements UnaryOperator<ENTITY> {
+
+    private static final Logger LOGGER = LoggerManager.getLogger(EntityCopier.class);
+
+    private static final ClassValue<Optional<Constructor<?>>> CONSTRUCTORS =
+        new ClassValue<Optional<Constructor<?>>>() {
+            @Override
+            protected Optional<Constructor<?>> computeValue(Class<?> clazz) {
+                try {
+                    return Optional.of(clazz.getConstructor());
+                } catch (final NoSuchMethodException | SecurityException ex) {
+                    LOGGER.warn(
+                        "%s does not have a public default constructor. Entities "
+                        + "that can not be copied will be shared between readers.",
+                        clazz.getName()
+                    );
+                    return Optional.empty();
+                }
+            }
+        };
+
+    private final List<Field<ENTITY>> fields;
+
+    public EntityCopier(List<Field<ENTITY>> fields) {
+        this.fields = requireNonNull(fields);
+    }
+
+    @Override
+    public ENTITY apply(ENTITY entity) {
+        if (entity == null) {
+            return null;
+        }
+
+        final Optional<Constructor<?>> constructor = CONSTRUCTORS.get(entity.getClass());
+        if (!constructor.isPresent()) {
+            return entity;
+        }
+
+        final ENTITY copy;
+        try {
+            @SuppressWarnings("unchecked")
+            final ENTITY created = (ENTITY) constructor.get().newInstance();
+            copy = created;
+        } catch (final ReflectiveOperationException ex) {
+            return entity;
+        }
+
+        for (final Field<ENTITY> field : fields) {
+            field.setter().set(copy, field.getter().apply(entity));
+        }
+
+        return copy;
+    }
+}
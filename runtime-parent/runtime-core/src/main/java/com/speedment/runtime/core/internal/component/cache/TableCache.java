@@ -0,0 +1,304 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component.cache;
+
+import com.speedment.runtime.config.identifier.TableIdentifier;
+import com.speedment.runtime.core.component.StreamSupplierComponent;
+import com.speedment.runtime.field.Field;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * The cached state of a single table. If the table has at most
+ * {@code maxSize} rows, a snapshot of the entire table is kept together with
+ * an index on the primary key. Larger tables only cache the entities that
+ * have been looked up using their primary key, evicting the least recently
+ * used entry when the cache is full.
+ * <p>
+ * Every invalidation increases a generation counter. Content that was read
+ * from the database in an older generation is never stored since it might
+ * predate the change that caused the invalidation.
+ *
+ * @param <ENTITY>  the entity type
+ *
+ * @since  3.0.20
+ */
+final class TableCache<ENTITY> {
+
+    private final TableIdentifier<ENTITY> tableId;
+    private final StreamSupplierComponent source;
+    private final List<Field<ENTITY>> primaryKeyFields;
+    private final UnaryOperator<ENTITY> copier;
+    private final long ttlNanos;
+    private final int maxSize;
+    private final LongSupplier clock;
+
+    private final AtomicLong generation;
+    private final Map<List<Object>, Entry<ENTITY>> entries;
+    private volatile Snapshot<ENTITY> snapshot;
+    private volatile long tooLargeUntil;
+    private volatile boolean tooLarge;
+
+    TableCache(
+            TableIdentifier<ENTITY> tableId,
+            StreamSupplierComponent source,
+            List<Field<ENTITY>> primaryKeyFields,
+            UnaryOperator<ENTITY> copier,
+            long ttlMillis,
+            int maxSize,
+            LongSupplier clock) {
+
+        this.tableId          = requireNonNull(tableId);
+        this.source           = requireNonNull(source);
+        this.primaryKeyFields = requireNonNull(primaryKeyFields);
+        this.copier           = requireNonNull(copier);
+        this.ttlNanos         = Math.max(0, ttlMillis) * 1_000_000L;
+        this.maxSize          = Math.max(0, maxSize);
+        this.clock            = requireNonNull(clock);
+        this.generation       = new AtomicLong();
+        this.entries          = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Returns a stream of copies of all the entities in the table, or
+     * {@code null} if the table is too large to be kept in a snapshot.
+     *
+     * @return  stream of the cached entities or {@code null}
+     */
+    Stream<ENTITY> stream() {
+        final Snapshot<ENTITY> current = snapshot();
+        return current == null ? null : current.entities.stream().map(copier);
+    }
+
+    /**
+     * Looks up the entity with the given primary key. If it is not cached, it
+     * is loaded from the underlying source.
+     *
+     * @param fields  the primary key fields
+     * @param values  the primary key values
+     * @return        a copy of the entity or empty if it does not exist
+     */
+    Optional<ENTITY> findByPrimaryKey(
+            List<? extends Field<ENTITY>> fields,
+            List<?> values) {
+
+        if (primaryKeyFields.isEmpty() || !primaryKeyFields.equals(fields)) {
+            return source.findByPrimaryKey(tableId, fields, values);
+        }
+
+        final List<Object> key = keyOf(values);
+        final Snapshot<ENTITY> current = snapshot();
+        if (current != null) {
+            return Optional.ofNullable(current.index.get(key)).map(copier);
+        }
+
+        final long now = clock.getAsLong();
+        synchronized (entries) {
+            final Entry<ENTITY> entry = entries.get(key);
+            if (entry != null) {
+                if (now - entry.loadedAt < ttlNanos) {
+                    return Optional.of(copier.apply(entry.entity));
+                }
+                entries.remove(key);
+            }
+        }
+
+        final long gen = generation.get();
+        final Optional<ENTITY> found = source.findByPrimaryKey(tableId, fields, values);
+        if (found.isPresent() && maxSize > 0) {
+            final ENTITY cached = copier.apply(found.get());
+            synchronized (entries) {
+                if (generation.get() == gen) {
+                    if (entries.size() >= maxSize) {
+                        entries.remove(entries.keySet().iterator().next());
+                    }
+                    entries.put(key, new Entry<>(cached, now));
+                }
+            }
+        }
+
+        return found;
+    }
+
+    /**
+     * Discards everything that is cached for this table.
+     */
+    void invalidate() {
+        generation.incrementAndGet();
+        snapshot = null;
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    /**
+     * Discards the snapshot and the primary key entry of the given entity.
+     *
+     * @param entity  the entity that has changed
+     */
+    void invalidate(ENTITY entity) {
+        generation.incrementAndGet();
+        snapshot = null;
+        if (!primaryKeyFields.isEmpty()) {
+            final List<Object> key = keyOf(entity);
+            synchronized (entries) {
+                entries.remove(key);
+            }
+        }
+    }
+
+    private Snapshot<ENTITY> snapshot() {
+        final Snapshot<ENTITY> current = snapshot;
+        final long now = clock.getAsLong();
+        if (current != null && now - current.loadedAt < ttlNanos) {
+            return current;
+        }
+        if (tooLarge && now - tooLargeUntil < 0) {
+            return null;
+        }
+
+        synchronized (this) {
+            final Snapshot<ENTITY> reloaded = snapshot;
+            if (reloaded != null && reloaded != current) {
+                return reloaded;
+            }
+            if (tooLarge && clock.getAsLong() - tooLargeUntil < 0) {
+                return null;
+            }
+
+            final long gen = generation.get();
+            final List<ENTITY> entities;
+            try (final Stream<ENTITY> stream = source.stream(tableId)) {
+                entities = stream
+                    .limit(maxSize + 1L)
+                    .map(copier)
+                    .collect(toList());
+            }
+
+            if (entities.size() > maxSize) {
+                tooLarge      = true;
+                tooLargeUntil = now + ttlNanos;
+                snapshot      = null;
+                return null;
+            }
+
+            tooLarge = false;
+            final Snapshot<ENTITY> loaded = new Snapshot<>(
+                Collections.unmodifiableList(entities),
+                indexOf(entities),
+                now
+            );
+
+            if (generation.get() != gen) {
+                // Something changed while the table was being read
+                return null;
+            }
+
+            snapshot = loaded;
+            return loaded;
+        }
+    }
+
+    private Map<List<Object>, ENTITY> indexOf(List<ENTITY> entities) {
+        if (primaryKeyFields.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        final Map<List<Object>, ENTITY> index = new HashMap<>(entities.size() * 2);
+        entities.forEach(e -> index.put(keyOf(e), e));
+        return index;
+    }
+
+    private List<Object> keyOf(ENTITY entity) {
+        final List<Object> key = new ArrayList<>(primaryKeyFields.size());
+        for (final Field<ENTITY> field : primaryKeyFields) {
+            key.add(normalize(field.getter().apply(entity)));
+        }
+        return key;
+    }
+
+    private static List<Object> keyOf(List<?> values) {
+        final List<Object> key = new ArrayList<>(values.size());
+        for (final Object value : values) {
+            key.add(normalize(value));
+        }
+        return key;
+    }
+
+    /**
+     * Widens boxed integral and floating point numbers to {@code Long} and
+     * {@code Double} so that, for an example, {@code 1L} finds the entity
+     * with the {@code int} primary key {@code 1}. Other values are returned
+     * as they are.
+     *
+     * @param value  the key value to normalize
+     * @return       the normalized value
+     */
+    private static Object normalize(Object value) {
+        if (value instanceof Integer
+            || value instanceof Long
+            || value instanceof Short
+            || value instanceof Byte) {
+            return ((Number) value).longValue();
+        } else if (value instanceof Double || value instanceof Float) {
+            return ((Number) value).doubleValue();
+        } else {
+            return value;
+        }
+    }
+
+    private static final class Snapshot<ENTITY> {
+
+        private final List<ENTITY> entities;
+        private final Map<List<Object>, ENTITY> index;
+        private final long loadedAt;
+
+        private Snapshot(
+                List<ENTITY> entities,
+                Map<List<Object>, ENTITY> index,
+                long loadedAt) {
+
+            this.entities = entities;
+            this.index    = index;
+            this.loadedAt = loadedAt;
+        }
+    }
+
+    private static final class Entry<ENTITY> {
+
+        private final ENTITY entity;
+        private final long loadedAt;
+
+        private Entry(ENTITY entity, long loadedAt) {
+            this.entity   = entity;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component.columnar;
+
+import com.speedment.runtime.field.Field;
+import com.speedment.runtime.field.predicate.FieldPredicate;
+
+import java.util.BitSet;
+
+/**
+ * The values of a single field for every row of a {@link ColumnarTable}.
+ *
+ * @param <ENTITY>  the entity type
+ *
+ * @since  3.0.20
+ */
+abstract class AbstractColumn<ENTITY> {
+
+    private final Field<ENTITY> field;
+    private final int size;
+
+    AbstractColumn(Field<ENTITY> field, int size) {
+        this.field = field;
+        this.size  = size;
+    }
+
+    final Field<ENTITY> getField() {
+        return field;
+    }
+
+    final int size() {
+        return size;
+    }
+
+    /**
+     * Sets the value of this column at the given row in the given entity.
+     *
+     * @param entity  the entity to set the value in
+     * @param row     the row
+     */
+    abstract void set(ENTITY entity, int row);
+
+    /**
+     * Returns the rows that the given predicate on the field of this column
+     * holds for. The probe is an entity that may be used to test the
+     * predicate for values that can not be evaluated directly against the
+     * column.
+     *
+     * @param predicate  the predicate to evaluate
+     * @param probe      entity that may be modified to test the predicate
+     * @return           the matching rows
+     */
+    BitSet select(FieldPredicate<ENTITY> predicate, ENTITY probe) {
+        final BitSet result = new BitSet(size);
+        for (int row = 0; row < size; row++) {
+            set(probe, row);
+            if (predicate.test(probe)) {
+                result.set(row);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,240 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component.columnar;
+
+import com.speedment.common.injector.State;
+import com.speedment.common.injector.annotation.Config;
+import com.speedment.common.injector.annotation.ExecuteBefore;
+import com.speedment.common.injector.annotation.Inject;
+import com.speedment.common.logger.Logger;
+import com.speedment.common.logger.LoggerManager;
+import com.speedment.runtime.config.identifier.TableIdentifier;
+import com.speedment.runtime.core.component.ManagerComponent;
+import com.speedment.runtime.core.component.columnar.ColumnarStreamSupplierComponent;
+import com.speedment.runtime.core.component.sql.SqlStreamSupplierComponent;
+import com.speedment.runtime.core.exception.SpeedmentException;
+import com.speedment.runtime.core.internal.stream.builder.ReferenceStreamBuilder;
+import com.speedment.runtime.core.internal.stream.builder.pipeline.PipelineImpl;
+import com.speedment.runtime.core.internal.util.TableSelectionUtil;
+import com.speedment.runtime.core.manager.Manager;
+import com.speedment.runtime.core.stream.parallel.ParallelStrategy;
+import com.speedment.runtime.field.Field;
+
+import java.lang.reflect.Constructor;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Default implementation of the {@link ColumnarStreamSupplierComponent}
+ * interface that loads its snapshots from the
+ * {@link SqlStreamSupplierComponent}.
+ * <p>
+ * Entities are created using the public default constructor of the class
+ * that the underlying stream supplier returns. Tables where that class has
+ * no such constructor are always read from the underlying stream supplier.
+ *
+ * @since  3.0.20
+ */
+public final class ColumnarStreamSupplierComponentImpl implements ColumnarStreamSupplierComponent {
+
+    private static final Logger LOGGER = LoggerManager.getLogger(ColumnarStreamSupplierComponentImpl.class);
+
+    @Config(name = "columnar.tables", value = "")
+    private String tables; // Comma separated, empty means all tables
+    @Config(name = "columnar.ttl", value = "0")
+    private long ttl; // milliseconds, 0 means until refreshed
+
+    private @Inject SqlStreamSupplierComponent source;
+    private @Inject ManagerComponent managerComponent;
+
+    private final Map<TableIdentifier<?>, Snapshot> snapshots;
+    private final Set<TableIdentifier<?>> unsupported;
+    private final AtomicLong generation;
+    private volatile Set<String> tableNames;
+
+    public ColumnarStreamSupplierComponentImpl() {
+        this.snapshots   = new ConcurrentHashMap<>();
+        this.unsupported = ConcurrentHashMap.newKeySet();
+        this.generation  = new AtomicLong();
+    }
+
+    @ExecuteBefore(State.STARTED)
+    void parseTables() {
+        tableNames = TableSelectionUtil.parse(tables);
+    }
+
+    @Override
+    public <ENTITY> Stream<ENTITY> stream(
+            TableIdentifier<ENTITY> tableIdentifier,
+            ParallelStrategy strategy) {
+
+        if (!isColumnar(tableIdentifier)) {
+            return source.stream(tableIdentifier, strategy);
+        }
+
+        final ColumnarTable<ENTITY> table = snapshotOf(tableIdentifier);
+        if (table == null) {
+            return source.stream(tableIdentifier, strategy);
+        }
+
+        return new ReferenceStreamBuilder<>(
+            new PipelineImpl<>(() -> table.stream(table.allRows())),
+            new ColumnarStreamTerminator<>(table)
+        );
+    }
+
+    @Override
+    public boolean isColumnar(TableIdentifier<?> tableIdentifier) {
+        requireNonNull(tableIdentifier);
+        final Set<String> names = tableNames;
+        return !unsupported.contains(tableIdentifier)
+            && (names == null || TableSelectionUtil.isSelected(names, tableIdentifier));
+    }
+
+    @Override
+    public void refresh(TableIdentifier<?> tableIdentifier) {
+        requireNonNull(tableIdentifier);
+        synchronized (snapshots) {
+            generation.incrementAndGet();
+            snapshots.remove(tableIdentifier);
+        }
+    }
+
+    @Override
+    public long loadedRows(TableIdentifier<?> tableIdentifier) {
+        final Snapshot snapshot = snapshots.get(requireNonNull(tableIdentifier));
+        return snapshot == null ? -1 : snapshot.table.size();
+    }
+
+    /**
+     * Returns the current snapshot of the specified table, loading it if
+     * there is none or if it has expired. The table is read outside of the
+     * map so that other tables can be streamed meanwhile. A snapshot is only
+     * published if no table has been refreshed while it was being read, since
+     * it might otherwise predate the change that caused the refresh.
+     *
+     * @param <ENTITY>         the entity type
+     * @param tableIdentifier  the table
+     * @return                 the snapshot or {@code null} if the table can
+     *                         not be stored in columns
+     */
+    private <ENTITY> ColumnarTable<ENTITY> snapshotOf(TableIdentifier<ENTITY> tableIdentifier) {
+        final Snapshot current = snapshots.get(tableIdentifier);
+        if (current != null && !current.isExpired()) {
+            return current.table();
+        }
+
+        final long gen = generation.get();
+        final ColumnarTable<ENTITY> loaded = load(tableIdentifier);
+        if (loaded == null) {
+            return null;
+        }
+
+        synchronized (snapshots) {
+            if (generation.get() == gen) {
+                snapshots.put(tableIdentifier, new Snapshot(loaded, System.nanoTime()));
+            }
+        }
+        return loaded;
+    }
+
+    private <ENTITY> ColumnarTable<ENTITY> load(TableIdentifier<ENTITY> tableIdentifier) {
+        @SuppressWarnings("unchecked")
+        final Manager<ENTITY> manager = (Manager<ENTITY>) managerComponent.stream()
+            .filter(m -> tableIdentifier.equals(m.getTableIdentifier()))
+            .findAny().orElseThrow(() -> new SpeedmentException(
+                "Could not find any manager for table '" + tableIdentifier + "'."
+            ));
+
+        final List<ENTITY> entities;
+        try (final Stream<ENTITY> stream = source.stream(tableIdentifier)) {
+            entities = stream.collect(toList());
+        }
+
+        final Supplier<ENTITY> constructor;
+        if (entities.isEmpty()) {
+            constructor = () -> {
+                throw new IllegalStateException(
+                    "The snapshot of " + tableIdentifier + " is empty."
+                );
+            };
+        } else {
+            constructor = constructorOf(entities.get(0));
+            if (constructor == null) {
+                LOGGER.warn(
+                    "%s does not have a public default constructor. The table "
+                    + "%s will not be stored in columns.",
+                    entities.get(0).getClass().getName(), tableIdentifier
+                );
+                unsupported.add(tableIdentifier);
+                return null;
+            }
+        }
+
+        final List<Field<ENTITY>> fields = manager.fields().collect(toList());
+        return ColumnarTable.of(fields, entities, constructor);
+    }
+
+    private final class Snapshot {
+
+        private final ColumnarTable<?> table;
+        private final long loadedAt;
+
+        private Snapshot(ColumnarTable<?> table, long loadedAt) {
+            this.table    = requireNonNull(table);
+            this.loadedAt = loadedAt;
+        }
+
+        private boolean isExpired() {
+            return ttl > 0 && System.nanoTime() - loadedAt >= ttl * 1_000_000L;
+        }
+
+        @SuppressWarnings("unchecked")
+        private <ENTITY> ColumnarTable<ENTITY> table() {
+            return (ColumnarTable<ENTITY>) table;
+        }
+    }
+
+    private static <ENTITY> Supplier<ENTITY> constructorOf(ENTITY sample) {
+        final Constructor<?> constructor;
+        try {
+            constructor = sample.getClass().getConstructor();
+        } catch (final NoSuchMethodException | SecurityException ex) {
+            return null;
+        }
+
+        return () -> {
+            try {
+                @SuppressWarnings("unchecked")
+                final ENTITY entity = (ENTITY) constructor.newInstance();
+                return entity;
+            } catch (final ReflectiveOperationException ex) {
+                throw new SpeedmentException(
+                    "Could not create a new instance of " + sample.getClass(), ex
+                );
+            }
+        };
+    }
+}
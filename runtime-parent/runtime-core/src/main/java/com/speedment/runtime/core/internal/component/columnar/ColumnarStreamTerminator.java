@@ -0,0 +1,123 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component.columnar;
+
+import com.speedment.runtime.core.internal.stream.builder.action.reference.FilterAction;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.MapToDoubleAction;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.MapToIntAction;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.MapToLongAction;
+import com.speedment.runtime.core.internal.stream.builder.action.trait.HasMapper;
+import com.speedment.runtime.core.internal.stream.builder.pipeline.ReferencePipeline;
+import com.speedment.runtime.core.internal.stream.builder.streamterminator.StreamTerminator;
+import com.speedment.runtime.core.stream.Pipeline;
+import com.speedment.runtime.core.stream.action.Action;
+
+import java.util.BitSet;
+import java.util.function.Supplier;
+import java.util.stream.BaseStream;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@link StreamTerminator} that evaluates the initial field predicates of a
+ * pipeline against the columns of a {@link ColumnarTable} and replaces the
+ * source of the pipeline with entities for the matching rows only.
+ * <p>
+ * If the first remaining action maps the entities to the value of a
+ * primitive field, the action is removed and the values are read directly
+ * from the column instead. Counting a pipeline that only consists of field
+ * predicates does not create any entities.
+ *
+ * @param <ENTITY>  the entity type
+ *
+ * @since  3.0.20
+ */
+final class ColumnarStreamTerminator<ENTITY> implements StreamTerminator {
+
+    private final ColumnarTable<ENTITY> table;
+
+    ColumnarStreamTerminator(ColumnarTable<ENTITY> table) {
+        this.table = requireNonNull(table);
+    }
+
+    @Override
+    public <P extends Pipeline> P optimize(P pipeline) {
+        requireNonNull(pipeline);
+        final BitSet rows = select(pipeline);
+        pipeline.setInitialSupplier(sourceOf(pipeline, rows));
+        return pipeline;
+    }
+
+    @Override
+    public <T> long count(ReferencePipeline<T> pipeline) {
+        requireNonNull(pipeline);
+        final BitSet rows = select(pipeline);
+        if (pipeline.isEmpty()) {
+            return rows.cardinality();
+        }
+        pipeline.setInitialSupplier(sourceOf(pipeline, rows));
+        return pipeline.getAsReferenceStream().count();
+    }
+
+    /**
+     * Removes the initial filters that can be evaluated against the columns
+     * and returns the rows that pass all of them.
+     */
+    private BitSet select(Pipeline pipeline) {
+        final BitSet rows = table.allRows();
+        while (!pipeline.isEmpty() && pipeline.getFirst() instanceof FilterAction) {
+            final FilterAction<?> filter = (FilterAction<?>) pipeline.getFirst();
+            final BitSet matching = table.select(filter.getPredicate());
+            if (matching == null) {
+                break;
+            }
+            rows.and(matching);
+            pipeline.removeFirst();
+        }
+        return rows;
+    }
+
+    /**
+     * Returns a supplier of the new source of the pipeline, removing the
+     * first action if it can be replaced by reading a column.
+     */
+    private Supplier<BaseStream<?, ?>> sourceOf(Pipeline pipeline, BitSet rows) {
+        if (!pipeline.isEmpty()) {
+            final Action<?, ?> first = pipeline.getFirst();
+            if (first instanceof HasMapper) {
+                final Object mapper = ((HasMapper<?>) first).getMapper();
+                final BaseStream<?, ?> values;
+                if (first instanceof MapToIntAction) {
+                    values = table.intStream(mapper, rows);
+                } else if (first instanceof MapToLongAction) {
+                    values = table.longStream(mapper, rows);
+                } else if (first instanceof MapToDoubleAction) {
+                    values = table.doubleStream(mapper, rows);
+                } else {
+                    values = null;
+                }
+
+                if (values != null) {
+                    pipeline.removeFirst();
+                    return () -> values;
+                }
+            }
+        }
+
+        return () -> table.stream(rows);
+    }
+}
@@ -0,0 +1,270 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component.columnar;
+
+import com.speedment.runtime.config.identifier.ColumnIdentifier;
+import com.speedment.runtime.field.DoubleField;
+import com.speedment.runtime.field.Field;
+import com.speedment.runtime.field.IntField;
+import com.speedment.runtime.field.LongField;
+import com.speedment.runtime.field.StringField;
+import com.speedment.runtime.field.method.GetDouble;
+import com.speedment.runtime.field.method.GetInt;
+import com.speedment.runtime.field.method.GetLong;
+import com.speedment.runtime.field.predicate.CombinedPredicate;
+import com.speedment.runtime.field.predicate.FieldPredicate;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * An immutable snapshot of a table where the values of every field are
+ * stored in a separate column. Entities are only created when rows are
+ * streamed.
+ *
+ * @param <ENTITY>  the entity type
+ *
+ * @since  3.0.20
+ */
+final class ColumnarTable<ENTITY> {
+
+    private final int size;
+    private final Supplier<ENTITY> constructor;
+    private final List<AbstractColumn<ENTITY>> columns;
+    private final Map<ColumnIdentifier<ENTITY>, AbstractColumn<ENTITY>> columnsById;
+
+    private ColumnarTable(
+            int size,
+            Supplier<ENTITY> constructor,
+            List<AbstractColumn<ENTITY>> columns) {
+
+        this.size        = size;
+        this.constructor = requireNonNull(constructor);
+        this.columns     = columns;
+        this.columnsById = new HashMap<>();
+        columns.forEach(c -> columnsById.put(c.getField().identifier(), c));
+    }
+
+    /**
+     * Creates a new snapshot from the given entities.
+     *
+     * @param <ENTITY>     the entity type
+     * @param fields       the fields of the entity
+     * @param entities     the rows of the table
+     * @param constructor  creates new empty entities
+     * @return             the snapshot
+     */
+    static <ENTITY> ColumnarTable<ENTITY> of(
+            List<Field<ENTITY>> fields,
+            List<ENTITY> entities,
+            Supplier<ENTITY> constructor) {
+
+        final List<AbstractColumn<ENTITY>> columns = new ArrayList<>(fields.size());
+        for (final Field<ENTITY> field : fields) {
+            columns.add(columnOf(field, entities));
+        }
+        return new ColumnarTable<>(entities.size(), constructor, columns);
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns a new set of all the rows in the table.
+     *
+     * @return  all rows
+     */
+    BitSet allRows() {
+        final BitSet rows = new BitSet(size);
+        rows.set(0, size);
+        return rows;
+    }
+
+    /**
+     * Returns the rows that the given predicate holds for, or {@code null} if
+     * the predicate can not be evaluated against the columns.
+     *
+     * @param predicate  the predicate
+     * @return           the matching rows or {@code null}
+     */
+    BitSet select(Predicate<?> predicate) {
+        if (size == 0) {
+            return new BitSet();
+        } else if (predicate instanceof FieldPredicate) {
+            @SuppressWarnings("unchecked")
+            final FieldPredicate<ENTITY> fieldPredicate = (FieldPredicate<ENTITY>) predicate;
+            final AbstractColumn<ENTITY> column = columnsById.get(fieldPredicate.getField().identifier());
+            return column == null
+                ? null
+                : column.select(fieldPredicate, constructor.get());
+        } else if (predicate instanceof CombinedPredicate) {
+            final CombinedPredicate<?> combined = (CombinedPredicate<?>) predicate;
+            final List<Predicate<?>> inners = combined.stream().collect(toList());
+            final List<BitSet> selections = new ArrayList<>(inners.size());
+            for (final Predicate<?> inner : inners) {
+                final BitSet selection = select(inner);
+                if (selection == null) {
+                    return null;
+                }
+                selections.add(selection);
+            }
+
+            final BitSet result;
+            if (combined.getType() == CombinedPredicate.Type.AND) {
+                result = allRows();
+                selections.forEach(result::and);
+            } else {
+                result = new BitSet(size);
+                selections.forEach(result::or);
+            }
+            return result;
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * Creates entities for the given rows.
+     *
+     * @param rows  the rows to create entities for
+     * @return      stream of new entities
+     */
+    Stream<ENTITY> stream(BitSet rows) {
+        return rows.stream().mapToObj(this::materialize);
+    }
+
+    /**
+     * Returns the values of the given rows if the given mapper is the getter
+     * of an {@link IntField}, else {@code null}.
+     *
+     * @param mapper  the mapper
+     * @param rows    the rows
+     * @return        the values or {@code null}
+     */
+    IntStream intStream(Object mapper, BitSet rows) {
+        if (mapper instanceof GetInt) {
+            final AbstractColumn<ENTITY> column = columnsById.get(((GetInt<?, ?>) mapper).getField().identifier());
+            if (column instanceof IntColumn) {
+                return ((IntColumn<ENTITY>) column).stream(rows);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the values of the given rows if the given mapper is the getter
+     * of a {@link LongField}, else {@code null}.
+     *
+     * @param mapper  the mapper
+     * @param rows    the rows
+     * @return        the values or {@code null}
+     */
+    LongStream longStream(Object mapper, BitSet rows) {
+        if (mapper instanceof GetLong) {
+            final AbstractColumn<ENTITY> column = columnsById.get(((GetLong<?, ?>) mapper).getField().identifier());
+            if (column instanceof LongColumn) {
+                return ((LongColumn<ENTITY>) column).stream(rows);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the values of the given rows if the given mapper is the getter
+     * of a {@link DoubleField}, else {@code null}.
+     *
+     * @param mapper  the mapper
+     * @param rows    the rows
+     * @return        the values or {@code null}
+     */
+    DoubleStream doubleStream(Object mapper, BitSet rows) {
+        if (mapper instanceof GetDouble) {
+            final AbstractColumn<ENTITY> column = columnsById.get(((GetDouble<?, ?>) mapper).getField().identifier());
+            if (column instanceof DoubleColumn) {
+                return ((DoubleColumn<ENTITY>) column).stream(rows);
+            }
+        }
+        return null;
+    }
+
+    private ENTITY materialize(int row) {
+        final ENTITY entity = constructor.get();
+        for (final AbstractColumn<ENTITY> column : columns) {
+            column.set(entity, row);
+        }
+        return entity;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <ENTITY> AbstractColumn<ENTITY> columnOf(Field<ENTITY> field, List<ENTITY> entities) {
+        final int size = entities.size();
+        if (field instanceof IntField) {
+            final IntField<ENTITY, ?> intField = (IntField<ENTITY, ?>) field;
+            final int[] values = new int[size];
+            for (int i = 0; i < size; i++) {
+                values[i] = intField.getAsInt(entities.get(i));
+            }
+            return new IntColumn<>(intField, values);
+        } else if (field instanceof LongField) {
+            final LongField<ENTITY, ?> longField = (LongField<ENTITY, ?>) field;
+            final long[] values = new long[size];
+            for (int i = 0; i < size; i++) {
+                values[i] = longField.getAsLong(entities.get(i));
+            }
+            return new LongColumn<>(longField, values);
+        } else if (field instanceof DoubleField) {
+            final DoubleField<ENTITY, ?> doubleField = (DoubleField<ENTITY, ?>) field;
+            final double[] values = new double[size];
+            for (int i = 0; i < size; i++) {
+                values[i] = doubleField.getAsDouble(entities.get(i));
+            }
+            return new DoubleColumn<>(doubleField, values);
+        } else if (field instanceof StringField) {
+            final StringField<ENTITY, ?> stringField = (StringField<ENTITY, ?>) field;
+            final Map<String, Integer> codesByValue = new LinkedHashMap<>();
+            final int[] codes = new int[size];
+            for (int i = 0; i < size; i++) {
+                final String value = stringField.getter().apply(entities.get(i));
+                codes[i] = value == null
+                    ? -1
+                    : codesByValue.computeIfAbsent(value, v -> codesByValue.size());
+            }
+            final String[] dictionary = codesByValue.keySet().toArray(new String[codesByValue.size()]);
+            return new StringColumn<>(stringField, dictionary, codes);
+        } else {
+            final Object[] values = new Object[size];
+            for (int i = 0; i < size; i++) {
+                values[i] = field.getter().apply(entities.get(i));
+            }
+            return new ObjectColumn<>(field, values);
+        }
+    }
+}
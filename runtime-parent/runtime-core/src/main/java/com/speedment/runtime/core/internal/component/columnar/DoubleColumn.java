@@ -0,0 +1,118 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component.columnar;
+
+import com.speedment.runtime.field.DoubleField;
+import com.speedment.runtime.field.predicate.FieldPredicate;
+import com.speedment.runtime.field.predicate.Inclusion;
+
+import java.util.BitSet;
+import java.util.function.DoubleFunction;
+import java.util.function.DoublePredicate;
+import java.util.stream.DoubleStream;
+
+import static com.speedment.runtime.field.util.PredicateOperandUtil.getFirstOperandAsRaw;
+import static com.speedment.runtime.field.util.PredicateOperandUtil.getInclusionOperand;
+import static com.speedment.runtime.field.util.PredicateOperandUtil.getSecondOperand;
+
+/**
+ * A column of {@code double} values. Predicates where {@code NaN} would make
+ * a negated comparison differ from the in-JVM predicate are evaluated using
+ * the probe.
+ *
+ * @param <ENTITY>  the entity type
+ *
+ * @since  3.0.20
+ */
+final class DoubleColumn<ENTITY> extends AbstractColumn<ENTITY> {
+
+    private final DoubleField<ENTITY, ?> field;
+    private final double[] values;
+
+    DoubleColumn(DoubleField<ENTITY, ?> field, double[] values) {
+        super(field, values.length);
+        this.field  = field;
+        this.values = values;
+    }
+
+    @Override
+    void set(ENTITY entity, int row) {
+        field.setter().setAsDouble(entity, values[row]);
+    }
+
+    DoubleStream stream(BitSet rows) {
+        return rows.stream().mapToDouble(row -> values[row]);
+    }
+
+    @Override
+    BitSet select(FieldPredicate<ENTITY> predicate, ENTITY probe) {
+        final DoublePredicate test = testOf(predicate);
+        if (test == null) {
+            return super.select(predicate, probe);
+        }
+
+        final BitSet result = new BitSet(values.length);
+        for (int row = 0; row < values.length; row++) {
+            if (test.test(values[row])) {
+                result.set(row);
+            }
+        }
+        return result;
+    }
+
+    private static DoublePredicate testOf(FieldPredicate<?> predicate) {
+        switch (predicate.getPredicateType()) {
+            case ALWAYS_TRUE      : return v -> true;
+            case ALWAYS_FALSE     : return v -> false;
+            case EQUAL            : return first(predicate, x -> v -> v == x);
+            case NOT_EQUAL        : return first(predicate, x -> v -> v != x);
+            case GREATER_THAN     : return first(predicate, x -> v -> v > x);
+            case GREATER_OR_EQUAL : return first(predicate, x -> v -> v >= x);
+            case LESS_THAN        : return first(predicate, x -> v -> v < x);
+            case LESS_OR_EQUAL    : return first(predicate, x -> v -> v <= x);
+            case BETWEEN          : return between(predicate);
+            default               : return null;
+        }
+    }
+
+    private static DoublePredicate first(
+            FieldPredicate<?> predicate,
+            DoubleFunction<DoublePredicate> factory) {
+
+        final Object operand = getFirstOperandAsRaw(predicate);
+        return operand instanceof Double
+            ? factory.apply((Double) operand)
+            : null;
+    }
+
+    private static DoublePredicate between(FieldPredicate<?> predicate) {
+        final Object first  = getFirstOperandAsRaw(predicate);
+        final Object second = getSecondOperand(predicate);
+        if (!(first instanceof Double && second instanceof Double)) {
+            return null;
+        }
+
+        final double start = (Double) first;
+        final double end   = (Double) second;
+        final Inclusion inclusion = getInclusionOperand(predicate);
+        final boolean startInclusive = inclusion.isStartInclusive();
+        final boolean endInclusive   = inclusion.isEndInclusive();
+
+        return v -> (startInclusive ? start <= v : start < v)
+                 && (endInclusive   ? end >= v   : end > v);
+    }
+}
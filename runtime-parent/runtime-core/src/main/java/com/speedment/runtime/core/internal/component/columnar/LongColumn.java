@@ -0,0 +1,140 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component.columnar;
+
+import com.speedment.runtime.field.LongField;
+import com.speedment.runtime.field.predicate.FieldPredicate;
+import com.speedment.runtime.field.predicate.Inclusion;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Set;
+import java.util.function.LongFunction;
+import java.util.function.LongPredicate;
+import java.util.stream.LongStream;
+
+import static com.speedment.runtime.field.util.PredicateOperandUtil.getFirstOperandAsRaw;
+import static com.speedment.runtime.field.util.PredicateOperandUtil.getFirstOperandAsRawSet;
+import static com.speedment.runtime.field.util.PredicateOperandUtil.getInclusionOperand;
+import static com.speedment.runtime.field.util.PredicateOperandUtil.getSecondOperand;
+
+/**
+ * A column of {@code long} values.
+ *
+ * @param <ENTITY>  the entity type
+ *
+ * @since  3.0.20
+ */
+final class LongColumn<ENTITY> extends AbstractColumn<ENTITY> {
+
+    private final LongField<ENTITY, ?> field;
+    private final long[] values;
+
+    LongColumn(LongField<ENTITY, ?> field, long[] values) {
+        super(field, values.length);
+        this.field  = field;
+        this.values = values;
+    }
+
+    @Override
+    void set(ENTITY entity, int row) {
+        field.setter().setAsLong(entity, values[row]);
+    }
+
+    LongStream stream(BitSet rows) {
+        return rows.stream().mapToLong(row -> values[row]);
+    }
+
+    @Override
+    BitSet select(FieldPredicate<ENTITY> predicate, ENTITY probe) {
+        final LongPredicate test = testOf(predicate);
+        if (test == null) {
+            return super.select(predicate, probe);
+        }
+
+        final BitSet result = new BitSet(values.length);
+        for (int row = 0; row < values.length; row++) {
+            if (test.test(values[row])) {
+                result.set(row);
+            }
+        }
+        return result;
+    }
+
+    private static LongPredicate testOf(FieldPredicate<?> predicate) {
+        switch (predicate.getPredicateType()) {
+            case ALWAYS_TRUE      : return v -> true;
+            case ALWAYS_FALSE     : return v -> false;
+            case EQUAL            : return first(predicate, x -> v -> v == x);
+            case NOT_EQUAL        : return first(predicate, x -> v -> v != x);
+            case GREATER_THAN     : return first(predicate, x -> v -> v > x);
+            case GREATER_OR_EQUAL : return first(predicate, x -> v -> v >= x);
+            case LESS_THAN        : return first(predicate, x -> v -> v < x);
+            case LESS_OR_EQUAL    : return first(predicate, x -> v -> v <= x);
+            case BETWEEN          : return between(predicate);
+            case NOT_BETWEEN      : return negate(between(predicate));
+            case IN               : return in(predicate);
+            case NOT_IN           : return negate(in(predicate));
+            default               : return null;
+        }
+    }
+
+    private static LongPredicate first(
+            FieldPredicate<?> predicate,
+            LongFunction<LongPredicate> factory) {
+
+        final Object operand = getFirstOperandAsRaw(predicate);
+        return operand instanceof Long
+            ? factory.apply((Long) operand)
+            : null;
+    }
+
+    private static LongPredicate between(FieldPredicate<?> predicate) {
+        final Object first  = getFirstOperandAsRaw(predicate);
+        final Object second = getSecondOperand(predicate);
+        if (!(first instanceof Long && second instanceof Long)) {
+            return null;
+        }
+
+        final long start = (Long) first;
+        final long end   = (Long) second;
+        final Inclusion inclusion = getInclusionOperand(predicate);
+        final boolean startInclusive = inclusion.isStartInclusive();
+        final boolean endInclusive   = inclusion.isEndInclusive();
+
+        return v -> (startInclusive ? start <= v : start < v)
+                 && (endInclusive   ? end >= v   : end > v);
+    }
+
+    private static LongPredicate in(FieldPredicate<?> predicate) {
+        final Set<?> set = getFirstOperandAsRawSet(predicate);
+        if (!set.stream().allMatch(Long.class::isInstance)) {
+            return null;
+        }
+
+        final long[] sorted = set.stream()
+            .mapToLong(Long.class::cast)
+            .sorted()
+            .toArray();
+
+        return v -> Arrays.binarySearch(sorted, v) >= 0;
+    }
+
+    private static LongPredicate negate(LongPredicate predicate) {
+        return predicate == null ? null : predicate.negate();
+    }
+}
@@ -0,0 +1,42 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component.columnar;
+
+import com.speedment.runtime.field.Field;
+
+/**
+ * A column of boxed values, used for every field type that does not have a
+ * specialized column.
+ *
+ * @param <ENTITY>  the entity type
+ *
+ * @since  3.0.20
+ */
+final class ObjectColumn<ENTITY> extends AbstractColumn<ENTITY> {
+
+    private final Object[] values;
+
+    ObjectColumn(Field<ENTITY> field, Object[] values) {
+        super(field, values.length);
+        this.values = values;
+    }
+
+    @Override
+    void set(ENTITY entity, int row) {
+        getField().setter().set(entity, values[row]);
+    }
+}
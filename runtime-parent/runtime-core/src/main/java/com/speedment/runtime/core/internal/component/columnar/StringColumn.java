@@ -0,0 +1,73 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component.columnar;
+
+import com.speedment.runtime.field.StringField;
+import com.speedment.runtime.field.predicate.FieldPredicate;
+
+import java.util.BitSet;
+
+/**
+ * A dictionary encoded column of {@code String} values. Every distinct value
+ * is stored once and the rows only hold the index of their value, or
+ * {@code -1} for {@code null}. Predicates are evaluated once for every
+ * distinct value instead of once for every row.
+ *
+ * @param <ENTITY>  the entity type
+ *
+ * @since  3.0.20
+ */
+final class StringColumn<ENTITY> extends AbstractColumn<ENTITY> {
+
+    private final StringField<ENTITY, ?> field;
+    private final String[] dictionary;
+    private final int[] codes;
+
+    StringColumn(StringField<ENTITY, ?> field, String[] dictionary, int[] codes) {
+        super(field, codes.length);
+        this.field      = field;
+        this.dictionary = dictionary;
+        this.codes      = codes;
+    }
+
+    @Override
+    void set(ENTITY entity, int row) {
+        final int code = codes[row];
+        field.setter().set(entity, code < 0 ? null : dictionary[code]);
+    }
+
+    @Override
+    BitSet select(FieldPredicate<ENTITY> predicate, ENTITY probe) {
+        final boolean[] matches = new boolean[dictionary.length];
+        for (int code = 0; code < dictionary.length; code++) {
+            field.setter().set(probe, dictionary[code]);
+            matches[code] = predicate.test(probe);
+        }
+
+        field.setter().set(probe, null);
+        final boolean matchesNull = predicate.test(probe);
+
+        final BitSet result = new BitSet(codes.length);
+        for (int row = 0; row < codes.length; row++) {
+            final int code = codes[row];
+            if (code < 0 ? matchesNull : matches[code]) {
+                result.set(row);
+            }
+        }
+        return result;
+    }
+}
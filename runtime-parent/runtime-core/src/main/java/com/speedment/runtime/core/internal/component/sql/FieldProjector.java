@@ -0,0 +1,362 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component.sql;
+
+import com.speedment.common.logger.Logger;
+import com.speedment.common.logger.LoggerManager;
+import com.speedment.runtime.config.Column;
+import com.speedment.runtime.config.Dbms;
+import com.speedment.runtime.config.Project;
+import com.speedment.runtime.config.Table;
+import com.speedment.runtime.config.identifier.ColumnIdentifier;
+import com.speedment.runtime.core.component.resultset.ResultSetMapperComponent;
+import com.speedment.runtime.core.component.resultset.ResultSetMapping;
+import com.speedment.runtime.core.component.sql.SqlTypeMapperHelper;
+import com.speedment.runtime.core.db.AsynchronousQueryResult;
+import com.speedment.runtime.core.db.DbmsType;
+import com.speedment.runtime.core.db.SqlFunction;
+import com.speedment.runtime.core.internal.stream.builder.action.doubles.DoubleDistinctAction;
+import com.speedment.runtime.core.internal.stream.builder.action.ints.IntDistinctAction;
+import com.speedment.runtime.core.internal.stream.builder.action.longs.LongDistinctAction;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.DistinctAction;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.MapAction;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.MapToDoubleAction;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.MapToIntAction;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.MapToLongAction;
+import com.speedment.runtime.core.internal.stream.builder.action.trait.HasMapper;
+import com.speedment.runtime.core.stream.Pipeline;
+import com.speedment.runtime.core.stream.action.Action;
+import com.speedment.runtime.field.Field;
+import com.speedment.runtime.field.method.GetDouble;
+import com.speedment.runtime.field.method.GetInt;
+import com.speedment.runtime.field.method.GetLong;
+import com.speedment.runtime.field.method.GetReference;
+import com.speedment.runtime.typemapper.TypeMapper;
+
+import java.math.BigDecimal;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.ResultSet;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.BaseStream;
+import java.util.stream.Stream;
+
+import static com.speedment.runtime.config.util.DocumentDbUtil.isSame;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Rewrites the select list of a stream query so that only a single column is
+ * read from the database if the remaining stream pipeline immediately maps
+ * each entity to the value of a field. The column value is then read directly
+ * from the {@code ResultSet} without creating any entity.
+ * <p>
+ * The column value is read in the same way as the generated
+ * {@code SqlAdapter} reads it, including any custom type mapper.
+ * <p>
+ * If the mapping is immediately followed by a {@code distinct()} operation
+ * and the query is neither sorted nor sliced, the distinct operation is
+ * also rendered as {@code SELECT DISTINCT} for columns of numeric, boolean
+ * and temporal types. Other columns, most notably strings, are only made
+ * distinct in the stream since the database compares them using the 
+ * collation of the column, which might consider values equal that are not
+ * equal in Java (for example "Paris" and "PARIS"). Values read using a 
+ * custom type mapper are still made distinct in the stream as well, since 
+ * the mapping might not be one-to-one.
+ *
+ * @param <ENTITY> the entity type
+ *
+ * @since 3.0.20
+ */
+public final class FieldProjector<ENTITY> {
+
+    private static final Logger LOGGER = LoggerManager.getLogger(FieldProjector.class);
+
+    // Getters that already return null for null columns
+    private static final Set<Class<?>> NULL_AWARE_GETTERS = new HashSet<>(Arrays.asList(
+        String.class,
+        BigDecimal.class,
+        Time.class,
+        java.sql.Date.class,
+        Timestamp.class,
+        Blob.class,
+        Clob.class,
+        Object.class
+    ));
+
+    // Types that the database considers distinct exactly when equals() does
+    private static final Set<Class<?>> DISTINCT_TYPES = new HashSet<>(Arrays.asList(
+        Boolean.class,
+        Byte.class,
+        Short.class,
+        Integer.class,
+        Long.class,
+        Float.class,
+        Double.class,
+        java.sql.Date.class,
+        Time.class,
+        Timestamp.class
+    ));
+
+    // Clauses that would be applied before a DISTINCT in the stream but after it in SQL
+    private static final List<String> SORTED_OR_SLICED_KEYWORDS = Arrays.asList(
+        " ORDER BY ",
+        " LIMIT ",
+        " OFFSET ",
+        " FETCH "
+    );
+
+    private final Project project;
+    private final Dbms dbms;
+    private final DbmsType dbmsType;
+    private final Table table;
+    private final Class<ENTITY> entityClass;
+    private final String sqlSelect;
+    private final String sqlFrom;
+    private final ResultSetMapperComponent resultSetMapperComponent;
+    private final Map<ColumnIdentifier<ENTITY>, Optional<Projection>> projections;
+
+    FieldProjector(
+        final Project project,
+        final Dbms dbms,
+        final DbmsType dbmsType,
+        final Table table,
+        final Class<ENTITY> entityClass,
+        final String sqlSelect,
+        final String sqlTableReference,
+        final ResultSetMapperComponent resultSetMapperComponent
+    ) {
+        this.project = requireNonNull(project);
+        this.dbms = requireNonNull(dbms);
+        this.dbmsType = requireNonNull(dbmsType);
+        this.table = requireNonNull(table);
+        this.entityClass = requireNonNull(entityClass);
+        this.sqlSelect = requireNonNull(sqlSelect);
+        this.sqlFrom = " FROM " + requireNonNull(sqlTableReference);
+        this.resultSetMapperComponent = requireNonNull(resultSetMapperComponent);
+        this.projections = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Projects the query to a single column if the first action of the
+     * provided (already optimized) pipeline maps entities to the value of a
+     * field in this table. The mapping action is then removed from the
+     * pipeline and the initial supplier of the pipeline will produce the
+     * mapped values directly. A directly following {@code distinct()} may be
+     * rendered as {@code SELECT DISTINCT}.
+     *
+     * @param <P> pipeline type
+     * @param pipeline the optimized pipeline
+     * @param query the query that produces the initial stream
+     * @return the provided pipeline, possibly modified
+     */
+    public <P extends Pipeline> P project(P pipeline, AsynchronousQueryResult<ENTITY> query) {
+        requireNonNull(pipeline);
+        requireNonNull(query);
+
+        if (pipeline.isEmpty() || query.getSql() == null || !query.getSql().startsWith(sqlSelect)) {
+            return pipeline;
+        }
+
+        final Action<?, ?> first = pipeline.getFirst();
+        final Field<ENTITY> field = mappedField(first);
+        if (field == null) {
+            return pipeline;
+        }
+
+        final Projection projection = projections
+            .computeIfAbsent(field.identifier(), id -> createProjection(field))
+            .orElse(null);
+
+        if (projection == null || (projection.nullable && !(first instanceof MapAction))) {
+            return pipeline; // A null value can not be mapped to a primitive
+        }
+
+        @SuppressWarnings("unchecked")
+        final SqlFunction<ResultSet, ENTITY> valueMapper = (SqlFunction<ResultSet, ENTITY>) (SqlFunction<ResultSet, ?>) projection.mapper;
+        final String sqlRest = query.getSql().substring(sqlSelect.length());
+        pipeline.removeFirst();
+
+        final boolean distinct = projection.distinctInDatabase
+            && !pipeline.isEmpty()
+            && isDistinctOf(first, pipeline.getFirst())
+            && !isSortedOrSliced(sqlRest);
+
+        if (distinct && !projection.customTypeMapper) {
+            pipeline.removeFirst();
+        }
+
+        query.setSql((distinct ? "SELECT DISTINCT " : "SELECT ") + projection.columnName + sqlFrom + sqlRest);
+        query.setRsMapper(valueMapper);
+
+        final Supplier<BaseStream<?, ?>> source = pipeline.getInitialSupplier();
+        if (first instanceof MapToIntAction) {
+            pipeline.setInitialSupplier(() -> values(source).mapToInt(o -> (Integer) o));
+        } else if (first instanceof MapToLongAction) {
+            pipeline.setInitialSupplier(() -> values(source).mapToLong(o -> (Long) o));
+        } else if (first instanceof MapToDoubleAction) {
+            pipeline.setInitialSupplier(() -> values(source).mapToDouble(o -> (Double) o));
+        }
+
+        return pipeline;
+    }
+
+    private static boolean isDistinctOf(Action<?, ?> map, Action<?, ?> next) {
+        return (map instanceof MapAction && next instanceof DistinctAction)
+            || (map instanceof MapToIntAction && next instanceof IntDistinctAction)
+            || (map instanceof MapToLongAction && next instanceof LongDistinctAction)
+            || (map instanceof MapToDoubleAction && next instanceof DoubleDistinctAction);
+    }
+
+    private static boolean isSortedOrSliced(String sqlRest) {
+        return SORTED_OR_SLICED_KEYWORDS.stream().anyMatch(sqlRest::contains);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Stream<Object> values(Supplier<BaseStream<?, ?>> source) {
+        return (Stream<Object>) source.get();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Field<ENTITY> mappedField(Action<?, ?> action) {
+        final Object mapper;
+        if (action instanceof MapAction
+            || action instanceof MapToIntAction
+            || action instanceof MapToLongAction
+            || action instanceof MapToDoubleAction) {
+            mapper = ((HasMapper<?>) action).getMapper();
+        } else {
+            return null;
+        }
+
+        if (mapper instanceof GetReference) {
+            return (Field<ENTITY>) ((GetReference<ENTITY, ?, ?>) mapper).getField();
+        } else if (mapper instanceof GetInt) {
+            return (Field<ENTITY>) ((GetInt<ENTITY, ?>) mapper).getField();
+        } else if (mapper instanceof GetLong) {
+            return (Field<ENTITY>) ((GetLong<ENTITY, ?>) mapper).getField();
+        } else if (mapper instanceof GetDouble) {
+            return (Field<ENTITY>) ((GetDouble<ENTITY, ?>) mapper).getField();
+        }
+        return null;
+    }
+
+    private Optional<Projection> createProjection(Field<ENTITY> field) {
+        final Optional<? extends Column> oColumn = field.findColumn(project)
+            .filter(c -> c.getParent().map(t -> isSame(table, t)).orElse(false));
+
+        if (!oColumn.isPresent() || !oColumn.get().isEnabled()) {
+            return Optional.empty();
+        }
+
+        final Column column = oColumn.get();
+        final ResultSetMapping<?> mapping = resultSetMapperComponent.apply(dbmsType, column.findDatabaseType());
+
+        final String methodName = mapping.getResultSetMethodName(dbms);
+        final SqlFunction<ResultSet, Object> reader = reader(methodName);
+        if (reader == null) {
+            LOGGER.debug("Unable to project column %s: No reader for ResultSet::get%s", column.getId(), methodName);
+            return Optional.empty();
+        }
+
+        final boolean nullAware = column.isNullable() && !NULL_AWARE_GETTERS.contains(mapping.getJavaClass());
+        final Class<?> typeMapperClass = field.typeMapper().getClass();
+        final boolean customTypeMapper = !TypeMapper.identity().getClass().isAssignableFrom(typeMapperClass)
+            && !TypeMapper.primitive().getClass().isAssignableFrom(typeMapperClass);
+
+        @SuppressWarnings("unchecked")
+        final SqlTypeMapperHelper<Object, Object> helper = customTypeMapper
+            ? SqlTypeMapperHelper.create(project, field, entityClass)
+            : null;
+
+        final SqlFunction<ResultSet, Object> mapper = rs -> {
+            final Object dbValue = reader.apply(rs);
+            final Object value = nullAware && rs.wasNull() ? null : dbValue;
+            return helper == null ? value : helper.apply(value);
+        };
+
+        final String columnName = dbmsType.getDatabaseNamingConvention().encloseField(column.getName());
+        final boolean distinctInDatabase = DISTINCT_TYPES.contains(mapping.getJavaClass());
+        return Optional.of(new Projection(columnName, mapper, column.isNullable(), customTypeMapper, distinctInDatabase));
+    }
+
+    /**
+     * Returns a function that reads the first column of a {@code ResultSet}
+     * using the getter with the given name (without the "get" prefix), or
+     * {@code null} if there is no such getter.
+     */
+    private static SqlFunction<ResultSet, Object> reader(String resultSetMethodName) {
+        switch (resultSetMethodName) {
+            case "Object":     return rs -> rs.getObject(1);
+            case "Boolean":    return rs -> rs.getBoolean(1);
+            case "Byte":       return rs -> rs.getByte(1);
+            case "Short":      return rs -> rs.getShort(1);
+            case "Int":        return rs -> rs.getInt(1);
+            case "Long":       return rs -> rs.getLong(1);
+            case "Float":      return rs -> rs.getFloat(1);
+            case "Double":     return rs -> rs.getDouble(1);
+            case "BigDecimal": return rs -> rs.getBigDecimal(1);
+            case "String":     return rs -> rs.getString(1);
+            case "NString":    return rs -> rs.getNString(1);
+            case "Bytes":      return rs -> rs.getBytes(1);
+            case "Date":       return rs -> rs.getDate(1);
+            case "Time":       return rs -> rs.getTime(1);
+            case "Timestamp":  return rs -> rs.getTimestamp(1);
+            case "Blob":       return rs -> rs.getBlob(1);
+            case "Clob":       return rs -> rs.getClob(1);
+            case "NClob":      return rs -> rs.getNClob(1);
+            case "Array":      return rs -> rs.getArray(1);
+            case "Ref":        return rs -> rs.getRef(1);
+            case "URL":        return rs -> rs.getURL(1);
+            case "RowId":      return rs -> rs.getRowId(1);
+            case "SQLXML":     return rs -> rs.getSQLXML(1);
+            default:           return null;
+        }
+    }
+
+    private static final class Projection {
+
+        private final String columnName;
+        private final SqlFunction<ResultSet, Object> mapper;
+        private final boolean nullable;
+        private final boolean customTypeMapper;
+        private final boolean distinctInDatabase;
+
+        private Projection(
+            final String columnName,
+            final SqlFunction<ResultSet, Object> mapper,
+            final boolean nullable,
+            final boolean customTypeMapper,
+            final boolean distinctInDatabase
+        ) {
+            this.columnName = columnName;
+            this.mapper = mapper;
+            this.nullable = nullable;
+            this.customTypeMapper = customTypeMapper;
+            this.distinctInDatabase = distinctInDatabase;
+        }
+    }
+
+}
@@ -0,0 +1,181 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component.sql;
+
+import com.speedment.runtime.config.identifier.TableIdentifier;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.FlatMapAction;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.MapAction;
+import com.speedment.runtime.core.internal.stream.builder.action.trait.HasMapper;
+import com.speedment.runtime.core.stream.Pipeline;
+import com.speedment.runtime.core.stream.action.Action;
+import com.speedment.runtime.field.method.BackwardFinder;
+import com.speedment.runtime.field.method.FindFrom;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import java.util.stream.BaseStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Rewrites a stream pipeline that starts with a {@code flatMap()} using a
+ * {@link BackwardFinder} or a {@code map()} using a {@link FindFrom} so that
+ * the foreign entities are looked up for a batch of entities at a time rather
+ * than using one query per entity.
+ * <p>
+ * The rewritten pipeline produces the same elements in the same order as the
+ * original pipeline. Entities referenced using a {@link FindFrom} are also
+ * memoized for the lifetime of the stream so that entities that are
+ * referenced repeatedly (e.g. the same customer or language) are only looked
+ * up once. Every element is a copy of the memoized entity, so that elements
+ * can be modified just as if each of them had been looked up individually.
+ * Finders of tables that there is no copier for are not batched.
+ *
+ * @since 3.0.20
+ */
+public final class FinderBatcher {
+
+    // Upper bound of the number of memoized entities per finder and stream
+    private static final int MAX_MEMOIZED = 65_536;
+
+    private final int batchSize;
+    private final Function<TableIdentifier<?>, UnaryOperator<Object>> copiers;
+
+    /**
+     * Creates a new FinderBatcher.
+     *
+     * @param batchSize the maximum number of entities to look up foreign
+     * entities for using a single query
+     * @param copiers function that returns a copier for the entities of a
+     * table, or {@code null} if they can not be copied
+     * @throws IllegalArgumentException if the batch size is not positive
+     */
+    public FinderBatcher(int batchSize, Function<TableIdentifier<?>, UnaryOperator<Object>> copiers) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("The batch size must be positive: " + batchSize);
+        }
+        this.batchSize = batchSize;
+        this.copiers = requireNonNull(copiers);
+    }
+
+    /**
+     * Replaces any leading finder actions of the provided (already optimized)
+     * pipeline with an initial supplier that looks up the foreign entities in
+     * batches.
+     *
+     * @param <P> pipeline type
+     * @param pipeline the optimized pipeline
+     * @return the provided pipeline, possibly modified
+     */
+    public <P extends Pipeline> P batch(P pipeline) {
+        requireNonNull(pipeline);
+        if (pipeline.isParallel()) {
+            return pipeline;
+        }
+
+        while (!pipeline.isEmpty()) {
+            final Supplier<Function<List<Object>, Stream<Object>>> batchMapper = batchMapperOf(pipeline.getFirst());
+            if (batchMapper == null) {
+                break;
+            }
+            pipeline.removeFirst();
+            final Supplier<BaseStream<?, ?>> source = pipeline.getInitialSupplier();
+            pipeline.setInitialSupplier(() -> batches(elements(source)).flatMap(batchMapper.get()));
+        }
+        return pipeline;
+    }
+
+    /**
+     * Returns a supplier of batch mappers for the given action, or
+     * {@code null} if the action can not be batched. A new batch mapper is
+     * supplied for each stream so that any memoization is stream scoped.
+     */
+    @SuppressWarnings("unchecked")
+    private Supplier<Function<List<Object>, Stream<Object>>> batchMapperOf(Action<?, ?> action) {
+        if (action instanceof FlatMapAction) {
+            final Object mapper = ((HasMapper<?>) action).getMapper();
+            if (mapper instanceof BackwardFinder) {
+                final BackwardFinder<Object, Object> finder = (BackwardFinder<Object, Object>) mapper;
+                return () -> finder::applyAll;
+            }
+        } else if (action instanceof MapAction) {
+            final Object mapper = ((HasMapper<?>) action).getMapper();
+            if (mapper instanceof FindFrom) {
+                final FindFrom<Object, Object> finder = (FindFrom<Object, Object>) mapper;
+                final UnaryOperator<Object> copier = copiers.apply(finder.getTableIdentifier());
+                if (copier == null) {
+                    return null;
+                }
+                return () -> {
+                    final Map<Object, Object> resolved = new HashMap<>();
+                    return entities -> {
+                        if (resolved.size() > MAX_MEMOIZED) {
+                            resolved.clear();
+                        }
+                        return finder.applyAll(entities, resolved).stream().map(copier);
+                    };
+                };
+            }
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Stream<Object> elements(Supplier<BaseStream<?, ?>> source) {
+        return (Stream<Object>) source.get();
+    }
+
+    private Stream<List<Object>> batches(Stream<Object> stream) {
+        final Iterator<Object> iterator = stream.iterator();
+        final Iterator<List<Object>> batchIterator = new Iterator<List<Object>>() {
+
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public List<Object> next() {
+                if (!iterator.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                final List<Object> batch = new ArrayList<>(batchSize);
+                while (batch.size() < batchSize && iterator.hasNext()) {
+                    batch.add(iterator.next());
+                }
+                return batch;
+            }
+        };
+
+        return StreamSupport.stream(
+            Spliterators.spliteratorUnknownSize(batchIterator, Spliterator.ORDERED | Spliterator.NONNULL),
+            false
+        ).onClose(stream::close);
+    }
+
+}
@@ -16,20 +16,29 @@
  */
 package com.speedment.runtime.core.internal.component.sql;
 
+import com.speedment.common.injector.annotation.Config;
 import com.speedment.common.injector.annotation.Inject;
+import com.speedment.runtime.config.identifier.ColumnIdentifier;
 import com.speedment.runtime.config.identifier.TableIdentifier;
 import com.speedment.runtime.core.component.DbmsHandlerComponent;
 import com.speedment.runtime.core.component.ManagerComponent;
 import com.speedment.runtime.core.component.ProjectComponent;
+import com.speedment.runtime.core.component.cache.EntityCacheComponent;
+import com.speedment.runtime.core.component.columnar.ColumnarStreamSupplierComponent;
 import com.speedment.runtime.core.component.resultset.ResultSetMapperComponent;
+import com.speedment.runtime.core.component.sql.SqlParameterBinder;
 import com.speedment.runtime.core.component.sql.SqlPersistenceComponent;
+import com.speedment.runtime.core.component.transaction.TransactionComponent;
 import com.speedment.runtime.core.exception.SpeedmentException;
+import com.speedment.runtime.core.manager.Merger;
 import com.speedment.runtime.core.manager.Persister;
 import com.speedment.runtime.core.manager.Remover;
 import com.speedment.runtime.core.manager.Updater;
 
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 import static java.util.Objects.requireNonNull;
 
@@ -42,10 +51,16 @@ public final class SqlPersistanceComponentImpl implements SqlPersistenceComponen
     
     private final Map<TableIdentifier<?>, SqlPersistence<?>> supportMap;
     
+    private @Config(name = "db.batchSize", value = "1000") int batchSize;
+    private @Config(name = "db.insertRowsPerStatement", value = "1") int insertRowsPerStatement;
+    
     private @Inject ProjectComponent projectComponent;
     private @Inject DbmsHandlerComponent dbmsHandlerComponent;
     private @Inject ManagerComponent managerComponent;
     private @Inject ResultSetMapperComponent resultSetMapperComponent;
+    private @Inject EntityCacheComponent entityCacheComponent; // Only if installed
+    private @Inject ColumnarStreamSupplierComponent columnarComponent; // Only if installed
+    private @Inject TransactionComponent transactionComponent;
     
     public SqlPersistanceComponentImpl() {
         this.supportMap = new ConcurrentHashMap<>();
@@ -53,28 +68,87 @@ public final class SqlPersistanceComponentImpl implements SqlPersistenceComponen
 
     @Override
     public <ENTITY> void install(TableIdentifier<ENTITY> tableIdentifier) {
+        install(tableIdentifier, null);
+    }
+
+    @Override
+    public <ENTITY> void install(
+            TableIdentifier<ENTITY> tableIdentifier,
+            Function<ColumnIdentifier<ENTITY>, SqlParameterBinder<ENTITY>> binders) {
+        
         supportMap.put(tableIdentifier, new SqlPersistenceImpl<>(
             requireNonNull(tableIdentifier), 
             requireNonNull(projectComponent), 
             requireNonNull(dbmsHandlerComponent),
             requireNonNull(managerComponent),
-            requireNonNull(resultSetMapperComponent)
+            requireNonNull(resultSetMapperComponent),
+            entityCacheComponent,
+            columnarComponent,
+            transactionComponent,
+            batchSize,
+            insertRowsPerStatement,
+            binders
         ));
     }
 
     @Override
     public <ENTITY> Persister<ENTITY> persister(TableIdentifier<ENTITY> tableIdentifier) throws SpeedmentException {
-        return entity -> getPersistence(tableIdentifier).persist(entity);
+        return new Persister<ENTITY>() {
+            @Override
+            public ENTITY apply(ENTITY entity) throws SpeedmentException {
+                return getPersistence(tableIdentifier).persist(entity);
+            }
+
+            @Override
+            public void persistAll(Stream<? extends ENTITY> entities) {
+                getPersistence(tableIdentifier).persistAll(entities);
+            }
+        };
     }
 
     @Override
     public <ENTITY> Updater<ENTITY> updater(TableIdentifier<ENTITY> tableIdentifier) throws SpeedmentException {
-        return entity -> getPersistence(tableIdentifier).update(entity);
+        return new Updater<ENTITY>() {
+            @Override
+            public ENTITY apply(ENTITY entity) throws SpeedmentException {
+                return getPersistence(tableIdentifier).update(entity);
+            }
+
+            @Override
+            public void updateAll(Stream<? extends ENTITY> entities) {
+                getPersistence(tableIdentifier).updateAll(entities);
+            }
+        };
     }
 
     @Override
     public <ENTITY> Remover<ENTITY> remover(TableIdentifier<ENTITY> tableIdentifier) throws SpeedmentException {
-        return entity -> getPersistence(tableIdentifier).remove(entity);
+        return new Remover<ENTITY>() {
+            @Override
+            public ENTITY apply(ENTITY entity) throws SpeedmentException {
+                return getPersistence(tableIdentifier).remove(entity);
+            }
+
+            @Override
+            public void removeAll(Stream<? extends ENTITY> entities) {
+                getPersistence(tableIdentifier).removeAll(entities);
+            }
+        };
+    }
+
+    @Override
+    public <ENTITY> Merger<ENTITY> merger(TableIdentifier<ENTITY> tableIdentifier) throws SpeedmentException {
+        return new Merger<ENTITY>() {
+            @Override
+            public ENTITY apply(ENTITY entity) throws SpeedmentException {
+                return getPersistence(tableIdentifier).merge(entity);
+            }
+
+            @Override
+            public void mergeAll(Stream<? extends ENTITY> entities) {
+                getPersistence(tableIdentifier).mergeAll(entities);
+            }
+        };
     }
 
     private <ENTITY> SqlPersistence<ENTITY> getPersistence(TableIdentifier<ENTITY> tableIdentifier) {
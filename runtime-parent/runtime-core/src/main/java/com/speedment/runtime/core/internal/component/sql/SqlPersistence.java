@@ -19,6 +19,8 @@ package com.speedment.runtime.core.internal.component.sql;
 import com.speedment.runtime.core.component.sql.SqlPersistenceComponent;
 import com.speedment.runtime.core.exception.SpeedmentException;
 
+import java.util.stream.Stream;
+
 /**
  * The common interface for table specific persisting handlers that is managed 
  * by a {@link SqlPersistenceComponent}.
@@ -59,5 +61,60 @@ interface SqlPersistence<ENTITY> {
      * @throws SpeedmentException  if the entity could not be removed
      */
     ENTITY remove(ENTITY entity) throws SpeedmentException;
-    
-}
\ No newline at end of file
+
+    /**
+     * Persists all the entities of the specified stream in the table managed
+     * by this handler. The entities are sent to the database in batches.
+     * 
+     * @param entities  the entities to persist
+     * 
+     * @throws SpeedmentException  if the entities could not be persisted
+     */
+    void persistAll(Stream<? extends ENTITY> entities) throws SpeedmentException;
+
+    /**
+     * Updates all the entities of the specified stream in the table managed
+     * by this handler. The entities are sent to the database in batches.
+     * 
+     * @param entities  the entities to update
+     * 
+     * @throws SpeedmentException  if the entities could not be updated
+     */
+    void updateAll(Stream<? extends ENTITY> entities) throws SpeedmentException;
+
+    /**
+     * Removes all the entities of the specified stream from the table managed
+     * by this handler. The entities are sent to the database in batches.
+     * 
+     * @param entities  the entities to remove
+     * 
+     * @throws SpeedmentException  if the entities could not be removed
+     */
+    void removeAll(Stream<? extends ENTITY> entities) throws SpeedmentException;
+
+    /**
+     * Inserts the specified entity into the table managed by this handler or,
+     * if a row with the same primary key already exists, updates that row.
+     * 
+     * @param entity  the entity to merge
+     * @return        the new merged entity
+     * 
+     * @throws SpeedmentException  if the entity could not be merged
+     * @throws UnsupportedOperationException  if the database type can not
+     *                                        merge rows
+     */
+    ENTITY merge(ENTITY entity) throws SpeedmentException;
+
+    /**
+     * Merges all the entities of the specified stream into the table managed
+     * by this handler. The entities are sent to the database in batches.
+     * 
+     * @param entities  the entities to merge
+     * 
+     * @throws SpeedmentException  if the entities could not be merged
+     * @throws UnsupportedOperationException  if the database type can not
+     *                                        merge rows
+     */
+    void mergeAll(Stream<? extends ENTITY> entities) throws SpeedmentException;
+
+}
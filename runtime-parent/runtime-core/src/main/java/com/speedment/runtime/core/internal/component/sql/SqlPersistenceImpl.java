@@ -16,39 +16,56 @@
  */
 package com.speedment.runtime.core.internal.component.sql;
 
+import com.speedment.common.logger.Logger;
+import com.speedment.common.logger.LoggerManager;
 import com.speedment.common.mapstream.MapStream;
 import com.speedment.runtime.config.*;
+import com.speedment.runtime.config.identifier.ColumnIdentifier;
 import com.speedment.runtime.config.identifier.TableIdentifier;
 import com.speedment.runtime.config.util.DocumentDbUtil;
 import com.speedment.runtime.config.util.DocumentUtil;
 import com.speedment.runtime.core.component.DbmsHandlerComponent;
 import com.speedment.runtime.core.component.ManagerComponent;
 import com.speedment.runtime.core.component.ProjectComponent;
+import com.speedment.runtime.core.component.cache.EntityCacheComponent;
+import com.speedment.runtime.core.component.columnar.ColumnarStreamSupplierComponent;
 import com.speedment.runtime.core.component.resultset.ResultSetMapperComponent;
 import com.speedment.runtime.core.component.resultset.ResultSetMapping;
+import com.speedment.runtime.core.component.sql.SqlParameterBinder;
+import com.speedment.runtime.core.component.transaction.TransactionComponent;
 import com.speedment.runtime.core.db.DatabaseNamingConvention;
 import com.speedment.runtime.core.db.DbmsColumnHandler;
 import com.speedment.runtime.core.db.DbmsOperationHandler;
 import com.speedment.runtime.core.db.DbmsType;
 import com.speedment.runtime.core.exception.SpeedmentException;
+import com.speedment.runtime.core.internal.manager.sql.SqlDeleteStatement;
+import com.speedment.runtime.core.internal.manager.sql.SqlInsertStatement;
+import com.speedment.runtime.core.internal.manager.sql.SqlStatement;
+import com.speedment.runtime.core.internal.manager.sql.SqlUpdateStatement;
+import com.speedment.runtime.core.manager.DirtyTracked;
 import com.speedment.runtime.core.manager.Manager;
 import com.speedment.runtime.core.util.DatabaseUtil;
 import com.speedment.runtime.field.Field;
 import com.speedment.runtime.typemapper.TypeMapper;
 
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static com.speedment.common.invariant.NullUtil.requireNonNulls;
 import static com.speedment.runtime.config.util.DocumentUtil.Name.DATABASE_NAME;
+import static java.util.Collections.singletonList;
 import static java.util.Comparator.comparing;
 import static java.util.Objects.requireNonNull;
 import static java.util.function.Function.identity;
@@ -65,9 +82,15 @@ import static java.util.stream.Collectors.toList;
  */
 final class SqlPersistenceImpl<ENTITY> implements SqlPersistence<ENTITY> {
 
+    private static final Logger LOGGER = LoggerManager.getLogger(SqlPersistenceImpl.class);
+
+    private static final int MAX_PARTIAL_UPDATES = 1024;
+    private static final long ALL_FIELDS = -1L;
+
     private final Supplier<Stream<Field<ENTITY>>> primaryKeyFields;
     private final Supplier<Stream<Field<ENTITY>>> fields;
     
+    private final TableIdentifier<ENTITY> tableId;
     private final Dbms dbms;
     private final Table table;
     private final DbmsType dbmsType;
@@ -81,10 +104,30 @@ final class SqlPersistenceImpl<ENTITY> implements SqlPersistence<ENTITY> {
     private final String insertStatement;
     private final String updateStatement;
     private final String deleteStatement;
+    private final String mergeStatement; // Null if the database type can not merge
+    private final int batchSize;
+    private final int insertRowsPerStatement;
+    private final String multiRowInsertStatement; // Rendered for insertRowsPerStatement rows
+    private final int insertParameterCount;
     
     private final List<GeneratedFieldSupport<ENTITY, ?>> generatedFieldSupports;
     private final List<Field<ENTITY>> generatedFields;
     private final Map<Field<ENTITY>, Column> columnsByFields;
+    private final EntityCacheComponent entityCacheComponent; // Nullable
+    private final ColumnarStreamSupplierComponent columnarComponent; // Nullable
+    private final TransactionComponent transactionComponent; // Nullable
+
+    // The binders of each statement, or null if no binders are installed
+    private final List<SqlParameterBinder<ENTITY>> insertBinders;
+    private final List<SqlParameterBinder<ENTITY>> updateBinders;
+    private final List<SqlParameterBinder<ENTITY>> removeBinders;
+    private final List<SqlParameterBinder<ENTITY>> mergeBinders;
+
+    // Support for entities that implement DirtyTracked
+    private final List<Field<ENTITY>> allFields;
+    private final List<SqlParameterBinder<ENTITY>> fieldBinders; // Nullable
+    private final long updatableFields;
+    private final Map<Long, PartialUpdate<ENTITY>> partialUpdates;
 
 
     public SqlPersistenceImpl(
@@ -92,7 +135,36 @@ final class SqlPersistenceImpl<ENTITY> implements SqlPersistence<ENTITY> {
             ProjectComponent projectComponent,
             DbmsHandlerComponent dbmsHandlerComponent,
             ManagerComponent managerComponent,
-            ResultSetMapperComponent resultSetMapperComponent) {
+            ResultSetMapperComponent resultSetMapperComponent,
+            EntityCacheComponent entityCacheComponent,
+            int batchSize) {
+
+        this(tableId,
+            projectComponent,
+            dbmsHandlerComponent,
+            managerComponent,
+            resultSetMapperComponent,
+            entityCacheComponent,
+            null,
+            null,
+            batchSize,
+            1,
+            null
+        );
+    }
+
+    public SqlPersistenceImpl(
+            TableIdentifier<ENTITY> tableId,
+            ProjectComponent projectComponent,
+            DbmsHandlerComponent dbmsHandlerComponent,
+            ManagerComponent managerComponent,
+            ResultSetMapperComponent resultSetMapperComponent,
+            EntityCacheComponent entityCacheComponent, // Nullable
+            ColumnarStreamSupplierComponent columnarComponent, // Nullable
+            TransactionComponent transactionComponent, // Nullable
+            int batchSize,
+            int insertRowsPerStatement,
+            Function<ColumnIdentifier<ENTITY>, SqlParameterBinder<ENTITY>> binders) { // Nullable
         
         requireNonNulls(tableId, 
             projectComponent, 
@@ -101,6 +173,12 @@ final class SqlPersistenceImpl<ENTITY> implements SqlPersistence<ENTITY> {
             resultSetMapperComponent
         );
 
+        this.tableId   = tableId;
+        this.batchSize = Math.max(1, batchSize);
+        this.entityCacheComponent = entityCacheComponent;
+        this.columnarComponent    = columnarComponent;
+        this.transactionComponent = transactionComponent;
+
         final Project project = projectComponent.getProject();
         
         this.table = DocumentDbUtil.referencedTable(project, tableId);
@@ -129,6 +207,11 @@ final class SqlPersistenceImpl<ENTITY> implements SqlPersistence<ENTITY> {
             sqlColumnList(includedInInsert, identity()) + ") VALUES (" +
             sqlColumnList(includedInInsert, c -> "?") + ")";
 
+        this.insertParameterCount = (int) table.columns()
+            .filter(Column::isEnabled)
+            .filter(includedInInsert)
+            .count();
+
         final Predicate<Column> includedInUpdate = columnHandler.excludedInUpdateStatement().negate();
         this.updateStatement = "UPDATE " + sqlTableReference + " SET " +
             sqlColumnList(includedInUpdate, n -> n + " = ?") + " WHERE " +
@@ -136,6 +219,23 @@ final class SqlPersistenceImpl<ENTITY> implements SqlPersistence<ENTITY> {
         this.deleteStatement = "DELETE FROM " + sqlTableReference + " WHERE " +
             sqlPrimaryKeyColumnList(pk -> pk + " = ?");
 
+        this.mergeStatement = !hasPrimaryKeyColumns ? null : dbmsType.renderMerge(
+            sqlTableReference,
+            table.columns()
+                .sorted(comparing(Column::getOrdinalPosition))
+                .filter(Column::isEnabled)
+                .filter(includedInUpdate)
+                .map(Column::getName)
+                .map(naming::encloseField)
+                .collect(toList()),
+            table.primaryKeyColumns()
+                .sorted(comparing(PrimaryKeyColumn::getOrdinalPosition))
+                .map(this::findColumn)
+                .map(Column::getName)
+                .map(naming::encloseField)
+                .collect(toList())
+        ).orElse(null);
+
         this.columnsByFields = MapStream.fromKeys(fields.get(), f ->
             DocumentDbUtil.referencedColumn(project, f.identifier())
         ).toMap();
@@ -148,20 +248,54 @@ final class SqlPersistenceImpl<ENTITY> implements SqlPersistence<ENTITY> {
         
         this.generatedFields = generatedFieldSupports.stream()
             .map(GeneratedFieldSupport::getField).collect(toList());
+
+        // The generated keys of a multi-row insert can only be mapped back to
+        // the entities if the database returns one key for every row
+        this.insertRowsPerStatement = insertParameterCount == 0
+            || (!generatedFields.isEmpty() && !dbmsType.hasGeneratedKeysForEveryRow())
+            ? 1 : Math.max(1, 
+                Math.min(insertRowsPerStatement, dbmsType.getMaxParameterCount() / insertParameterCount)
+            );
+        this.multiRowInsertStatement = multiRowInsertStatement(this.insertRowsPerStatement);
+
+        if (binders == null) {
+            this.insertBinders = null;
+            this.updateBinders = null;
+            this.removeBinders = null;
+            this.mergeBinders = null;
+        } else {
+            this.insertBinders = bindersOf(insertFields(), binders);
+            this.updateBinders = bindersOf(updateFields(), binders);
+            this.removeBinders = bindersOf(primaryKeyFields.get(), binders);
+            this.mergeBinders = bindersOf(mergeFields(), binders);
+        }
+
+        this.allFields = fields.get().collect(toList());
+        this.fieldBinders = binders == null ? null : bindersOf(allFields.stream(), binders);
+        long updatable = 0;
+        for (int i = 0; i < Math.min(allFields.size(), DirtyTracked.MAX_FIELDS); i++) {
+            if (!columnHandler.excludedInUpdateStatement().test(columnsByFields.get(allFields.get(i)))) {
+                updatable |= 1L << i;
+            }
+        }
+        this.updatableFields = updatable;
+        this.partialUpdates = new ConcurrentHashMap<>();
     }
     
     @Override
     public ENTITY persist(ENTITY entity) throws SpeedmentException {
-        final List<Object> values = fields.get()
-            .filter(f -> !columnHandler.excludedInInsertStatement().test(columnsByFields.get(f)))
-            .map(f -> toDatabaseType(f, entity))
-            .collect(toList());
-
         try {
-            operationHandler.executeInsert(dbms, insertStatement, values, generatedFields, newGeneratedKeyConsumer(entity));
+            if (insertBinders == null) {
+                operationHandler.executeInsert(dbms, insertStatement, insertValues(entity), generatedFields, newGeneratedKeyConsumer(entity));
+            } else {
+                operationHandler.execute(dbms, singletonList(newInsertStatement(entity)));
+            }
+            clearDirtyFields(entity);
             return entity;
         } catch (final SQLException ex) {
             throw new SpeedmentException(ex);
+        } finally {
+            invalidateCache(entity);
         }
     }
     
@@ -169,37 +303,510 @@ final class SqlPersistenceImpl<ENTITY> implements SqlPersistence<ENTITY> {
     public ENTITY update(ENTITY entity) throws SpeedmentException {
         assertHasPrimaryKeyColumns();
 
-        final List<Object> values = Stream.concat(
-            fields.get().filter(f -> !columnHandler.excludedInUpdateStatement().test(columnsByFields.get(f))), 
-            primaryKeyFields.get()
-        )
-            .map(f -> toDatabaseType(f, entity))
-            .collect(Collectors.toList());
+        final long dirtyFields = dirtyFieldsOf(entity);
+        if (dirtyFields == 0) {
+            return entity; // Nothing has been modified
+        }
 
         try {
-            operationHandler.executeUpdate(dbms, updateStatement, values);
+            if (!isFullUpdate(dirtyFields)) {
+                operationHandler.execute(dbms, singletonList(newPartialUpdateStatement(entity, dirtyFields)));
+            } else if (updateBinders == null) {
+                operationHandler.executeUpdate(dbms, updateStatement, updateValues(entity));
+            } else {
+                operationHandler.execute(dbms, singletonList(newUpdateStatement(entity)));
+            }
+            clearDirtyFields(entity);
             return entity;
         } catch (final SQLException ex) {
             throw new SpeedmentException(ex);
+        } finally {
+            invalidateCache(entity);
         }
     }
 
     @Override
     public ENTITY remove(ENTITY entity) throws SpeedmentException {
         assertHasPrimaryKeyColumns();
-        
-        final List<Object> values = primaryKeyFields.get()
-            .map(f -> toDatabaseType(f, entity))
-            .collect(toList());
 
         try {
-            operationHandler.executeDelete(dbms, deleteStatement, values);
+            if (removeBinders == null) {
+                operationHandler.executeDelete(dbms, deleteStatement, removeValues(entity));
+            } else {
+                operationHandler.execute(dbms, singletonList(newDeleteStatement(entity)));
+            }
+            clearDirtyFields(entity);
             return entity;
         } catch (final SQLException ex) {
             throw new SpeedmentException(ex);
+        } finally {
+            invalidateCache(entity);
+        }
+    }
+
+    @Override
+    public ENTITY merge(ENTITY entity) throws SpeedmentException {
+        assertHasPrimaryKeyColumns();
+        assertCanMerge();
+
+        try {
+            if (mergeBinders == null) {
+                operationHandler.executeUpdate(dbms, mergeStatement, mergeValues(entity));
+            } else {
+                operationHandler.execute(dbms, singletonList(newMergeStatement(entity)));
+            }
+            clearDirtyFields(entity);
+            return entity;
+        } catch (final SQLException ex) {
+            throw new SpeedmentException(ex);
+        } finally {
+            invalidateCache(entity);
+        }
+    }
+
+    @Override
+    public void persistAll(Stream<? extends ENTITY> entities) throws SpeedmentException {
+        if (insertRowsPerStatement > 1) {
+            executeInRows(entities);
+        } else {
+            executeInBatches(entities, this::newInsertStatement);
+        }
+    }
+
+    @Override
+    public void updateAll(Stream<? extends ENTITY> entities) throws SpeedmentException {
+        assertHasPrimaryKeyColumns();
+        executeInBatches(entities, this::newUpdateStatement);
+    }
+
+    @Override
+    public void removeAll(Stream<? extends ENTITY> entities) throws SpeedmentException {
+        assertHasPrimaryKeyColumns();
+        executeInBatches(entities, this::newDeleteStatement);
+    }
+
+    @Override
+    public void mergeAll(Stream<? extends ENTITY> entities) throws SpeedmentException {
+        assertHasPrimaryKeyColumns();
+        assertCanMerge();
+        executeInBatches(entities, this::newMergeStatement);
+    }
+
+    /**
+     * Maps the entities to statements and sends them to the database in 
+     * chunks of {@code batchSize} statements. Each chunk is executed in a
+     * separate transaction unless the current thread is already participating
+     * in a transaction. Entities that the mapper maps to {@code null} are
+     * skipped.
+     * 
+     * @param entities  the entities to execute statements for
+     * @param mapper    mapper from an entity to its statement, or to 
+     *                  {@code null} if nothing should be executed
+     */
+    private void executeInBatches(
+            Stream<? extends ENTITY> entities, 
+            Function<ENTITY, SqlStatement> mapper) {
+        
+        requireNonNulls(entities, mapper);
+        final List<SqlStatement> batch = new ArrayList<>(batchSize);
+        final List<ENTITY> batchEntities = new ArrayList<>(batchSize);
+        final Iterator<? extends ENTITY> iterator = entities.iterator();
+        
+        try {
+            while (iterator.hasNext()) {
+                final ENTITY entity = iterator.next();
+                final SqlStatement statement = mapper.apply(entity);
+                if (statement == null) {
+                    continue;
+                }
+                batch.add(statement);
+                batchEntities.add(entity);
+                if (batch.size() >= batchSize) {
+                    executeBatch(batch, batchEntities);
+                }
+            }
+            
+            if (!batch.isEmpty()) {
+                executeBatch(batch, batchEntities);
+            }
+        } catch (final SQLException ex) {
+            throw new SpeedmentException(ex);
+        } finally {
+            invalidateCache();
+        }
+    }
+
+    /**
+     * Inserts the entities using INSERT statements with up to
+     * {@code insertRowsPerStatement} rows in the VALUES clause. Each
+     * statement is executed in a separate transaction unless the current 
+     * thread is already participating in a transaction.
+     * 
+     * @param entities  the entities to insert
+     */
+    private void executeInRows(Stream<? extends ENTITY> entities) {
+        requireNonNull(entities);
+        final List<ENTITY> rows = new ArrayList<>(insertRowsPerStatement);
+        final Iterator<? extends ENTITY> iterator = entities.iterator();
+
+        try {
+            while (iterator.hasNext()) {
+                rows.add(iterator.next());
+                if (rows.size() >= insertRowsPerStatement) {
+                    executeRows(rows);
+                }
+            }
+
+            if (!rows.isEmpty()) {
+                executeRows(rows);
+            }
+        } catch (final SQLException ex) {
+            throw new SpeedmentException(ex);
+        } finally {
+            invalidateCache();
+        }
+    }
+
+    private void executeRows(List<ENTITY> rows) throws SQLException {
+        operationHandler.execute(dbms, singletonList(newMultiRowInsertStatement(rows)));
+        rows.forEach(this::clearDirtyFields);
+        rows.clear();
+    }
+
+    private void executeBatch(List<SqlStatement> batch, List<ENTITY> batchEntities) throws SQLException {
+        operationHandler.execute(dbms, batch);
+        batchEntities.forEach(this::clearDirtyFields);
+        batch.clear();
+        batchEntities.clear();
+    }
+
+    private void invalidateCache(ENTITY entity) {
+        if (entityCacheComponent != null) {
+            invalidateCache(() -> entityCacheComponent.invalidate(tableId, entity));
+        }
+        refreshColumnar();
+    }
+
+    private void invalidateCache() {
+        if (entityCacheComponent != null) {
+            invalidateCache(() -> entityCacheComponent.invalidate(tableId));
+        }
+        refreshColumnar();
+    }
+
+    private void refreshColumnar() {
+        if (columnarComponent != null && columnarComponent.isColumnar(tableId)) {
+            invalidateCache(() -> columnarComponent.refresh(tableId));
+        }
+    }
+
+    /**
+     * Runs the invalidation directly. If the current thread participates in
+     * a transaction, the invalidation is also run once the transaction has 
+     * been committed or rolled back, since other threads may have cached the
+     * old value of the entity before the modification became visible to them.
+     * 
+     * @param invalidation  the invalidation to run
+     */
+    private void invalidateCache(Runnable invalidation) {
+        invalidation.run();
+        afterCompletion(invalidation, invalidation);
+    }
+
+    /**
+     * Registers actions to run once the transaction that the current thread
+     * participates in has been committed or rolled back. If the current 
+     * thread does not participate in a transaction, nothing is registered.
+     * 
+     * @param afterCommit    the action to run if the transaction is committed
+     * @param afterRollback  the action to run if the transaction is rolled back
+     */
+    private void afterCompletion(Runnable afterCommit, Runnable afterRollback) {
+        if (transactionComponent != null) {
+            final Thread thread = Thread.currentThread();
+            if (transactionComponent.get(thread).isPresent()) {
+                transactionComponent.afterCompletion(thread, afterCommit, afterRollback);
+            }
         }
     }
     
+    private SqlInsertStatement<ENTITY> newInsertStatement(ENTITY entity) {
+        if (insertBinders == null) {
+            return new SqlInsertStatement<>(
+                insertStatement, 
+                insertValues(entity), 
+                generatedFields, 
+                newGeneratedKeyConsumer(entity)
+            );
+        } else {
+            return new SqlInsertStatement<>(
+                insertStatement, 
+                ps -> bind(ps, insertBinders, entity), 
+                generatedFields, 
+                newGeneratedKeyConsumer(entity)
+            );
+        }
+    }
+
+    private SqlInsertStatement<ENTITY> newMultiRowInsertStatement(List<ENTITY> rows) {
+        final List<ENTITY> entities = new ArrayList<>(rows);
+        final String sql = entities.size() == insertRowsPerStatement
+            ? multiRowInsertStatement
+            : multiRowInsertStatement(entities.size());
+
+        if (insertBinders == null) {
+            return new SqlInsertStatement<>(
+                sql, 
+                entities.stream()
+                    .flatMap(e -> insertValues(e).stream())
+                    .collect(toList()),
+                generatedFields, 
+                entities.size(),
+                newGeneratedKeysConsumer(entities)
+            );
+        } else {
+            return new SqlInsertStatement<>(
+                sql, 
+                ps -> {
+                    for (int i = 0; i < entities.size(); i++) {
+                        bind(ps, insertBinders, entities.get(i), i * insertParameterCount);
+                    }
+                }, 
+                generatedFields, 
+                entities.size(),
+                newGeneratedKeysConsumer(entities)
+            );
+        }
+    }
+
+    /**
+     * Renders an INSERT statement with the specified number of rows in the
+     * VALUES clause.
+     */
+    private String multiRowInsertStatement(int rows) {
+        final Predicate<Column> includedInInsert = columnHandler.excludedInInsertStatement().negate();
+        final String row = "(" + sqlColumnList(includedInInsert, c -> "?") + ")";
+        return "INSERT INTO " + sqlTableReference + " (" +
+            sqlColumnList(includedInInsert, identity()) + ") VALUES " +
+            String.join(",", Collections.nCopies(rows, row));
+    }
+
+    private SqlUpdateStatement newUpdateStatement(ENTITY entity) {
+        final long dirtyFields = dirtyFieldsOf(entity);
+        if (dirtyFields == 0) {
+            return null; // Nothing has been modified
+        } else if (!isFullUpdate(dirtyFields)) {
+            return newPartialUpdateStatement(entity, dirtyFields);
+        } else if (updateBinders == null) {
+            return new SqlUpdateStatement(updateStatement, updateValues(entity));
+        } else {
+            return new SqlUpdateStatement(updateStatement, ps -> bind(ps, updateBinders, entity));
+        }
+    }
+
+    private SqlUpdateStatement newPartialUpdateStatement(ENTITY entity, long dirtyFields) {
+        final PartialUpdate<ENTITY> partialUpdate = partialUpdateOf(dirtyFields);
+        if (partialUpdate.binders == null) {
+            return new SqlUpdateStatement(partialUpdate.sql, partialUpdate.fields.stream()
+                .map(f -> toDatabaseType(f, entity))
+                .collect(toList())
+            );
+        } else {
+            return new SqlUpdateStatement(partialUpdate.sql, ps -> bind(ps, partialUpdate.binders, entity));
+        }
+    }
+
+    /**
+     * Returns the UPDATE statement that only sets the specified fields. The
+     * statements are cached per bit mask.
+     */
+    private PartialUpdate<ENTITY> partialUpdateOf(long dirtyFields) {
+        final PartialUpdate<ENTITY> cached = partialUpdates.get(dirtyFields);
+        if (cached != null) {
+            return cached;
+        }
+
+        final List<Field<ENTITY>> setFields = new ArrayList<>();
+        for (int i = 0; i < Math.min(allFields.size(), DirtyTracked.MAX_FIELDS); i++) {
+            if ((dirtyFields & (1L << i)) != 0) {
+                setFields.add(allFields.get(i));
+            }
+        }
+
+        final String sql = "UPDATE " + sqlTableReference + " SET " +
+            setFields.stream()
+                .map(columnsByFields::get)
+                .map(Column::getName)
+                .map(naming::encloseField)
+                .map(n -> n + " = ?")
+                .collect(joining(",")) + " WHERE " +
+            sqlPrimaryKeyColumnList(pk -> pk + " = ?");
+
+        final List<Field<ENTITY>> parameterFields = Stream.concat(
+            setFields.stream(), primaryKeyFields.get()
+        ).collect(toList());
+
+        final List<SqlParameterBinder<ENTITY>> binders = fieldBinders == null ? null :
+            parameterFields.stream()
+                .map(f -> fieldBinders.get(allFields.indexOf(f)))
+                .collect(toList());
+
+        final PartialUpdate<ENTITY> partialUpdate = new PartialUpdate<>(sql, parameterFields, binders);
+        if (partialUpdates.size() < MAX_PARTIAL_UPDATES) {
+            partialUpdates.putIfAbsent(dirtyFields, partialUpdate);
+        }
+        return partialUpdate;
+    }
+
+    /**
+     * Returns a bit mask of the updatable fields that have been modified in
+     * the specified entity, or {@code ALL_FIELDS} if the entity does not keep
+     * track of modified fields.
+     */
+    private long dirtyFieldsOf(ENTITY entity) {
+        if (entity instanceof DirtyTracked && allFields.size() <= DirtyTracked.MAX_FIELDS) {
+            return ((DirtyTracked) entity).dirtyFields() & updatableFields;
+        } else {
+            return ALL_FIELDS;
+        }
+    }
+
+    private boolean isFullUpdate(long dirtyFields) {
+        return dirtyFields == ALL_FIELDS || dirtyFields == updatableFields;
+    }
+
+    /**
+     * Marks all fields in the entity as not modified once it has been 
+     * written. If the current thread participates in a transaction, the 
+     * written fields are marked as modified again if the transaction is 
+     * rolled back, so that the next update writes them again.
+     */
+    private void clearDirtyFields(ENTITY entity) {
+        if (entity instanceof DirtyTracked) {
+            final DirtyTracked tracked = (DirtyTracked) entity;
+            final long written = tracked.dirtyFields();
+            tracked.clearDirtyFields();
+            if (written != 0) {
+                afterCompletion(() -> {}, () -> tracked.markDirtyFields(written));
+            }
+        }
+    }
+
+    private SqlUpdateStatement newMergeStatement(ENTITY entity) {
+        if (mergeBinders == null) {
+            return new SqlUpdateStatement(mergeStatement, mergeValues(entity));
+        } else {
+            return new SqlUpdateStatement(mergeStatement, ps -> bind(ps, mergeBinders, entity));
+        }
+    }
+
+    private SqlDeleteStatement newDeleteStatement(ENTITY entity) {
+        if (removeBinders == null) {
+            return new SqlDeleteStatement(deleteStatement, removeValues(entity));
+        } else {
+            return new SqlDeleteStatement(deleteStatement, ps -> bind(ps, removeBinders, entity));
+        }
+    }
+
+    private void bind(PreparedStatement ps, List<SqlParameterBinder<ENTITY>> binders, ENTITY entity) throws SQLException {
+        bind(ps, binders, entity, 0);
+    }
+
+    private void bind(PreparedStatement ps, List<SqlParameterBinder<ENTITY>> binders, ENTITY entity, int offset) throws SQLException {
+        for (int i = 0; i < binders.size(); i++) {
+            binders.get(i).bind(ps, offset + i + 1, entity);
+        }
+    }
+
+    private List<SqlParameterBinder<ENTITY>> bindersOf(
+            Stream<Field<ENTITY>> fields,
+            Function<ColumnIdentifier<ENTITY>, SqlParameterBinder<ENTITY>> binders) {
+
+        return fields
+            .map(f -> {
+                final SqlParameterBinder<ENTITY> binder = binders.apply(f.identifier());
+                if (binder == null) {
+                    return (SqlParameterBinder<ENTITY>) (ps, i, entity) -> 
+                        ps.setObject(i, toDatabaseType(f, entity));
+                } else {
+                    return binder;
+                }
+            })
+            .collect(toList());
+    }
+
+    private Stream<Field<ENTITY>> insertFields() {
+        return fields.get()
+            .filter(f -> !columnHandler.excludedInInsertStatement().test(columnsByFields.get(f)));
+    }
+
+    private Stream<Field<ENTITY>> mergeFields() {
+        return fields.get()
+            .filter(f -> !columnHandler.excludedInUpdateStatement().test(columnsByFields.get(f)));
+    }
+
+    private Stream<Field<ENTITY>> updateFields() {
+        return Stream.concat(
+            fields.get().filter(f -> !columnHandler.excludedInUpdateStatement().test(columnsByFields.get(f))), 
+            primaryKeyFields.get()
+        );
+    }
+    
+    private List<Object> insertValues(ENTITY entity) {
+        return insertFields()
+            .map(f -> toDatabaseType(f, entity))
+            .collect(toList());
+    }
+    
+    private List<Object> mergeValues(ENTITY entity) {
+        return mergeFields()
+            .map(f -> toDatabaseType(f, entity))
+            .collect(toList());
+    }
+    
+    private List<Object> updateValues(ENTITY entity) {
+        return updateFields()
+            .map(f -> toDatabaseType(f, entity))
+            .collect(toList());
+    }
+    
+    private List<Object> removeValues(ENTITY entity) {
+        return primaryKeyFields.get()
+            .map(f -> toDatabaseType(f, entity))
+            .collect(toList());
+    }
+    
+    /**
+     * Returns a consumer that distributes the keys generated by a multi-row
+     * INSERT statement over the inserted entities. The keys are assumed to
+     * be returned in the same order as the rows were inserted.
+     */
+    private Consumer<List<Long>> newGeneratedKeysConsumer(List<ENTITY> entities) {
+        return l -> {
+            // Some drivers return keys even if the table has no generated
+            // fields. They are ignored, just like for a single entity.
+            if (!l.isEmpty() && !generatedFieldSupports.isEmpty()) {
+                final int keysPerRow = generatedFieldSupports.size();
+                if (l.size() != entities.size() * keysPerRow) {
+                    // The rows are already committed. The operation handler
+                    // should have rejected the insert before the commit.
+                    LOGGER.warn(
+                        "Expected " + entities.size() * keysPerRow + 
+                        " generated keys for a multi-row insert into " + 
+                        sqlTableReference + " but got " + l.size() + 
+                        ". The keys were not set on the entities."
+                    );
+                    return;
+                }
+
+                for (int i = 0; i < entities.size(); i++) {
+                    newGeneratedKeyConsumer(entities.get(i))
+                        .accept(l.subList(i * keysPerRow, (i + 1) * keysPerRow));
+                }
+            }
+        };
+    }
+
     private Consumer<List<Long>> newGeneratedKeyConsumer(ENTITY entity) {
         return l -> {
             if (!l.isEmpty()) {
@@ -272,6 +879,34 @@ final class SqlPersistenceImpl<ENTITY> implements SqlPersistence<ENTITY> {
         }
     }
     
+    private void assertCanMerge() {
+        if (mergeStatement == null) {
+            throw new UnsupportedOperationException(
+                "The database type " + dbmsType.getName()
+                + " of the table "
+                + DocumentUtil.relativeName(table, Project.class, DATABASE_NAME)
+                + " does not support merging entities."
+            );
+        }
+    }
+    
+    private final static class PartialUpdate<ENTITY> {
+
+        private final String sql;
+        private final List<Field<ENTITY>> fields;
+        private final List<SqlParameterBinder<ENTITY>> binders; // Nullable
+
+        private PartialUpdate(
+            final String sql,
+            final List<Field<ENTITY>> fields,
+            final List<SqlParameterBinder<ENTITY>> binders
+        ) {
+            this.sql = sql;
+            this.fields = fields;
+            this.binders = binders;
+        }
+    }
+    
     private final static class GeneratedFieldSupport<ENTITY, T> {
 
         private final Field<ENTITY> field;
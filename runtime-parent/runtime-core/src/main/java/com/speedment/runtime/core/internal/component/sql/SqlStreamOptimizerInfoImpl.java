@@ -21,6 +21,8 @@ import com.speedment.runtime.core.db.DbmsType;
 import com.speedment.runtime.field.Field;
 import java.util.List;
 import static java.util.Objects.requireNonNull;
+import java.util.Optional;
+import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.ToLongBiFunction;
 
@@ -36,6 +38,8 @@ public final class SqlStreamOptimizerInfoImpl<ENTITY> implements SqlStreamOptimi
     private final ToLongBiFunction<String, List<Object>> counter;
     private final Function<Field<ENTITY>, String> sqlColumnNamer;
     private final Function<Field<ENTITY>, Class<?>> sqlDatabaseTypeFunction;
+    private final BiFunction<String, List<Object>, List<Object>> aggregator; // Nullable
+    private final BiFunction<String, List<Object>, List<List<Object>>> groupAggregator; // Nullable
 
     public SqlStreamOptimizerInfoImpl(
         final DbmsType dbmsType,
@@ -43,7 +47,9 @@ public final class SqlStreamOptimizerInfoImpl<ENTITY> implements SqlStreamOptimi
         final String sqlSelectCount,
         final ToLongBiFunction<String, List<Object>> counter,
         final Function<Field<ENTITY>, String> sqlColumnNamer,
-        final Function<Field<ENTITY>, Class<?>> sqlDatabaseTypeFunction
+        final Function<Field<ENTITY>, Class<?>> sqlDatabaseTypeFunction,
+        final BiFunction<String, List<Object>, List<Object>> aggregator,
+        final BiFunction<String, List<Object>, List<List<Object>>> groupAggregator
     ) {
         this.dbmsType = requireNonNull(dbmsType);
         this.sqlSelect = requireNonNull(sqlSelect);
@@ -51,6 +57,8 @@ public final class SqlStreamOptimizerInfoImpl<ENTITY> implements SqlStreamOptimi
         this.counter = requireNonNull(counter);
         this.sqlColumnNamer = requireNonNull(sqlColumnNamer);
         this.sqlDatabaseTypeFunction = requireNonNull(sqlDatabaseTypeFunction);
+        this.aggregator = aggregator;
+        this.groupAggregator = groupAggregator;
     }
 
     @Override
@@ -83,4 +91,14 @@ public final class SqlStreamOptimizerInfoImpl<ENTITY> implements SqlStreamOptimi
         return sqlDatabaseTypeFunction;
     }
 
+    @Override
+    public Optional<BiFunction<String, List<Object>, List<Object>>> getAggregator() {
+        return Optional.ofNullable(aggregator);
+    }
+
+    @Override
+    public Optional<BiFunction<String, List<Object>, List<List<Object>>>> getGroupAggregator() {
+        return Optional.ofNullable(groupAggregator);
+    }
+
 }
@@ -18,8 +18,10 @@ package com.speedment.runtime.core.internal.component.sql;
 
 import com.speedment.runtime.core.component.sql.SqlStreamSupplierComponent;
 import com.speedment.runtime.core.stream.parallel.ParallelStrategy;
+import com.speedment.runtime.field.Field;
 import com.speedment.runtime.field.trait.HasComparableOperators;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.stream.Stream;
 
@@ -58,4 +60,19 @@ interface SqlStreamSupplier<ENTITY> {
      */
     <V extends Comparable<? super V>> Optional<ENTITY> findAny(
         HasComparableOperators<ENTITY, V> field, V value);
+
+    /**
+     * Finds the entity with the specified primary key. This is potentially
+     * faster than using the {@link #stream(ParallelStrategy)}-method.
+     *
+     * @param primaryKeyFields  the primary key fields
+     * @param primaryKeyValues  the primary key values in the same order as
+     *                          the fields
+     * @return                  the entity with the primary key or empty
+     *
+     * @since 3.0.20
+     */
+    Optional<ENTITY> findByPrimaryKey(
+        List<? extends Field<ENTITY>> primaryKeyFields,
+        List<?> primaryKeyValues);
 }
\ No newline at end of file
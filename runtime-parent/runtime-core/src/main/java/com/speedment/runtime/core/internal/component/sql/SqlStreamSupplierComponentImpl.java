@@ -23,13 +23,18 @@ import com.speedment.runtime.config.identifier.TableIdentifier;
 import com.speedment.runtime.core.component.DbmsHandlerComponent;
 import com.speedment.runtime.core.component.ManagerComponent;
 import com.speedment.runtime.core.component.ProjectComponent;
+import com.speedment.runtime.core.component.resultset.ResultSetMapperComponent;
 import com.speedment.runtime.core.component.sql.SqlStreamOptimizerComponent;
 import com.speedment.runtime.core.component.sql.SqlStreamSupplierComponent;
 import com.speedment.runtime.core.component.sql.override.SqlStreamTerminatorComponent;
 import com.speedment.runtime.core.db.SqlFunction;
 import com.speedment.runtime.core.stream.parallel.ParallelStrategy;
+import com.speedment.runtime.field.Field;
+import com.speedment.runtime.field.trait.HasComparableOperators;
 import java.sql.ResultSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import static java.util.Objects.requireNonNull;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
@@ -46,6 +51,8 @@ public final class SqlStreamSupplierComponentImpl implements SqlStreamSupplierCo
     private final Map<TableIdentifier<?>, SqlFunction<ResultSet, ?>> prestart;
     private final Map<TableIdentifier<?>, SqlStreamSupplier<?>> supportMap;
     private @Config(name = "allowStreamIteratorAndSpliterator", value = "false") boolean allowStreamIteratorAndSpliterator;
+    private @Config(name = "sqlColumnProjection", value = "true") boolean sqlColumnProjection;
+    private @Config(name = "sqlFinderBatchSize", value = "500") int sqlFinderBatchSize;
 
     public SqlStreamSupplierComponentImpl() {
         this.supportMap = new ConcurrentHashMap<>();
@@ -64,7 +71,8 @@ public final class SqlStreamSupplierComponentImpl implements SqlStreamSupplierCo
         final DbmsHandlerComponent dbmsHandlerComponent,
         final ManagerComponent managerComponent,
         final SqlStreamOptimizerComponent sqlStreamOptimizerComponent,
-        final SqlStreamTerminatorComponent sqlStreamTerminatorComponent
+        final SqlStreamTerminatorComponent sqlStreamTerminatorComponent,
+        final ResultSetMapperComponent resultSetMapperComponent
     ) {
 
         prestart.forEach((tableIdentifier, entityMapper) -> {
@@ -76,7 +84,10 @@ public final class SqlStreamSupplierComponentImpl implements SqlStreamSupplierCo
                 managerComponent,
                 sqlStreamOptimizerComponent,
                 sqlStreamTerminatorComponent,
-                allowStreamIteratorAndSpliterator
+                resultSetMapperComponent,
+                allowStreamIteratorAndSpliterator,
+                sqlColumnProjection,
+                sqlFinderBatchSize
             );
 
             supportMap.put(tableIdentifier, supplier);
@@ -89,6 +100,25 @@ public final class SqlStreamSupplierComponentImpl implements SqlStreamSupplierCo
         return supplier.stream(parallelStrategy);
     }
 
+    @Override
+    public <ENTITY, V extends Comparable<? super V>> Optional<ENTITY> findAny(
+            TableIdentifier<ENTITY> tableIdentifier,
+            HasComparableOperators<ENTITY, V> field,
+            V value) {
+
+        return getStreamSupplier(tableIdentifier).findAny(field, value);
+    }
+
+    @Override
+    public <ENTITY> Optional<ENTITY> findByPrimaryKey(
+            TableIdentifier<ENTITY> tableIdentifier,
+            List<? extends Field<ENTITY>> primaryKeyFields,
+            List<?> primaryKeyValues) {
+
+        return getStreamSupplier(tableIdentifier)
+            .findByPrimaryKey(primaryKeyFields, primaryKeyValues);
+    }
+
     private <ENTITY> SqlStreamSupplier<ENTITY> getStreamSupplier(TableIdentifier<ENTITY> tableIdentifier) {
         @SuppressWarnings("unchecked")
         final SqlStreamSupplier<ENTITY> streamSupplier = (SqlStreamSupplier<ENTITY>) supportMap.get(tableIdentifier);
@@ -30,6 +30,7 @@ import com.speedment.runtime.core.ApplicationBuilder;
 import com.speedment.runtime.core.component.DbmsHandlerComponent;
 import com.speedment.runtime.core.component.ManagerComponent;
 import com.speedment.runtime.core.component.ProjectComponent;
+import com.speedment.runtime.core.component.resultset.ResultSetMapperComponent;
 import com.speedment.runtime.core.component.sql.SqlStreamOptimizerComponent;
 import com.speedment.runtime.core.component.sql.SqlStreamOptimizerInfo;
 import com.speedment.runtime.core.component.sql.override.SqlStreamTerminatorComponent;
@@ -38,18 +39,24 @@ import com.speedment.runtime.core.db.DatabaseNamingConvention;
 import com.speedment.runtime.core.db.DbmsType;
 import com.speedment.runtime.core.db.SqlFunction;
 import com.speedment.runtime.core.exception.SpeedmentException;
+import com.speedment.runtime.core.internal.component.cache.EntityCopier;
 import com.speedment.runtime.core.internal.manager.sql.SqlStreamTerminator;
 import com.speedment.runtime.core.internal.stream.builder.ReferenceStreamBuilder;
 import com.speedment.runtime.core.internal.stream.builder.pipeline.PipelineImpl;
+import com.speedment.runtime.core.util.PrimaryKeyUtil;
 import com.speedment.runtime.core.manager.Manager;
 import com.speedment.runtime.core.stream.parallel.ParallelStrategy;
 import com.speedment.runtime.core.util.DatabaseUtil;
 import com.speedment.runtime.field.Field;
 import com.speedment.runtime.field.trait.HasComparableOperators;
+import com.speedment.runtime.typemapper.TypeMapper;
 
 import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 import java.util.stream.BaseStream;
 import java.util.stream.Stream;
 
@@ -58,6 +65,7 @@ import static java.lang.String.format;
 import static java.util.Objects.requireNonNull;
 import static java.util.function.Function.identity;
 import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toMap;
 
 /**
@@ -81,6 +89,9 @@ final class SqlStreamSupplierImpl<ENTITY> implements SqlStreamSupplier<ENTITY> {
     private final SqlStreamOptimizerComponent sqlStreamOptimizerComponent;
     private final SqlStreamTerminatorComponent sqlStreamTerminatorComponent;
     private final boolean allowIteratorAndSpliterator;
+    private final Map<Object, KeyQuery<ENTITY>> keyQueries;
+    private final FieldProjector<ENTITY> fieldProjector; // Nullable
+    private final FinderBatcher finderBatcher; // Nullable
 
     SqlStreamSupplierImpl(
         final TableIdentifier<ENTITY> tableId,
@@ -90,7 +101,10 @@ final class SqlStreamSupplierImpl<ENTITY> implements SqlStreamSupplier<ENTITY> {
         final ManagerComponent managerComponent,
         final SqlStreamOptimizerComponent sqlStreamOptimizerComponent,
         final SqlStreamTerminatorComponent sqlStreamTerminatorComponent,
-        final boolean allowIteratorAndSpliterator
+        final ResultSetMapperComponent resultSetMapperComponent,
+        final boolean allowIteratorAndSpliterator,
+        final boolean columnProjection,
+        final int finderBatchSize
     ) {
         requireNonNull(tableId);
         requireNonNull(projectComponent);
@@ -101,6 +115,7 @@ final class SqlStreamSupplierImpl<ENTITY> implements SqlStreamSupplier<ENTITY> {
         this.sqlStreamOptimizerComponent = requireNonNull(sqlStreamOptimizerComponent);
         this.sqlStreamTerminatorComponent = requireNonNull(sqlStreamTerminatorComponent);
         this.allowIteratorAndSpliterator = allowIteratorAndSpliterator;
+        this.keyQueries = new ConcurrentHashMap<>();
 
         final Project project = projectComponent.getProject();
         final Table table = DocumentDbUtil.referencedTable(project, tableId);
@@ -125,6 +140,21 @@ final class SqlStreamSupplierImpl<ENTITY> implements SqlStreamSupplier<ENTITY> {
         this.sqlTableReference = naming.fullNameOf(table);
         this.sqlSelect = "SELECT " + sqlColumnList + " FROM " + sqlTableReference;
         this.sqlSelectCount = "SELECT COUNT(*) FROM " + sqlTableReference;
+        this.fieldProjector = columnProjection
+            ? new FieldProjector<>(
+                project,
+                dbms,
+                dbmsType,
+                table,
+                manager.getEntityClass(),
+                sqlSelect,
+                sqlTableReference,
+                requireNonNull(resultSetMapperComponent)
+            )
+            : null;
+        this.finderBatcher = finderBatchSize > 0
+            ? new FinderBatcher(finderBatchSize, id -> copierOf(managerComponent, id))
+            : null;
 
         this.columnNameMap = manager.fields()
             .filter(f -> f.findColumn(project)
@@ -169,7 +199,9 @@ final class SqlStreamSupplierImpl<ENTITY> implements SqlStreamSupplier<ENTITY> {
             sqlSelectCount,
             this::executeAndGetLong,
             this::sqlColumnNamer,
-            this::sqlDatabaseTypeFunction
+            this::sqlDatabaseTypeFunction,
+            this::executeAndGetRow,
+            this::executeAndGetRows
         );
 
         final SqlStreamTerminator<ENTITY> terminator = new SqlStreamTerminator<>(
@@ -177,6 +209,8 @@ final class SqlStreamSupplierImpl<ENTITY> implements SqlStreamSupplier<ENTITY> {
             asynchronousQueryResult,
             sqlStreamOptimizerComponent,
             sqlStreamTerminatorComponent,
+            fieldProjector,
+            finderBatcher,
             allowIteratorAndSpliterator
         );
 
@@ -196,9 +230,15 @@ final class SqlStreamSupplierImpl<ENTITY> implements SqlStreamSupplier<ENTITY> {
 
     @Override
     public <V extends Comparable<? super V>> Optional<ENTITY> findAny(HasComparableOperators<ENTITY, V> field, V value) {
-        return stream(ParallelStrategy.computeIntensityDefault())
-            .filter(field.equal(value))
-            .findAny();
+        return findByKey(
+            Collections.singletonList(field),
+            Collections.singletonList(value)
+        );
+    }
+
+    @Override
+    public Optional<ENTITY> findByPrimaryKey(List<? extends Field<ENTITY>> primaryKeyFields, List<?> primaryKeyValues) {
+        return findByKey(primaryKeyFields, primaryKeyValues);
     }
 
     public String getSqlTableReference() {
@@ -207,11 +247,150 @@ final class SqlStreamSupplierImpl<ENTITY> implements SqlStreamSupplier<ENTITY> {
 
     public long executeAndGetLong(String sql, List<Object> values) {
         LOGGER_SELECT.debug("%s, values:%s", sql, values);
-        return dbmsType.getOperationHandler().executeQuery(dbms,
+        try (final Stream<Long> result = dbmsType.getOperationHandler().executeQueryLazy(dbms,
             sql,
             values,
             rs -> rs.getLong(1)
-        ).findAny().get();
+        )) {
+            return result.findAny().get();
+        }
+    }
+
+    public List<Object> executeAndGetRow(String sql, List<Object> values) {
+        LOGGER_SELECT.debug("%s, values:%s", sql, values);
+        try (final Stream<List<Object>> result = dbmsType.getOperationHandler().executeQueryLazy(dbms,
+            sql,
+            values,
+            SqlStreamSupplierImpl::readRow
+        )) {
+            return result.findAny().orElse(Collections.emptyList());
+        }
+    }
+
+    public List<List<Object>> executeAndGetRows(String sql, List<Object> values) {
+        LOGGER_SELECT.debug("%s, values:%s", sql, values);
+        try (final Stream<List<Object>> result = dbmsType.getOperationHandler().executeQueryLazy(dbms,
+            sql,
+            values,
+            SqlStreamSupplierImpl::readRow
+        )) {
+            return result.collect(toList());
+        }
+    }
+
+    /**
+     * Returns a copier for the entities of the specified table, or
+     * {@code null} if there is no manager for the table.
+     */
+    @SuppressWarnings("unchecked")
+    private static UnaryOperator<Object> copierOf(ManagerComponent managerComponent, TableIdentifier<?> tableId) {
+        return managerComponent.stream()
+            .filter(m -> tableId.equals(m.getTableIdentifier()))
+            .findAny()
+            .map(m -> (Manager<Object>) m)
+            .map(m -> (UnaryOperator<Object>) new EntityCopier<>(m.fields().collect(toList())))
+            .orElse(null);
+    }
+
+    private static List<Object> readRow(ResultSet rs) throws SQLException {
+        final int columns = rs.getMetaData().getColumnCount();
+        final List<Object> row = new ArrayList<>(columns);
+        for (int i = 1; i <= columns; i++) {
+            row.add(rs.getObject(i));
+        }
+        return row;
+    }
+
+    /**
+     * Looks up an entity using a precomputed {@code SELECT ... WHERE} query
+     * and maps the first row directly, without building a stream pipeline.
+     * Fields that belong to another table fall back to the ordinary stream.
+     */
+    private Optional<ENTITY> findByKey(List<? extends Field<ENTITY>> fields, List<?> values) {
+        PrimaryKeyUtil.requireSameSize(fields, values);
+        if (values.contains(null)) {
+            return Optional.empty(); // Nothing is equal to NULL in SQL
+        }
+
+        final KeyQuery<ENTITY> query = acquireKeyQuery(fields);
+        if (query == null) {
+            try (final Stream<ENTITY> stream = stream(ParallelStrategy.computeIntensityDefault())) {
+                return PrimaryKeyUtil.filterByKey(stream, fields, values).findAny();
+            }
+        }
+
+        final List<Object> dbValues = query.toDatabaseValues(values);
+        LOGGER_SELECT.debug("%s, values:%s", query.sql, dbValues);
+        try (final Stream<ENTITY> result = dbmsType.getOperationHandler()
+                .executeQueryLazy(dbms, query.sql, dbValues, entityMapper)) {
+            return result.findFirst();
+        }
+    }
+
+    private KeyQuery<ENTITY> acquireKeyQuery(List<? extends Field<ENTITY>> fields) {
+        final Object key = fields.size() == 1
+            ? fields.get(0).identifier()
+            : fields.stream().map(Field::identifier).collect(toList());
+
+        final KeyQuery<ENTITY> cached = keyQueries.get(key);
+        if (cached != null) {
+            return cached.isEmpty() ? null : cached;
+        }
+
+        final KeyQuery<ENTITY> created = createKeyQuery(fields);
+        keyQueries.putIfAbsent(key, created);
+        return created.isEmpty() ? null : created;
+    }
+
+    @SuppressWarnings("unchecked")
+    private KeyQuery<ENTITY> createKeyQuery(List<? extends Field<ENTITY>> fields) {
+        if (fields.isEmpty() || !fields.stream().allMatch(f -> columnNameMap.containsKey(f.identifier()))) {
+            return KeyQuery.empty();
+        }
+
+        final String sql = sqlSelect + " WHERE " + fields.stream()
+            .map(f -> columnNameMap.get(f.identifier()) + " = ?")
+            .collect(joining(" AND "));
+
+        final List<TypeMapper<Object, Object>> typeMappers = fields.stream()
+            .map(f -> (TypeMapper<Object, Object>) f.typeMapper())
+            .collect(toList());
+
+        return new KeyQuery<>(sql, typeMappers);
+    }
+
+    /**
+     * A precomputed query that selects the entities where a set of columns
+     * have given values.
+     */
+    private static final class KeyQuery<ENTITY> {
+
+        private static final KeyQuery<?> EMPTY = new KeyQuery<>(null, Collections.emptyList());
+
+        private final String sql; // null if the key can not be rendered
+        private final List<TypeMapper<Object, Object>> typeMappers;
+
+        private KeyQuery(String sql, List<TypeMapper<Object, Object>> typeMappers) {
+            this.sql         = sql;
+            this.typeMappers = typeMappers;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <ENTITY> KeyQuery<ENTITY> empty() {
+            return (KeyQuery<ENTITY>) EMPTY;
+        }
+
+        private boolean isEmpty() {
+            return sql == null;
+        }
+
+        private List<Object> toDatabaseValues(List<?> values) {
+            final List<Object> result = new ArrayList<>(values.size());
+            for (int i = 0; i < values.size(); i++) {
+                result.add(typeMappers.get(i).toDatabaseType(values.get(i)));
+            }
+            return result;
+        }
     }
 
     private String sqlColumnNamer(Field<ENTITY> field) {
@@ -35,7 +35,6 @@ import com.speedment.runtime.field.comparator.FieldComparator;
 import com.speedment.runtime.field.comparator.NullOrder;
 
 import java.util.*;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 
@@ -69,6 +68,10 @@ import static java.util.stream.Collectors.toList;
  */
 public final class FilterSortedSkipOptimizer<ENTITY> implements SqlStreamOptimizer<ENTITY> {
 
+    private static final int RENDERED_SQL_CACHE_SIZE = 256;
+
+    private final RenderedSqlCache renderedSqlCache = new RenderedSqlCache(RENDERED_SQL_CACHE_SIZE);
+
     private final FilterOperation FILTER_OPERATION = new FilterOperation();
     private final SortedOperation SORTED_OPERATION = new SortedOperation();
     private final SkipOperation SKIP_OPERATION = new SkipOperation();
@@ -94,32 +97,34 @@ public final class FilterSortedSkipOptimizer<ENTITY> implements SqlStreamOptimiz
         requireNonNull(initialPipeline);
         requireNonNull(dbmsType);
         final DbmsType.SkipLimitSupport skipLimitSupport = dbmsType.getSkipLimitSupport();
-        final AtomicInteger filterCounter = new AtomicInteger();
-        final AtomicInteger orderCounter = new AtomicInteger();
-        final AtomicInteger skipCounter = new AtomicInteger();
-        final AtomicInteger limitCounter = new AtomicInteger();
+        final int[] counters = new int[4]; // filter, order, skip, limit
 
         traverse(initialPipeline,
-            $ -> filterCounter.incrementAndGet(),
-            $ -> orderCounter.incrementAndGet(),
-            $ -> skipCounter.incrementAndGet(),
-            $ -> limitCounter.incrementAndGet()
+            $ -> counters[0]++,
+            $ -> counters[1]++,
+            $ -> counters[2]++,
+            $ -> counters[3]++
         );
 
-        if (skipLimitSupport == ONLY_AFTER_SORTED && orderCounter.get() == 0) {
+        final int filterCount = counters[0];
+        final int orderCount = counters[1];
+        final int skipCount = counters[2];
+        final int limitCount = counters[3];
+
+        if (skipLimitSupport == ONLY_AFTER_SORTED && orderCount == 0) {
             // Just decline. There are other optimizer that handles just filtering better
             return Metrics.empty();
         }
         if (skipLimitSupport == NONE) {
-            return Metrics.of(filterCounter.get() + orderCounter.get(), filterCounter.get(), orderCounter.get(), 0, 0);
+            return Metrics.of(filterCount + orderCount, filterCount, orderCount, 0, 0);
         }
 
         return Metrics.of(
-            filterCounter.get() + orderCounter.get() + skipCounter.get() + limitCounter.get(),
-            filterCounter.get(),
-            orderCounter.get(),
-            skipCounter.get() > 0 ? 1 : 0,
-            limitCounter.get() > 0 ? 1 : 0
+            filterCount + orderCount + skipCount + limitCount,
+            filterCount,
+            orderCount,
+            skipCount > 0 ? 1 : 0,
+            limitCount > 0 ? 1 : 0
         );
     }
 
@@ -142,18 +147,79 @@ public final class FilterSortedSkipOptimizer<ENTITY> implements SqlStreamOptimiz
 
         traverse(initialPipeline, filters::add, sorteds::add, skips::add, limits::add);
 
-        final List<Object> values = new ArrayList<>();
+        @SuppressWarnings("unchecked")
+        final List<Predicate<ENTITY>> predicates = filters.stream()
+            .map(FilterAction::getPredicate)
+            .map(p -> (Predicate<ENTITY>) p)
+            .collect(toList());
+
+        final List<FieldComparator<ENTITY>> fieldComparators = new ArrayList<>();
+        for (int i = sorteds.size() - 1; i >= 0; i--) {
+            final SortedComparatorAction<ENTITY> sortedAction = sorteds.get(i);
+            @SuppressWarnings("unchecked")
+            final Comparator<? super ENTITY> comparator = sortedAction.getComparator();
+            if (comparator instanceof FieldComparator) {
+                @SuppressWarnings("unchecked")
+                final FieldComparator<ENTITY> fieldComparator = (FieldComparator<ENTITY>) sortedAction.getComparator();
+                fieldComparators.add(fieldComparator);
+            }
+            if (comparator instanceof CombinedComparator) {
+                @SuppressWarnings("unchecked")
+                final CombinedComparator<ENTITY> combinedComparator = (CombinedComparator<ENTITY>) sortedAction.getComparator();
+                combinedComparator.stream()
+                    .map(c -> (FieldComparator<ENTITY>) c)
+                    .forEachOrdered(fieldComparators::add);
+            }
+        }
+
+        // Pipelines with the same shape render the same SQL, so only the
+        // values have to be extracted if the shape has been rendered before.
+        final List<Object> shape = RenderedSqlCache.shapeOf(dbmsType, info.getSqlSelect(), predicates, fieldComparators);
+        final String cachedSql = renderedSqlCache.get(shape);
+
+        final List<Object> values;
+        final String renderedSql;
+        if (cachedSql != null) {
+            values = RenderedSqlCache.valuesOf(predicates);
+            renderedSql = cachedSql;
+        } else {
+            values = new ArrayList<>();
+            renderedSql = render(info, predicates, fieldComparators, values);
+            if (!renderedSqlCache.isKnown(shape)) {
+                renderedSqlCache.put(shape, renderedSql, predicates, values);
+            }
+        }
+
+        final String finalSql;
+        if (skipLimitSupport == NONE) {
+            finalSql = renderedSql;
+            initialPipeline.removeIf(a -> filters.contains(a) || sorteds.contains(a));
+        } else {
+            final long sumSkip = skips.stream().mapToLong(SkipAction::getSkip).sum();
+            final long minLimit = limits.stream().mapToLong(LimitAction::getLimit).min().orElse(Long.MAX_VALUE);
+            finalSql = dbmsType
+                .applySkipLimit(renderedSql, values, sumSkip, minLimit);
+            initialPipeline.removeIf(a -> filters.contains(a) || sorteds.contains(a) || skips.contains(a) || limits.contains(a));
+        }
+
+        query.setSql(finalSql);
+        query.setValues(values);
+
+        return initialPipeline;
+    }
+
+    private String render(
+        final SqlStreamOptimizerInfo<ENTITY> info,
+        final List<Predicate<ENTITY>> predicates,
+        final List<FieldComparator<ENTITY>> fieldComparators,
+        final List<Object> values
+    ) {
+        final DbmsType dbmsType = info.getDbmsType();
         final StringBuilder sql = new StringBuilder();
 
         sql.append(info.getSqlSelect());
 
-        if (!filters.isEmpty()) {
-            @SuppressWarnings("unchecked")
-            List<Predicate<ENTITY>> predicates = filters.stream()
-                .map(FilterAction::getPredicate)
-                .map(p -> (Predicate<ENTITY>) p)
-                .collect(toList());
-
+        if (!predicates.isEmpty()) {
             final RenderResult rr = StreamTerminatorUtil.renderSqlWhere(
                 dbmsType,
                 info.getSqlColumnNamer(),
@@ -165,92 +231,55 @@ public final class FilterSortedSkipOptimizer<ENTITY> implements SqlStreamOptimiz
             values.addAll(rr.getValues());
         }
 
-        if (!sorteds.isEmpty()) {
-
-            final List<FieldComparator<ENTITY>> fieldComparators = new ArrayList<>();
-            for (int i = sorteds.size() - 1; i >= 0; i--) {
-                final SortedComparatorAction<ENTITY> sortedAction = sorteds.get(i);
-                @SuppressWarnings("unchecked")
-                final Comparator<? super ENTITY> comparator = sortedAction.getComparator();
-                if (comparator instanceof FieldComparator) {
-                    @SuppressWarnings("unchecked")
-                    final FieldComparator<ENTITY> fieldComparator = (FieldComparator<ENTITY>) sortedAction.getComparator();
-                    fieldComparators.add(fieldComparator);
-                }
-                if (comparator instanceof CombinedComparator) {
-                    @SuppressWarnings("unchecked")
-                    final CombinedComparator<ENTITY> combinedComparator = (CombinedComparator<ENTITY>) sortedAction.getComparator();
-                    combinedComparator.stream()
-                        .map(c -> (FieldComparator<ENTITY>) c)
-                        .forEachOrdered(fieldComparators::add);
-                }
-            }
-
-            if (!fieldComparators.isEmpty()) {
+        if (!fieldComparators.isEmpty()) {
 
-                sql.append(" ORDER BY ");
-                // Iterate backwards
-                final Set<ColumnIdentifier<ENTITY>> columns = new HashSet<>();
-                int cnt = 0;
-                for (FieldComparator<ENTITY> fieldComparator : fieldComparators) {
-                    final ColumnIdentifier<ENTITY> columnIdentifier = fieldComparator.getField().identifier();
+            sql.append(" ORDER BY ");
+            // Iterate backwards
+            final Set<ColumnIdentifier<ENTITY>> columns = new HashSet<>();
+            int cnt = 0;
+            for (FieldComparator<ENTITY> fieldComparator : fieldComparators) {
+                final ColumnIdentifier<ENTITY> columnIdentifier = fieldComparator.getField().identifier();
 
-                    // Some databases (e.g. SQL Server) only allows distinct columns in ORDER BY 
-                    if (columns.add(columnIdentifier)) {
-                        if (cnt++ != 0) {
-                            sql.append(", ");
-                        }
+                // Some databases (e.g. SQL Server) only allows distinct columns in ORDER BY 
+                if (columns.add(columnIdentifier)) {
+                    if (cnt++ != 0) {
+                        sql.append(", ");
+                    }
 
-                        boolean isReversed = fieldComparator.isReversed();
-                        String fieldName = info.getSqlColumnNamer().apply(fieldComparator.getField());
+                    boolean isReversed = fieldComparator.isReversed();
+                    String fieldName = info.getSqlColumnNamer().apply(fieldComparator.getField());
 
-                        final NullOrder effectiveNullOrder = isReversed
-                            ? fieldComparator.getNullOrder().reversed()
-                            : fieldComparator.getNullOrder();
+                    final NullOrder effectiveNullOrder = isReversed
+                        ? fieldComparator.getNullOrder().reversed()
+                        : fieldComparator.getNullOrder();
 
-                        // Specify NullOrder pre column if nulls are first
-                        if (effectiveNullOrder == NullOrder.FIRST) {
-                            if (dbmsType.getSortByNullOrderInsertion() == DbmsType.SortByNullOrderInsertion.PRE) {
-                                sql.append(fieldName).append("IS NOT NULL, ");
-                            }
-                            if (dbmsType.getSortByNullOrderInsertion() == DbmsType.SortByNullOrderInsertion.PRE_WITH_CASE) {
-                                sql.append("CASE WHEN ").append(fieldName).append(" IS NULL THEN 0 ELSE 1 END, ");
-                            }
+                    // Specify NullOrder pre column if nulls are first
+                    if (effectiveNullOrder == NullOrder.FIRST) {
+                        if (dbmsType.getSortByNullOrderInsertion() == DbmsType.SortByNullOrderInsertion.PRE) {
+                            sql.append(fieldName).append("IS NOT NULL, ");
                         }
-
-                        sql.append(fieldName);
-                        if (isReversed) {
-                            sql.append(" DESC");
-                        } else {
-                            sql.append(" ASC");
+                        if (dbmsType.getSortByNullOrderInsertion() == DbmsType.SortByNullOrderInsertion.PRE_WITH_CASE) {
+                            sql.append("CASE WHEN ").append(fieldName).append(" IS NULL THEN 0 ELSE 1 END, ");
                         }
+                    }
 
-                        // Specify NullOrder post column
-                        if (effectiveNullOrder == NullOrder.FIRST && dbmsType.getSortByNullOrderInsertion() == DbmsType.SortByNullOrderInsertion.POST) {
-                            sql.append(" NULLS FIRST");
-                        }
+                    sql.append(fieldName);
+                    if (isReversed) {
+                        sql.append(" DESC");
+                    } else {
+                        sql.append(" ASC");
+                    }
 
+                    // Specify NullOrder post column
+                    if (effectiveNullOrder == NullOrder.FIRST && dbmsType.getSortByNullOrderInsertion() == DbmsType.SortByNullOrderInsertion.POST) {
+                        sql.append(" NULLS FIRST");
                     }
+
                 }
             }
         }
 
-        final String finalSql;
-        if (skipLimitSupport == NONE) {
-            finalSql = sql.toString();
-            initialPipeline.removeIf(a -> filters.contains(a) || sorteds.contains(a));
-        } else {
-            final long sumSkip = skips.stream().mapToLong(SkipAction::getSkip).sum();
-            final long minLimit = limits.stream().mapToLong(LimitAction::getLimit).min().orElse(Long.MAX_VALUE);
-            finalSql = dbmsType
-                .applySkipLimit(sql.toString(), values, sumSkip, minLimit);
-            initialPipeline.removeIf(a -> filters.contains(a) || sorteds.contains(a) || skips.contains(a) || limits.contains(a));
-        }
-
-        query.setSql(finalSql);
-        query.setValues(values);
-
-        return initialPipeline;
+        return sql.toString();
     }
 
     private void traverse(Pipeline pipeline,
@@ -23,36 +23,41 @@ import com.speedment.runtime.core.db.AsynchronousQueryResult;
 import com.speedment.runtime.core.db.DbmsType;
 import com.speedment.runtime.core.internal.stream.builder.action.reference.FilterAction;
 import com.speedment.runtime.core.internal.stream.builder.streamterminator.StreamTerminatorUtil;
-import static com.speedment.runtime.core.internal.stream.builder.streamterminator.StreamTerminatorUtil.isContainingOnlyFieldPredicate;
+import static com.speedment.runtime.core.internal.stream.builder.streamterminator.StreamTerminatorUtil.renderableConjuncts;
+import static com.speedment.runtime.core.internal.stream.builder.streamterminator.StreamTerminatorUtil.residualPredicate;
 import com.speedment.runtime.core.stream.Pipeline;
 import com.speedment.runtime.core.stream.action.Action;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import static java.util.Objects.requireNonNull;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
-import static java.util.stream.Collectors.toList;
 
 /**
  * This Optimizer can take care of the case where there is a mix of Field
  * predicates and other predicates. Field predicates will be optimized and other
- * predicates will be applied in the stream.
+ * predicates will be applied in the stream. Predicates that are AND
+ * combinations of field predicates and other predicates are split so that the
+ * field predicate parts are rendered as SQL and the rest remains in the stream.
  *
  * @author Per Minborg
  * @param <ENTITY> the entity type
  */
 public final class InitialFilterOptimizer<ENTITY> implements SqlStreamOptimizer<ENTITY> {
 
+    private static final int RENDERED_SQL_CACHE_SIZE = 256;
+
+    private final RenderedSqlCache renderedSqlCache = new RenderedSqlCache(RENDERED_SQL_CACHE_SIZE);
+
     // Todo: A more general expression would be better. Eg. stream().peek().filter() would still be possible...
-    // Todo: Allow CombinedPredicates
     @Override
     public Metrics metrics(Pipeline initialPipeline, DbmsType dbmsType) {
         requireNonNull(initialPipeline);
         requireNonNull(dbmsType);
-        final AtomicInteger filterCounter = new AtomicInteger();
-        traverse(initialPipeline, $ -> filterCounter.getAndIncrement());
-        return Metrics.of(filterCounter.get(), filterCounter.get(), 0, 0, 0);
+        final int[] filterCounter = new int[1];
+        traverse(initialPipeline, $ -> filterCounter[0]++);
+        return Metrics.of(filterCounter[0], filterCounter[0], 0, 0, 0);
     }
 
     @Override
@@ -68,18 +73,25 @@ public final class InitialFilterOptimizer<ENTITY> implements SqlStreamOptimizer<
         final List<FilterAction<ENTITY>> filters = new ArrayList<>();
         traverse(initialPipeline, filters::add);
 
+        final List<Predicate<ENTITY>> predicates = new ArrayList<>();
+        filters.forEach(filter -> predicates.addAll(renderableConjuncts(predicateOf(filter))));
+
+        final List<Object> shape = RenderedSqlCache.shapeOf(
+            info.getDbmsType(), info.getSqlSelect(), predicates, Collections.emptyList()
+        );
+        final String cachedSql = renderedSqlCache.get(shape);
+        if (cachedSql != null) {
+            query.setSql(cachedSql);
+            query.setValues(RenderedSqlCache.valuesOf(predicates));
+            return replaceFilters(initialPipeline, filters);
+        }
+
         final List<Object> values = new ArrayList<>();
         final StringBuilder sql = new StringBuilder();
 
         sql.append(info.getSqlSelect());
 
-        if (!filters.isEmpty()) {
-            @SuppressWarnings("unchecked")
-            List<Predicate<ENTITY>> predicates = filters.stream()
-                .map(FilterAction::getPredicate)
-                .map(p -> (Predicate<ENTITY>) p)
-                .collect(toList());
-
+        if (!predicates.isEmpty()) {
             final StreamTerminatorUtil.RenderResult rr = StreamTerminatorUtil.renderSqlWhere(
                 info.getDbmsType(),
                 info.getSqlColumnNamer(),
@@ -91,16 +103,42 @@ public final class InitialFilterOptimizer<ENTITY> implements SqlStreamOptimizer<
             values.addAll(rr.getValues());
         }
 
-//        final List<FieldPredicate<ENTITY>> andPredicateBuilders = topLevelAndPredicates(initialPipeline);
-//
-//        if (!andPredicateBuilders.isEmpty()) {
-//            modifySource(andPredicateBuilders, info, query);
-//        }
-        query.setSql(sql.toString());
+        final String renderedSql = sql.toString();
+        if (!renderedSqlCache.isKnown(shape)) {
+            renderedSqlCache.put(shape, renderedSql, predicates, values);
+        }
+
+        query.setSql(renderedSql);
         query.setValues(values);
 
-        initialPipeline.removeIf(filters::contains);
-        return initialPipeline;
+        return replaceFilters(initialPipeline, filters);
+    }
+
+    /**
+     * Removes the given filters from the pipeline, or replaces them with a
+     * filter holding their residual predicate if only a part of them could be
+     * rendered as SQL.
+     */
+    private <P extends Pipeline> P replaceFilters(P pipeline, List<FilterAction<ENTITY>> filters) {
+        for (int i = 0; i < pipeline.size(); i++) {
+            final Action<?, ?> action = pipeline.get(i);
+            if (filters.contains(action)) {
+                @SuppressWarnings("unchecked")
+                final Predicate<ENTITY> residual = residualPredicate(predicateOf((FilterAction<ENTITY>) action));
+                pipeline.remove(i);
+                if (residual == null) {
+                    i--;
+                } else {
+                    pipeline.add(i, new FilterAction<>(residual));
+                }
+            }
+        }
+        return pipeline;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Predicate<ENTITY> predicateOf(FilterAction<ENTITY> filterAction) {
+        return (Predicate<ENTITY>) filterAction.getPredicate();
     }
 
     private void traverse(Pipeline pipeline,
@@ -110,7 +148,7 @@ public final class InitialFilterOptimizer<ENTITY> implements SqlStreamOptimizer<
             if (action instanceof FilterAction) {
                 @SuppressWarnings("unchecked")
                 final FilterAction<ENTITY> filterAction = (FilterAction<ENTITY>) action;
-                if (isContainingOnlyFieldPredicate(filterAction.getPredicate())) {
+                if (!renderableConjuncts(predicateOf(filterAction)).isEmpty()) {
                     filterConsumer.accept(filterAction);
                 }
             } else {
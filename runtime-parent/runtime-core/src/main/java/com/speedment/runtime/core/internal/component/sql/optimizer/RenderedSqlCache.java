@@ -0,0 +1,253 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component.sql.optimizer;
+
+import com.speedment.runtime.core.db.DbmsType;
+import com.speedment.runtime.field.comparator.FieldComparator;
+import com.speedment.runtime.field.predicate.CombinedPredicate;
+import com.speedment.runtime.field.predicate.FieldPredicate;
+import com.speedment.runtime.field.predicate.PredicateType;
+import com.speedment.runtime.typemapper.TypeMapper;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+import static com.speedment.runtime.field.util.PredicateOperandUtil.getFirstOperandAsRaw;
+import static com.speedment.runtime.field.util.PredicateOperandUtil.getFirstOperandAsRawSet;
+import static com.speedment.runtime.field.util.PredicateOperandUtil.getInclusionOperand;
+import static com.speedment.runtime.field.util.PredicateOperandUtil.getSecondOperand;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A bounded cache from the shape of a stream pipeline to the SQL that was
+ * rendered for it. The shape consists of the table, the fields and predicate
+ * types of all filters and the fields and orders of all comparators, but not
+ * the operands of the predicates. Pipelines with the same shape can therefore
+ * reuse the rendered SQL and only have to extract the new operands.
+ * <p>
+ * The operands are extracted from the predicates in the same order as the
+ * standard {@link com.speedment.runtime.core.db.FieldPredicateView} adds
+ * them. When a shape is rendered the first time, the extracted values are
+ * compared to the values that the actual predicate view produced. If they
+ * differ, for an example because a database specific view rewrites its
+ * operands, the shape is marked as not cacheable and will always be rendered.
+ *
+ * @since  3.0.20
+ */
+final class RenderedSqlCache {
+
+    private static final String NOT_CACHEABLE = new String("NOT_CACHEABLE");
+
+    private final int maxSize;
+    private final Map<List<Object>, String> cache;
+
+    RenderedSqlCache(int maxSize) {
+        this.maxSize = maxSize;
+        this.cache   = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Returns the shape of the given query.
+     *
+     * @param <ENTITY>     the entity type
+     * @param dbmsType     the database type
+     * @param sqlSelect    the select statement the query is based on
+     * @param predicates   the predicates of all filters
+     * @param comparators  the comparators of all sorts
+     * @return             the shape
+     */
+    static <ENTITY> List<Object> shapeOf(
+            DbmsType dbmsType,
+            String sqlSelect,
+            List<Predicate<ENTITY>> predicates,
+            List<FieldComparator<ENTITY>> comparators) {
+
+        final List<Object> shape = new ArrayList<>();
+        shape.add(dbmsType);
+        shape.add(sqlSelect);
+        shape.add(predicates.size());
+        predicates.forEach(p -> addShape(shape, p));
+        shape.add(comparators.size());
+        comparators.forEach(c -> {
+            shape.add(c.getField().identifier());
+            shape.add(c.isReversed());
+            shape.add(c.getNullOrder());
+        });
+        return shape;
+    }
+
+    /**
+     * Extracts the operands of the given predicates in the order they appear
+     * in the rendered SQL and converts them to database types.
+     *
+     * @param <ENTITY>    the entity type
+     * @param predicates  the predicates
+     * @return            the values
+     */
+    static <ENTITY> List<Object> valuesOf(List<Predicate<ENTITY>> predicates) {
+        final List<Object> values = new ArrayList<>();
+        predicates.forEach(p -> addValues(values, p));
+        return values;
+    }
+
+    /**
+     * Returns the cached SQL for the given shape, or {@code null} if the shape
+     * has not been rendered yet or if it is not cacheable.
+     *
+     * @param shape  the shape
+     * @return       the cached SQL or {@code null}
+     */
+    String get(List<Object> shape) {
+        final String sql = cache.get(shape);
+        return sql == NOT_CACHEABLE ? null : sql;
+    }
+
+    /**
+     * Returns {@code true} if the given shape has been rendered before.
+     *
+     * @param shape  the shape
+     * @return       {@code true} if known, else {@code false}
+     */
+    boolean isKnown(List<Object> shape) {
+        return cache.containsKey(shape);
+    }
+
+    /**
+     * Stores the SQL that was rendered for a shape if the values that were
+     * produced when it was rendered match the values that would have been
+     * extracted using {@link #valuesOf(List)}.
+     *
+     * @param <ENTITY>        the entity type
+     * @param shape           the shape
+     * @param sql             the rendered SQL
+     * @param predicates      the predicates the SQL was rendered from
+     * @param renderedValues  the values that were produced by the rendering
+     */
+    <ENTITY> void put(
+            List<Object> shape,
+            String sql,
+            List<Predicate<ENTITY>> predicates,
+            List<Object> renderedValues) {
+
+        requireNonNull(sql);
+        final boolean cacheable;
+        try {
+            cacheable = valuesOf(predicates).equals(renderedValues);
+        } catch (final RuntimeException ex) {
+            cache.put(shape, NOT_CACHEABLE);
+            return;
+        }
+
+        if (cache.size() >= maxSize) {
+            final Iterator<List<Object>> it = cache.keySet().iterator();
+            if (it.hasNext()) {
+                it.next();
+                it.remove();
+            }
+        }
+
+        cache.put(shape, cacheable ? sql : NOT_CACHEABLE);
+    }
+
+    int size() {
+        return cache.size();
+    }
+
+    private static void addShape(List<Object> shape, Predicate<?> predicate) {
+        if (predicate instanceof FieldPredicate) {
+            final FieldPredicate<?> fieldPredicate = (FieldPredicate<?>) predicate;
+            final PredicateType type = fieldPredicate.getPredicateType();
+            shape.add(fieldPredicate.getField().identifier());
+            shape.add(type);
+            switch (type) {
+                case BETWEEN:
+                case NOT_BETWEEN: {
+                    shape.add(getInclusionOperand(fieldPredicate));
+                    break;
+                }
+                case IN:
+                case NOT_IN: {
+                    // The number of placeholders depends on the size
+                    shape.add(getFirstOperandAsRawSet(fieldPredicate).size());
+                    break;
+                }
+                default: break;
+            }
+        } else if (predicate instanceof CombinedPredicate) {
+            final CombinedPredicate<?> combined = (CombinedPredicate<?>) predicate;
+            shape.add(combined.getType());
+            shape.add(combined.size());
+            combined.stream().forEachOrdered(p -> addShape(shape, p));
+        } else {
+            throw new IllegalArgumentException(
+                "A predicate that is not instanceof FieldPredicate was given:" + predicate
+            );
+        }
+    }
+
+    private static void addValues(List<Object> values, Predicate<?> predicate) {
+        if (predicate instanceof FieldPredicate) {
+            final FieldPredicate<?> fieldPredicate = (FieldPredicate<?>) predicate;
+            @SuppressWarnings("unchecked")
+            final TypeMapper<Object, Object> tm = (TypeMapper<Object, Object>)
+                fieldPredicate.getField().typeMapper();
+
+            switch (fieldPredicate.getPredicateType()) {
+                case ALWAYS_TRUE:
+                case ALWAYS_FALSE:
+                case IS_NULL:
+                case IS_NOT_NULL:
+                case IS_EMPTY:
+                case IS_NOT_EMPTY: {
+                    break;
+                }
+                case BETWEEN:
+                case NOT_BETWEEN: {
+                    values.add(tm.toDatabaseType(getFirstOperandAsRaw(fieldPredicate)));
+                    values.add(tm.toDatabaseType(getSecondOperand(fieldPredicate)));
+                    break;
+                }
+                case IN:
+                case NOT_IN: {
+                    final Set<?> set = getFirstOperandAsRawSet(fieldPredicate);
+                    set.forEach(o -> values.add(tm.toDatabaseType(o)));
+                    break;
+                }
+                default: {
+                    values.add(tm.toDatabaseType(getFirstOperandAsRaw(fieldPredicate)));
+                }
+            }
+        } else if (predicate instanceof CombinedPredicate) {
+            ((CombinedPredicate<?>) predicate).stream()
+                .forEachOrdered(p -> addValues(values, p));
+        } else {
+            throw new IllegalArgumentException(
+                "A predicate that is not instanceof FieldPredicate was given:" + predicate
+            );
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "RenderedSqlCache{size=" + cache.size() + ", maxSize=" + maxSize + "}";
+    }
+}
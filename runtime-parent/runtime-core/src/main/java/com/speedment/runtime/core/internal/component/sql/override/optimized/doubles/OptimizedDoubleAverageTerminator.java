@@ -0,0 +1,68 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component.sql.override.optimized.doubles;
+
+import com.speedment.runtime.core.component.sql.SqlStreamOptimizerInfo;
+import com.speedment.runtime.core.component.sql.override.doubles.DoubleAverageTerminator;
+import static com.speedment.runtime.core.internal.component.sql.override.optimized.util.AggregateUtil.aggregate;
+import static com.speedment.runtime.core.internal.component.sql.override.optimized.util.AggregateUtil.doubleValue;
+import static com.speedment.runtime.core.internal.component.sql.override.optimized.util.AggregateUtil.longValue;
+import com.speedment.runtime.core.internal.manager.sql.SqlStreamTerminator;
+import com.speedment.runtime.core.internal.stream.builder.pipeline.DoublePipeline;
+import static java.util.Objects.requireNonNull;
+import java.util.OptionalDouble;
+
+/**
+ * A DoubleAverageTerminator that computes the average in the database using
+ * {@code SUM(column)} and {@code COUNT(*)} if the stream is a mapping of a field getter,
+ * optionally preceded by filters with field predicates.
+ *
+ * @param <ENTITY> the original stream entity source type 
+ * @since 3.0.20
+ */
+public final class OptimizedDoubleAverageTerminator<ENTITY> implements DoubleAverageTerminator<ENTITY> {
+
+    private OptimizedDoubleAverageTerminator() {
+    }
+
+    @Override
+    public OptionalDouble apply(
+        final SqlStreamOptimizerInfo<ENTITY> info,
+        final SqlStreamTerminator<ENTITY> sqlStreamTerminator,
+        final DoublePipeline pipeline
+    ) {
+        requireNonNull(info);
+        requireNonNull(sqlStreamTerminator);
+        requireNonNull(pipeline);
+        return aggregate(info, pipeline, c -> "SUM(" + c + "), COUNT(*)")
+            .map(row -> {
+                final long count = longValue(row.get(1));
+                return count == 0
+                    ? OptionalDouble.empty()
+                    : OptionalDouble.of(doubleValue(row.get(0)) / count);
+            })
+            .orElseGet(() -> DoubleAverageTerminator.<ENTITY>defaultTerminator().apply(info, sqlStreamTerminator, pipeline));
+    }
+
+    public static final DoubleAverageTerminator<?> INSTANCE = new OptimizedDoubleAverageTerminator<>();
+
+    @SuppressWarnings("unchecked")
+    public static <ENTITY> DoubleAverageTerminator<ENTITY> create() {
+        return (DoubleAverageTerminator<ENTITY>) INSTANCE;
+    }
+
+}
@@ -0,0 +1,61 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component.sql.override.optimized.doubles;
+
+import com.speedment.runtime.core.component.sql.SqlStreamOptimizerInfo;
+import com.speedment.runtime.core.component.sql.override.doubles.DoubleSumTerminator;
+import static com.speedment.runtime.core.internal.component.sql.override.optimized.util.AggregateUtil.aggregate;
+import static com.speedment.runtime.core.internal.component.sql.override.optimized.util.AggregateUtil.doubleValue;
+import com.speedment.runtime.core.internal.manager.sql.SqlStreamTerminator;
+import com.speedment.runtime.core.internal.stream.builder.pipeline.DoublePipeline;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A DoubleSumTerminator that computes the sum in the database using
+ * {@code SUM(column)} if the stream is a mapping of a field getter,
+ * optionally preceded by filters with field predicates.
+ *
+ * @param <ENTITY> the original stream entity source type 
+ * @since 3.0.20
+ */
+public final class OptimizedDoubleSumTerminator<ENTITY> implements DoubleSumTerminator<ENTITY> {
+
+    private OptimizedDoubleSumTerminator() {
+    }
+
+    @Override
+    public double apply(
+        final SqlStreamOptimizerInfo<ENTITY> info,
+        final SqlStreamTerminator<ENTITY> sqlStreamTerminator,
+        final DoublePipeline pipeline
+    ) {
+        requireNonNull(info);
+        requireNonNull(sqlStreamTerminator);
+        requireNonNull(pipeline);
+        return aggregate(info, pipeline, c -> "SUM(" + c + ")")
+            .map(row -> doubleValue(row.get(0)))
+            .orElseGet(() -> DoubleSumTerminator.<ENTITY>defaultTerminator().apply(info, sqlStreamTerminator, pipeline));
+    }
+
+    public static final DoubleSumTerminator<?> INSTANCE = new OptimizedDoubleSumTerminator<>();
+
+    @SuppressWarnings("unchecked")
+    public static <ENTITY> DoubleSumTerminator<ENTITY> create() {
+        return (DoubleSumTerminator<ENTITY>) INSTANCE;
+    }
+
+}
@@ -0,0 +1,75 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component.sql.override.optimized.reference;
+
+import com.speedment.runtime.core.component.sql.SqlStreamOptimizerInfo;
+import com.speedment.runtime.core.component.sql.override.reference.CollectTerminator;
+import static com.speedment.runtime.core.internal.component.sql.override.optimized.util.AggregateUtil.aggregateGroups;
+import com.speedment.runtime.core.internal.manager.sql.SqlStreamTerminator;
+import com.speedment.runtime.core.internal.stream.builder.pipeline.ReferencePipeline;
+import com.speedment.runtime.field.collector.GroupingFieldCollector;
+import static java.util.Objects.requireNonNull;
+import java.util.Optional;
+import java.util.stream.Collector;
+
+/**
+ * A CollectTerminator that lets the database group and aggregate entities
+ * using a {@code GROUP BY} clause if the collector is a
+ * {@link GroupingFieldCollector} and the stream is only filtered using field
+ * predicates.
+ *
+ * @param <ENTITY> the original stream entity source type 
+ * @since 3.0.20
+ */
+public final class OptimizedCollectTerminator<ENTITY> implements CollectTerminator<ENTITY> {
+
+    private OptimizedCollectTerminator() {
+    }
+
+    @Override
+    public <T, R, A> R apply(
+        final SqlStreamOptimizerInfo<ENTITY> info,
+        final SqlStreamTerminator<ENTITY> sqlStreamTerminator,
+        final ReferencePipeline<T> pipeline,
+        final Collector<? super T, A, R> collector
+    ) {
+        requireNonNull(info);
+        requireNonNull(sqlStreamTerminator);
+        requireNonNull(pipeline);
+        requireNonNull(collector);
+
+        if (collector instanceof GroupingFieldCollector) {
+            // If the pipeline only has field predicate filters, T is ENTITY
+            @SuppressWarnings("unchecked")
+            final GroupingFieldCollector<ENTITY, ?, R> groupingCollector = (GroupingFieldCollector<ENTITY, ?, R>) collector;
+            final Optional<R> result = aggregateGroups(info, pipeline, groupingCollector);
+            if (result.isPresent()) {
+                return result.get();
+            }
+        }
+
+        return CollectTerminator.<ENTITY>defaultTerminator().apply(info, sqlStreamTerminator, pipeline, collector);
+    }
+
+    public static final CollectTerminator<?> INSTANCE = new OptimizedCollectTerminator<>();
+
+    @SuppressWarnings("unchecked")
+    public static <ENTITY> CollectTerminator<ENTITY> create() {
+        return (CollectTerminator<ENTITY>) INSTANCE;
+    }
+
+}
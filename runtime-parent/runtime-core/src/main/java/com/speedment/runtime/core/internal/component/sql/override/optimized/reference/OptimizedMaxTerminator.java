@@ -0,0 +1,85 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component.sql.override.optimized.reference;
+
+import com.speedment.runtime.core.component.sql.SqlStreamOptimizerInfo;
+import com.speedment.runtime.core.component.sql.override.reference.MaxTerminator;
+import static com.speedment.runtime.core.db.DbmsType.SkipLimitSupport.NONE;
+import static com.speedment.runtime.core.internal.component.sql.override.optimized.util.AggregateUtil.isOnlyFieldPredicateFilters;
+import com.speedment.runtime.core.internal.manager.sql.SqlStreamTerminator;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.LimitAction;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.SortedComparatorAction;
+import com.speedment.runtime.core.internal.stream.builder.pipeline.ReferencePipeline;
+import com.speedment.runtime.field.Field;
+import com.speedment.runtime.field.comparator.FieldComparator;
+import java.util.Comparator;
+import static java.util.Objects.requireNonNull;
+import java.util.Optional;
+
+/**
+ * A MaxTerminator that lets the database find the max entity using an
+ * {@code ORDER BY} with a limit of one row if the comparator is a
+ * {@link FieldComparator} and the stream is only filtered using field
+ * predicates.
+ *
+ * @param <ENTITY> the original stream entity source type 
+ * @since 3.0.20
+ */
+public final class OptimizedMaxTerminator<ENTITY> implements MaxTerminator<ENTITY> {
+
+    private OptimizedMaxTerminator() {
+    }
+
+    @Override
+    public <T> Optional<T> apply(
+        final SqlStreamOptimizerInfo<ENTITY> info,
+        final SqlStreamTerminator<ENTITY> sqlStreamTerminator,
+        final ReferencePipeline<T> pipeline,
+        final Comparator<? super T> comparator
+    ) {
+        requireNonNull(info);
+        requireNonNull(sqlStreamTerminator);
+        requireNonNull(pipeline);
+        requireNonNull(comparator);
+
+        if (comparator instanceof FieldComparator
+            && info.getDbmsType().getSkipLimitSupport() != NONE
+            && isOnlyFieldPredicateFilters(pipeline)) {
+
+            // The stream elements are the original entities
+            @SuppressWarnings("unchecked")
+            final FieldComparator<T> fieldComparator = (FieldComparator<T>) comparator;
+            @SuppressWarnings("unchecked")
+            final Field<ENTITY> field = (Field<ENTITY>) fieldComparator.getField();
+            if (info.getSqlColumnNamer().apply(field) != null) {
+                pipeline.add(new SortedComparatorAction<>(fieldComparator.reversed()));
+                pipeline.add(new LimitAction<>(1));
+                return sqlStreamTerminator.optimize(pipeline).getAsReferenceStream().findFirst();
+            }
+        }
+
+        return MaxTerminator.<ENTITY>defaultTerminator().apply(info, sqlStreamTerminator, pipeline, comparator);
+    }
+
+    public static final MaxTerminator<?> INSTANCE = new OptimizedMaxTerminator<>();
+
+    @SuppressWarnings("unchecked")
+    public static <ENTITY> MaxTerminator<ENTITY> create() {
+        return (MaxTerminator<ENTITY>) INSTANCE;
+    }
+
+}
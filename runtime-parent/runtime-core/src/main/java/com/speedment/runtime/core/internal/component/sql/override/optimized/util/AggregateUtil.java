@@ -0,0 +1,382 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component.sql.override.optimized.util;
+
+import com.speedment.runtime.core.component.sql.SqlStreamOptimizerInfo;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.FilterAction;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.MapToDoubleAction;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.MapToIntAction;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.MapToLongAction;
+import com.speedment.runtime.core.internal.stream.builder.action.trait.HasMapper;
+import com.speedment.runtime.core.internal.stream.builder.streamterminator.StreamTerminatorUtil;
+import static com.speedment.runtime.core.internal.stream.builder.streamterminator.StreamTerminatorUtil.isContainingOnlyFieldPredicate;
+import static com.speedment.runtime.core.util.StaticClassUtil.instanceNotAllowed;
+import com.speedment.runtime.core.stream.Pipeline;
+import com.speedment.runtime.core.stream.action.Action;
+import com.speedment.runtime.field.ByteField;
+import com.speedment.runtime.field.DoubleField;
+import com.speedment.runtime.field.Field;
+import com.speedment.runtime.field.FloatField;
+import com.speedment.runtime.field.IntField;
+import com.speedment.runtime.field.LongField;
+import com.speedment.runtime.field.ReferenceField;
+import com.speedment.runtime.field.ShortField;
+import com.speedment.runtime.field.collector.AggregateCollector;
+import com.speedment.runtime.field.collector.GroupingFieldCollector;
+import com.speedment.runtime.field.method.GetDouble;
+import com.speedment.runtime.field.method.GetInt;
+import com.speedment.runtime.field.method.GetLong;
+import com.speedment.runtime.typemapper.TypeMapper;
+import com.speedment.runtime.typemapper.bigdecimal.BigDecimalToDouble;
+import com.speedment.runtime.typemapper.longs.LongToIntegerMapper;
+import com.speedment.runtime.typemapper.longs.PrimitiveLongToIntegerMapper;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import static java.util.Objects.requireNonNull;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Utility methods for pushing aggregate terminating operations into the
+ * database.
+ * <p>
+ * Only pipelines that consist of initial filters with field predicates,
+ * optionally followed by a mapping to a primitive field getter, can be
+ * aggregated directly in the database. Groups can be aggregated directly in
+ * the database if they are collected using a {@link GroupingFieldCollector}.
+ *
+ * @since 3.0.20
+ */
+public final class AggregateUtil {
+
+    /**
+     * Type mappers that do not change the numeric value of a column, so that
+     * an aggregate computed by the database equals the aggregate computed over
+     * the mapped values.
+     */
+    private static final Set<Class<?>> VALUE_RETAINING_TYPE_MAPPERS = new HashSet<>(Arrays.asList(
+        TypeMapper.identity().getClass(),
+        TypeMapper.primitive().getClass(),
+        LongToIntegerMapper.class,
+        PrimitiveLongToIntegerMapper.class,
+        BigDecimalToDouble.class
+    ));
+
+    /**
+     * Computes the given aggregates in the database if the provided pipeline
+     * only consists of initial field predicate filters followed by a single
+     * mapping to a primitive field getter.
+     * <p>
+     * The returned row contains the column values of the rendered aggregates,
+     * in order. SQL {@code NULL} values are returned as {@code null}.
+     *
+     * @param <ENTITY> the entity type
+     * @param info about the stream optimizer
+     * @param pipeline the pipeline
+     * @param aggregatesRenderer a mapper from the mapped column name to the
+     * aggregates to select, e.g. {@code c -> "SUM(" + c + "), COUNT(*)"}
+     * @return the aggregated row, or {@code Optional.empty()} if the pipeline
+     * could not be aggregated in the database
+     */
+    public static <ENTITY> Optional<List<Object>> aggregate(
+        final SqlStreamOptimizerInfo<ENTITY> info,
+        final Pipeline pipeline,
+        final Function<String, String> aggregatesRenderer
+    ) {
+        requireNonNull(info);
+        requireNonNull(pipeline);
+        requireNonNull(aggregatesRenderer);
+
+        if (pipeline.isEmpty() || !info.getAggregator().isPresent()) {
+            return Optional.empty();
+        }
+
+        final Field<ENTITY> field = mappedField(pipeline.getLast());
+        if (field == null || !isValueRetaining(info, field)) {
+            return Optional.empty();
+        }
+
+        final List<Predicate<ENTITY>> predicates = new ArrayList<>();
+        for (int i = 0; i < pipeline.size() - 1; i++) {
+            final Predicate<ENTITY> predicate = fieldPredicateOf(pipeline.get(i));
+            if (predicate == null) {
+                return Optional.empty();
+            }
+            predicates.add(predicate);
+        }
+
+        final StringBuilder sql = new StringBuilder()
+            .append("SELECT ")
+            .append(aggregatesRenderer.apply(info.getSqlColumnNamer().apply(field)));
+
+        final List<Object> values = new ArrayList<>();
+        if (!appendFromAndWhere(info, predicates, sql, values)) {
+            return Optional.empty();
+        }
+
+        final BiFunction<String, List<Object>, List<Object>> aggregator = info.getAggregator().get();
+        return Optional.of(aggregator.apply(sql.toString(), values));
+    }
+
+    /**
+     * Computes the result of the given grouping collector in the database
+     * using a {@code GROUP BY} clause if the provided pipeline only consists
+     * of field predicate filters and the numeric grouping field and the 
+     * aggregated field (if any) can be read from the database without changing
+     * their values.
+     * <p>
+     * Just like {@code Collectors.groupingBy}, a {@code NullPointerException}
+     * is thrown if an entity has a {@code null} group key.
+     *
+     * @param <ENTITY> the entity type
+     * @param <R> the result type
+     * @param info about the stream optimizer
+     * @param pipeline the pipeline
+     * @param collector the grouping collector
+     * @return the collected result, or {@code Optional.empty()} if the
+     * collection could not be computed in the database
+     */
+    public static <ENTITY, R> Optional<R> aggregateGroups(
+        final SqlStreamOptimizerInfo<ENTITY> info,
+        final Pipeline pipeline,
+        final GroupingFieldCollector<ENTITY, ?, R> collector
+    ) {
+        requireNonNull(info);
+        requireNonNull(pipeline);
+        requireNonNull(collector);
+
+        if (!info.getGroupAggregator().isPresent() || !isOnlyFieldPredicateFilters(pipeline)) {
+            return Optional.empty();
+        }
+
+        final Field<ENTITY> keyField = collector.getField();
+        final Function<Object, Object> keyConverter = keyConverter(info, keyField);
+        if (keyConverter == null) {
+            return Optional.empty();
+        }
+
+        final AggregateCollector<ENTITY, ?, ?> downstream = collector.getDownstream();
+        final String aggregate;
+        switch (downstream.getType()) {
+            case COUNT: {
+                aggregate = "COUNT(*)";
+                break;
+            }
+            case SUM: {
+                final Field<ENTITY> field = downstream.getField().orElse(null);
+                if (field == null || !isValueRetaining(info, field)) {
+                    return Optional.empty();
+                }
+                aggregate = "SUM(" + info.getSqlColumnNamer().apply(field) + ")";
+                break;
+            }
+            default: {
+                return Optional.empty();
+            }
+        }
+
+        final List<Predicate<ENTITY>> predicates = new ArrayList<>();
+        pipeline.forEach(action -> predicates.add(fieldPredicateOf(action)));
+
+        final String keyColumn = info.getSqlColumnNamer().apply(keyField);
+        final StringBuilder sql = new StringBuilder()
+            .append("SELECT ").append(keyColumn).append(", ").append(aggregate);
+
+        final List<Object> values = new ArrayList<>();
+        if (!appendFromAndWhere(info, predicates, sql, values)) {
+            return Optional.empty();
+        }
+        sql.append(" GROUP BY ").append(keyColumn);
+
+        final List<List<Object>> rows = info.getGroupAggregator().get().apply(sql.toString(), values);
+        final Map<Object, Object> groups = new HashMap<>();
+        for (final List<Object> row : rows) {
+            final Object key = requireNonNull(row.get(0), "element cannot be mapped to a null key");
+            groups.put(keyConverter.apply(key), downstream.fromDatabaseValue((Number) row.get(1)));
+        }
+        return Optional.of(collector.fromGroups(groups));
+    }
+
+    /**
+     * Returns if the provided pipeline only consists of filters with field
+     * predicates that can be rendered into an SQL {@code WHERE} clause. For
+     * such pipelines, the stream elements are the original entities.
+     *
+     * @param pipeline the pipeline
+     * @return if the provided pipeline only consists of field predicate
+     * filters
+     */
+    public static boolean isOnlyFieldPredicateFilters(Pipeline pipeline) {
+        requireNonNull(pipeline);
+        return pipeline.stream().allMatch(a -> fieldPredicateOf(a) != null);
+    }
+
+    /**
+     * Returns the long value of a number returned by the database, or 0 if
+     * the value is {@code null}. Values outside the long range are truncated
+     * the same way Java long arithmetic overflows.
+     *
+     * @param value returned by the database
+     * @return the long value
+     */
+    public static long longValue(Object value) {
+        return value == null ? 0 : ((Number) value).longValue();
+    }
+
+    /**
+     * Returns the double value of a number returned by the database, or 0 if
+     * the value is {@code null}.
+     *
+     * @param value returned by the database
+     * @return the double value
+     */
+    public static double doubleValue(Object value) {
+        return value == null ? 0 : ((Number) value).doubleValue();
+    }
+
+    private static <ENTITY> boolean appendFromAndWhere(
+        final SqlStreamOptimizerInfo<ENTITY> info,
+        final List<Predicate<ENTITY>> predicates,
+        final StringBuilder sql,
+        final List<Object> values
+    ) {
+        final String sqlSelectCount = info.getSqlSelectCount();
+        final int fromIndex = sqlSelectCount.indexOf(" FROM ");
+        if (fromIndex < 0) {
+            return false;
+        }
+
+        sql.append(sqlSelectCount.substring(fromIndex));
+        if (!predicates.isEmpty()) {
+            final StreamTerminatorUtil.RenderResult rr = StreamTerminatorUtil.renderSqlWhere(
+                info.getDbmsType(),
+                info.getSqlColumnNamer(),
+                info.getSqlDatabaseTypeFunction(),
+                predicates
+            );
+            sql.append(" WHERE ").append(rr.getSql());
+            values.addAll(rr.getValues());
+        }
+        return true;
+    }
+
+    /**
+     * Returns a function that converts a group key read from the database to
+     * the value that the getter of the given field would return, or
+     * {@code null} if no such conversion is known.
+     * <p>
+     * Only numeric keys are grouped in the database. A {@code GROUP BY} on a
+     * string column uses the collation of the column, so case insensitive 
+     * collations would merge groups that {@code String.equals} keeps apart.
+     */
+    private static <ENTITY> Function<Object, Object> keyConverter(SqlStreamOptimizerInfo<ENTITY> info, Field<ENTITY> field) {
+        if (info.getSqlColumnNamer().apply(field) == null
+            || !VALUE_RETAINING_TYPE_MAPPERS.contains(field.typeMapper().getClass())) {
+            return null;
+        }
+
+        final Class<?> javaType;
+        if (field instanceof IntField) {
+            javaType = Integer.class;
+        } else if (field instanceof LongField) {
+            javaType = Long.class;
+        } else if (field instanceof ShortField) {
+            javaType = Short.class;
+        } else if (field instanceof ByteField) {
+            javaType = Byte.class;
+        } else if (field instanceof DoubleField) {
+            javaType = Double.class;
+        } else if (field instanceof FloatField) {
+            javaType = Float.class;
+        } else if (field instanceof ReferenceField && field.typeMapper().getClass() == TypeMapper.identity().getClass()) {
+            javaType = info.getSqlDatabaseTypeFunction().apply(field);
+        } else {
+            return null;
+        }
+
+        if (javaType == Integer.class) {
+            return o -> ((Number) o).intValue();
+        } else if (javaType == Long.class) {
+            return o -> ((Number) o).longValue();
+        } else if (javaType == Short.class) {
+            return o -> ((Number) o).shortValue();
+        } else if (javaType == Byte.class) {
+            return o -> ((Number) o).byteValue();
+        } else if (javaType == Double.class) {
+            return o -> ((Number) o).doubleValue();
+        } else if (javaType == Float.class) {
+            return o -> ((Number) o).floatValue();
+        }
+        return null;
+    }
+
+    private static <ENTITY> boolean isValueRetaining(SqlStreamOptimizerInfo<ENTITY> info, Field<ENTITY> field) {
+        if (info.getSqlColumnNamer().apply(field) == null) {
+            return false; // The field belongs to another table
+        }
+        final Class<?> databaseType = info.getSqlDatabaseTypeFunction().apply(field);
+        return databaseType != null
+            && Number.class.isAssignableFrom(databaseType)
+            && VALUE_RETAINING_TYPE_MAPPERS.contains(field.typeMapper().getClass());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <ENTITY> Field<ENTITY> mappedField(Action<?, ?> action) {
+        if (action instanceof MapToIntAction
+            || action instanceof MapToLongAction
+            || action instanceof MapToDoubleAction) {
+
+            final Object mapper = ((HasMapper<?>) action).getMapper();
+            if (mapper instanceof GetInt) {
+                return (Field<ENTITY>) ((GetInt<ENTITY, ?>) mapper).getField();
+            }
+            if (mapper instanceof GetLong) {
+                return (Field<ENTITY>) ((GetLong<ENTITY, ?>) mapper).getField();
+            }
+            if (mapper instanceof GetDouble) {
+                return (Field<ENTITY>) ((GetDouble<ENTITY, ?>) mapper).getField();
+            }
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <ENTITY> Predicate<ENTITY> fieldPredicateOf(Action<?, ?> action) {
+        if (action instanceof FilterAction) {
+            final Predicate<ENTITY> predicate = (Predicate<ENTITY>) ((FilterAction<?>) action).getPredicate();
+            if (isContainingOnlyFieldPredicate(predicate)) {
+                return predicate;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Utility classes should not be instantiated.
+     */
+    private AggregateUtil() {
+        instanceNotAllowed(getClass());
+    }
+
+}
@@ -0,0 +1,73 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component.transaction;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import static java.util.Objects.requireNonNull;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps track of the actions that shall be run when the work done on a
+ * transaction aware object is either committed or rolled back.
+ *
+ * @since 3.0.20
+ */
+final class CompletionActions {
+
+    private final Map<Object, List<Action>> actions;
+
+    CompletionActions() {
+        this.actions = new ConcurrentHashMap<>();
+    }
+
+    void register(Object txObject, Runnable afterCommit, Runnable afterRollback) {
+        requireNonNull(txObject);
+        final Action action = new Action(afterCommit, afterRollback);
+        actions.compute(txObject, (k, list) -> {
+            final List<Action> result = list == null ? new ArrayList<>() : list;
+            result.add(action);
+            return result;
+        });
+    }
+
+    void committed(Object txObject) {
+        drain(txObject).forEach(a -> a.afterCommit.run());
+    }
+
+    void rolledBack(Object txObject) {
+        drain(txObject).forEach(a -> a.afterRollback.run());
+    }
+
+    private List<Action> drain(Object txObject) {
+        final List<Action> list = actions.remove(requireNonNull(txObject));
+        return list == null ? new ArrayList<>() : list;
+    }
+
+    private static final class Action {
+
+        private final Runnable afterCommit;
+        private final Runnable afterRollback;
+
+        private Action(Runnable afterCommit, Runnable afterRollback) {
+            this.afterCommit = requireNonNull(afterCommit);
+            this.afterRollback = requireNonNull(afterRollback);
+        }
+    }
+
+}
@@ -53,6 +53,7 @@ public class TransactionComponentImpl implements TransactionComponent {
     private final Map<Class<?>, DataSourceHandler<Object, Object>> dataSourceHandlers;
     private final Map<Thread, Object> txObjects;
     private final Map<Object, Set<Thread>> threadSets;
+    private final CompletionActions completionActions;
     private Dbms singleDbms;
 
     @ExecuteBefore(STARTED)
@@ -90,6 +91,7 @@ public class TransactionComponentImpl implements TransactionComponent {
         this.dataSourceHandlers = new ConcurrentHashMap<>();
         this.txObjects = new ConcurrentHashMap<>();
         this.threadSets = new ConcurrentHashMap<>();
+        this.completionActions = new CompletionActions();
     }
 
     @Override
@@ -102,7 +104,7 @@ public class TransactionComponentImpl implements TransactionComponent {
 
     @Override
     public <T> TransactionHandler creaateTransactionHandler(T dataSource) {
-        return new TransactionHandlerImpl(this, dataSource, findMapping(dataSource));
+        return new TransactionHandlerImpl(this, dataSource, findMapping(dataSource), completionActions);
     }
 
     @Override
@@ -149,6 +151,18 @@ public class TransactionComponentImpl implements TransactionComponent {
             .orElse(Stream.empty());
     }
 
+    @Override
+    public void afterCompletion(Thread thread, Runnable afterCommit, Runnable afterRollback) {
+        requireNonNull(afterCommit);
+        requireNonNull(afterRollback);
+        final Object txObject = txObjects.get(requireNonNull(thread));
+        if (txObject == null) {
+            afterCommit.run();
+        } else {
+            completionActions.register(txObject, afterCommit, afterRollback);
+        }
+    }
+
     private DataSourceHandler<Object, Object> findMapping(Object dataSource) {
         final Class<?> originalClass = dataSource.getClass();
         {
@@ -39,16 +39,27 @@ public class TransactionHandlerImpl implements TransactionHandler {
     private final TransactionComponent txComponent;
     private final Object dataSource;
     private final DataSourceHandler<Object, Object> dataSourceHandler;
+    private final CompletionActions completionActions;
     private Isolation isolation;
 
     public TransactionHandlerImpl(
         final TransactionComponent txComponent,
         final Object dataSource,
         final DataSourceHandler<Object, Object> dataSourceHandler
+    ) {
+        this(txComponent, dataSource, dataSourceHandler, new CompletionActions());
+    }
+
+    TransactionHandlerImpl(
+        final TransactionComponent txComponent,
+        final Object dataSource,
+        final DataSourceHandler<Object, Object> dataSourceHandler,
+        final CompletionActions completionActions
     ) {
         this.txComponent = requireNonNull(txComponent);
         this.dataSource = requireNonNull(dataSource);
         this.dataSourceHandler = requireNonNull(dataSourceHandler);
+        this.completionActions = requireNonNull(completionActions);
         this.isolation = Isolation.DEFAULT;
     }
 
@@ -68,7 +79,7 @@ public class TransactionHandlerImpl implements TransactionHandler {
         final Thread currentThread = Thread.currentThread();
         final Object txObject = dataSourceHandler.extractor().apply(dataSource); // e.g. obtains a Connection
         final Isolation oldIsolation = setAndGetIsolation(txObject, isolation);
-        final Transaction tx = new TransactionImpl(txComponent, txObject, dataSourceHandler);
+        final Transaction tx = new TransactionImpl(txComponent, txObject, dataSourceHandler, completionActions);
         TRANSACTION_LOGGER.debug("Transaction %s created for thread '%s' on tranaction object %s", tx, currentThread.getName(), txObject);
         txComponent.put(currentThread, txObject);
         try {
@@ -78,7 +89,11 @@ public class TransactionHandlerImpl implements TransactionHandler {
             // Executed in the finally block : dataSourceHandler.rollbacker().accept(txObject); // Automatically rollback if there is an exception
             throw new TransactionException("Error while invoking transaction for object :" + txObject, e);
         } finally {
-            dataSourceHandler.rollbacker().accept(txObject); // Always rollback() implicitly and discard uncommitted data
+            try {
+                dataSourceHandler.rollbacker().accept(txObject); // Always rollback() implicitly and discard uncommitted data
+            } finally {
+                completionActions.rolledBack(txObject);
+            }
             dataSourceHandler.closer().accept(txObject); // e.g. con.setAutocommit(true); con.close();
             setAndGetIsolation(txObject, oldIsolation);
             txComponent.remove(currentThread);
@@ -31,25 +31,41 @@ public class TransactionImpl implements Transaction {
     private final TransactionComponent txComponent;
     private final Object txObject;
     private final DataSourceHandler<Object, Object> dataSourceHandler;
+    private final CompletionActions completionActions;
 
     public TransactionImpl(
         final TransactionComponent txComponent,
         final Object txObject,
         final DataSourceHandler<Object, Object> dataSourceHandler
+    ) {
+        this(txComponent, txObject, dataSourceHandler, new CompletionActions());
+    }
+
+    TransactionImpl(
+        final TransactionComponent txComponent,
+        final Object txObject,
+        final DataSourceHandler<Object, Object> dataSourceHandler,
+        final CompletionActions completionActions
     ) {
         this.txComponent = requireNonNull(txComponent);
         this.txObject = requireNonNull(txObject);
         this.dataSourceHandler = requireNonNull(dataSourceHandler);
+        this.completionActions = requireNonNull(completionActions);
     }
 
     @Override
     public void commit() throws TransactionException {
         dataSourceHandler.committer().accept(txObject);
+        completionActions.committed(txObject);
     }
 
     @Override
     public void rollback() throws TransactionException {
-        dataSourceHandler.rollbacker().accept(txObject);
+        try {
+            dataSourceHandler.rollbacker().accept(txObject);
+        } finally {
+            completionActions.rolledBack(txObject);
+        }
     }
 
     @Override
@@ -31,11 +31,13 @@ import com.speedment.runtime.core.internal.manager.sql.SqlDeleteStatement;
 import com.speedment.runtime.core.internal.manager.sql.SqlInsertStatement;
 import com.speedment.runtime.core.internal.manager.sql.SqlStatement;
 import com.speedment.runtime.core.internal.manager.sql.SqlUpdateStatement;
+import com.speedment.runtime.core.internal.stream.StreamUtil;
 import com.speedment.runtime.core.stream.parallel.ParallelStrategy;
 import com.speedment.runtime.field.Field;
 
 import java.sql.*;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
 import java.util.function.Consumer;
@@ -46,6 +48,7 @@ import static com.speedment.runtime.core.util.DatabaseUtil.dbmsTypeOf;
 import com.speedment.runtime.core.component.transaction.TransactionComponent;
 import static java.util.Collections.singletonList;
 import static java.util.Objects.requireNonNull;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 
 /**
@@ -72,37 +75,99 @@ public abstract class AbstractDbmsOperationHandler implements DbmsOperationHandl
     protected AbstractDbmsOperationHandler() {
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This implementation reads the {@code ResultSet} lazily as the stream is
+     * consumed, just like {@link #executeQueryLazy(Dbms, String, List, SqlFunction)}.
+     */
     @Override
     public <T> Stream<T> executeQuery(Dbms dbms, String sql, List<?> values, SqlFunction<ResultSet, T> rsMapper) {
+        return executeQueryLazy(dbms, sql, values, rsMapper);
+    }
+
+    @Override
+    public <T> Stream<T> executeQueryLazy(Dbms dbms, String sql, List<?> values, SqlFunction<ResultSet, T> rsMapper) {
         requireNonNulls(sql, values, rsMapper);
 
-        try (
-            final ConnectionInfo connectionInfo = new ConnectionInfo(dbms, connectionPoolComponent, transactionComponent);
-            final PreparedStatement ps = connectionInfo.connection().prepareStatement(sql, java.sql.ResultSet.TYPE_FORWARD_ONLY, java.sql.ResultSet.CONCUR_READ_ONLY)) {
+        ConnectionInfo connectionInfo = null;
+        PreparedStatement ps = null;
+        ResultSet rs = null;
+        try {
+            connectionInfo = new ConnectionInfo(dbms, connectionPoolComponent, transactionComponent);
+            connectionInfo.ifNotInTransaction(c -> c.setAutoCommit(false)); // Streaming results must be autocommit false for PostgreSQL
+            ps = connectionInfo.connection().prepareStatement(sql, java.sql.ResultSet.TYPE_FORWARD_ONLY, java.sql.ResultSet.CONCUR_READ_ONLY);
             configureSelect(ps);
-            connectionInfo.ifNotInTransaction(c -> c.setAutoCommit(false));
-            try {
-                int i = 1;
-                for (final Object o : values) {
-                    ps.setObject(i++, o);
-                }
-                try (final ResultSet rs = ps.executeQuery()) {
-                    configureSelect(rs);
-
-                    // Todo: Make a transparent stream with closeHandler added.
-                    final Stream.Builder<T> streamBuilder = Stream.builder();
-                    while (rs.next()) {
-                        streamBuilder.add(rsMapper.apply(rs));
-                    }
-                    return streamBuilder.build();
-                }
-            } finally {
-                connectionInfo.ifNotInTransaction(Connection::commit);
+            int i = 1;
+            for (final Object o : values) {
+                ps.setObject(i++, o);
             }
+            rs = ps.executeQuery();
+            configureSelect(rs);
         } catch (final SQLException sqle) {
             LOGGER.error(sqle, "Error querying " + sql);
+            closeLazyQuery(sql, rs, ps, connectionInfo);
             throw new SpeedmentException(sqle);
         }
+
+        final ConnectionInfo ci = connectionInfo;
+        final PreparedStatement statement = ps;
+        final ResultSet resultSet = rs;
+
+        final AtomicBoolean closed = new AtomicBoolean();
+        final Runnable closer = () -> {
+            if (closed.compareAndSet(false, true)) {
+                closeLazyQuery(sql, resultSet, statement, ci);
+            }
+        };
+
+        // Release the resources as soon as the last row has been read so that
+        // a fully consumed stream does not depend on being closed
+        final Iterator<T> rows = StreamUtil.asStream(resultSet, rsMapper).iterator();
+        final Iterator<T> closingRows = new Iterator<T>() {
+            @Override
+            public boolean hasNext() {
+                if (rows.hasNext()) {
+                    return true;
+                }
+                closer.run();
+                return false;
+            }
+
+            @Override
+            public T next() {
+                return rows.next();
+            }
+        };
+
+        return StreamUtil.asStream(closingRows).onClose(closer);
+    }
+
+    private void closeLazyQuery(String sql, ResultSet rs, PreparedStatement ps, ConnectionInfo connectionInfo) {
+        closeSilently(sql, rs);
+        closeSilently(sql, ps);
+        if (connectionInfo != null) {
+            try {
+                connectionInfo.ifNotInTransaction(c -> {
+                    c.commit();
+                    c.setAutoCommit(true);
+                });
+            } catch (final SQLException sqle) {
+                LOGGER.error(sqle, "Failed to commit connection upon close of " + sql);
+            }
+        }
+        closeSilently(sql, connectionInfo);
+    }
+
+    private void closeSilently(String sql, AutoCloseable closeable) {
+        try {
+            if (closeable != null) {
+                closeable.close();
+            }
+        } catch (final Exception e) {
+            LOGGER.error(e, "Error closing " + closeable + " used for " + sql);
+            // Just log the error. No re-throw
+        }
     }
 
     @Override
@@ -149,7 +214,8 @@ public abstract class AbstractDbmsOperationHandler implements DbmsOperationHandl
         logger.debug("%s, values:%s", sql, values);
     }
 
-    protected void execute(Dbms dbms, List<? extends SqlStatement> sqlStatementList) throws SQLException {
+    @Override
+    public void execute(Dbms dbms, List<? extends SqlStatement> sqlStatementList) throws SQLException {
         final ConnectionInfo connectionInfo = new ConnectionInfo(dbms, connectionPoolComponent, transactionComponent);
         if (connectionInfo.isInTransaction()) {
             executeInTransaction(dbms, connectionInfo.connection(), sqlStatementList);
@@ -245,38 +311,167 @@ public abstract class AbstractDbmsOperationHandler implements DbmsOperationHandl
     }
 
     private void executeSqlStatementList(List<? extends SqlStatement> sqlStatementList, AtomicReference<SqlStatement> lastSqlStatement, Dbms dbms, Connection conn) throws SQLException {
-        for (final SqlStatement sqlStatement : sqlStatementList) {
-            lastSqlStatement.set(sqlStatement);
-            switch (sqlStatement.getType()) {
-                case INSERT: {
-                    final SqlInsertStatement<?> s = (SqlInsertStatement<?>) sqlStatement;
-                    handleSqlStatement(dbms, conn, s);
-                    break;
+        int from = 0;
+        while (from < sqlStatementList.size()) {
+            final SqlStatement first = sqlStatementList.get(from);
+            lastSqlStatement.set(first);
+
+            // Find the run of consecutive statements that share the same sql.
+            // The caller bounds the size of the list (db.batchSize), so the
+            // whole run is sent as one batch
+            int to = from + 1;
+            while (to < sqlStatementList.size()
+                && isBatchable(first, sqlStatementList.get(to))) {
+                to++;
+            }
+
+            if (to - from == 1) {
+                executeSqlStatement(first, dbms, conn);
+            } else {
+                executeSqlStatementBatch(sqlStatementList.subList(from, to), dbms, conn);
+            }
+            from = to;
+        }
+    }
+
+    private void executeSqlStatement(SqlStatement sqlStatement, Dbms dbms, Connection conn) throws SQLException {
+        switch (sqlStatement.getType()) {
+            case INSERT: {
+                final SqlInsertStatement<?> s = (SqlInsertStatement<?>) sqlStatement;
+                handleSqlStatement(dbms, conn, s);
+                break;
+            }
+            case UPDATE: {
+                final SqlUpdateStatement s = (SqlUpdateStatement) sqlStatement;
+                handleSqlStatement(dbms, conn, s);
+                break;
+            }
+            case DELETE: {
+                final SqlDeleteStatement s = (SqlDeleteStatement) sqlStatement;
+                handleSqlStatement(dbms, conn, s);
+                break;
+            }
+        }
+    }
+
+    private void executeSqlStatementBatch(List<? extends SqlStatement> batch, Dbms dbms, Connection conn) throws SQLException {
+        if (batch.get(0).getType() == SqlStatement.Type.INSERT) {
+            @SuppressWarnings("unchecked")
+            final List<SqlInsertStatement<Object>> inserts = (List<SqlInsertStatement<Object>>) batch;
+            if (inserts.get(0).getGeneratedColumnFields().isEmpty()) {
+                handleSqlStatementBatchHelper(conn, batch);
+            } else if (isBatchedGeneratedKeysSupported(conn)) {
+                handleSqlStatementBatch(dbms, conn, inserts);
+            } else {
+                // The keys can not be mapped back to the entities reliably
+                for (final SqlStatement sqlStatement : batch) {
+                    executeSqlStatement(sqlStatement, dbms, conn);
                 }
-                case UPDATE: {
-                    final SqlUpdateStatement s = (SqlUpdateStatement) sqlStatement;
-                    handleSqlStatement(dbms, conn, s);
-                    break;
+            }
+        } else {
+            handleSqlStatementBatchHelper(conn, batch);
+        }
+    }
+
+    private boolean isBatchable(SqlStatement first, SqlStatement other) {
+        return first.getType() == other.getType()
+            && first.getSql().equals(other.getSql());
+    }
+
+    /**
+     * Returns if the generated keys of a batch of inserts can be retrieved
+     * from the driver in the same order as the statements were added to the
+     * batch. If not, inserts with generated keys are executed one by one.
+     *
+     * @param conn the connection to use
+     * @return if generated keys can be retrieved for batches
+     * @throws SQLException if the database metadata can not be read
+     */
+    protected boolean isBatchedGeneratedKeysSupported(Connection conn) throws SQLException {
+        return conn.getMetaData().supportsGetGeneratedKeys();
+    }
+
+    protected <ENTITY> void handleSqlStatementBatch(Dbms dbms, Connection conn, List<SqlInsertStatement<ENTITY>> sqlStatements) throws SQLException {
+        try (final PreparedStatement ps = conn.prepareStatement(sqlStatements.get(0).getSql(), Statement.RETURN_GENERATED_KEYS)) {
+            for (final SqlInsertStatement<ENTITY> sqlStatement : sqlStatements) {
+                setValues(ps, sqlStatement);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+
+            handleGeneratedKeys(ps, sqlStatements);
+        }
+    }
+
+    /**
+     * Reads the generated keys produced by a batch of inserts and distributes
+     * them over the statements, one row per statement in batch order.
+     *
+     * @param <ENTITY> the entity type
+     * @param ps the statement that executed the batch
+     * @param sqlStatements the statements in the batch
+     * @throws SQLException if the keys can not be read or if the number of
+     * generated rows does not match the number of statements
+     */
+    protected <ENTITY> void handleGeneratedKeys(PreparedStatement ps, List<SqlInsertStatement<ENTITY>> sqlStatements) throws SQLException {
+        try (final ResultSet generatedKeys = ps.getGeneratedKeys()) {
+            for (final SqlInsertStatement<ENTITY> sqlStatement : sqlStatements) {
+                if (!generatedKeys.next()) {
+                    throw new SQLException(
+                        "Expected " + sqlStatements.size() + " rows of generated keys " +
+                        "for the batch '" + sqlStatement.getSql() + "' but got fewer."
+                    );
                 }
-                case DELETE: {
-                    final SqlDeleteStatement s = (SqlDeleteStatement) sqlStatement;
-                    handleSqlStatement(dbms, conn, s);
-                    break;
+                if (isGeneratedKey(generatedKeys)) {
+                    sqlStatement.addGeneratedKey(generatedKeys.getLong(1));
                 }
             }
-
         }
     }
 
+    /**
+     * Returns if the first column of the current row of the specified
+     * generated keys {@code ResultSet} holds a generated key that can be read
+     * as a {@code long}.
+     *
+     * @param generatedKeys the generated keys positioned on a row
+     * @return if the first column is a generated key
+     * @throws SQLException if the metadata can not be read
+     */
+    protected boolean isGeneratedKey(ResultSet generatedKeys) throws SQLException {
+        return true;
+    }
+
     protected <ENTITY> void handleSqlStatement(Dbms dbms, Connection conn, SqlInsertStatement<ENTITY> sqlStatement) throws SQLException {
         try (final PreparedStatement ps = conn.prepareStatement(sqlStatement.getSql(), Statement.RETURN_GENERATED_KEYS)) {
-            int i = 1;
-            for (Object o : sqlStatement.getValues()) {
-                ps.setObject(i++, o);
-            }
+            setValues(ps, sqlStatement);
             ps.executeUpdate();
 
             handleGeneratedKeys(ps, sqlStatement);
+            requireGeneratedKeysForEveryRow(sqlStatement);
+        }
+    }
+
+    /**
+     * Checks that an insert of several rows got one set of generated keys for
+     * every row. This is done before the transaction is committed so that the
+     * rows are rolled back if the keys can not be mapped back to the rows.
+     * Statements that got no keys at all are accepted, just like for single
+     * rows.
+     *
+     * @param <ENTITY> the entity type
+     * @param sqlStatement the executed statement
+     * @throws SQLException if the number of generated keys does not match
+     * the number of rows
+     */
+    private <ENTITY> void requireGeneratedKeysForEveryRow(SqlInsertStatement<ENTITY> sqlStatement) throws SQLException {
+        final int keys = sqlStatement.getGeneratedKeys().size();
+        final int expected = sqlStatement.getRows() * sqlStatement.getGeneratedColumnFields().size();
+        if (sqlStatement.getRows() > 1 && keys != 0 && expected != 0 && keys != expected) {
+            throw new SQLException(
+                "Expected " + expected + " generated keys for the insert '" + 
+                sqlStatement.getSql() + "' but got " + keys + "."
+            );
         }
     }
 
@@ -284,7 +479,9 @@ public abstract class AbstractDbmsOperationHandler implements DbmsOperationHandl
     public <ENTITY> void handleGeneratedKeys(PreparedStatement ps, SqlInsertStatement<ENTITY> sqlStatement) throws SQLException {
         try (final ResultSet generatedKeys = ps.getGeneratedKeys()) {
             while (generatedKeys.next()) {
-                sqlStatement.addGeneratedKey(generatedKeys.getLong(1));
+                if (isGeneratedKey(generatedKeys)) {
+                    sqlStatement.addGeneratedKey(generatedKeys.getLong(1));
+                }
             }
         }
     }
@@ -299,14 +496,25 @@ public abstract class AbstractDbmsOperationHandler implements DbmsOperationHandl
 
     private void handleSqlStatementHelper(Connection conn, SqlStatement sqlStatement) throws SQLException {
         try (final PreparedStatement ps = conn.prepareStatement(sqlStatement.getSql(), Statement.NO_GENERATED_KEYS)) {
-            int i = 1;
-            for (Object o : sqlStatement.getValues()) {
-                ps.setObject(i++, o);
-            }
+            setValues(ps, sqlStatement);
             ps.executeUpdate();
         }
     }
 
+    private void handleSqlStatementBatchHelper(Connection conn, List<? extends SqlStatement> sqlStatements) throws SQLException {
+        try (final PreparedStatement ps = conn.prepareStatement(sqlStatements.get(0).getSql(), Statement.NO_GENERATED_KEYS)) {
+            for (final SqlStatement sqlStatement : sqlStatements) {
+                setValues(ps, sqlStatement);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+    }
+
+    private void setValues(PreparedStatement ps, SqlStatement sqlStatement) throws SQLException {
+        sqlStatement.bind(ps);
+    }
+
     protected void postSuccessfulTransaction(List<? extends SqlStatement> sqlStatementList) {
         sqlStatementList.stream()
             .filter(SqlInsertStatement.class::isInstance)
@@ -24,9 +24,12 @@ import com.speedment.runtime.core.db.*;
 import com.speedment.runtime.core.internal.db.AbstractDatabaseNamingConvention;
 import com.speedment.runtime.core.internal.db.AbstractDbmsType;
 import com.speedment.runtime.core.internal.db.mysql.MySqlDbmsMetadataHandler;
+import com.speedment.runtime.core.internal.db.mysql.MySqlMergeUtil;
 import com.speedment.runtime.core.internal.manager.sql.MySqlSpeedmentPredicateView;
 
 import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
@@ -125,6 +128,22 @@ public final class MariaDbDbmsType extends AbstractDbmsType {
         return "select version() as `MariaDB version`";
     }
 
+    @Override
+    public Optional<String> renderMerge(
+            String tableReference, 
+            List<String> columns, 
+            List<String> primaryKeyColumns) {
+        
+        return Optional.of(MySqlMergeUtil.renderMerge(
+            tableReference, columns, primaryKeyColumns
+        ));
+    }
+
+    @Override
+    public boolean hasGeneratedKeysForEveryRow() {
+        return true;
+    }
+
     @Override
     public DbmsColumnHandler getColumnHandler() {
         return new DbmsColumnHandler() {
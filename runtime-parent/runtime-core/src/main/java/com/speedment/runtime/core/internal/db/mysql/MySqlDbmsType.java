@@ -26,6 +26,8 @@ import com.speedment.runtime.core.internal.db.AbstractDbmsType;
 import com.speedment.runtime.core.internal.manager.sql.MySqlSpeedmentPredicateView;
 
 import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
@@ -127,6 +129,22 @@ public final class MySqlDbmsType extends AbstractDbmsType {
         return "select version() as `MySQL version`";
     }
 
+    @Override
+    public Optional<String> renderMerge(
+            String tableReference, 
+            List<String> columns, 
+            List<String> primaryKeyColumns) {
+        
+        return Optional.of(MySqlMergeUtil.renderMerge(
+            tableReference, columns, primaryKeyColumns
+        ));
+    }
+
+    @Override
+    public boolean hasGeneratedKeysForEveryRow() {
+        return true;
+    }
+
     @Override
     public DbmsColumnHandler getColumnHandler() {
         return new DbmsColumnHandler() {
@@ -0,0 +1,68 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.db.mysql;
+
+import java.util.List;
+
+import static com.speedment.runtime.core.util.StaticClassUtil.instanceNotAllowed;
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Renders merge statements for MySQL and the databases that share its
+ * syntax, like MariaDB.
+ *
+ * @since  3.0.20
+ */
+public final class MySqlMergeUtil {
+
+    /**
+     * Renders an {@code INSERT ... ON DUPLICATE KEY UPDATE} statement that
+     * sets every column that is not part of the primary key to the inserted
+     * value. If every column is part of the primary key, the first key 
+     * column is set to itself so that an existing row is left as it is.
+     *
+     * @param tableReference     the full, enclosed name of the table
+     * @param columns            the enclosed names of the columns to insert
+     *                           or update, including the primary key columns
+     * @param primaryKeyColumns  the enclosed names of the primary key columns
+     * @return the statement
+     */
+    public static String renderMerge(
+            String tableReference, 
+            List<String> columns, 
+            List<String> primaryKeyColumns) {
+        
+        final List<String> updated = columns.stream()
+            .filter(c -> !primaryKeyColumns.contains(c))
+            .collect(toList());
+        
+        return "INSERT INTO " + tableReference + " (" +
+            String.join(",", columns) + ") VALUES (" +
+            columns.stream().map(c -> "?").collect(joining(",")) + 
+            ") ON DUPLICATE KEY UPDATE " + (updated.isEmpty()
+                ? primaryKeyColumns.get(0) + " = " + primaryKeyColumns.get(0)
+                : updated.stream().map(c -> c + " = VALUES(" + c + ")").collect(joining(",")));
+    }
+
+    /**
+     * Utility classes should not be instantiated.
+     */
+    private MySqlMergeUtil() {
+        instanceNotAllowed(getClass());
+    }
+}
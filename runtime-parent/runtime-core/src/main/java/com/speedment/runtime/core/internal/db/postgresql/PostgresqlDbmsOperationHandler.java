@@ -17,7 +17,6 @@
 package com.speedment.runtime.core.internal.db.postgresql;
 
 import com.speedment.runtime.core.internal.db.AbstractDbmsOperationHandler;
-import com.speedment.runtime.core.internal.manager.sql.SqlInsertStatement;
 
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -46,7 +45,7 @@ public final class PostgresqlDbmsOperationHandler extends AbstractDbmsOperationH
     );
 
     @Override
-    public <ENTITY> void handleGeneratedKeys(PreparedStatement ps, SqlInsertStatement<ENTITY> sqlStatement) throws SQLException {
+    protected boolean isGeneratedKey(ResultSet generatedKeys) throws SQLException {
         /*
          * There does not seem to be any way to find the generated keys from a Postgres JDBC driver
          * since getGeneratedKeys() returns the whole set of columns. This causes
@@ -57,15 +56,8 @@ public final class PostgresqlDbmsOperationHandler extends AbstractDbmsOperationH
          * Below we instead handle auto generated fields that can be retrieved as Long. This fix clearly only
          * works for generated fields that are also auto generated.
          */
-
-        try (final ResultSet generatedKeys = ps.getGeneratedKeys()) {
-            while (generatedKeys.next()) {
-                final int columnType = generatedKeys.getMetaData().getColumnType(1);
-                if (generatedKeys.getMetaData().isAutoIncrement(1) && LONG_GETTABLE_TYPES.contains(columnType)) {
-                    sqlStatement.addGeneratedKey(generatedKeys.getLong(1));
-                }
-            }
-        }
+        final int columnType = generatedKeys.getMetaData().getColumnType(1);
+        return generatedKeys.getMetaData().isAutoIncrement(1) && LONG_GETTABLE_TYPES.contains(columnType);
     }
 
     @Override
@@ -26,6 +26,7 @@ import com.speedment.runtime.core.internal.db.AbstractDbmsType;
 import com.speedment.runtime.core.internal.manager.sql.PostgresSpeedmentPredicateView;
 
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Stream;
@@ -33,6 +34,8 @@ import java.util.stream.Stream;
 import static com.speedment.common.injector.InjectBundle.of;
 import static com.speedment.runtime.core.db.metadata.TypeInfoMetaData.of;
 import static java.util.stream.Collectors.collectingAndThen;
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toSet;
 
 /**
@@ -121,6 +124,30 @@ public final class PostgresqlDbmsType extends AbstractDbmsType {
         return "select version() as \"PostgreSQL version\"";
     }
 
+    @Override
+    public Optional<String> renderMerge(
+            String tableReference, 
+            List<String> columns, 
+            List<String> primaryKeyColumns) {
+        
+        final List<String> updated = columns.stream()
+            .filter(c -> !primaryKeyColumns.contains(c))
+            .collect(toList());
+        
+        return Optional.of("INSERT INTO " + tableReference + " (" +
+            String.join(",", columns) + ") VALUES (" +
+            columns.stream().map(c -> "?").collect(joining(",")) + 
+            ") ON CONFLICT (" + String.join(",", primaryKeyColumns) + ") " + (updated.isEmpty()
+                ? "DO NOTHING"
+                : "DO UPDATE SET " + updated.stream().map(c -> c + " = EXCLUDED." + c).collect(joining(",")))
+        );
+    }
+
+    @Override
+    public boolean hasGeneratedKeysForEveryRow() {
+        return true;
+    }
+
     @Override
     public Set<TypeInfoMetaData> getDataTypes() {
         return Stream.concat(
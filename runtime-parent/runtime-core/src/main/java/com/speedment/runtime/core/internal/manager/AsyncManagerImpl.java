@@ -0,0 +1,178 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.manager;
+
+import com.speedment.runtime.core.manager.AsyncManager;
+import com.speedment.runtime.core.manager.Manager;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static java.util.Objects.requireNonNull;
+import static java.util.function.Function.identity;
+
+/**
+ * Default implementation of the {@link AsyncManager} interface.
+ *
+ * @param <ENTITY> the entity type
+ *
+ * @since 3.0.20
+ */
+public final class AsyncManagerImpl<ENTITY> implements AsyncManager<ENTITY> {
+
+    private final Manager<ENTITY> manager;
+    private final Executor executor;
+
+    public AsyncManagerImpl(Manager<ENTITY> manager, Executor executor) {
+        this.manager = requireNonNull(manager);
+        this.executor = requireNonNull(executor);
+    }
+
+    @Override
+    public Manager<ENTITY> getManager() {
+        return manager;
+    }
+
+    @Override
+    public CompletableFuture<ENTITY> persist(ENTITY entity) {
+        requireNonNull(entity);
+        return supplyAsync(() -> manager.persist(entity));
+    }
+
+    @Override
+    public CompletableFuture<ENTITY> update(ENTITY entity) {
+        requireNonNull(entity);
+        return supplyAsync(() -> manager.update(entity));
+    }
+
+    @Override
+    public CompletableFuture<ENTITY> remove(ENTITY entity) {
+        requireNonNull(entity);
+        return supplyAsync(() -> manager.remove(entity));
+    }
+
+    @Override
+    public <R> CompletableFuture<R> stream(Function<Stream<ENTITY>, R> streamMapper) {
+        requireNonNull(streamMapper);
+        return supplyAsync(() -> {
+            try (final Stream<ENTITY> stream = manager.stream()) {
+                return streamMapper.apply(stream);
+            }
+        });
+    }
+
+    @Override
+    public <T> CompletableFuture<Void> forEachBatch(
+        final Function<Stream<ENTITY>, Stream<T>> streamMapper,
+        final int batchSize,
+        final Function<List<T>, ? extends CompletionStage<?>> batchConsumer
+    ) {
+        requireNonNull(streamMapper);
+        requireNonNull(batchConsumer);
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("The batch size must be positive: " + batchSize);
+        }
+
+        return supplyAsync(() -> {
+            final Stream<ENTITY> stream = manager.stream();
+            try {
+                final Iterator<T> iterator = streamMapper.apply(stream).iterator();
+                return forEachRemainingBatch(iterator, batchSize, batchConsumer)
+                    .whenComplete((v, t) -> stream.close());
+            } catch (final RuntimeException ex) {
+                stream.close();
+                throw ex;
+            }
+        }).thenCompose(identity());
+    }
+
+    /**
+     * Reads the next batch from the iterator and hands it to the consumer. The
+     * batch after that is read by the executor once the stage returned by the
+     * consumer has completed, so no executor thread waits for the consumer.
+     */
+    private <T> CompletableFuture<Void> forEachRemainingBatch(
+        final Iterator<T> iterator,
+        final int batchSize,
+        final Function<List<T>, ? extends CompletionStage<?>> batchConsumer
+    ) {
+        final List<T> batch = new ArrayList<>(batchSize);
+        while (batch.size() < batchSize && iterator.hasNext()) {
+            batch.add(iterator.next());
+        }
+        if (batch.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        return CompletableFuture.completedFuture(batch)
+            .thenCompose(b -> batchConsumer.apply(b).thenApply(r -> (Void) null))
+            .thenCompose(v -> forEachRemainingBatchAsync(iterator, batchSize, batchConsumer));
+    }
+
+    /**
+     * Schedules {@link #forEachRemainingBatch} on the executor. This is done
+     * explicitly rather than using {@code thenComposeAsync} so that a rejected
+     * execution always completes the returned stage exceptionally, and thereby
+     * closes the stream, instead of depending on how the rejection propagates
+     * through the thread that completed the previous batch.
+     */
+    private <T> CompletableFuture<Void> forEachRemainingBatchAsync(
+        final Iterator<T> iterator,
+        final int batchSize,
+        final Function<List<T>, ? extends CompletionStage<?>> batchConsumer
+    ) {
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                try {
+                    forEachRemainingBatch(iterator, batchSize, batchConsumer)
+                        .whenComplete((v, t) -> {
+                            if (t == null) {
+                                future.complete(v);
+                            } else {
+                                future.completeExceptionally(t);
+                            }
+                        });
+                } catch (final RuntimeException ex) {
+                    future.completeExceptionally(ex);
+                }
+            });
+        } catch (final RejectedExecutionException ree) {
+            future.completeExceptionally(ree);
+        }
+        return future;
+    }
+
+    private <T> CompletableFuture<T> supplyAsync(Supplier<T> supplier) {
+        try {
+            return CompletableFuture.supplyAsync(supplier, executor);
+        } catch (final RejectedExecutionException ree) {
+            final CompletableFuture<T> future = new CompletableFuture<>();
+            future.completeExceptionally(ree);
+            return future;
+        }
+    }
+
+}
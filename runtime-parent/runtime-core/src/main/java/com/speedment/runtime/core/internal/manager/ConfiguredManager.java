@@ -19,12 +19,14 @@ package com.speedment.runtime.core.internal.manager;
 import com.speedment.runtime.config.identifier.TableIdentifier;
 import com.speedment.runtime.core.component.StreamSupplierComponent;
 import com.speedment.runtime.core.manager.Manager;
+import com.speedment.runtime.core.manager.Merger;
 import com.speedment.runtime.core.manager.Persister;
 import com.speedment.runtime.core.manager.Remover;
 import com.speedment.runtime.core.manager.Updater;
 import com.speedment.runtime.core.stream.parallel.ParallelStrategy;
 import com.speedment.runtime.field.Field;
 
+import java.util.Optional;
 import java.util.stream.Stream;
 
 import static java.util.Objects.requireNonNull;
@@ -81,6 +83,11 @@ public final class ConfiguredManager<ENTITY> implements Manager<ENTITY> {
         );
     }
 
+    @Override
+    public Optional<ENTITY> findByPrimaryKey(Object... primaryKeyValues) {
+        return manager.findByPrimaryKey(primaryKeyValues);
+    }
+
     @Override
     public Persister<ENTITY> persister() {
         return manager.persister();
@@ -96,6 +103,11 @@ public final class ConfiguredManager<ENTITY> implements Manager<ENTITY> {
         return manager.remover();
     }
 
+    @Override
+    public Merger<ENTITY> merger() {
+        return manager.merger();
+    }
+
     @Override
     public String toString() {
         return "ConfiguredManager{" +
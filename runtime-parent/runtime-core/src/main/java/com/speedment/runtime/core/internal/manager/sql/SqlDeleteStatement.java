@@ -28,6 +28,10 @@ public final class SqlDeleteStatement extends SqlStatement {
         super(sql, values);
     }
 
+    public SqlDeleteStatement(final String sql, final Binder binder) {
+        super(sql, binder);
+    }
+
     @Override
     public Type getType() {
         return Type.DELETE;
@@ -24,6 +24,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.function.Consumer;
 
+import static com.speedment.common.invariant.IntRangeUtil.requirePositive;
 import static java.util.Objects.requireNonNull;
 
 /**
@@ -35,6 +36,7 @@ public final class SqlInsertStatement<ENTITY> extends SqlStatement {
     private final Collection<Field<ENTITY>> generatedColumnFields;
     private final List<Long> generatedKeys;
     private final Consumer<List<Long>> generatedKeysConsumer;
+    private final int rows;
 
     public SqlInsertStatement(
             String sql,
@@ -42,16 +44,80 @@ public final class SqlInsertStatement<ENTITY> extends SqlStatement {
             Collection<Field<ENTITY>> generatedColumnFields,
             Consumer<List<Long>> generatedKeysConsumer) {
         
+        this(sql, values, generatedColumnFields, 1, generatedKeysConsumer);
+    }
+
+    /**
+     * Creates an insert statement that inserts the specified number of rows.
+     *
+     * @param sql                    the statement
+     * @param values                 the values to bind for all the rows
+     * @param generatedColumnFields  the generated fields of every row
+     * @param rows                   the number of rows in the VALUES clause
+     * @param generatedKeysConsumer  the consumer of the generated keys
+     * @since 3.0.20
+     */
+    public SqlInsertStatement(
+            String sql,
+            List<?> values,
+            Collection<Field<ENTITY>> generatedColumnFields,
+            int rows,
+            Consumer<List<Long>> generatedKeysConsumer) {
+        
         super(sql, values);
         this.generatedKeys = new ArrayList<>();
         this.generatedKeysConsumer = requireNonNull(generatedKeysConsumer);
         this.generatedColumnFields = requireNonNull(generatedColumnFields);
+        this.rows = requirePositive(rows);
+    }
+
+    public SqlInsertStatement(
+            String sql,
+            Binder binder,
+            Collection<Field<ENTITY>> generatedColumnFields,
+            Consumer<List<Long>> generatedKeysConsumer) {
+        
+        this(sql, binder, generatedColumnFields, 1, generatedKeysConsumer);
+    }
+
+    /**
+     * Creates an insert statement that inserts the specified number of rows.
+     *
+     * @param sql                    the statement
+     * @param binder                 the binder of the values for all the rows
+     * @param generatedColumnFields  the generated fields of every row
+     * @param rows                   the number of rows in the VALUES clause
+     * @param generatedKeysConsumer  the consumer of the generated keys
+     * @since 3.0.20
+     */
+    public SqlInsertStatement(
+            String sql,
+            Binder binder,
+            Collection<Field<ENTITY>> generatedColumnFields,
+            int rows,
+            Consumer<List<Long>> generatedKeysConsumer) {
+        
+        super(sql, binder);
+        this.generatedKeys = new ArrayList<>();
+        this.generatedKeysConsumer = requireNonNull(generatedKeysConsumer);
+        this.generatedColumnFields = requireNonNull(generatedColumnFields);
+        this.rows = requirePositive(rows);
     }
 
     public Collection<Field<ENTITY>> getGeneratedColumnFields() {
         return generatedColumnFields;
     }
 
+    /**
+     * Returns the number of rows that this statement inserts.
+     *
+     * @return the number of rows
+     * @since 3.0.20
+     */
+    public int getRows() {
+        return rows;
+    }
+
     public List<Long> getGeneratedKeys() {
         return Collections.unmodifiableList(generatedKeys);
     }
@@ -16,9 +16,15 @@
  */
 package com.speedment.runtime.core.internal.manager.sql;
 
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.TreeMap;
 
 /**
  *
@@ -28,27 +34,102 @@ public abstract class SqlStatement {
 
     private final String sql;
     private final List<?> values;
+    private final Binder binder; // Nullable
 
     public enum Type {
         INSERT, UPDATE, DELETE
     }
 
+    /**
+     * Sets the parameters of a {@code PreparedStatement} directly, instead of
+     * from a list of values.
+     */
+    @FunctionalInterface
+    public interface Binder {
+
+        void bind(PreparedStatement ps) throws SQLException;
+    }
+
     public SqlStatement(final String sql, final List<?> values) {
         this.sql = Objects.requireNonNull(sql);
         this.values = new ArrayList<>(Objects.requireNonNull(values));
+        this.binder = null;
+    }
+
+    public SqlStatement(final String sql, final Binder binder) {
+        this.sql = Objects.requireNonNull(sql);
+        this.values = Collections.emptyList();
+        this.binder = Objects.requireNonNull(binder);
     }
 
     public String getSql() {
         return sql;
     }
 
+    /**
+     * Returns the values of the parameters of this statement. If the
+     * parameters are set using a {@link Binder}, the list is empty.
+     *
+     * @return the parameter values
+     */
     public List<?> getValues() {
         return values;
     }
 
+    /**
+     * Returns the values of the parameters of this statement. If the
+     * parameters are set using a {@link Binder}, the binder is invoked on a
+     * {@code PreparedStatement} that only records the values it is given.
+     *
+     * @return the parameter values in parameter order
+     * @throws SQLException if the binder fails
+     */
+    public List<?> getBoundValues() throws SQLException {
+        if (binder == null) {
+            return values;
+        }
+        final Map<Integer, Object> bound = new TreeMap<>();
+        final PreparedStatement recorder = (PreparedStatement) Proxy.newProxyInstance(
+            PreparedStatement.class.getClassLoader(),
+            new Class<?>[] {PreparedStatement.class},
+            (proxy, method, args) -> {
+                if (method.getName().startsWith("set")
+                    && args != null
+                    && args.length >= 2
+                    && args[0] instanceof Integer) {
+                    bound.put((Integer) args[0], "setNull".equals(method.getName()) ? null : args[1]);
+                    return null;
+                }
+                throw new UnsupportedOperationException(
+                    "A binder may only set parameters, not call " + method.getName()
+                );
+            }
+        );
+        binder.bind(recorder);
+        return new ArrayList<>(bound.values());
+    }
+
+    /**
+     * Sets the parameters of this statement in the specified
+     * {@code PreparedStatement}.
+     *
+     * @param ps the statement to set the parameters in
+     * @throws SQLException if a parameter could not be set
+     */
+    public void bind(PreparedStatement ps) throws SQLException {
+        if (binder == null) {
+            int i = 1;
+            for (Object o : values) {
+                ps.setObject(i++, o);
+            }
+        } else {
+            binder.bind(ps);
+        }
+    }
+
     @Override
     public String toString() {
-        return getSql() + ", " + values.toString();
+        return binder == null ? getSql() + ", " + values.toString() : getSql();
     }
 
     public abstract Type getType();
@@ -21,6 +21,8 @@ import com.speedment.runtime.core.component.sql.SqlStreamOptimizerComponent;
 import com.speedment.runtime.core.component.sql.SqlStreamOptimizerInfo;
 import com.speedment.runtime.core.component.sql.override.SqlStreamTerminatorComponent;
 import com.speedment.runtime.core.db.AsynchronousQueryResult;
+import com.speedment.runtime.core.internal.component.sql.FieldProjector;
+import com.speedment.runtime.core.internal.component.sql.FinderBatcher;
 import com.speedment.runtime.core.internal.stream.builder.pipeline.DoublePipeline;
 import com.speedment.runtime.core.internal.stream.builder.pipeline.IntPipeline;
 import com.speedment.runtime.core.internal.stream.builder.pipeline.LongPipeline;
@@ -32,6 +34,7 @@ import java.util.Comparator;
 import java.util.Iterator;
 import static java.util.Objects.requireNonNull;
 import java.util.Optional;
+import java.util.OptionalDouble;
 import java.util.PrimitiveIterator;
 import java.util.Spliterator;
 import java.util.function.BiConsumer;
@@ -68,6 +71,8 @@ public final class SqlStreamTerminator<ENTITY> implements StreamTerminator {
     private final SqlStreamOptimizerComponent sqlStreamOptimizerComponent;
     private final SqlStreamOptimizerInfo<ENTITY> info;
     private final AsynchronousQueryResult<ENTITY> asynchronousQueryResult;
+    private final FieldProjector<ENTITY> fieldProjector; // Nullable
+    private final FinderBatcher finderBatcher; // Nullable
     private final boolean allowIteratorAndSpliterator;
 
     public SqlStreamTerminator(
@@ -76,11 +81,51 @@ public final class SqlStreamTerminator<ENTITY> implements StreamTerminator {
         final SqlStreamOptimizerComponent sqlStreamOptimizerComponent,
         final SqlStreamTerminatorComponent sqlStreamTerminatorComponent,
         final boolean allowIteratorAndSpliterator
+    ) {
+        this(
+            info,
+            asynchronousQueryResult,
+            sqlStreamOptimizerComponent,
+            sqlStreamTerminatorComponent,
+            null,
+            allowIteratorAndSpliterator
+        );
+    }
+
+    public SqlStreamTerminator(
+        final SqlStreamOptimizerInfo<ENTITY> info,
+        final AsynchronousQueryResult<ENTITY> asynchronousQueryResult,
+        final SqlStreamOptimizerComponent sqlStreamOptimizerComponent,
+        final SqlStreamTerminatorComponent sqlStreamTerminatorComponent,
+        final FieldProjector<ENTITY> fieldProjector,
+        final boolean allowIteratorAndSpliterator
+    ) {
+        this(
+            info,
+            asynchronousQueryResult,
+            sqlStreamOptimizerComponent,
+            sqlStreamTerminatorComponent,
+            fieldProjector,
+            null,
+            allowIteratorAndSpliterator
+        );
+    }
+
+    public SqlStreamTerminator(
+        final SqlStreamOptimizerInfo<ENTITY> info,
+        final AsynchronousQueryResult<ENTITY> asynchronousQueryResult,
+        final SqlStreamOptimizerComponent sqlStreamOptimizerComponent,
+        final SqlStreamTerminatorComponent sqlStreamTerminatorComponent,
+        final FieldProjector<ENTITY> fieldProjector,
+        final FinderBatcher finderBatcher,
+        final boolean allowIteratorAndSpliterator
     ) {
         this.info = requireNonNull(info);
         this.asynchronousQueryResult = requireNonNull(asynchronousQueryResult);
         this.sqlStreamOptimizerComponent = requireNonNull(sqlStreamOptimizerComponent);
         this.sqlStreamTerminatorComponent = requireNonNull(sqlStreamTerminatorComponent);
+        this.fieldProjector = fieldProjector;
+        this.finderBatcher = finderBatcher;
         this.allowIteratorAndSpliterator = allowIteratorAndSpliterator;
     }
 
@@ -93,7 +138,14 @@ public final class SqlStreamTerminator<ENTITY> implements StreamTerminator {
     public <P extends Pipeline> P optimize(final P initialPipeline) {
         requireNonNull(initialPipeline);
         final SqlStreamOptimizer<ENTITY> optimizer = sqlStreamOptimizerComponent.get(initialPipeline, info.getDbmsType());
-        return optimizer.optimize(initialPipeline, info, asynchronousQueryResult);
+        final P optimizedPipeline = optimizer.optimize(initialPipeline, info, asynchronousQueryResult);
+        final P projectedPipeline = fieldProjector == null
+            ? optimizedPipeline
+            : fieldProjector.project(optimizedPipeline, asynchronousQueryResult);
+        if (finderBatcher == null) {
+            return projectedPipeline;
+        }
+        return finderBatcher.batch(projectedPipeline);
     }
 
     @Override
@@ -204,6 +256,16 @@ public final class SqlStreamTerminator<ENTITY> implements StreamTerminator {
         return sqlStreamTerminatorComponent.<ENTITY>getDoubleCountTerminator().apply(info, this, pipeline);
     }
 
+    @Override
+    public double sum(DoublePipeline pipeline) {
+        return sqlStreamTerminatorComponent.<ENTITY>getDoubleSumTerminator().apply(info, this, pipeline);
+    }
+
+    @Override
+    public OptionalDouble average(DoublePipeline pipeline) {
+        return sqlStreamTerminatorComponent.<ENTITY>getDoubleAverageTerminator().apply(info, this, pipeline);
+    }
+
     // Todo: Introduce delegator
     @Override
     public PrimitiveIterator.OfDouble iterator(DoublePipeline pipeline) {
@@ -228,6 +290,16 @@ public final class SqlStreamTerminator<ENTITY> implements StreamTerminator {
         return sqlStreamTerminatorComponent.<ENTITY>getIntCountTerminator().apply(info, this, pipeline);
     }
 
+    @Override
+    public int sum(IntPipeline pipeline) {
+        return sqlStreamTerminatorComponent.<ENTITY>getIntSumTerminator().apply(info, this, pipeline);
+    }
+
+    @Override
+    public OptionalDouble average(IntPipeline pipeline) {
+        return sqlStreamTerminatorComponent.<ENTITY>getIntAverageTerminator().apply(info, this, pipeline);
+    }
+
     // Todo: Introduce delegator
     @Override
     public PrimitiveIterator.OfInt iterator(IntPipeline pipeline) {
@@ -252,6 +324,16 @@ public final class SqlStreamTerminator<ENTITY> implements StreamTerminator {
         return sqlStreamTerminatorComponent.<ENTITY>getLongCountTerminator().apply(info, this, pipeline);
     }
 
+    @Override
+    public long sum(LongPipeline pipeline) {
+        return sqlStreamTerminatorComponent.<ENTITY>getLongSumTerminator().apply(info, this, pipeline);
+    }
+
+    @Override
+    public OptionalDouble average(LongPipeline pipeline) {
+        return sqlStreamTerminatorComponent.<ENTITY>getLongAverageTerminator().apply(info, this, pipeline);
+    }
+
     // Todo: Introduce delegator
     @Override
     public PrimitiveIterator.OfLong iterator(LongPipeline pipeline) {
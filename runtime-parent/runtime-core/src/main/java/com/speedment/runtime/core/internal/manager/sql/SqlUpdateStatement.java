@@ -28,6 +28,10 @@ public final class SqlUpdateStatement extends SqlStatement {
         super(sql, values);
     }
 
+    public SqlUpdateStatement(final String sql, final Binder binder) {
+        super(sql, binder);
+    }
+
     @Override
     public Type getType() {
         return Type.UPDATE;
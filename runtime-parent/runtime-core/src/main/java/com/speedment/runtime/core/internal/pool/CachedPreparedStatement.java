@@ -0,0 +1,179 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.pool;
+
+import com.speedment.common.logger.Logger;
+import com.speedment.common.logger.LoggerManager;
+import com.speedment.runtime.core.ApplicationBuilder;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A prepared statement that is returned to a {@link PreparedStatementCache}
+ * instead of being closed.
+ * <p>
+ * Before the statement is returned, any result set obtained through this
+ * instance is closed and the fetch size, max rows and query timeout are
+ * restored if they were changed, so that the next borrower of the statement
+ * does not inherit that state.
+ *
+ * @since  3.0.20
+ */
+final class CachedPreparedStatement extends PreparedStatementDelegator {
+
+    private static final Logger LOGGER_CONNECTION = LoggerManager.getLogger(
+        ApplicationBuilder.LogType.CONNECTION.getLoggerName()
+    );
+
+    private final Connection connection;
+    private final PreparedStatementCache cache;
+    private final PreparedStatementCache.Key key;
+    private boolean closed;
+
+    // The result sets handed out to the borrower, or null
+    private ResultSet resultSet;
+    private ResultSet generatedKeys;
+
+    // The values before the borrower changed them, or null if unchanged
+    private Integer defaultFetchSize;
+    private Integer defaultMaxRows;
+    private Integer defaultQueryTimeout;
+
+    CachedPreparedStatement(
+            Connection connection,
+            PreparedStatementCache cache,
+            PreparedStatementCache.Key key,
+            PreparedStatement statement) {
+
+        super(statement);
+        this.connection = requireNonNull(connection);
+        this.cache      = requireNonNull(cache);
+        this.key        = requireNonNull(key);
+    }
+
+    @Override
+    public void close() throws SQLException {
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+        if (statement.isClosed()) {
+            return;
+        }
+
+        try {
+            closeResultSets();
+            restoreDefaults();
+            statement.clearParameters();
+            statement.clearBatch();
+            statement.clearWarnings();
+        } catch (final SQLException ex) {
+            LOGGER_CONNECTION.debug("Unable to reset statement '%s' for reuse: %s", key, ex.getMessage());
+            statement.close();
+            return;
+        }
+
+        cache.release(key, statement);
+    }
+
+    @Override
+    public ResultSet executeQuery() throws SQLException {
+        resultSet = statement.executeQuery();
+        return resultSet;
+    }
+
+    @Override
+    public ResultSet getResultSet() throws SQLException {
+        resultSet = statement.getResultSet();
+        return resultSet;
+    }
+
+    @Override
+    public ResultSet getGeneratedKeys() throws SQLException {
+        generatedKeys = statement.getGeneratedKeys();
+        return generatedKeys;
+    }
+
+    @Override
+    public void setFetchSize(int rows) throws SQLException {
+        if (defaultFetchSize == null) {
+            defaultFetchSize = statement.getFetchSize();
+        }
+        statement.setFetchSize(rows);
+    }
+
+    @Override
+    public void setMaxRows(int max) throws SQLException {
+        if (defaultMaxRows == null) {
+            defaultMaxRows = statement.getMaxRows();
+        }
+        statement.setMaxRows(max);
+    }
+
+    @Override
+    public void setLargeMaxRows(long max) throws SQLException {
+        if (defaultMaxRows == null) {
+            defaultMaxRows = statement.getMaxRows();
+        }
+        statement.setLargeMaxRows(max);
+    }
+
+    @Override
+    public void setQueryTimeout(int seconds) throws SQLException {
+        if (defaultQueryTimeout == null) {
+            defaultQueryTimeout = statement.getQueryTimeout();
+        }
+        statement.setQueryTimeout(seconds);
+    }
+
+    @Override
+    public boolean isClosed() throws SQLException {
+        return closed || statement.isClosed();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return connection;
+    }
+
+    private void closeResultSets() throws SQLException {
+        if (resultSet != null && !resultSet.isClosed()) {
+            resultSet.close();
+        }
+        if (generatedKeys != null && !generatedKeys.isClosed()) {
+            generatedKeys.close();
+        }
+    }
+
+    private void restoreDefaults() throws SQLException {
+        if (defaultFetchSize != null) {
+            statement.setFetchSize(defaultFetchSize);
+        }
+        if (defaultMaxRows != null) {
+            statement.setMaxRows(defaultMaxRows);
+        }
+        if (defaultQueryTimeout != null) {
+            statement.setQueryTimeout(defaultQueryTimeout);
+        }
+    }
+}
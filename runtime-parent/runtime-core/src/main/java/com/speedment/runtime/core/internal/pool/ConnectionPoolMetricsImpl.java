@@ -0,0 +1,108 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.pool;
+
+import com.speedment.runtime.core.component.connectionpool.ConnectionLease;
+import com.speedment.runtime.core.component.connectionpool.ConnectionPoolMetrics;
+import com.speedment.runtime.core.component.connectionpool.DiscardReason;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Default implementation of the {@link ConnectionPoolMetrics}-interface that
+ * is shared by all the partitions of a connection pool.
+ *
+ * @since  3.0.20
+ */
+public final class ConnectionPoolMetricsImpl implements ConnectionPoolMetrics {
+
+    public static final ConnectionPoolMetrics EMPTY = new ConnectionPoolMetricsImpl(Stream::empty);
+
+    private final DurationHistogramImpl leaseTime;
+    private final DurationHistogramImpl waitTime;
+    private final DurationHistogramImpl creationTime;
+    private final Map<DiscardReason, LongAdder> discards;
+    private final LongAdder timeouts;
+    private final Supplier<Stream<ConnectionLease>> leases;
+
+    public ConnectionPoolMetricsImpl(Supplier<Stream<ConnectionLease>> leases) {
+        this.leaseTime    = new DurationHistogramImpl();
+        this.waitTime     = new DurationHistogramImpl();
+        this.creationTime = new DurationHistogramImpl();
+        this.discards     = new EnumMap<>(DiscardReason.class);
+        this.timeouts     = new LongAdder();
+        this.leases       = requireNonNull(leases);
+
+        for (final DiscardReason reason : DiscardReason.values()) {
+            discards.put(reason, new LongAdder());
+        }
+    }
+
+    @Override
+    public DurationHistogramImpl getLeaseTime() {
+        return leaseTime;
+    }
+
+    @Override
+    public DurationHistogramImpl getWaitTime() {
+        return waitTime;
+    }
+
+    @Override
+    public DurationHistogramImpl getCreationTime() {
+        return creationTime;
+    }
+
+    @Override
+    public long getDiscardCount(DiscardReason reason) {
+        return discards.get(requireNonNull(reason)).sum();
+    }
+
+    @Override
+    public long getTimeoutCount() {
+        return timeouts.sum();
+    }
+
+    @Override
+    public Stream<ConnectionLease> leases() {
+        return leases.get();
+    }
+
+    void discarded(DiscardReason reason) {
+        discards.get(reason).increment();
+    }
+
+    void timedOut() {
+        timeouts.increment();
+    }
+
+    @Override
+    public String toString() {
+        return "ConnectionPoolMetrics{" +
+            "leaseTime={" + leaseTime + "}, " +
+            "waitTime={" + waitTime + "}, " +
+            "creationTime={" + creationTime + "}, " +
+            "discards=" + discards + ", " +
+            "timeouts=" + timeouts.sum() + "}";
+    }
+}
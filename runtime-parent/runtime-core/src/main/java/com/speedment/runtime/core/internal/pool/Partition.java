@@ -0,0 +1,518 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.pool;
+
+import com.speedment.common.logger.Logger;
+import com.speedment.common.logger.LoggerManager;
+import com.speedment.runtime.core.ApplicationBuilder;
+import com.speedment.runtime.core.exception.SpeedmentException;
+
+import com.speedment.runtime.core.component.connectionpool.ConnectionLease;
+import com.speedment.runtime.core.component.connectionpool.DiscardReason;
+
+import java.sql.SQLException;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * The connections of a connection pool that share the same {@link PoolKey}.
+ * <p>
+ * At most {@code maxTotal} connections are open at the same time, or an
+ * unlimited number if {@code maxTotal} is zero or negative. Callers
+ * that want to lease a connection when all connections are leased wait in
+ * first-in-first-out order until a connection is returned or the timeout
+ * expires. Idle connections are kept in a lock-free deque and are only
+ * checked for expiry when they are leased. The more expensive validation
+ * with {@link java.sql.Connection#isValid(int)} is done by
+ * {@link #maintain(long, int, int)}, which is intended to be called from a
+ * background thread. A caller that holds a permit while every open
+ * connection is being validated or created by the background thread blocks
+ * until one of them becomes idle or is discarded, or the timeout expires.
+ *
+ * @since  3.0.20
+ */
+public final class Partition {
+
+    private static final Logger LOGGER_CONNECTION = LoggerManager.getLogger(
+        ApplicationBuilder.LogType.CONNECTION.getLoggerName()
+    );
+
+    private final PoolKey key;
+    private final Supplier<PoolableConnectionImpl> factory;
+    private final int maxTotal;
+    private final int maxRetainSize;
+    private final ConnectionPoolMetricsImpl metrics;
+    private final boolean recordLeaseTraces;
+
+    private final Semaphore permits;
+    private final Deque<PoolableConnectionImpl> idle;
+    private final AtomicInteger idleCount;
+    private final AtomicInteger leaseCount;
+    private final AtomicInteger openCount;
+    private final Map<Long, PoolableConnectionImpl> leased;
+    private final Lock changeLock;
+    private final Condition changed;
+    private final AtomicInteger waiting;
+    private volatile boolean closed;
+
+    public Partition(
+            PoolKey key,
+            Supplier<PoolableConnectionImpl> factory,
+            int maxTotal,
+            int maxRetainSize,
+            ConnectionPoolMetricsImpl metrics,
+            boolean recordLeaseTraces) {
+
+        this.key           = requireNonNull(key);
+        this.factory       = requireNonNull(factory);
+        this.maxTotal      = maxTotal > 0 ? maxTotal : Integer.MAX_VALUE;
+        this.maxRetainSize = Math.max(0, maxRetainSize);
+        this.metrics       = requireNonNull(metrics);
+        this.recordLeaseTraces = recordLeaseTraces;
+        this.permits       = new Semaphore(this.maxTotal, true);
+        this.idle          = new ConcurrentLinkedDeque<>();
+        this.idleCount     = new AtomicInteger();
+        this.leaseCount    = new AtomicInteger();
+        this.openCount     = new AtomicInteger();
+        this.leased        = new ConcurrentHashMap<>();
+        this.changeLock    = new ReentrantLock();
+        this.changed       = changeLock.newCondition();
+        this.waiting       = new AtomicInteger();
+    }
+
+    /**
+     * Leases a connection from this partition. An idle connection is reused
+     * if there is one, otherwise a new connection is created unless the
+     * maximum number of connections are already open.
+     *
+     * @param maxWaitMillis  the maximum time to wait for a connection
+     * @return               the leased connection
+     *
+     * @throws SpeedmentException  if no connection became available within
+     *                             the given time or if a new connection
+     *                             could not be created
+     */
+    public PoolableConnectionImpl lease(long maxWaitMillis) {
+        final long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS)) {
+                throw timedOut(maxWaitMillis);
+            }
+        } catch (final InterruptedException ex) {
+            throw interrupted(ex);
+        }
+
+        try {
+            final PoolableConnectionImpl connection = acquire(
+                start, start + TimeUnit.MILLISECONDS.toNanos(maxWaitMillis)
+            );
+            if (connection == null) {
+                throw timedOut(maxWaitMillis);
+            }
+            connection.markLeased(recordLeaseTraces);
+            leased.put(connection.getId(), connection);
+            leaseCount.incrementAndGet();
+            return connection;
+        } catch (final RuntimeException ex) {
+            permits.release();
+            throw ex;
+        }
+    }
+
+    /**
+     * Returns a leased connection to this partition. The connection is
+     * discarded if it is no longer usable or if the partition already retains
+     * the maximum number of idle connections.
+     *
+     * @param connection  the connection to return
+     */
+    public void giveBack(PoolableConnectionImpl connection) {
+        requireNonNull(connection);
+        if (!connection.markReturned()) {
+            LOGGER_CONNECTION.debug("Ignored connection that was already returned: %s", connection);
+            return;
+        }
+
+        leased.remove(connection.getId());
+        leaseCount.decrementAndGet();
+        metrics.getLeaseTime().record(System.nanoTime() - connection.getLeasedAtNanos());
+        try {
+            final DiscardReason reason = closed
+                ? DiscardReason.POOL_CLOSED
+                : unusableReason(connection, System.currentTimeMillis());
+
+            if (reason != null) {
+                discard(connection, reason);
+            } else if (idleCount.incrementAndGet() > maxRetainSize) {
+                idleCount.decrementAndGet();
+                discard(connection, DiscardReason.OVER_RETAIN);
+            } else {
+                LOGGER_CONNECTION.debug("Recycled: %s", connection);
+                idle.addFirst(connection);
+                signalChange();
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Discards idle connections that have expired, that have been idle for
+     * longer than the idle timeout or that are no longer valid, and then opens
+     * new connections until there are at least {@code minIdle} idle
+     * connections. This method does blocking calls to the database and should
+     * not be called from a thread that serves requests.
+     *
+     * @param idleTimeoutMillis   the maximum time a connection may be idle,
+     *                            or {@code 0} to keep idle connections until
+     *                            they expire
+     * @param validationTimeout   the timeout in seconds to use when
+     *                            validating idle connections
+     * @param minIdle             the minimum number of idle connections
+     */
+    public void maintain(long idleTimeoutMillis, int validationTimeout, int minIdle) {
+        final long now = System.currentTimeMillis();
+        for (final PoolableConnectionImpl connection : idle) {
+            if (!idle.removeFirstOccurrence(connection)) {
+                continue; // Leased by someone else in the meantime
+            }
+
+            final int remaining = idleCount.decrementAndGet();
+            final boolean idleTooLong = idleTimeoutMillis > 0
+                && remaining >= minIdle
+                && now - connection.getLastUsed() >= idleTimeoutMillis;
+
+            final DiscardReason reason;
+            if (closed) {
+                reason = DiscardReason.POOL_CLOSED;
+            } else if (idleTooLong) {
+                reason = DiscardReason.IDLE_TIMEOUT;
+            } else {
+                final DiscardReason unusable = unusableReason(connection, now);
+                if (unusable != null) {
+                    reason = unusable;
+                } else if (!isValid(connection, validationTimeout)) {
+                    reason = DiscardReason.INVALID;
+                } else {
+                    reason = null;
+                }
+            }
+
+            if (reason != null) {
+                discard(connection, reason);
+            } else {
+                idleCount.incrementAndGet();
+                idle.addLast(connection);
+                signalChange();
+            }
+        }
+
+        fill(minIdle);
+    }
+
+    /**
+     * Opens new connections until there are at least {@code minIdle} idle
+     * connections or until the maximum number of connections are open.
+     *
+     * @param minIdle  the minimum number of idle connections
+     */
+    public void fill(int minIdle) {
+        final int target = Math.min(minIdle, maxRetainSize);
+        while (!closed && idleCount.get() < target && reserve()) {
+            final PoolableConnectionImpl connection;
+            try {
+                connection = create();
+            } catch (final RuntimeException ex) {
+                openCount.decrementAndGet();
+                signalChange();
+                LOGGER_CONNECTION.warn(ex, "Unable to open idle connection to %s.", key.getUri());
+                return;
+            }
+
+            idleCount.incrementAndGet();
+            idle.addLast(connection);
+            signalChange();
+        }
+    }
+
+    /**
+     * Closes all idle connections in this partition. Connections that are
+     * returned after this method has been called are closed directly.
+     */
+    public void close() {
+        closed = true;
+        PoolableConnectionImpl connection;
+        while ((connection = idle.pollFirst()) != null) {
+            idleCount.decrementAndGet();
+            discard(connection, DiscardReason.POOL_CLOSED);
+        }
+    }
+
+    /**
+     * Returns information about the connections that are currently leased
+     * from this partition.
+     *
+     * @return  the current leases
+     */
+    public Stream<ConnectionLease> leases() {
+        final long now = System.currentTimeMillis();
+        return leased.values().stream()
+            .map(c -> new Lease(c, now));
+    }
+
+    /**
+     * Returns the leases that have been held for longer than the given
+     * threshold and that have not been returned by this method before.
+     *
+     * @param thresholdMillis  the lease time that is considered a leak
+     * @return                 the new possible leaks
+     */
+    public Stream<ConnectionLease> newLeaks(long thresholdMillis) {
+        final long now = System.currentTimeMillis();
+        return leased.values().stream()
+            .filter(c -> now - c.getLeasedAtMillis() >= thresholdMillis)
+            .filter(PoolableConnectionImpl::markLeakReported)
+            .map(c -> new Lease(c, now));
+    }
+
+    public int idleSize() {
+        return idleCount.get();
+    }
+
+    public int leaseSize() {
+        return leaseCount.get();
+    }
+
+    public int openSize() {
+        return openCount.get();
+    }
+
+    /**
+     * Returns an idle connection or a new connection, or {@code null} if
+     * neither became available before the given deadline. The caller must
+     * hold a permit. The time until an idle connection is found or a new
+     * connection may be opened is recorded as the wait time. The time it
+     * takes to open the connection is recorded separately.
+     *
+     * @param start     the value of {@link System#nanoTime()} when the
+     *                  caller started to wait
+     * @param deadline  the value of {@link System#nanoTime()} to give up at
+     * @return          the connection or {@code null}
+     */
+    private PoolableConnectionImpl acquire(long start, long deadline) {
+        final long now = System.currentTimeMillis();
+        while (true) {
+            final PoolableConnectionImpl reused = idle.pollFirst();
+            if (reused != null) {
+                idleCount.decrementAndGet();
+                final DiscardReason reason = unusableReason(reused, now);
+                if (reason == null) {
+                    LOGGER_CONNECTION.debug("Reuse Connection: %s", reused);
+                    metrics.getWaitTime().record(System.nanoTime() - start);
+                    return reused;
+                } else {
+                    discard(reused, reason);
+                }
+            } else if (reserve()) {
+                metrics.getWaitTime().record(System.nanoTime() - start);
+                try {
+                    return create();
+                } catch (final RuntimeException ex) {
+                    openCount.decrementAndGet();
+                    signalChange();
+                    throw ex;
+                }
+            } else if (!awaitChange(deadline)) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Blocks until there is an idle connection or a new connection can be
+     * opened. Since the caller holds a permit, this only happens when all
+     * open connections are being validated or created by the background
+     * thread.
+     *
+     * @param deadline  the value of {@link System#nanoTime()} to give up at
+     * @return          {@code false} if the deadline passed, else {@code true}
+     */
+    private boolean awaitChange(long deadline) {
+        waiting.incrementAndGet();
+        changeLock.lock();
+        try {
+            while (idle.isEmpty() && openCount.get() >= maxTotal) {
+                final long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                changed.awaitNanos(remaining);
+            }
+            return true;
+        } catch (final InterruptedException ex) {
+            throw interrupted(ex);
+        } finally {
+            changeLock.unlock();
+            waiting.decrementAndGet();
+        }
+    }
+
+    /**
+     * Wakes up the callers that are blocked in {@link #awaitChange(long)}
+     * after a connection has become idle or has been discarded.
+     */
+    private void signalChange() {
+        if (waiting.get() > 0) {
+            changeLock.lock();
+            try {
+                changed.signalAll();
+            } finally {
+                changeLock.unlock();
+            }
+        }
+    }
+
+    private SpeedmentException timedOut(long maxWaitMillis) {
+        metrics.timedOut();
+        return new SpeedmentException(
+            "Timed out after " + maxWaitMillis + " ms waiting for a " +
+            "connection to " + key.getUri() + ". All " + maxTotal +
+            " connections are leased."
+        );
+    }
+
+    private SpeedmentException interrupted(InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        return new SpeedmentException(
+            "Interrupted while waiting for a connection to " + key.getUri() + ".", ex
+        );
+    }
+
+    private boolean reserve() {
+        while (true) {
+            final int open = openCount.get();
+            if (open >= maxTotal) {
+                return false;
+            } else if (openCount.compareAndSet(open, open + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private PoolableConnectionImpl create() {
+        final long start = System.nanoTime();
+        final PoolableConnectionImpl connection = factory.get();
+        metrics.getCreationTime().record(System.nanoTime() - start);
+        return connection;
+    }
+
+    /**
+     * Returns the reason the given connection can not be used anymore, or
+     * {@code null} if it can be used.
+     */
+    private DiscardReason unusableReason(PoolableConnectionImpl connection, long now) {
+        if (connection.getExpires() <= now) {
+            return DiscardReason.EXPIRED;
+        }
+
+        try {
+            return connection.isClosed() ? DiscardReason.CLOSED : null;
+        } catch (final SQLException ex) {
+            LOGGER_CONNECTION.error(ex, "Error while checking if a connection is closed.");
+            return DiscardReason.CLOSED;
+        }
+    }
+
+    private boolean isValid(PoolableConnectionImpl connection, int timeout) {
+        try {
+            return connection.isValid(timeout);
+        } catch (final SQLException ex) {
+            LOGGER_CONNECTION.debug("Unable to validate connection %s: %s", connection, ex.getMessage());
+            return false;
+        } catch (final AbstractMethodError err) {
+            // Drivers that do not implement isValid() are only checked for
+            // expiry and whether they are closed.
+            return true;
+        }
+    }
+
+    private void discard(PoolableConnectionImpl connection, DiscardReason reason) {
+        LOGGER_CONNECTION.debug("Discard (%s): %s", reason, connection);
+        metrics.discarded(reason);
+        openCount.decrementAndGet();
+        signalChange();
+        try {
+            connection.rawClose();
+        } catch (final SQLException ex) {
+            LOGGER_CONNECTION.error(ex, "Error closing a connection.");
+        }
+    }
+
+    private static final class Lease implements ConnectionLease {
+
+        private final long connectionId;
+        private final String uri;
+        private final long leaseMillis;
+        private final Throwable trace;
+
+        private Lease(PoolableConnectionImpl connection, long now) {
+            this.connectionId = connection.getId();
+            this.uri          = connection.getUri();
+            this.leaseMillis  = now - connection.getLeasedAtMillis();
+            this.trace        = connection.getLeaseTrace();
+        }
+
+        @Override
+        public long getConnectionId() {
+            return connectionId;
+        }
+
+        @Override
+        public String getUri() {
+            return uri;
+        }
+
+        @Override
+        public long getLeaseMillis() {
+            return leaseMillis;
+        }
+
+        @Override
+        public Optional<StackTraceElement[]> getLeaseStackTrace() {
+            return Optional.ofNullable(trace).map(Throwable::getStackTrace);
+        }
+
+        @Override
+        public String toString() {
+            return "Lease{connectionId=" + connectionId + ", uri=" + uri
+                + ", leaseMillis=" + leaseMillis + "}";
+        }
+    }
+}
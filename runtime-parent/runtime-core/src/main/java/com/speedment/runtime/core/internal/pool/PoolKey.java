@@ -0,0 +1,89 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.pool;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * The key that identifies a connection pool partition. Connections can only be
+ * shared between requests with the same uri, user and password.
+ *
+ * @since  3.0.20
+ */
+public final class PoolKey {
+
+    private final String uri;
+    private final String user;
+    private final char[] password;
+    private final int hashCode;
+
+    public PoolKey(String uri, String user, char[] password) {
+        this.uri      = requireNonNull(uri);
+        this.user     = user;     // Nullable
+        this.password = password; // Nullable
+        this.hashCode = 31 * (31 * uri.hashCode() + Objects.hashCode(user))
+            + Arrays.hashCode(password);
+    }
+
+    /**
+     * Returns a copy of this key that does not share the password array with
+     * the caller. Keys that are retained by the pool should be copied first
+     * since the caller might clear the password array after use.
+     *
+     * @return  a copy of this key
+     */
+    public PoolKey copy() {
+        return new PoolKey(uri, user, password == null ? null : password.clone());
+    }
+
+    public String getUri() {
+        return uri;
+    }
+
+    public String getUser() {
+        return user;
+    }
+
+    public char[] getPassword() {
+        return password;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof PoolKey)) return false;
+
+        final PoolKey that = (PoolKey) o;
+        return hashCode == that.hashCode
+            && uri.equals(that.uri)
+            && Objects.equals(user, that.user)
+            && Arrays.equals(password, that.password);
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    @Override
+    public String toString() {
+        return "PoolKey{uri=" + uri + ", user=" + user + ", password=*****}";
+    }
+}
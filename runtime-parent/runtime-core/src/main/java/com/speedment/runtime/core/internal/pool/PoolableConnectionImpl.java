@@ -22,7 +22,11 @@ import com.speedment.runtime.core.ApplicationBuilder;
 import com.speedment.runtime.core.component.connectionpool.PoolableConnection;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 
 import static java.util.Objects.requireNonNull;
@@ -44,9 +48,20 @@ public final class PoolableConnectionImpl extends PoolableConnectionDelegator im
     private final String uri;
     private final long created;
     private final long expires;
+    private final PreparedStatementCache statementCache;
+    private final AtomicBoolean leased;
+    private volatile long lastUsed;
+    private volatile long leasedAtNanos;
+    private volatile long leasedAtMillis;
+    private volatile Throwable leaseTrace;
+    private volatile boolean leakReported;
     private Runnable onClose;
 
     public PoolableConnectionImpl(String uri, String username, char[] password, Connection connection, long expires) {
+        this(uri, username, password, connection, expires, 0);
+    }
+
+    public PoolableConnectionImpl(String uri, String username, char[] password, Connection connection, long expires, int statementCacheSize) {
         super(connection);
         this.id = ID_GENERATOR.getAndIncrement();
         this.uri = requireNonNull(uri);
@@ -54,6 +69,9 @@ public final class PoolableConnectionImpl extends PoolableConnectionDelegator im
         this.password = password; //nullable
         this.created = System.currentTimeMillis();
         this.expires = expires;
+        this.statementCache = new PreparedStatementCache(statementCacheSize);
+        this.leased = new AtomicBoolean();
+        this.lastUsed = created;
     }
 
     @Override
@@ -68,8 +86,62 @@ public final class PoolableConnectionImpl extends PoolableConnectionDelegator im
 
     @Override
     public void rawClose() throws SQLException {
-        LOGGER_CONNECTION.debug("Closed external connection: %s", connection);
-        connection.close();
+        LOGGER_CONNECTION.debug("Closed external connection: %s (statement cache hits: %d, misses: %d)",
+            connection, statementCache.getHits(), statementCache.getMisses());
+        try {
+            statementCache.close();
+        } finally {
+            connection.close();
+        }
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql) throws SQLException {
+        return prepareCachedStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY, Statement.NO_GENERATED_KEYS);
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency) throws SQLException {
+        return prepareCachedStatement(sql, resultSetType, resultSetConcurrency, Statement.NO_GENERATED_KEYS);
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, int autoGeneratedKeys) throws SQLException {
+        return prepareCachedStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY, autoGeneratedKeys);
+    }
+
+    @Override
+    public long getStatementCacheHits() {
+        return statementCache.getHits();
+    }
+
+    @Override
+    public long getStatementCacheMisses() {
+        return statementCache.getMisses();
+    }
+
+    private PreparedStatement prepareCachedStatement(String sql, int resultSetType, int resultSetConcurrency, int autoGeneratedKeys) throws SQLException {
+        if (!statementCache.isEnabled()) {
+            return prepareRawStatement(sql, resultSetType, resultSetConcurrency, autoGeneratedKeys);
+        }
+
+        final PreparedStatementCache.Key key = new PreparedStatementCache.Key(sql, resultSetType, resultSetConcurrency, autoGeneratedKeys);
+        final PreparedStatement cached = statementCache.acquire(key);
+        final PreparedStatement statement = cached == null
+            ? prepareRawStatement(sql, resultSetType, resultSetConcurrency, autoGeneratedKeys)
+            : cached;
+
+        return new CachedPreparedStatement(this, statementCache, key, statement);
+    }
+
+    private PreparedStatement prepareRawStatement(String sql, int resultSetType, int resultSetConcurrency, int autoGeneratedKeys) throws SQLException {
+        if (autoGeneratedKeys != Statement.NO_GENERATED_KEYS) {
+            return connection.prepareStatement(sql, autoGeneratedKeys);
+        } else if (resultSetType != ResultSet.TYPE_FORWARD_ONLY || resultSetConcurrency != ResultSet.CONCUR_READ_ONLY) {
+            return connection.prepareStatement(sql, resultSetType, resultSetConcurrency);
+        } else {
+            return connection.prepareStatement(sql);
+        }
     }
 
     @Override
@@ -106,4 +178,78 @@ public final class PoolableConnectionImpl extends PoolableConnectionDelegator im
     public long getExpires() {
         return expires;
     }
+
+    /**
+     * Returns the time in milliseconds when this connection was last returned
+     * to its pool.
+     *
+     * @return  the time this connection was last used
+     */
+    long getLastUsed() {
+        return lastUsed;
+    }
+
+    long getLeasedAtNanos() {
+        return leasedAtNanos;
+    }
+
+    long getLeasedAtMillis() {
+        return leasedAtMillis;
+    }
+
+    Throwable getLeaseTrace() {
+        return leaseTrace;
+    }
+
+    /**
+     * Marks this connection as leased.
+     *
+     * @param recordTrace  if the stack trace of the calling thread should be
+     *                     recorded for leak detection
+     * @return             {@code true} if the connection was idle, else
+     *                     {@code false}
+     */
+    boolean markLeased(boolean recordTrace) {
+        if (leased.compareAndSet(false, true)) {
+            leasedAtNanos  = System.nanoTime();
+            leasedAtMillis = System.currentTimeMillis();
+            leaseTrace     = recordTrace ? new Throwable("Connection leased") : null;
+            leakReported   = false;
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    /**
+     * Marks that this lease has been reported as a possible leak.
+     *
+     * @return  {@code true} if it had not been reported before
+     */
+    boolean markLeakReported() {
+        if (leakReported) {
+            return false;
+        } else {
+            leakReported = true;
+            return true;
+        }
+    }
+
+    /**
+     * Marks this connection as idle and records the time it was last used.
+     * This method only returns {@code true} once for every lease, which
+     * prevents a connection that is closed twice from being returned to its
+     * pool twice.
+     *
+     * @return  {@code true} if the connection was leased, else {@code false}
+     */
+    boolean markReturned() {
+        if (leased.compareAndSet(true, false)) {
+            lastUsed   = System.currentTimeMillis();
+            leaseTrace = null;
+            return true;
+        } else {
+            return false;
+        }
+    }
 }
@@ -0,0 +1,196 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.pool;
+
+import com.speedment.common.logger.Logger;
+import com.speedment.common.logger.LoggerManager;
+import com.speedment.runtime.core.ApplicationBuilder;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A bounded cache of idle prepared statements that belong to a single
+ * connection. The least recently used statement is closed when the cache is
+ * full.
+ * <p>
+ * A statement is removed from the cache while it is in use and put back when
+ * it is closed by the user. That way, two users of the same connection will
+ * never share a statement, even if they prepare the same SQL.
+ *
+ * @since  3.0.20
+ */
+final class PreparedStatementCache {
+
+    private static final Logger LOGGER_CONNECTION = LoggerManager.getLogger(
+        ApplicationBuilder.LogType.CONNECTION.getLoggerName()
+    );
+
+    private final int capacity;
+    private final Map<Key, PreparedStatement> idle;
+    private final AtomicLong hits;
+    private final AtomicLong misses;
+    private boolean closed;
+
+    PreparedStatementCache(int capacity) {
+        this.capacity = capacity;
+        this.idle     = new LinkedHashMap<>(16, 0.75f, true);
+        this.hits     = new AtomicLong();
+        this.misses   = new AtomicLong();
+    }
+
+    /**
+     * Returns {@code true} if this cache retains any statements.
+     *
+     * @return {@code true} if enabled, else {@code false}
+     */
+    boolean isEnabled() {
+        return capacity > 0;
+    }
+
+    /**
+     * Removes and returns an idle statement for the given key, or returns
+     * {@code null} if there is none.
+     *
+     * @param key  the statement key
+     * @return     the cached statement or {@code null}
+     */
+    synchronized PreparedStatement acquire(Key key) {
+        final PreparedStatement statement = idle.remove(key);
+        if (statement == null) {
+            misses.incrementAndGet();
+        } else {
+            hits.incrementAndGet();
+        }
+        return statement;
+    }
+
+    /**
+     * Returns a statement to the cache so that it can be reused. If the cache
+     * is closed or already holds an idle statement for the same key, the
+     * statement is closed instead.
+     *
+     * @param key        the statement key
+     * @param statement  the statement to return
+     */
+    void release(Key key, PreparedStatement statement) {
+        requireNonNull(key);
+        requireNonNull(statement);
+        final List<PreparedStatement> toClose = new ArrayList<>(1);
+
+        synchronized (this) {
+            if (closed || idle.containsKey(key)) {
+                toClose.add(statement);
+            } else {
+                idle.put(key, statement);
+                final Iterator<PreparedStatement> it = idle.values().iterator();
+                while (idle.size() > capacity && it.hasNext()) {
+                    toClose.add(it.next());
+                    it.remove();
+                }
+            }
+        }
+
+        toClose.forEach(PreparedStatementCache::closeSilently);
+    }
+
+    /**
+     * Closes all idle statements. Statements that are released after this
+     * method has been called are closed directly.
+     */
+    void close() {
+        final List<PreparedStatement> toClose;
+        synchronized (this) {
+            closed = true;
+            toClose = new ArrayList<>(idle.values());
+            idle.clear();
+        }
+        toClose.forEach(PreparedStatementCache::closeSilently);
+    }
+
+    synchronized int size() {
+        return idle.size();
+    }
+
+    long getHits() {
+        return hits.get();
+    }
+
+    long getMisses() {
+        return misses.get();
+    }
+
+    private static void closeSilently(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (final SQLException ex) {
+            LOGGER_CONNECTION.warn(ex, "Unable to close cached statement.");
+        }
+    }
+
+    /**
+     * The identity of a prepared statement in the cache.
+     */
+    static final class Key {
+
+        private final String sql;
+        private final int resultSetType;
+        private final int resultSetConcurrency;
+        private final int autoGeneratedKeys;
+
+        Key(String sql, int resultSetType, int resultSetConcurrency, int autoGeneratedKeys) {
+            this.sql                  = requireNonNull(sql);
+            this.resultSetType        = resultSetType;
+            this.resultSetConcurrency = resultSetConcurrency;
+            this.autoGeneratedKeys    = autoGeneratedKeys;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+
+            final Key that = (Key) o;
+            return resultSetType == that.resultSetType
+                && resultSetConcurrency == that.resultSetConcurrency
+                && autoGeneratedKeys == that.autoGeneratedKeys
+                && sql.equals(that.sql);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = sql.hashCode();
+            result = 31 * result + resultSetType;
+            result = 31 * result + resultSetConcurrency;
+            result = 31 * result + autoGeneratedKeys;
+            return result;
+        }
+
+        @Override
+        public String toString() {
+            return sql;
+        }
+    }
+}
@@ -16,6 +16,7 @@
  */
 package com.speedment.runtime.core.internal.stream.builder.action.reference;
 
+import com.speedment.runtime.core.internal.stream.builder.action.trait.HasMapper;
 import com.speedment.runtime.core.stream.action.Action;
 
 import java.util.function.Function;
@@ -30,10 +31,18 @@ import static java.util.Objects.requireNonNull;
  * @param <T> the input type of the stream elements
  * @param <R> the resulting type of the stream elements
  */
-public final class FlatMapAction<T, R> extends Action<Stream<T>, Stream<R>> {
+public final class FlatMapAction<T, R> extends Action<Stream<T>, Stream<R>> implements HasMapper<Function<? super T, ? extends Stream<? extends R>>> {
+
+    private final Function<? super T, ? extends Stream<? extends R>> mapper;
 
     public FlatMapAction(Function<? super T, ? extends Stream<? extends R>> mapper) {
         super(s -> s.flatMap(requireNonNull(mapper)), Stream.class, FLAT_MAP);
+        this.mapper = mapper;
+    }
+
+    @Override
+    public Function<? super T, ? extends Stream<? extends R>> getMapper() {
+        return mapper;
     }
 
 }
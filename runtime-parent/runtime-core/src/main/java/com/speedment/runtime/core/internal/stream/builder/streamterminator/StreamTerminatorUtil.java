@@ -118,6 +118,64 @@ public final class StreamTerminatorUtil {
         return false;
     }
 
+    /**
+     * Returns the parts of the given predicate that can be rendered as SQL
+     * and that must hold for the predicate to hold. If the predicate contains
+     * only field predicates, the predicate itself is returned. If it is an AND
+     * combination, the renderable conjuncts are collected recursively. Any
+     * other predicate yields an empty list.
+     *
+     * @param <ENTITY>   the entity type
+     * @param predicate  to examine
+     * @return the SQL renderable conjuncts of the given predicate
+     */
+    @SuppressWarnings("unchecked")
+    public static <ENTITY> List<Predicate<ENTITY>> renderableConjuncts(Predicate<ENTITY> predicate) {
+        requireNonNull(predicate);
+        if (isContainingOnlyFieldPredicate(predicate)) {
+            return Collections.singletonList(predicate);
+        }
+        if (isAndCombinedPredicate(predicate)) {
+            return ((CombinedPredicate<ENTITY>) predicate).stream()
+                .map(p -> (Predicate<ENTITY>) p)
+                .flatMap(p -> StreamTerminatorUtil.renderableConjuncts(p).stream())
+                .collect(toList());
+        }
+        return Collections.emptyList();
+    }
+
+    /**
+     * Returns the part of the given predicate that remains to be evaluated
+     * once all its {@link #renderableConjuncts(Predicate) renderable
+     * conjuncts} have been rendered as SQL, or {@code null} if nothing
+     * remains.
+     *
+     * @param <ENTITY>   the entity type
+     * @param predicate  to examine
+     * @return the residual predicate, or {@code null} if nothing remains
+     */
+    @SuppressWarnings("unchecked")
+    public static <ENTITY> Predicate<ENTITY> residualPredicate(Predicate<ENTITY> predicate) {
+        requireNonNull(predicate);
+        if (isContainingOnlyFieldPredicate(predicate)) {
+            return null;
+        }
+        if (isAndCombinedPredicate(predicate)) {
+            return ((CombinedPredicate<ENTITY>) predicate).stream()
+                .map(p -> (Predicate<ENTITY>) p)
+                .map(StreamTerminatorUtil::residualPredicate)
+                .filter(Objects::nonNull)
+                .reduce(Predicate::and)
+                .orElse(null);
+        }
+        return predicate;
+    }
+
+    private static boolean isAndCombinedPredicate(Predicate<?> predicate) {
+        return predicate instanceof CombinedPredicate
+            && ((CombinedPredicate<?>) predicate).getType() == CombinedPredicate.Type.AND;
+    }
+
     public static boolean isSortedActionWithFieldPredicate(Action<?, ?> action) {
         if (action instanceof SortedComparatorAction) {
             final SortedComparatorAction<?> sortedComparatorAction = (SortedComparatorAction) action;
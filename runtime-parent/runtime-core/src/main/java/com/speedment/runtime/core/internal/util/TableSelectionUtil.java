@@ -0,0 +1,75 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.util;
+
+import com.speedment.runtime.config.identifier.TableIdentifier;
+
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static com.speedment.runtime.core.util.StaticClassUtil.instanceNotAllowed;
+import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.toSet;
+
+/**
+ * Utility methods for selecting tables using a configuration parameter with
+ * comma separated table names. Every name can be given either as
+ * {@code "table"}, {@code "schema.table"} or {@code "dbms.schema.table"}.
+ *
+ * @since  3.0.20
+ */
+public final class TableSelectionUtil {
+
+    /**
+     * Parses a comma separated list of table names.
+     *
+     * @param names  the names, or {@code null}
+     * @return       the set of trimmed, non-empty names
+     */
+    public static Set<String> parse(String names) {
+        return Stream.of(names == null ? "" : names)
+            .flatMap(s -> Stream.of(s.split(",")))
+            .map(String::trim)
+            .filter(s -> !s.isEmpty())
+            .collect(toSet());
+    }
+
+    /**
+     * Returns {@code true} if the given set of names is empty or if it
+     * contains a name of the given table.
+     *
+     * @param names    the selected names
+     * @param tableId  the table
+     * @return         if the table is selected
+     */
+    public static boolean isSelected(Set<String> names, TableIdentifier<?> tableId) {
+        requireNonNull(names);
+        requireNonNull(tableId);
+        return names.isEmpty()
+            || names.contains(tableId.getTableName())
+            || names.contains(tableId.getSchemaName() + "."
+                + tableId.getTableName())
+            || names.contains(tableId.getDbmsName() + "."
+                + tableId.getSchemaName() + "."
+                + tableId.getTableName());
+    }
+
+    /**
+     * Utility classes should not be instantiated.
+     */
+    private TableSelectionUtil() { instanceNotAllowed(getClass()); }
+}
@@ -26,11 +26,16 @@ import com.speedment.runtime.core.component.PersistenceComponent;
 import com.speedment.runtime.core.component.ProjectComponent;
 import com.speedment.runtime.core.component.StreamSupplierComponent;
 import com.speedment.runtime.core.stream.parallel.ParallelStrategy;
+import com.speedment.runtime.field.Field;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
 import java.util.stream.Stream;
 
 import static com.speedment.common.injector.State.INITIALIZED;
 import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.toList;
 
 /**
  * An abstract base implementation of all {@link Manager Managers}. 
@@ -56,6 +61,8 @@ public abstract class AbstractManager<ENTITY> implements Manager<ENTITY> {
     private Persister<ENTITY> persister;
     private Updater<ENTITY> updater;
     private Remover<ENTITY> remover;
+    private Merger<ENTITY> merger;
+    private volatile List<Field<ENTITY>> primaryKeyFieldList;
 
     protected AbstractManager() {}
 
@@ -78,6 +85,7 @@ public abstract class AbstractManager<ENTITY> implements Manager<ENTITY> {
         this.persister = persistenceComponent.persister(tableId);
         this.updater   = persistenceComponent.updater(tableId);
         this.remover   = persistenceComponent.remover(tableId);
+        this.merger    = persistenceComponent.merger(tableId);
     }
 
     /**
@@ -108,6 +116,20 @@ public abstract class AbstractManager<ENTITY> implements Manager<ENTITY> {
         );
     }
 
+    @Override
+    public Optional<ENTITY> findByPrimaryKey(Object... primaryKeyValues) {
+        List<Field<ENTITY>> fields = primaryKeyFieldList;
+        if (fields == null) {
+            primaryKeyFieldList = fields = primaryKeyFields().collect(toList());
+        }
+
+        return streamSupplierComponent.findByPrimaryKey(
+            getTableIdentifier(),
+            fields,
+            Arrays.asList(primaryKeyValues)
+        );
+    }
+
     @Override
     public Persister<ENTITY> persister() {
         return persister;
@@ -122,4 +144,9 @@ public abstract class AbstractManager<ENTITY> implements Manager<ENTITY> {
     public Remover<ENTITY> remover() {
         return remover;
     }
+
+    @Override
+    public Merger<ENTITY> merger() {
+        return merger;
+    }
 }
\ No newline at end of file
@@ -90,6 +90,11 @@ public abstract class AbstractViewManager<ENTITY> implements Manager<ENTITY> {
         throw readonlyException();
     }
 
+    @Override
+    public Merger<ENTITY> merger() {
+        throw readonlyException();
+    }
+
     private RuntimeException readonlyException() {
         return new UnsupportedOperationException(format(
             "Manager %s is based on a VIEW Table and is therefore read-only.",
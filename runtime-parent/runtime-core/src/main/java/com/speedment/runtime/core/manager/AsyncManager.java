@@ -0,0 +1,149 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.manager;
+
+import com.speedment.runtime.core.internal.manager.AsyncManagerImpl;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.stream.Collector;
+import java.util.stream.Stream;
+
+/**
+ * An asynchronous facade of a {@link Manager}. All operations are executed
+ * using a given executor and the results are returned as
+ * {@code CompletableFuture}s so that the calling thread is never blocked on
+ * the database.
+ * <p>
+ * Since the executor threads are blocked on JDBC calls, the executor should
+ * be dedicated to database operations and bounded to about the size of the
+ * connection pool. If the executor rejects an operation, the returned future
+ * completes exceptionally with the {@code RejectedExecutionException}.
+ *
+ * @param <ENTITY> the entity type
+ *
+ * @since 3.0.20
+ */
+public interface AsyncManager<ENTITY> {
+
+    /**
+     * Returns the underlying manager.
+     *
+     * @return the underlying manager
+     */
+    Manager<ENTITY> getManager();
+
+    /**
+     * Persists the given entity asynchronously.
+     *
+     * @param entity to persist
+     * @return a future of the persisted entity
+     *
+     * @see Manager#persist(Object)
+     */
+    CompletableFuture<ENTITY> persist(ENTITY entity);
+
+    /**
+     * Updates the given entity asynchronously.
+     *
+     * @param entity to update
+     * @return a future of the updated entity
+     *
+     * @see Manager#update(Object)
+     */
+    CompletableFuture<ENTITY> update(ENTITY entity);
+
+    /**
+     * Removes the given entity asynchronously.
+     *
+     * @param entity to remove
+     * @return a future of the removed entity
+     *
+     * @see Manager#remove(Object)
+     */
+    CompletableFuture<ENTITY> remove(ENTITY entity);
+
+    /**
+     * Applies the given function to a new stream of all entities
+     * asynchronously and returns a future of the result. The stream is closed
+     * once the function has returned, so the function must not return the
+     * stream itself or anything that lazily depends on it.
+     *
+     * @param <R> the result type
+     * @param streamMapper to apply to the stream
+     * @return a future of the result of the function
+     */
+    <R> CompletableFuture<R> stream(Function<Stream<ENTITY>, R> streamMapper);
+
+    /**
+     * Collects all entities using the given collector asynchronously.
+     *
+     * @param <A> the intermediate accumulation type of the collector
+     * @param <R> the result type
+     * @param collector to use
+     * @return a future of the collected result
+     */
+    default <A, R> CompletableFuture<R> collect(Collector<? super ENTITY, A, R> collector) {
+        return stream(s -> s.collect(collector));
+    }
+
+    /**
+     * Feeds the elements of the stream produced by the given function to the
+     * given consumer in batches of at most the given size. The next batch is
+     * read from the database only once the stage returned by the consumer
+     * for the previous batch has completed, so that a slow consumer slows
+     * down the reading of the result set rather than having the elements
+     * buffered in memory.
+     * <p>
+     * The returned future completes once all batches have been consumed, or
+     * exceptionally if the stream or the consumer fails.
+     * <p>
+     * No executor thread is occupied while a stage returned by the consumer is
+     * pending, so the consumer may use the executor of this manager. The 
+     * stream is kept open until the returned future completes.
+     *
+     * @param <T> the element type
+     * @param streamMapper to apply to the stream of all entities
+     * @param batchSize the maximum number of elements in a batch
+     * @param batchConsumer consumer of batches
+     * @return a future that completes once all batches have been consumed
+     *
+     * @throws IllegalArgumentException if the batch size is not positive
+     */
+    <T> CompletableFuture<Void> forEachBatch(
+        Function<Stream<ENTITY>, Stream<T>> streamMapper,
+        int batchSize,
+        Function<List<T>, ? extends CompletionStage<?>> batchConsumer
+    );
+
+    /**
+     * Creates and returns a new AsyncManager that executes the operations of
+     * the given manager using the given executor.
+     *
+     * @param <ENTITY> the entity type
+     * @param manager to wrap
+     * @param executor to execute operations with
+     * @return a new AsyncManager
+     */
+    static <ENTITY> AsyncManager<ENTITY> of(Manager<ENTITY> manager, Executor executor) {
+        return new AsyncManagerImpl<>(manager, executor);
+    }
+
+}
@@ -0,0 +1,72 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.manager;
+
+/**
+ * An entity that keeps track of which of its fields that have been modified
+ * since it was read from or last written to the database. When such an entity
+ * is updated, only the modified columns are written, and if no field has been
+ * modified, nothing is sent to the database at all.
+ * <p>
+ * Fields are identified by their position in {@link Manager#fields()}, so
+ * that bit {@code n} in {@link #dirtyFields()} is set if the {@code n}:th
+ * field has been modified. This means that at most {@link #MAX_FIELDS} fields
+ * can be tracked.
+ * <p>
+ * Entities implement this interface if dirty tracking has been enabled for
+ * their table when the code was generated.
+ *
+ * @since   3.0.20
+ */
+public interface DirtyTracked {
+
+    /**
+     * The maximum number of fields that can be tracked.
+     */
+    int MAX_FIELDS = Long.SIZE;
+
+    /**
+     * Returns a bit mask of the fields that have been modified, where bit
+     * {@code n} is set if the {@code n}:th field in {@link Manager#fields()}
+     * has been modified.
+     *
+     * @return  the modified fields
+     */
+    long dirtyFields();
+
+    /**
+     * Marks all fields as not modified. This is called once the entity has
+     * been read from or written to the database.
+     * <p>
+     * If the entity is written within a transaction, the fields are cleared
+     * directly when the statement is executed. Should the transaction be
+     * rolled back, the fields that were written are marked as modified again
+     * using {@link #markDirtyFields(long)}.
+     */
+    void clearDirtyFields();
+
+    /**
+     * Marks the specified fields as modified, in addition to the fields that
+     * are already marked. This is called if a transaction in which the
+     * fields were written is rolled back, so that they are written again by
+     * the next update.
+     *
+     * @param fields  bit mask of the fields to mark as modified
+     */
+    void markDirtyFields(long fields);
+
+}
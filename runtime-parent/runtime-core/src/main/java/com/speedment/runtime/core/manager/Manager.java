@@ -18,12 +18,15 @@ package com.speedment.runtime.core.manager;
 
 import com.speedment.runtime.config.identifier.TableIdentifier;
 import com.speedment.runtime.core.exception.SpeedmentException;
+import com.speedment.runtime.core.util.PrimaryKeyUtil;
 import com.speedment.runtime.field.Field;
 import com.speedment.runtime.field.method.BackwardFinder;
 import com.speedment.runtime.field.method.FindFrom;
 import com.speedment.runtime.field.trait.HasFinder;
 import com.speedment.runtime.field.trait.HasNullableFinder;
 
+import java.util.Arrays;
+import java.util.Optional;
 import java.util.function.Function;
 import java.util.stream.Stream;
 
@@ -184,6 +187,45 @@ public interface Manager<ENTITY> {
      */
     Stream<ENTITY> stream();
 
+    /**
+     * Returns the entity with the given primary key, or an empty
+     * {@code Optional} if there is no such entity. The values must be given
+     * in the same order as the fields are returned by
+     * {@link #primaryKeyFields()}.
+     * <p>
+     * This is equivalent to
+     * <pre>{@code
+     * stream()
+     *     .filter(Film.FILM_ID.equal(filmId))
+     *     .findAny();
+     * }</pre>
+     * but implementations may bypass the stream pipeline and run a
+     * precomputed query instead.
+     *
+     * @param primaryKeyValues  the values of the primary key columns
+     * @return                  the entity with the given primary key, if any
+     *
+     * @throws IllegalArgumentException  if the number of values does not
+     *                                   match the number of primary key
+     *                                   fields
+     * @throws SpeedmentException        if an error occurs when querying the
+     *                                   underlying database
+     *
+     * @since 3.0.20
+     */
+    default Optional<ENTITY> findByPrimaryKey(Object... primaryKeyValues) {
+        @SuppressWarnings("unchecked")
+        final Field<ENTITY>[] fields = primaryKeyFields().toArray(Field[]::new);
+
+        try (final Stream<ENTITY> stream = stream()) {
+            return PrimaryKeyUtil.filterByKey(
+                stream,
+                Arrays.asList(fields),
+                Arrays.asList(primaryKeyValues)
+            ).findAny();
+        }
+    }
+
     /**
      * Persists the provided entity to the underlying database and returns a
      * potentially updated entity. If the persistence fails for any reason, an
@@ -280,6 +322,52 @@ public interface Manager<ENTITY> {
      */
     Remover<ENTITY> remover();
 
+    /**
+     * Inserts the provided entity into the underlying database or, if an
+     * entity with the same primary key already exists, updates the existing
+     * entity. This is done using a single statement, so no other thread can
+     * insert the same entity in between. If the merge fails for any reason,
+     * an unchecked {@link SpeedmentException} is thrown.
+     * <p>
+     * It is unspecified if the returned entity is the same provided entity
+     * instance or another entity instance. It is erroneous to assume either,
+     * so you should use only the returned entity after the method has been
+     * called.
+     * <p>
+     * Entities are uniquely identified by their primary key(s), so the
+     * primary key of the provided entity must be set.
+     *
+     * @param entity to merge
+     * @return an entity reflecting the result of the merged entity
+     *
+     * @throws SpeedmentException if the underlying database throws an exception
+     * (e.g. SQLException)
+     * @throws UnsupportedOperationException if the underlying database can not
+     * merge entities
+     * @since 3.0.20
+     */
+    default ENTITY merge(ENTITY entity) throws SpeedmentException {
+        return merger().apply(entity);
+    }
+
+    /**
+     * Returns a {@link Merger} that when its {@link Merger#apply(Object)}
+     * method is called, will produce the same result as {@link #merge(Object)}
+     * <p>
+     * The default implementation returns a {@code Merger} that throws an
+     * {@code UnsupportedOperationException}.
+     *
+     * @return a Merger
+     * @since 3.0.20
+     */
+    default Merger<ENTITY> merger() {
+        return entity -> {
+            throw new UnsupportedOperationException(
+                "Manager " + getClass().getSimpleName() + " can not merge entities."
+            );
+        };
+    }
+
     /**
      * Returns a Function that, when it is applied, will produce an equivalent
      * result as if {@link #finderByNullable(HasNullableFinder)} was called.
@@ -0,0 +1,81 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.manager;
+
+import com.speedment.runtime.core.exception.SpeedmentException;
+
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+/**
+ * An action that takes an entity and either inserts it into a data store or,
+ * if an entity with the same primary key already exists there, updates the
+ * existing entity. This is done in a single operation, so that no other
+ * thread can insert the same entity in between. This interface extends the
+ * standard {@code UnaryOperator}- and {@code Consumer}-interfaces so that it
+ * can be used inside a {@code Stream}.
+ * 
+ * @param <ENTITY>  the entity type
+ * 
+ * @since   3.0.20
+ */
+@FunctionalInterface
+public interface Merger<ENTITY> extends UnaryOperator<ENTITY>, Consumer<ENTITY> {
+
+    /**
+     * Inserts or updates the entity in the data store, returning the same or
+     * a different entity.
+     * 
+     * @param entity  the entity to merge
+     * @return        the merged entity (same instance or new is not defined)
+     * 
+     * @throws SpeedmentException  if merging the entity failed
+     */
+    @Override
+    ENTITY apply(ENTITY entity) throws SpeedmentException;
+
+    /**
+     * Inserts or updates the entity in the data store. The specified instance
+     * might be modified by this method in some implementations.
+     * 
+     * @param entity  the entity to merge
+     * 
+     * @throws SpeedmentException  if merging the entity failed
+     */
+    @Override
+    default void accept(ENTITY entity) {
+        apply(entity);
+    }
+
+    /**
+     * Inserts or updates all the entities of the specified stream in the data
+     * store. Implementations may send the entities to the data store in
+     * batches to reduce the number of round-trips. The default implementation
+     * will merge the entities one by one using {@link #apply(Object)}.
+     * <p>
+     * This method is a terminal operation on the specified stream.
+     * 
+     * @param entities  the entities to merge
+     * 
+     * @throws SpeedmentException  if merging any of the entities failed
+     */
+    default void mergeAll(Stream<? extends ENTITY> entities) {
+        entities.forEachOrdered(this::apply);
+    }
+
+}
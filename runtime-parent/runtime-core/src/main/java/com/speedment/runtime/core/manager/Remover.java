@@ -20,6 +20,7 @@ import com.speedment.runtime.core.exception.SpeedmentException;
 
 import java.util.function.Consumer;
 import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
 
 /**
  * An action that takes an entity and removes it from a data store. This 
@@ -58,4 +59,22 @@ public interface Remover<ENTITY> extends UnaryOperator<ENTITY>, Consumer<ENTITY>
     default void accept(ENTITY entity) {
         apply(entity);
     }
-}
\ No newline at end of file
+
+    /**
+     * Removes all the entities of the specified stream from the data store.
+     * Implementations may send the entities to the data store in batches to
+     * reduce the number of round-trips. The default implementation will remove
+     * the entities one by one using {@link #apply(Object)}.
+     * <p>
+     * This method is a terminal operation on the specified stream.
+     * 
+     * @param entities  the entities to remove
+     * 
+     * @throws SpeedmentException  if removing any of the entities failed
+     * @since  3.0.20
+     */
+    default void removeAll(Stream<? extends ENTITY> entities) {
+        entities.forEachOrdered(this::apply);
+    }
+
+}
@@ -20,6 +20,7 @@ import com.speedment.runtime.core.exception.SpeedmentException;
 
 import java.util.function.Consumer;
 import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
 
 /**
  * An action that takes an entity and updates it in a data store. This 
@@ -59,4 +60,21 @@ public interface Updater<ENTITY> extends UnaryOperator<ENTITY>, Consumer<ENTITY>
         apply(entity);
     }
 
+    /**
+     * Updates all the entities of the specified stream in the data store.
+     * Implementations may send the entities to the data store in batches to
+     * reduce the number of round-trips. The default implementation will update
+     * the entities one by one using {@link #apply(Object)}.
+     * <p>
+     * This method is a terminal operation on the specified stream.
+     * 
+     * @param entities  the entities to update
+     * 
+     * @throws SpeedmentException  if updating any of the entities failed
+     * @since  3.0.20
+     */
+    default void updateAll(Stream<? extends ENTITY> entities) {
+        entities.forEachOrdered(this::apply);
+    }
+
 }
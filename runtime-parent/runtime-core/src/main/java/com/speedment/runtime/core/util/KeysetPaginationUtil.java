@@ -0,0 +1,219 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.util;
+
+import com.speedment.runtime.core.manager.Manager;
+import com.speedment.runtime.field.trait.HasComparableOperators;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static com.speedment.runtime.core.util.StaticClassUtil.instanceNotAllowed;
+import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Utility methods for keyset (seek) pagination over a {@link Manager}.
+ * <p>
+ * Instead of skipping over a number of rows using {@code OFFSET}, which forces
+ * the database to read and discard all skipped rows, each page is retrieved
+ * with a predicate on the last key that was seen. A page is then rendered as
+ * {@code WHERE key > ? ORDER BY key LIMIT ?}, which is equally fast for all
+ * pages if the key is indexed.
+ * <p>
+ * The key field must be unique and must not contain {@code null} values.
+ * Typically, the primary key field of a table is used.
+ *
+ * @since   3.0.20
+ */
+public final class KeysetPaginationUtil {
+
+    /**
+     * Returns a stream of at most {@code pageSize} entities that have a key
+     * greater than the given key, ordered by the key. If the given key is
+     * {@code null}, the first page is returned.
+     *
+     * @param <ENTITY>  the entity type
+     * @param <V>       the key type
+     * @param manager   the manager to stream from
+     * @param keyField  the unique field to order and seek by
+     * @param after     the last key of the previous page, or {@code null}
+     * @param pageSize  the maximum number of entities in the page
+     * @return          a stream of the entities in the page
+     *
+     * @throws IllegalArgumentException  if the key field is not unique or if
+     *                                   the page size is not positive
+     */
+    public static <ENTITY, V extends Comparable<? super V>> Stream<ENTITY> page(
+            Manager<ENTITY> manager,
+            HasComparableOperators<ENTITY, V> keyField,
+            V after,
+            long pageSize) {
+
+        requireNonNull(manager);
+        requireKeyField(keyField);
+        requirePositive(pageSize);
+
+        final Stream<ENTITY> stream = after == null
+            ? manager.stream()
+            : manager.stream().filter(keyField.greaterThan(after));
+
+        return stream
+            .sorted(keyField.comparator())
+            .limit(pageSize);
+    }
+
+    /**
+     * Returns a stream of at most {@code pageSize} entities that come after
+     * the given entity when ordered by the key field. This is a convenience
+     * method for paging on from the last entity of a previous page.
+     *
+     * @param <ENTITY>  the entity type
+     * @param <V>       the key type
+     * @param manager   the manager to stream from
+     * @param keyField  the unique field to order and seek by
+     * @param last      the last entity of the previous page
+     * @param pageSize  the maximum number of entities in the page
+     * @return          a stream of the entities in the page
+     *
+     * @throws IllegalArgumentException  if the key field is not unique, if
+     *                                   the key of the entity is {@code null}
+     *                                   or if the page size is not positive
+     */
+    public static <ENTITY, V extends Comparable<? super V>> Stream<ENTITY> pageAfter(
+            Manager<ENTITY> manager,
+            HasComparableOperators<ENTITY, V> keyField,
+            ENTITY last,
+            long pageSize) {
+
+        requireNonNull(last);
+        final V key = keyOf(keyField, last);
+        if (key == null) {
+            throw new IllegalArgumentException(
+                "The key field " + keyField.identifier().getColumnName() +
+                " of the entity " + last + " is null."
+            );
+        }
+        return page(manager, keyField, key, pageSize);
+    }
+
+    /**
+     * Returns a stream of all entities in the table, ordered by the key. The
+     * entities are read lazily in chunks of at most {@code chunkSize}
+     * entities, one keyset page query per chunk. No query will ever use
+     * {@code OFFSET}, and no database cursor is held open between chunks.
+     * <p>
+     * Entities inserted or removed concurrently with the scan may or may not
+     * be included, but no entity that exists throughout the whole scan is
+     * skipped or returned twice.
+     *
+     * @param <ENTITY>   the entity type
+     * @param <V>        the key type
+     * @param manager    the manager to stream from
+     * @param keyField   the unique field to order and seek by
+     * @param chunkSize  the maximum number of entities per query
+     * @return           a stream of all entities, ordered by the key
+     *
+     * @throws IllegalArgumentException  if the key field is not unique or if
+     *                                   the chunk size is not positive
+     */
+    public static <ENTITY, V extends Comparable<? super V>> Stream<ENTITY> chunkedScan(
+            Manager<ENTITY> manager,
+            HasComparableOperators<ENTITY, V> keyField,
+            int chunkSize) {
+
+        requireNonNull(manager);
+        requireKeyField(keyField);
+        requirePositive(chunkSize);
+
+        final Iterator<List<ENTITY>> chunks = new Iterator<List<ENTITY>>() {
+
+            private List<ENTITY> next;
+            private V lastKey;
+            private boolean exhausted;
+
+            @Override
+            public boolean hasNext() {
+                if (next == null && !exhausted) {
+                    try (final Stream<ENTITY> page = page(manager, keyField, lastKey, chunkSize)) {
+                        final List<ENTITY> chunk = page.collect(toList());
+                        exhausted = chunk.size() < chunkSize;
+                        if (!chunk.isEmpty()) {
+                            lastKey = keyOf(keyField, chunk.get(chunk.size() - 1));
+                            next = chunk;
+                        }
+                    }
+                }
+                return next != null;
+            }
+
+            @Override
+            public List<ENTITY> next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                final List<ENTITY> result = next;
+                next = null;
+                return result;
+            }
+        };
+
+        return StreamSupport.stream(
+            Spliterators.spliteratorUnknownSize(
+                chunks,
+                Spliterator.ORDERED | Spliterator.NONNULL
+            ),
+            false
+        ).flatMap(List::stream);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <ENTITY, V extends Comparable<? super V>> V keyOf(
+            HasComparableOperators<ENTITY, V> keyField, ENTITY entity) {
+        return (V) keyField.getter().apply(entity);
+    }
+
+    static void requireKeyField(HasComparableOperators<?, ?> keyField) {
+        requireNonNull(keyField);
+        if (!keyField.isUnique()) {
+            throw new IllegalArgumentException(
+                "The key field " + keyField.identifier().getColumnName() +
+                " is not unique. Keyset pagination requires a unique key."
+            );
+        }
+    }
+
+    static void requirePositive(long size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException(
+                "The size must be positive but was " + size + "."
+            );
+        }
+    }
+
+    /**
+     * Utility classes should not be instantiated.
+     */
+    private KeysetPaginationUtil() {
+        instanceNotAllowed(getClass());
+    }
+}
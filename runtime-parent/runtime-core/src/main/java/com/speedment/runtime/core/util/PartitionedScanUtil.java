@@ -0,0 +1,334 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.util;
+
+import com.speedment.runtime.core.manager.Manager;
+import com.speedment.runtime.field.IntField;
+import com.speedment.runtime.field.LongField;
+import com.speedment.runtime.field.trait.HasComparableOperators;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.LongFunction;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static com.speedment.runtime.core.util.KeysetPaginationUtil.requireKeyField;
+import static com.speedment.runtime.core.util.KeysetPaginationUtil.requirePositive;
+import static com.speedment.runtime.core.util.StaticClassUtil.instanceNotAllowed;
+import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Utility methods for scanning a whole table in parallel.
+ * <p>
+ * The table is split into a number of partitions by ranges of a unique key,
+ * typically the primary key. The returned parallel stream splits along those
+ * partitions, so that each partition is read by a separate query on a
+ * separate pooled connection. A parallel stream from
+ * {@link Manager#stream()} is, in contrast, always read using a single query.
+ * <p>
+ * The entities are not returned in any particular order.
+ *
+ * @since   3.0.20
+ */
+public final class PartitionedScanUtil {
+
+    /**
+     * The number of entities read by each query when a partition is read one
+     * entity at a time, for example by a short-circuiting operation.
+     */
+    static final int CHUNK_SIZE = 1_000;
+
+    /**
+     * Returns a parallel stream of all entities in the table, read using the
+     * given number of queries over equally wide ranges of the key between
+     * the current minimum and maximum key.
+     *
+     * @param <ENTITY>    the entity type
+     * @param manager     the manager to stream from
+     * @param keyField    the unique field to partition by
+     * @param partitions  the number of partitions
+     * @return            a parallel stream of all entities
+     *
+     * @throws IllegalArgumentException  if the key field is not unique or if
+     *                                   the number of partitions is not
+     *                                   positive
+     */
+    public static <ENTITY> Stream<ENTITY> partitionedScan(
+            Manager<ENTITY> manager,
+            IntField<ENTITY, ?> keyField,
+            int partitions) {
+
+        return partitionedScan(manager, keyField, partitions, key -> (int) key);
+    }
+
+    /**
+     * Returns a parallel stream of all entities in the table, read using the
+     * given number of queries over equally wide ranges of the key between
+     * the current minimum and maximum key.
+     *
+     * @param <ENTITY>    the entity type
+     * @param manager     the manager to stream from
+     * @param keyField    the unique field to partition by
+     * @param partitions  the number of partitions
+     * @return            a parallel stream of all entities
+     *
+     * @throws IllegalArgumentException  if the key field is not unique or if
+     *                                   the number of partitions is not
+     *                                   positive
+     */
+    public static <ENTITY> Stream<ENTITY> partitionedScan(
+            Manager<ENTITY> manager,
+            LongField<ENTITY, ?> keyField,
+            int partitions) {
+
+        return partitionedScan(manager, keyField, partitions, key -> key);
+    }
+
+    /**
+     * Returns a parallel stream of all entities in the table, read using one
+     * query per range between the given boundaries. This can be used with
+     * boundaries taken from a histogram of the key if the keys are not evenly
+     * distributed.
+     * <p>
+     * The first partition contains all keys less than the first boundary and
+     * the last partition contains all keys greater than or equal to the last
+     * boundary, so {@code n} boundaries give {@code n + 1} partitions.
+     *
+     * @param <ENTITY>    the entity type
+     * @param <V>         the key type
+     * @param manager     the manager to stream from
+     * @param keyField    the unique field to partition by
+     * @param boundaries  the ascending boundaries between partitions
+     * @return            a parallel stream of all entities
+     *
+     * @throws IllegalArgumentException  if the key field is not unique or if
+     *                                   the boundaries are not ascending
+     */
+    public static <ENTITY, V extends Comparable<? super V>> Stream<ENTITY> partitionedScan(
+            Manager<ENTITY> manager,
+            HasComparableOperators<ENTITY, V> keyField,
+            List<V> boundaries) {
+
+        requireNonNull(manager);
+        requireKeyField(keyField);
+        requireNonNull(boundaries);
+        for (int i = 1; i < boundaries.size(); i++) {
+            if (boundaries.get(i - 1).compareTo(boundaries.get(i)) >= 0) {
+                throw new IllegalArgumentException(
+                    "The boundaries must be strictly ascending: " + boundaries
+                );
+            }
+        }
+
+        final List<Predicate<ENTITY>> ranges = new ArrayList<>(boundaries.size() + 1);
+        for (int i = 0; i <= boundaries.size(); i++) {
+            if (boundaries.isEmpty()) {
+                ranges.add(entity -> true);
+            } else if (i == 0) {
+                ranges.add(keyField.lessThan(boundaries.get(0)));
+            } else if (i == boundaries.size()) {
+                ranges.add(keyField.greaterOrEqual(boundaries.get(i - 1)));
+            } else {
+                ranges.add(keyField.between(boundaries.get(i - 1), boundaries.get(i)));
+            }
+        }
+
+        return StreamSupport.stream(
+            new PartitionSpliterator<>(manager, keyField, ranges, 0, ranges.size()),
+            true
+        );
+    }
+
+    private static <ENTITY, V extends Comparable<? super V>> Stream<ENTITY> partitionedScan(
+            Manager<ENTITY> manager,
+            HasComparableOperators<ENTITY, V> keyField,
+            int partitions,
+            LongFunction<V> toKey) {
+
+        requireNonNull(manager);
+        requireKeyField(keyField);
+        requirePositive(partitions);
+
+        final Optional<Long> min = extreme(manager, keyField, keyField.comparator());
+        final Optional<Long> max = extreme(manager, keyField, keyField.comparator().reversed());
+        if (!min.isPresent() || !max.isPresent()) {
+            return partitionedScan(manager, keyField, Collections.emptyList());
+        }
+
+        final long lo = min.get();
+        final long width = max.get() - lo + 1;
+        final List<V> boundaries = new ArrayList<>(partitions - 1);
+        for (int i = 1; i < partitions; i++) {
+            final long boundary = lo + (long) ((double) width * i / partitions);
+            final V key = toKey.apply(boundary);
+            if (boundary > lo && (boundaries.isEmpty() || boundaries.get(boundaries.size() - 1).compareTo(key) < 0)) {
+                boundaries.add(key);
+            }
+        }
+        return partitionedScan(manager, keyField, boundaries);
+    }
+
+    private static <ENTITY, V extends Comparable<? super V>> Optional<Long> extreme(
+            Manager<ENTITY> manager,
+            HasComparableOperators<ENTITY, V> keyField,
+            Comparator<ENTITY> comparator) {
+
+        try (final Stream<ENTITY> stream = manager.stream()) {
+            return stream.min(comparator)
+                .map(entity -> ((Number) keyField.getter().apply(entity)).longValue());
+        }
+    }
+
+    /**
+     * A Spliterator that splits along partitions of the key range. Each
+     * partition is read using a separate query.
+     */
+    private static final class PartitionSpliterator<ENTITY, V extends Comparable<? super V>>
+    implements Spliterator<ENTITY> {
+
+        private final Manager<ENTITY> manager;
+        private final HasComparableOperators<ENTITY, V> keyField;
+        private final List<Predicate<ENTITY>> ranges;
+        private final int fence;
+        private int index;
+
+        // The state of a partition that is read one entity at a time
+        private Iterator<ENTITY> chunk;
+        private V lastKey;
+        private boolean exhausted;
+
+        private PartitionSpliterator(
+                Manager<ENTITY> manager,
+                HasComparableOperators<ENTITY, V> keyField,
+                List<Predicate<ENTITY>> ranges,
+                int origin,
+                int fence) {
+
+            this.manager  = manager;
+            this.keyField = keyField;
+            this.ranges   = ranges;
+            this.index    = origin;
+            this.fence    = fence;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super ENTITY> action) {
+            requireNonNull(action);
+            while (index < fence) {
+                if (chunk != null && chunk.hasNext()) {
+                    final ENTITY entity = chunk.next();
+                    lastKey = keyOf(entity);
+                    action.accept(entity);
+                    return true;
+                }
+                if (exhausted) {
+                    nextPartition();
+                } else {
+                    readChunk();
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super ENTITY> action) {
+            requireNonNull(action);
+            if (index < fence && chunk != null) {
+                // Finish the partition that was partly read using tryAdvance
+                while (chunk.hasNext()) {
+                    final ENTITY entity = chunk.next();
+                    lastKey = keyOf(entity);
+                    action.accept(entity);
+                }
+                if (!exhausted && lastKey != null) {
+                    try (final Stream<ENTITY> stream = manager.stream()) {
+                        stream.filter(ranges.get(index))
+                            .filter(keyField.greaterThan(lastKey))
+                            .forEach(action);
+                    }
+                }
+                nextPartition();
+            }
+            for (; index < fence; index++) {
+                try (final Stream<ENTITY> stream = manager.stream()) {
+                    stream.filter(ranges.get(index)).forEach(action);
+                }
+            }
+        }
+
+        @Override
+        public Spliterator<ENTITY> trySplit() {
+            if (lastKey != null || chunk != null || fence - index < 2) {
+                return null;
+            }
+            final int mid = (index + fence) >>> 1;
+            final Spliterator<ENTITY> prefix = new PartitionSpliterator<>(manager, keyField, ranges, index, mid);
+            index = mid;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return Long.MAX_VALUE;
+        }
+
+        @Override
+        public int characteristics() {
+            return NONNULL;
+        }
+
+        private void readChunk() {
+            try (final Stream<ENTITY> stream = manager.stream()) {
+                final Stream<ENTITY> range = stream.filter(ranges.get(index));
+                final List<ENTITY> entities = (lastKey == null ? range : range.filter(keyField.greaterThan(lastKey)))
+                    .sorted(keyField.comparator())
+                    .limit(CHUNK_SIZE)
+                    .collect(toList());
+                exhausted = entities.size() < CHUNK_SIZE;
+                chunk = entities.iterator();
+            }
+        }
+
+        private void nextPartition() {
+            index++;
+            chunk = null;
+            lastKey = null;
+            exhausted = false;
+        }
+
+        @SuppressWarnings("unchecked")
+        private V keyOf(ENTITY entity) {
+            return (V) keyField.getter().apply(entity);
+        }
+    }
+
+    /**
+     * Utility classes should not be instantiated.
+     */
+    private PartitionedScanUtil() {
+        instanceNotAllowed(getClass());
+    }
+}
@@ -0,0 +1,103 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.util;
+
+import com.speedment.runtime.field.Field;
+import com.speedment.runtime.field.trait.HasComparableOperators;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import static com.speedment.runtime.core.util.StaticClassUtil.instanceNotAllowed;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Utility methods for looking up entities by their primary key.
+ *
+ * @since  3.0.20
+ */
+public final class PrimaryKeyUtil {
+
+    /**
+     * Filters the given stream so that it only contains entities where the
+     * given fields have the given values. Fields that have comparable
+     * operators are filtered using field predicates so that the filter can be
+     * rendered as SQL.
+     *
+     * @param <ENTITY>  the entity type
+     * @param stream    the stream to filter
+     * @param fields    the key fields
+     * @param values    the key values, in the same order as the fields
+     * @return          the filtered stream
+     *
+     * @throws IllegalArgumentException  if the number of fields and values
+     *                                   differ
+     */
+    public static <ENTITY> Stream<ENTITY> filterByKey(
+            Stream<ENTITY> stream,
+            List<? extends Field<ENTITY>> fields,
+            List<?> values) {
+
+        requireNonNull(stream);
+        requireSameSize(fields, values);
+
+        Stream<ENTITY> result = stream;
+        for (int i = 0; i < fields.size(); i++) {
+            result = result.filter(equal(fields.get(i), values.get(i)));
+        }
+
+        return result;
+    }
+
+    /**
+     * Checks that there is exactly one value for every key field.
+     *
+     * @param fields  the key fields
+     * @param values  the key values
+     *
+     * @throws IllegalArgumentException  if the number of fields and values
+     *                                   differ
+     */
+    public static void requireSameSize(List<?> fields, List<?> values) {
+        requireNonNull(fields);
+        requireNonNull(values);
+        if (fields.size() != values.size()) {
+            throw new IllegalArgumentException(
+                "Expected " + fields.size() + " primary key value(s) but got "
+                + values.size() + "."
+            );
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <ENTITY> Predicate<ENTITY> equal(Field<ENTITY> field, Object value) {
+        if (field instanceof HasComparableOperators && value instanceof Comparable) {
+            @SuppressWarnings("rawtypes")
+            final HasComparableOperators comparable = (HasComparableOperators) field;
+            return (Predicate<ENTITY>) comparable.equal((Comparable) value);
+        } else {
+            return entity -> Objects.equals(field.getter().apply(entity), value);
+        }
+    }
+
+    /**
+     * Utility classes should not be instantiated.
+     */
+    private PrimaryKeyUtil() { instanceNotAllowed(getClass()); }
+}
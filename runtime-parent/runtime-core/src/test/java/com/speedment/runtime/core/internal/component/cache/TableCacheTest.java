@@ -0,0 +1,169 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component.cache;
+
+import com.speedment.runtime.config.identifier.TableIdentifier;
+import com.speedment.runtime.core.component.StreamSupplierComponent;
+import com.speedment.runtime.core.stream.parallel.ParallelStrategy;
+import com.speedment.runtime.field.Field;
+import com.speedment.runtime.test_support.MockEntity;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.*;
+
+public class TableCacheTest {
+
+    private static final TableIdentifier<MockEntity> TABLE =
+        MockEntity.ID.identifier().asTableIdentifier();
+    private static final List<Field<MockEntity>> PRIMARY_KEY =
+        Collections.singletonList(MockEntity.ID);
+    private static final long TTL = 1_000;
+
+    private AtomicInteger rows;
+    private AtomicInteger streams;
+    private AtomicInteger lookups;
+    private AtomicLong clock;
+    private TableCache<MockEntity> instance;
+
+    @Before
+    public void setUp() {
+        rows    = new AtomicInteger(10);
+        streams = new AtomicInteger();
+        lookups = new AtomicInteger();
+        clock   = new AtomicLong();
+        instance = newCache(100);
+    }
+
+    @Test
+    public void testStreamIsServedFromSnapshot() {
+        assertEquals(10, instance.stream().count());
+        assertEquals(10, instance.stream().count());
+        assertEquals(1, streams.get());
+    }
+
+    @Test
+    public void testStreamReturnsCopies() {
+        instance.stream().forEach(e -> e.setName("Changed"));
+        assertTrue(instance.stream().noneMatch(e -> "Changed".equals(e.getName())));
+    }
+
+    @Test
+    public void testSnapshotExpires() {
+        instance.stream().count();
+        clock.addAndGet(TTL * 1_000_000L);
+        instance.stream().count();
+        assertEquals(2, streams.get());
+    }
+
+    @Test
+    public void testInvalidate() {
+        instance.stream().count();
+        rows.set(5);
+        instance.invalidate(new MockEntity(1));
+        assertEquals(5, instance.stream().count());
+        assertEquals(2, streams.get());
+    }
+
+    @Test
+    public void testFindByPrimaryKeyUsesSnapshot() {
+        instance.stream().count();
+        assertEquals(Optional.of(3), instance.findByPrimaryKey(PRIMARY_KEY, Collections.singletonList(3)).map(MockEntity::getId));
+        assertFalse(instance.findByPrimaryKey(PRIMARY_KEY, Collections.singletonList(42)).isPresent());
+        assertEquals(0, lookups.get());
+    }
+
+    @Test
+    public void testFindByPrimaryKeyNormalizesValues() {
+        instance.stream().count();
+        assertEquals(Optional.of(3), instance.findByPrimaryKey(PRIMARY_KEY, Collections.singletonList(3L)).map(MockEntity::getId));
+        assertEquals(0, lookups.get());
+
+        instance = newCache(5);
+        instance.findByPrimaryKey(PRIMARY_KEY, Collections.singletonList(3));
+        assertEquals(Optional.of(3), instance.findByPrimaryKey(PRIMARY_KEY, Collections.singletonList(3L)).map(MockEntity::getId));
+        assertEquals(1, lookups.get());
+    }
+
+    @Test
+    public void testTooLargeTable() {
+        instance = newCache(5);
+        assertNull(instance.stream());
+        assertNull(instance.stream());
+        assertEquals(1, streams.get());
+
+        instance.findByPrimaryKey(PRIMARY_KEY, Collections.singletonList(3));
+        instance.findByPrimaryKey(PRIMARY_KEY, Collections.singletonList(3));
+        assertEquals(1, lookups.get());
+
+        instance.invalidate(new MockEntity(3));
+        instance.findByPrimaryKey(PRIMARY_KEY, Collections.singletonList(3));
+        assertEquals(2, lookups.get());
+    }
+
+    private TableCache<MockEntity> newCache(int maxSize) {
+        return new TableCache<>(
+            TABLE,
+            new CountingSource(),
+            PRIMARY_KEY,
+            e -> new MockEntity(e.getId()).setName(e.getName()),
+            TTL,
+            maxSize,
+            clock::get
+        );
+    }
+
+    private final class CountingSource implements StreamSupplierComponent {
+
+        @Override
+        public <ENTITY> Stream<ENTITY> stream(TableIdentifier<ENTITY> tableIdentifier, ParallelStrategy strategy) {
+            streams.incrementAndGet();
+            @SuppressWarnings("unchecked")
+            final Stream<ENTITY> result = (Stream<ENTITY>) entities().stream();
+            return result;
+        }
+
+        @Override
+        public <ENTITY> Optional<ENTITY> findByPrimaryKey(
+                TableIdentifier<ENTITY> tableIdentifier,
+                List<? extends Field<ENTITY>> primaryKeyFields,
+                List<?> primaryKeyValues) {
+
+            lookups.incrementAndGet();
+            @SuppressWarnings("unchecked")
+            final Optional<ENTITY> result = (Optional<ENTITY>) entities().stream()
+                .filter(e -> primaryKeyValues.get(0).equals(e.getId()))
+                .findAny();
+            return result;
+        }
+
+        private List<MockEntity> entities() {
+            return IntStream.range(0, rows.get())
+                .mapToObj(MockEntity::new)
+                .collect(toList());
+        }
+    }
+}
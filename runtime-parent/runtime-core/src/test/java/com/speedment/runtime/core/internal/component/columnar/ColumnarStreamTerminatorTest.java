@@ -0,0 +1,118 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component.columnar;
+
+import com.speedment.runtime.core.internal.stream.builder.ReferenceStreamBuilder;
+import com.speedment.runtime.core.internal.stream.builder.pipeline.PipelineImpl;
+import com.speedment.runtime.field.Field;
+import com.speedment.runtime.test_support.MockEntity;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.*;
+
+public class ColumnarStreamTerminatorTest {
+
+    private static final int ROWS = 100;
+
+    private List<MockEntity> entities;
+    private AtomicInteger created;
+    private ColumnarTable<MockEntity> table;
+
+    @Before
+    public void setUp() {
+        entities = IntStream.range(0, ROWS)
+            .mapToObj(i -> new MockEntity(i).setName(i % 10 == 0 ? null : "Name" + (i % 3)))
+            .collect(toList());
+
+        created = new AtomicInteger();
+        final List<Field<MockEntity>> fields = Arrays.asList(MockEntity.ID, MockEntity.NAME);
+        table = ColumnarTable.of(fields, entities, () -> {
+            created.incrementAndGet();
+            return new MockEntity(0);
+        });
+        created.set(0);
+    }
+
+    @Test
+    public void testFilterCountCreatesNoEntities() {
+        assertEquals(
+            entities.stream().filter(MockEntity.ID.greaterOrEqual(50)).count(),
+            stream().filter(MockEntity.ID.greaterOrEqual(50)).count()
+        );
+        assertEquals(1, created.get()); // Probe only
+    }
+
+    @Test
+    public void testMapToIntSumCreatesNoEntities() {
+        assertEquals(
+            entities.stream().filter(MockEntity.ID.between(10, 20)).mapToInt(MockEntity.ID.getter()).sum(),
+            stream().filter(MockEntity.ID.between(10, 20)).mapToInt(MockEntity.ID.getter()).sum()
+        );
+        assertEquals(1, created.get()); // Probe only
+    }
+
+    @Test
+    public void testOnlyMatchingRowsAreCreated() {
+        final List<Integer> ids = stream()
+            .filter(MockEntity.ID.in(3, 5, 7))
+            .map(MockEntity::getId)
+            .collect(toList());
+
+        assertEquals(Arrays.asList(3, 5, 7), ids);
+        assertEquals(1 + 3, created.get());
+    }
+
+    @Test
+    public void testStringPredicates() {
+        assertFilter(MockEntity.NAME.equal("Name1"));
+        assertFilter(MockEntity.NAME.isNull());
+        assertFilter(MockEntity.NAME.notEqual("Name1"));
+        assertFilter(MockEntity.NAME.startsWith("Name"));
+        assertFilter(MockEntity.NAME.equal("Name1").or(MockEntity.ID.lessThan(5)));
+        assertFilter(MockEntity.NAME.isNotNull().and(MockEntity.ID.notBetween(20, 80)));
+    }
+
+    @Test
+    public void testOtherPredicatesAreKept() {
+        assertEquals(
+            entities.stream().filter(e -> e.getId() % 2 == 0).filter(MockEntity.ID.lessThan(10)).count(),
+            stream().filter(e -> e.getId() % 2 == 0).filter(MockEntity.ID.lessThan(10)).count()
+        );
+    }
+
+    private void assertFilter(java.util.function.Predicate<MockEntity> predicate) {
+        assertEquals(
+            entities.stream().filter(predicate).map(MockEntity::getId).collect(toList()),
+            stream().filter(predicate).map(MockEntity::getId).collect(toList())
+        );
+    }
+
+    private Stream<MockEntity> stream() {
+        return new ReferenceStreamBuilder<>(
+            new PipelineImpl<>(() -> table.stream(table.allRows())),
+            new ColumnarStreamTerminator<>(table)
+        );
+    }
+}
@@ -0,0 +1,354 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component.sql;
+
+import com.speedment.common.mapstream.MapStream;
+import com.speedment.runtime.config.Column;
+import com.speedment.runtime.config.Dbms;
+import com.speedment.runtime.config.Project;
+import com.speedment.runtime.config.Schema;
+import com.speedment.runtime.config.Table;
+import com.speedment.runtime.config.identifier.ColumnIdentifier;
+import com.speedment.runtime.config.identifier.TableIdentifier;
+import com.speedment.runtime.config.internal.ProjectImpl;
+import com.speedment.runtime.config.util.DocumentDbUtil;
+import com.speedment.runtime.core.db.AsynchronousQueryResult;
+import com.speedment.runtime.core.internal.component.resultset.ResultSetMapperComponentImpl;
+import com.speedment.runtime.core.internal.db.AsynchronousQueryResultImpl;
+import com.speedment.runtime.core.internal.stream.builder.action.ints.IntDistinctAction;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.DistinctAction;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.MapAction;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.MapToIntAction;
+import com.speedment.runtime.core.internal.stream.builder.pipeline.PipelineImpl;
+import com.speedment.runtime.core.stream.Pipeline;
+import com.speedment.runtime.core.stream.action.Action;
+import com.speedment.runtime.core.stream.parallel.ParallelStrategy;
+import com.speedment.runtime.field.ComparableField;
+import com.speedment.runtime.field.IntField;
+import com.speedment.runtime.field.StringField;
+import com.speedment.runtime.test_support.MockDbmsType;
+import com.speedment.runtime.typemapper.TypeMapper;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.*;
+
+public class FieldProjectorTest {
+
+    private static final TableIdentifier<Point> TABLE =
+        TableIdentifier.of("db", "schema", "point");
+
+    private static final IntField<Point, Integer> X = IntField.create(
+        ColumnIdentifier.of("db", "schema", "point", "x"),
+        Point::getX, Point::setX, TypeMapper.primitive(), false
+    );
+
+    private static final ComparableField<Point, Integer, Integer> Y = ComparableField.create(
+        ColumnIdentifier.of("db", "schema", "point", "y"),
+        Point::getY, Point::setY, TypeMapper.identity(), false
+    );
+
+    private static final IntField<Point, Integer> Z = IntField.create(
+        ColumnIdentifier.of("db", "schema", "point", "z"),
+        Point::getX, Point::setX, TypeMapper.primitive(), false
+    );
+
+    private static final StringField<Point, String> NAME = StringField.create(
+        ColumnIdentifier.of("db", "schema", "point", "name"),
+        Point::getName, Point::setName, TypeMapper.identity(), false
+    );
+
+    private static final IntField<Point, Integer> OTHER = IntField.create(
+        ColumnIdentifier.of("db", "schema", "other", "x"),
+        Point::getX, Point::setX, TypeMapper.primitive(), false
+    );
+
+    private static final String SELECT = "SELECT `x`,`y`,`z`,`name` FROM `schema`.`point`";
+
+    private FieldProjector<Point> instance;
+    private List<String> calls;
+
+    @Before
+    public void setUp() {
+        final Project project = project();
+        instance = new FieldProjector<>(
+            project,
+            DocumentDbUtil.referencedDbms(project, TABLE),
+            new MockDbmsType(),
+            DocumentDbUtil.referencedTable(project, TABLE),
+            Point.class,
+            SELECT,
+            "`schema`.`point`",
+            new ResultSetMapperComponentImpl()
+        );
+        calls = new ArrayList<>();
+    }
+
+    @Test
+    public void testProjectMapToInt() throws SQLException {
+        final AsynchronousQueryResult<Point> query = query(SELECT + " WHERE (`x` > ?)");
+        final Pipeline pipeline = instance.project(pipelineOf(new MapToIntAction<>(X.getter())), query);
+
+        assertTrue(pipeline.isEmpty());
+        assertEquals("SELECT `x` FROM `schema`.`point` WHERE (`x` > ?)", query.getSql());
+        assertEquals(7, query.getRsMapper().apply(resultSet(7)));
+        assertEquals(asList("getInt 1"), calls);
+    }
+
+    @Test
+    public void testProjectMapNullable() throws SQLException {
+        final AsynchronousQueryResult<Point> query = query(SELECT);
+        final Pipeline pipeline = instance.project(pipelineOf(new MapAction<>(Y.getter())), query);
+
+        assertTrue(pipeline.isEmpty());
+        assertEquals("SELECT `y` FROM `schema`.`point`", query.getSql());
+        assertNull(query.getRsMapper().apply(resultSet(null)));
+        assertEquals(asList("getInt 1", "wasNull"), calls);
+    }
+
+    @Test
+    public void testProjectMapString() throws SQLException {
+        final AsynchronousQueryResult<Point> query = query(SELECT);
+        instance.project(pipelineOf(new MapAction<>(NAME.getter())), query);
+
+        assertEquals("SELECT `name` FROM `schema`.`point`", query.getSql());
+        assertEquals("a", query.getRsMapper().apply(resultSet("a")));
+        assertEquals(asList("getString 1"), calls);
+    }
+
+    @Test
+    public void testDistinct() {
+        final AsynchronousQueryResult<Point> query = query(SELECT + " WHERE (`x` > ?)");
+        final Pipeline pipeline = instance.project(pipelineOf(
+            new MapToIntAction<>(X.getter()),
+            new IntDistinctAction()
+        ), query);
+
+        assertTrue(pipeline.isEmpty());
+        assertEquals("SELECT DISTINCT `x` FROM `schema`.`point` WHERE (`x` > ?)", query.getSql());
+    }
+
+    @Test
+    public void testDistinctString() {
+        // The collation of the column could merge values that are not equal
+        final Action<?, ?> distinct = new DistinctAction<>();
+        final AsynchronousQueryResult<Point> query = query(SELECT);
+        final Pipeline pipeline = instance.project(pipelineOf(
+            new MapAction<>(NAME.getter()),
+            distinct
+        ), query);
+
+        assertEquals("SELECT `name` FROM `schema`.`point`", query.getSql());
+        assertEquals(1, pipeline.size());
+        assertSame(distinct, pipeline.getFirst());
+    }
+
+    @Test
+    public void testDistinctSortedOrSliced() {
+        // The stream would apply distinct before sorting and slicing
+        Stream.of(" ORDER BY `y` ASC", " LIMIT 10", " OFFSET 10", " FETCH NEXT 10 ROWS ONLY")
+            .forEachOrdered(rest -> {
+                final Action<?, ?> distinct = new IntDistinctAction();
+                final AsynchronousQueryResult<Point> query = query(SELECT + rest);
+                final Pipeline pipeline = instance.project(pipelineOf(
+                    new MapToIntAction<>(X.getter()),
+                    distinct
+                ), query);
+
+                assertEquals("SELECT `x` FROM `schema`.`point`" + rest, query.getSql());
+                assertEquals(1, pipeline.size());
+                assertSame(distinct, pipeline.getFirst());
+            });
+    }
+
+    @Test
+    public void testNotProjected() {
+        // Not a field getter
+        assertNotProjected(new MapToIntAction<Point>(Point::getX), SELECT);
+        // A null value can not be mapped to an int
+        assertNotProjected(new MapToIntAction<>(Z.getter()), SELECT);
+        // The field belongs to another table
+        assertNotProjected(new MapToIntAction<>(OTHER.getter()), SELECT);
+        // The query does not select the entity columns
+        assertNotProjected(new MapToIntAction<>(X.getter()), "SELECT COUNT(*) FROM `schema`.`point`");
+    }
+
+    private void assertNotProjected(Action<?, ?> action, String sql) {
+        final AsynchronousQueryResult<Point> query = query(sql);
+        final Pipeline pipeline = instance.project(pipelineOf(action), query);
+        assertEquals(1, pipeline.size());
+        assertSame(action, pipeline.getFirst());
+        assertEquals(sql, query.getSql());
+    }
+
+    private static AsynchronousQueryResult<Point> query(String sql) {
+        return new AsynchronousQueryResultImpl<>(
+            sql,
+            Collections.emptyList(),
+            rs -> new Point(),
+            () -> { throw new UnsupportedOperationException(); },
+            ParallelStrategy.computeIntensityDefault(),
+            ps -> {},
+            rs -> {}
+        );
+    }
+
+    private static Pipeline pipelineOf(Action<?, ?>... actions) {
+        return Stream.of(actions)
+            .collect(
+                () -> new PipelineImpl<>(Stream::<Point>empty),
+                PipelineImpl::addLast,
+                (a, b) -> b.stream().forEachOrdered(a::add)
+            );
+    }
+
+    /**
+     * Returns a single row result set that returns the given value from all 
+     * getters and records the calls it gets.
+     */
+    private ResultSet resultSet(Object value) {
+        return (ResultSet) Proxy.newProxyInstance(
+            getClass().getClassLoader(),
+            new Class<?>[] {ResultSet.class},
+            (proxy, method, args) -> {
+                calls.add(method.getName() + (args == null ? "" : " " + args[0]));
+                if ("wasNull".equals(method.getName())) {
+                    return value == null;
+                } else if (value == null && method.getReturnType() == int.class) {
+                    return 0;
+                }
+                return value;
+            }
+        );
+    }
+
+    private static Project project() {
+        return new ProjectImpl(map(
+            entry(Project.NAME, "project"),
+            entry(Project.ENABLED, true),
+            entry(Project.DBMSES, map(
+                entry(Dbms.NAME, "db"),
+                entry(Dbms.ENABLED, true),
+                entry(Dbms.TYPE_NAME, "MockDb"),
+                entry(Dbms.SCHEMAS, map(
+                    entry(Schema.NAME, "schema"),
+                    entry(Schema.ENABLED, true),
+                    entry(Schema.TABLES, map(
+                        entry(Table.NAME, "point"),
+                        entry(Table.ENABLED, true),
+                        entry(Table.COLUMNS, map(
+                            entry(Column.NAME, "x"),
+                            entry(Column.ENABLED, true),
+                            entry(Column.NULLABLE, false),
+                            entry(Column.DATABASE_TYPE, Integer.class.getName())
+                        ), map(
+                            entry(Column.NAME, "y"),
+                            entry(Column.ENABLED, true),
+                            entry(Column.NULLABLE, true),
+                            entry(Column.DATABASE_TYPE, Integer.class.getName())
+                        ), map(
+                            entry(Column.NAME, "z"),
+                            entry(Column.ENABLED, true),
+                            entry(Column.NULLABLE, true),
+                            entry(Column.DATABASE_TYPE, Integer.class.getName())
+                        ), map(
+                            entry(Column.NAME, "name"),
+                            entry(Column.ENABLED, true),
+                            entry(Column.NULLABLE, true),
+                            entry(Column.DATABASE_TYPE, String.class.getName())
+                        ))
+                    ), map(
+                        entry(Table.NAME, "other"),
+                        entry(Table.ENABLED, true),
+                        entry(Table.COLUMNS, map(
+                            entry(Column.NAME, "x"),
+                            entry(Column.ENABLED, true),
+                            entry(Column.NULLABLE, false),
+                            entry(Column.DATABASE_TYPE, Integer.class.getName())
+                        ))
+                    ))
+                ))
+            ))
+        ));
+    }
+
+    private static Map.Entry<String, Object> entry(String key, String value) {
+        return new AbstractMap.SimpleEntry<>(key, value);
+    }
+
+    private static Map.Entry<String, Object> entry(String key, boolean value) {
+        return new AbstractMap.SimpleEntry<>(key, value);
+    }
+
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    private static Map.Entry<String, Object> entry(String key, Map<String, Object>... children) {
+        return new AbstractMap.SimpleEntry<>(key, Stream.of(children).collect(toList()));
+    }
+
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    private static Map<String, Object> map(Map.Entry<String, Object>... entries) {
+        return MapStream.of(Stream.of(entries)).toMap();
+    }
+
+    private static final class Point {
+
+        private int x;
+        private Integer y;
+        private String name;
+
+        int getX() {
+            return x;
+        }
+
+        Integer getY() {
+            return y;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        Point setX(int x) {
+            this.x = x;
+            return this;
+        }
+
+        Point setY(Integer y) {
+            this.y = y;
+            return this;
+        }
+
+        Point setName(String name) {
+            this.name = name;
+            return this;
+        }
+    }
+}
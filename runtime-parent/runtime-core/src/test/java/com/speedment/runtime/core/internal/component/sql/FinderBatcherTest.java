@@ -0,0 +1,205 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component.sql;
+
+import com.speedment.runtime.config.identifier.TableIdentifier;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.FilterAction;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.FlatMapAction;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.MapAction;
+import com.speedment.runtime.core.internal.stream.builder.pipeline.PipelineImpl;
+import com.speedment.runtime.field.Field;
+import com.speedment.runtime.field.method.BackwardFinder;
+import com.speedment.runtime.field.method.FindFrom;
+import com.speedment.runtime.field.trait.HasFinder;
+import com.speedment.runtime.test_support.MockEntity;
+import com.speedment.runtime.test_support.MockEntityUtil;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+import org.junit.Test;
+
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.*;
+
+public class FinderBatcherTest {
+
+    @Test
+    public void testBatchBackwardFinder() {
+        final CountingFinder finder = new CountingFinder();
+        final PipelineImpl<MockEntity> pipeline = new PipelineImpl<>(() -> MockEntityUtil.stream(5));
+        pipeline.add(new FlatMapAction<>(finder));
+
+        new FinderBatcher(2, FinderBatcherTest::copier).batch(pipeline);
+
+        assertTrue(pipeline.isEmpty());
+        assertEquals(0, finder.batches.size());
+
+        @SuppressWarnings("unchecked")
+        final List<Object> result = ((Stream<Object>) pipeline.getInitialSupplier().get()).collect(toList());
+        assertEquals(MockEntityUtil.stream(5).flatMap(finder).collect(toList()), result);
+        assertEquals(
+            listOf(listOf(0, 1), listOf(2, 3), listOf(4)),
+            finder.batches
+        );
+    }
+
+    @Test
+    public void testMemoizeFindFrom() {
+        final MemoizingFinder finder = new MemoizingFinder();
+        final PipelineImpl<MockEntity> pipeline = new PipelineImpl<>(() -> MockEntityUtil.stream(5));
+        pipeline.add(new MapAction<>(finder));
+
+        new FinderBatcher(2, FinderBatcherTest::copier).batch(pipeline);
+        assertTrue(pipeline.isEmpty());
+
+        for (int i = 0; i < 2; i++) {
+            assertEquals(listOf(0, 1, 0, 1, 0), ids(pipeline));
+        }
+        // Each stream looks up each referenced key once
+        assertEquals(listOf(0, 1, 0, 1), finder.lookups);
+    }
+
+    @Test
+    public void testFindFromReturnsCopiesForSharedKeys() {
+        final MemoizingFinder finder = new MemoizingFinder();
+        final PipelineImpl<MockEntity> pipeline = new PipelineImpl<>(() -> MockEntityUtil.stream(5));
+        pipeline.add(new MapAction<>(finder));
+
+        new FinderBatcher(3, FinderBatcherTest::copier).batch(pipeline);
+
+        @SuppressWarnings("unchecked")
+        final List<MockEntity> result = ((Stream<MockEntity>) pipeline.getInitialSupplier().get()).collect(toList());
+        // Parents 0 and 2 share a key within the first batch and parent 4
+        // gets the same key from the memo in the second batch
+        assertEquals(listOf(0, 1, 0, 1, 0), result.stream().map(MockEntity::getId).collect(toList()));
+        assertNotSame(result.get(0), result.get(2));
+        assertNotSame(result.get(0), result.get(4));
+        assertNotSame(result.get(2), result.get(4));
+
+        result.get(0).setName("Changed");
+        assertNotEquals("Changed", result.get(2).getName());
+        assertNotEquals("Changed", result.get(4).getName());
+        assertEquals(listOf(0, 1), finder.lookups);
+    }
+
+    @Test
+    public void testFindFromNotBatchedWithoutCopier() {
+        final MemoizingFinder finder = new MemoizingFinder();
+        final PipelineImpl<MockEntity> pipeline = new PipelineImpl<>(() -> MockEntityUtil.stream(5));
+        pipeline.add(new MapAction<>(finder));
+
+        new FinderBatcher(2, id -> null).batch(pipeline);
+
+        assertEquals(1, pipeline.size());
+    }
+
+    private static List<Integer> ids(PipelineImpl<MockEntity> pipeline) {
+        @SuppressWarnings("unchecked")
+        final Stream<MockEntity> result = (Stream<MockEntity>) pipeline.getInitialSupplier().get();
+        return result.map(MockEntity::getId).collect(toList());
+    }
+
+    private static UnaryOperator<Object> copier(TableIdentifier<?> tableId) {
+        return entity -> new MockEntity(((MockEntity) entity).getId()).setName(((MockEntity) entity).getName());
+    }
+
+    @Test
+    public void testNotBatched() {
+        final CountingFinder finder = new CountingFinder();
+        final PipelineImpl<MockEntity> pipeline = new PipelineImpl<>(() -> MockEntityUtil.stream(5));
+        pipeline.add(new FilterAction<MockEntity>(e -> e.getId() > 1));
+        pipeline.add(new FlatMapAction<>(finder));
+
+        new FinderBatcher(2, FinderBatcherTest::copier).batch(pipeline);
+
+        assertEquals(2, pipeline.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIllegalBatchSize() {
+        new FinderBatcher(0, FinderBatcherTest::copier);
+    }
+
+    @SafeVarargs
+    private static <T> List<T> listOf(T... elements) {
+        return Stream.of(elements).collect(toList());
+    }
+
+    private static final class MemoizingFinder implements FindFrom<MockEntity, MockEntity> {
+
+        private final List<Integer> lookups = new ArrayList<>();
+
+        @Override
+        public Field<MockEntity> getSourceField() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Field<MockEntity> getTargetField() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public TableIdentifier<MockEntity> getTableIdentifier() {
+            return MockEntity.ID.identifier().asTableIdentifier();
+        }
+
+        @Override
+        public MockEntity apply(MockEntity entity) {
+            return new MockEntity(entity.getId() % 2);
+        }
+
+        @Override
+        public List<MockEntity> applyAll(List<MockEntity> entities, Map<Object, MockEntity> resolved) {
+            return entities.stream()
+                .map(e -> resolved.computeIfAbsent(e.getId() % 2, key -> {
+                    lookups.add((Integer) key);
+                    return apply(e);
+                }))
+                .collect(toList());
+        }
+    }
+
+    private static final class CountingFinder implements BackwardFinder<MockEntity, String> {
+
+        private final List<List<Integer>> batches = new ArrayList<>();
+
+        @Override
+        public HasFinder<String, MockEntity> getField() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public TableIdentifier<String> getTableIdentifier() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Stream<String> apply(MockEntity entity) {
+            return Stream.of(entity.getId() + "a", entity.getId() + "b");
+        }
+
+        @Override
+        public Stream<String> applyAll(List<MockEntity> entities) {
+            batches.add(entities.stream().map(MockEntity::getId).collect(toList()));
+            return BackwardFinder.super.applyAll(entities);
+        }
+    }
+
+}
@@ -0,0 +1,780 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component.sql;
+
+import com.speedment.common.mapstream.MapStream;
+import com.speedment.runtime.config.Column;
+import com.speedment.runtime.config.Dbms;
+import com.speedment.runtime.config.PrimaryKeyColumn;
+import com.speedment.runtime.config.Project;
+import com.speedment.runtime.config.Schema;
+import com.speedment.runtime.config.Table;
+import com.speedment.runtime.config.identifier.ColumnIdentifier;
+import com.speedment.runtime.config.identifier.TableIdentifier;
+import com.speedment.runtime.config.internal.ProjectImpl;
+import com.speedment.runtime.core.component.DbmsHandlerComponent;
+import com.speedment.runtime.core.component.ManagerComponent;
+import com.speedment.runtime.core.component.ProjectComponent;
+import com.speedment.runtime.core.component.cache.EntityCacheComponent;
+import com.speedment.runtime.core.component.columnar.ColumnarStreamSupplierComponent;
+import com.speedment.runtime.core.component.sql.SqlParameterBinder;
+import com.speedment.runtime.core.component.transaction.DataSourceHandler;
+import com.speedment.runtime.core.component.transaction.TransactionHandler;
+import com.speedment.runtime.core.db.DbmsOperationHandler;
+import com.speedment.runtime.core.internal.component.DbmsHandlerComponentImpl;
+import com.speedment.runtime.core.internal.component.ManagerComponentImpl;
+import com.speedment.runtime.core.internal.component.ProjectComponentImpl;
+import com.speedment.runtime.core.internal.component.resultset.ResultSetMapperComponentImpl;
+import com.speedment.runtime.core.internal.component.transaction.TransactionComponentImpl;
+import com.speedment.runtime.core.internal.db.mysql.MySqlMergeUtil;
+import com.speedment.runtime.core.internal.manager.sql.SqlInsertStatement;
+import com.speedment.runtime.core.internal.manager.sql.SqlStatement;
+import com.speedment.runtime.core.manager.DirtyTracked;
+import com.speedment.runtime.core.manager.Manager;
+import com.speedment.runtime.core.manager.Persister;
+import com.speedment.runtime.core.manager.Remover;
+import com.speedment.runtime.core.manager.Updater;
+import com.speedment.runtime.field.Field;
+import com.speedment.runtime.field.IntField;
+import com.speedment.runtime.test_support.MockDbmsType;
+import com.speedment.runtime.typemapper.TypeMapper;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.*;
+
+public class SqlPersistenceImplTest {
+
+    private static final TableIdentifier<Point> TABLE =
+        TableIdentifier.of("db", "schema", "point");
+
+    private static final IntField<Point, Integer> ID = IntField.create(
+        ColumnIdentifier.of("db", "schema", "point", "id"),
+        Point::getId, Point::setId, TypeMapper.primitive(), true
+    );
+
+    private static final IntField<Point, Integer> X = IntField.create(
+        ColumnIdentifier.of("db", "schema", "point", "x"),
+        Point::getX, Point::setX, TypeMapper.primitive(), false
+    );
+
+    private static final IntField<Point, Integer> Y = IntField.create(
+        ColumnIdentifier.of("db", "schema", "point", "y"),
+        Point::getY, Point::setY, TypeMapper.primitive(), false
+    );
+
+    private static final String UPDATE = 
+        "UPDATE `schema`.`point` SET `id` = ?,`x` = ?,`y` = ? WHERE `id` = ?";
+
+    private static final String UPDATE_Y = 
+        "UPDATE `schema`.`point` SET `y` = ? WHERE `id` = ?";
+
+    private static final String UPDATE_X_Y = 
+        "UPDATE `schema`.`point` SET `x` = ?,`y` = ? WHERE `id` = ?";
+
+    private static final String MERGE = 
+        "INSERT INTO `schema`.`point` (`id`,`x`,`y`) VALUES (?,?,?) " +
+        "ON DUPLICATE KEY UPDATE `x` = VALUES(`x`),`y` = VALUES(`y`)";
+
+    private static final String INSERT_ROW = "(?,?,?)";
+    private static final String INSERT = 
+        "INSERT INTO `schema`.`point` (`id`,`x`,`y`) VALUES ";
+    private static final String INSERT_GENERATED = 
+        "INSERT INTO `schema`.`point` (`x`,`y`) VALUES (?,?),(?,?)";
+    private static final String INSERT_GENERATED_ROW = 
+        "INSERT INTO `schema`.`point` (`x`,`y`) VALUES (?,?)";
+
+    private boolean canMerge;
+    private boolean autoIncrement;
+    private boolean keysForEveryRow;
+    private int insertRowsPerStatement;
+    private int maxParameterCount;
+    private List<Long> generatedKeys;
+    private List<String> events;
+    private List<List<Object>> parameters;
+    private TransactionComponentImpl transactionComponent;
+    private ColumnarStreamSupplierComponent columnar;
+    private SqlPersistenceImpl<Point> instance;
+
+    @Before
+    public void setUp() {
+        events = new ArrayList<>();
+        parameters = new ArrayList<>();
+        insertRowsPerStatement = 1;
+        keysForEveryRow = true;
+        maxParameterCount = Short.MAX_VALUE;
+        generatedKeys = emptyList();
+        columnar = null;
+        transactionComponent = new TransactionComponentImpl();
+        transactionComponent.putDataSourceHandler(Database.class, DataSourceHandler.of(
+            db -> db,
+            (db, isolation) -> isolation,
+            db -> {},
+            db -> events.add("commit"),
+            db -> events.add("rollback"),
+            db -> {}
+        ));
+        instance = newInstance(null);
+    }
+
+    @Test
+    public void testUpdateInvalidatesCache() {
+        instance.update(new Point(1, 2, 3));
+        assertEquals(asList(UPDATE, "invalidate 1"), events);
+        assertEquals(singletonList(asList(1, 2, 3, 1)), parameters);
+    }
+
+    @Test
+    public void testUpdateInTransactionInvalidatesCacheAfterCommit() {
+        transaction().createAndApply(tx -> {
+            instance.update(new Point(1, 2, 3));
+            assertEquals(asList(UPDATE, "invalidate 1"), events);
+            tx.commit();
+            return null;
+        });
+        assertEquals(
+            asList(UPDATE, "invalidate 1", "commit", "invalidate 1", "rollback"),
+            events
+        );
+    }
+
+    @Test
+    public void testUpdateRefreshesColumnarSnapshot() {
+        columnar = columnar();
+        instance = newInstance(null);
+
+        instance.update(new Point(1, 2, 3));
+        assertEquals(asList(UPDATE, "invalidate 1", "refresh"), events);
+    }
+
+    @Test
+    public void testPersistAllRefreshesColumnarSnapshot() {
+        columnar = columnar();
+        instance = newInstance(null);
+
+        instance.persistAll(points());
+        assertEquals(asList(
+            INSERT + INSERT_ROW,
+            INSERT + INSERT_ROW,
+            INSERT + INSERT_ROW,
+            "invalidate",
+            "refresh"
+        ), events);
+    }
+
+    @Test
+    public void testUpdateInTransactionRefreshesColumnarSnapshotAfterCommit() {
+        columnar = columnar();
+        instance = newInstance(null);
+
+        transaction().createAndApply(tx -> {
+            instance.update(new Point(1, 2, 3));
+            tx.commit();
+            return null;
+        });
+        assertEquals(
+            asList(UPDATE, "invalidate 1", "refresh", "commit", "invalidate 1", "refresh", "rollback"),
+            events
+        );
+    }
+
+    @Test
+    public void testUpdateInTransactionInvalidatesCacheAfterRollback() {
+        transaction().createAndApply(tx -> {
+            instance.update(new Point(1, 2, 3));
+            return null;
+        });
+        assertEquals(
+            asList(UPDATE, "invalidate 1", "rollback", "invalidate 1"),
+            events
+        );
+    }
+
+    @Test
+    public void testPartialUpdate() {
+        final Point point = new TrackedPoint(1, 2, 3).setY(5);
+        assertEquals(1L << 2, ((DirtyTracked) point).dirtyFields());
+
+        instance.update(point);
+        assertEquals(asList(UPDATE_Y, "invalidate 1"), events);
+        assertEquals(singletonList(asList(5, 1)), parameters);
+        assertEquals(0L, ((DirtyTracked) point).dirtyFields());
+    }
+
+    @Test
+    public void testPartialUpdateWithBinders() {
+        instance = newInstance(SqlPersistenceImplTest::binder);
+        final Point point = new TrackedPoint(1, 2, 3).setY(7).setX(6);
+
+        instance.update(point);
+        assertEquals(asList(UPDATE_X_Y, "invalidate 1"), events);
+        assertEquals(singletonList(asList(6, 7, 1)), parameters);
+    }
+
+    @Test
+    public void testUpdateAllFieldsDirty() {
+        final Point point = new TrackedPoint(1, 2, 3).setId(1).setX(4).setY(5);
+
+        instance.update(point);
+        assertEquals(asList(UPDATE, "invalidate 1"), events);
+        assertEquals(singletonList(asList(1, 4, 5, 1)), parameters);
+    }
+
+    @Test
+    public void testUpdateCleanEntity() {
+        final Point point = new TrackedPoint(1, 2, 3);
+        assertSame(point, instance.update(point));
+        assertEquals(emptyList(), events);
+    }
+
+    @Test
+    public void testUpdateAllSkipsCleanEntities() {
+        instance.updateAll(Stream.of(
+            new TrackedPoint(1, 2, 3),
+            new TrackedPoint(2, 2, 3).setY(9),
+            new TrackedPoint(3, 2, 3)
+        ));
+        assertEquals(asList(UPDATE_Y, "invalidate"), events);
+        assertEquals(singletonList(asList(9, 2)), parameters);
+    }
+
+    @Test
+    public void testUpdateInTransactionKeepsFieldsCleanAfterCommit() {
+        final Point point = new TrackedPoint(1, 2, 3).setY(5);
+        transaction().createAndApply(tx -> {
+            instance.update(point);
+            tx.commit();
+            return null;
+        });
+        assertEquals(0L, ((DirtyTracked) point).dirtyFields());
+    }
+
+    @Test
+    public void testUpdateInTransactionMarksFieldsDirtyAfterRollback() {
+        final Point point = new TrackedPoint(1, 2, 3).setY(5);
+        transaction().createAndApply(tx -> {
+            instance.update(point);
+            assertEquals(0L, ((DirtyTracked) point).dirtyFields());
+            point.setX(4);
+            return null;
+        });
+        assertEquals(1L << 1 | 1L << 2, ((DirtyTracked) point).dirtyFields());
+
+        events.clear();
+        parameters.clear();
+        instance.update(point);
+        assertEquals(asList(UPDATE_X_Y, "invalidate 1"), events);
+        assertEquals(singletonList(asList(4, 5, 1)), parameters);
+    }
+
+    @Test
+    public void testMerge() {
+        canMerge = true;
+        instance = newInstance(null);
+
+        instance.merge(new Point(1, 2, 3));
+        assertEquals(asList(MERGE, "invalidate 1"), events);
+        assertEquals(singletonList(asList(1, 2, 3)), parameters);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testMergeUnsupported() {
+        instance.merge(new Point(1, 2, 3));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testMergeAllUnsupported() {
+        instance.mergeAll(Stream.of(new Point(1, 2, 3)));
+    }
+
+    @Test
+    public void testPersistAllInRows() {
+        insertRowsPerStatement = 2;
+        instance = newInstance(null);
+
+        instance.persistAll(points());
+        assertEquals(asList(
+            INSERT + INSERT_ROW + "," + INSERT_ROW,
+            INSERT + INSERT_ROW,
+            "invalidate"
+        ), events);
+        assertEquals(asList(asList(1, 2, 3, 4, 5, 6), asList(7, 8, 9)), parameters);
+    }
+
+    @Test
+    public void testPersistAllInRowsWithBinders() {
+        insertRowsPerStatement = 2;
+        instance = newInstance(SqlPersistenceImplTest::binder);
+
+        instance.persistAll(points());
+        assertEquals(asList(
+            INSERT + INSERT_ROW + "," + INSERT_ROW,
+            INSERT + INSERT_ROW,
+            "invalidate"
+        ), events);
+        assertEquals(asList(asList(1, 2, 3, 4, 5, 6), asList(7, 8, 9)), parameters);
+    }
+
+    @Test
+    public void testPersistAllInRowsLimitedByMaxParameterCount() {
+        insertRowsPerStatement = 10;
+        maxParameterCount = 8;
+        instance = newInstance(null);
+
+        instance.persistAll(points());
+        assertEquals(asList(
+            INSERT + INSERT_ROW + "," + INSERT_ROW,
+            INSERT + INSERT_ROW,
+            "invalidate"
+        ), events);
+    }
+
+    @Test
+    public void testPersistAllInRowsSetsGeneratedKeys() {
+        autoIncrement = true;
+        insertRowsPerStatement = 2;
+        generatedKeys = asList(11L, 12L);
+        instance = newInstance(null);
+
+        final Point first = new Point(0, 2, 3);
+        final Point second = new Point(0, 5, 6);
+        instance.persistAll(Stream.of(first, second));
+        assertEquals(asList(INSERT_GENERATED, "invalidate"), events);
+        assertEquals(11, first.getId());
+        assertEquals(12, second.getId());
+    }
+
+    @Test
+    public void testPersistAllInsertsRowByRowWithoutKeysForEveryRow() {
+        autoIncrement = true;
+        keysForEveryRow = false;
+        insertRowsPerStatement = 2;
+        generatedKeys = singletonList(11L);
+        instance = newInstance(null);
+
+        final Point first = new Point(0, 2, 3);
+        final Point second = new Point(0, 5, 6);
+        instance.persistAll(Stream.of(first, second));
+        assertEquals(asList(
+            INSERT_GENERATED_ROW, INSERT_GENERATED_ROW, "invalidate"
+        ), events);
+    }
+
+    @Test
+    public void testPersistAllInRowsDoesNotThrowAfterCommitOnMissingKeys() {
+        autoIncrement = true;
+        insertRowsPerStatement = 2;
+        generatedKeys = singletonList(12L); // Only the key of the last row
+        instance = newInstance(null);
+
+        final Point first = new Point(0, 2, 3);
+        final Point second = new Point(0, 5, 6);
+        instance.persistAll(Stream.of(first, second));
+        assertEquals(0, first.getId());
+        assertEquals(0, second.getId());
+    }
+
+    @Test
+    public void testPersistAllInRowsIgnoresKeysWithoutGeneratedFields() {
+        insertRowsPerStatement = 2;
+        generatedKeys = asList(1L, 2L, 3L, 4L, 5L, 6L); // Whole rows
+        instance = newInstance(null);
+
+        final Point first = new Point(1, 2, 3);
+        final Point second = new Point(4, 5, 6);
+        instance.persistAll(Stream.of(first, second));
+        assertEquals(1, first.getId());
+        assertEquals(4, second.getId());
+    }
+
+    private TransactionHandler transaction() {
+        return transactionComponent.creaateTransactionHandler(new Database());
+    }
+
+    private static Stream<Point> points() {
+        return Stream.of(new Point(1, 2, 3), new Point(4, 5, 6), new Point(7, 8, 9));
+    }
+
+    private SqlPersistenceImpl<Point> newInstance(
+            Function<ColumnIdentifier<Point>, SqlParameterBinder<Point>> binders) {
+
+        final ProjectComponent projectComponent = new ProjectComponentImpl();
+        projectComponent.setProject(project(autoIncrement));
+
+        final DbmsHandlerComponent dbmsHandlerComponent = new DbmsHandlerComponentImpl();
+        dbmsHandlerComponent.install(new MockDbmsType() {
+            @Override
+            public DbmsOperationHandler getOperationHandler() {
+                return operationHandler();
+            }
+
+            @Override
+            public int getMaxParameterCount() {
+                return maxParameterCount;
+            }
+
+            @Override
+            public boolean hasGeneratedKeysForEveryRow() {
+                return keysForEveryRow;
+            }
+
+            @Override
+            public Optional<String> renderMerge(
+                    String tableReference, 
+                    List<String> columns, 
+                    List<String> primaryKeyColumns) {
+
+                return canMerge 
+                    ? Optional.of(MySqlMergeUtil.renderMerge(tableReference, columns, primaryKeyColumns))
+                    : Optional.empty();
+            }
+        });
+
+        final ManagerComponent managerComponent = new ManagerComponentImpl();
+        managerComponent.put(new PointManager());
+
+        return new SqlPersistenceImpl<>(
+            TABLE,
+            projectComponent,
+            dbmsHandlerComponent,
+            managerComponent,
+            new ResultSetMapperComponentImpl(),
+            entityCache(),
+            columnar,
+            transactionComponent,
+            10,
+            insertRowsPerStatement,
+            binders
+        );
+    }
+
+    private static SqlParameterBinder<Point> binder(ColumnIdentifier<Point> column) {
+        switch (column.getColumnName()) {
+            case "id": return (ps, i, point) -> ps.setInt(i, point.getId());
+            case "x":  return (ps, i, point) -> ps.setInt(i, point.getX());
+            case "y":  return (ps, i, point) -> ps.setInt(i, point.getY());
+            default: throw new IllegalArgumentException(column.getColumnName());
+        }
+    }
+
+    /**
+     * Returns an operation handler that records the SQL and the parameters of
+     * every statement it is asked to execute.
+     */
+    private DbmsOperationHandler operationHandler() {
+        return (DbmsOperationHandler) Proxy.newProxyInstance(
+            getClass().getClassLoader(),
+            new Class<?>[] {DbmsOperationHandler.class},
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "execute": {
+                        for (final Object statement : (List<?>) args[1]) {
+                            events.add(((SqlStatement) statement).getSql());
+                            parameters.add(parametersOf((SqlStatement) statement));
+                            if (statement instanceof SqlInsertStatement) {
+                                final SqlInsertStatement<?> insert = (SqlInsertStatement<?>) statement;
+                                generatedKeys.forEach(insert::addGeneratedKey);
+                                insert.acceptGeneratedKeys();
+                            }
+                        }
+                        return null;
+                    }
+                    case "executeInsert":
+                    case "executeUpdate":
+                    case "executeDelete": {
+                        events.add((String) args[1]);
+                        parameters.add(new ArrayList<>((List<?>) args[2]));
+                        return null;
+                    }
+                    default: throw new UnsupportedOperationException(method.getName());
+                }
+            }
+        );
+    }
+
+    /**
+     * Returns the parameters that the statement sets, in parameter order.
+     */
+    private List<Object> parametersOf(SqlStatement statement) throws SQLException {
+        final Map<Integer, Object> values = new TreeMap<>();
+        statement.bind((PreparedStatement) Proxy.newProxyInstance(
+            getClass().getClassLoader(),
+            new Class<?>[] {PreparedStatement.class},
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "setInt":
+                    case "setObject": {
+                        values.put((Integer) args[0], args[1]);
+                        return null;
+                    }
+                    default: throw new UnsupportedOperationException(method.getName());
+                }
+            }
+        ));
+        return new ArrayList<>(values.values());
+    }
+
+    /**
+     * Returns an entity cache that records the invalidations it gets.
+     */
+    private EntityCacheComponent entityCache() {
+        return (EntityCacheComponent) Proxy.newProxyInstance(
+            getClass().getClassLoader(),
+            new Class<?>[] {EntityCacheComponent.class},
+            (proxy, method, args) -> {
+                if ("invalidate".equals(method.getName())) {
+                    events.add(args.length == 1 
+                        ? "invalidate" 
+                        : "invalidate " + ((Point) args[1]).getId()
+                    );
+                    return null;
+                }
+                throw new UnsupportedOperationException(method.getName());
+            }
+        );
+    }
+
+    /**
+     * Returns a columnar component that records the refreshes it gets.
+     */
+    private ColumnarStreamSupplierComponent columnar() {
+        return (ColumnarStreamSupplierComponent) Proxy.newProxyInstance(
+            getClass().getClassLoader(),
+            new Class<?>[] {ColumnarStreamSupplierComponent.class},
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "isColumnar": return TABLE.equals(args[0]);
+                    case "refresh": events.add("refresh"); return null;
+                    default: throw new UnsupportedOperationException(method.getName());
+                }
+            }
+        );
+    }
+
+    private static Project project(boolean autoIncrement) {
+        return new ProjectImpl(map(
+            entry(Project.NAME, "project"),
+            entry(Project.ENABLED, true),
+            entry(Project.DBMSES, map(
+                entry(Dbms.NAME, "db"),
+                entry(Dbms.ENABLED, true),
+                entry(Dbms.TYPE_NAME, "MockDb"),
+                entry(Dbms.SCHEMAS, map(
+                    entry(Schema.NAME, "schema"),
+                    entry(Schema.ENABLED, true),
+                    entry(Schema.TABLES, map(
+                        entry(Table.NAME, "point"),
+                        entry(Table.ENABLED, true),
+                        entry(Table.COLUMNS, map(
+                            entry(Column.NAME, "id"),
+                            entry(Column.ENABLED, true),
+                            entry(Column.AUTO_INCREMENT, autoIncrement),
+                            entry(Column.ORDINAL_POSITION, 1),
+                            entry(Column.DATABASE_TYPE, Integer.class.getName())
+                        ), map(
+                            entry(Column.NAME, "x"),
+                            entry(Column.ENABLED, true),
+                            entry(Column.ORDINAL_POSITION, 2),
+                            entry(Column.DATABASE_TYPE, Integer.class.getName())
+                        ), map(
+                            entry(Column.NAME, "y"),
+                            entry(Column.ENABLED, true),
+                            entry(Column.ORDINAL_POSITION, 3),
+                            entry(Column.DATABASE_TYPE, Integer.class.getName())
+                        )),
+                        entry(Table.PRIMARY_KEY_COLUMNS, map(
+                            entry(PrimaryKeyColumn.NAME, "id"),
+                            entry(PrimaryKeyColumn.ORDINAL_POSITION, 1)
+                        ))
+                    ))
+                ))
+            ))
+        ));
+    }
+
+    private static Map.Entry<String, Object> entry(String key, String value) {
+        return new AbstractMap.SimpleEntry<>(key, value);
+    }
+
+    private static Map.Entry<String, Object> entry(String key, boolean value) {
+        return new AbstractMap.SimpleEntry<>(key, value);
+    }
+
+    private static Map.Entry<String, Object> entry(String key, int value) {
+        return new AbstractMap.SimpleEntry<>(key, value);
+    }
+
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    private static Map.Entry<String, Object> entry(String key, Map<String, Object>... children) {
+        return new AbstractMap.SimpleEntry<>(key, Stream.of(children).collect(toList()));
+    }
+
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    private static Map<String, Object> map(Map.Entry<String, Object>... entries) {
+        return MapStream.of(Stream.of(entries)).toMap();
+    }
+
+    private static final class Database {}
+
+    private static class Point {
+
+        private int id;
+        private int x;
+        private int y;
+
+        private Point(int id, int x, int y) {
+            this.id = id;
+            this.x  = x;
+            this.y  = y;
+        }
+
+        int getId() {
+            return id;
+        }
+
+        int getX() {
+            return x;
+        }
+
+        int getY() {
+            return y;
+        }
+
+        Point setId(int id) {
+            this.id = id;
+            return this;
+        }
+
+        Point setX(int x) {
+            this.x = x;
+            return this;
+        }
+
+        Point setY(int y) {
+            this.y = y;
+            return this;
+        }
+    }
+
+    /**
+     * A point that keeps track of its modified fields the way generated
+     * entities do, where bit {@code n} represents the {@code n}:th field in
+     * {@link PointManager#fields()}.
+     */
+    private static final class TrackedPoint extends Point implements DirtyTracked {
+
+        private long dirtyFields;
+
+        private TrackedPoint(int id, int x, int y) {
+            super(id, x, y);
+        }
+
+        @Override
+        Point setId(int id) {
+            dirtyFields |= 1L << 0;
+            return super.setId(id);
+        }
+
+        @Override
+        Point setX(int x) {
+            dirtyFields |= 1L << 1;
+            return super.setX(x);
+        }
+
+        @Override
+        Point setY(int y) {
+            dirtyFields |= 1L << 2;
+            return super.setY(y);
+        }
+
+        @Override
+        public long dirtyFields() {
+            return dirtyFields;
+        }
+
+        @Override
+        public void clearDirtyFields() {
+            dirtyFields = 0;
+        }
+
+        @Override
+        public void markDirtyFields(long fields) {
+            dirtyFields |= fields;
+        }
+    }
+
+    private static final class PointManager implements Manager<Point> {
+
+        @Override
+        public TableIdentifier<Point> getTableIdentifier() {
+            return TABLE;
+        }
+
+        @Override
+        public Class<Point> getEntityClass() {
+            return Point.class;
+        }
+
+        @Override
+        public Stream<Field<Point>> fields() {
+            return Stream.of(ID, X, Y);
+        }
+
+        @Override
+        public Stream<Field<Point>> primaryKeyFields() {
+            return Stream.of(ID);
+        }
+
+        @Override
+        public Stream<Point> stream() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Persister<Point> persister() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Updater<Point> updater() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Remover<Point> remover() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
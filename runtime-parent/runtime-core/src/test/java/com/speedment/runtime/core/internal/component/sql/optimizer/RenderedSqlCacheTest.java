@@ -0,0 +1,108 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component.sql.optimizer;
+
+import com.speedment.runtime.core.db.DbmsType;
+import com.speedment.runtime.field.comparator.FieldComparator;
+import com.speedment.runtime.test_support.MockDbmsType;
+import com.speedment.runtime.test_support.MockEntity;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Predicate;
+
+import static org.junit.Assert.*;
+
+public class RenderedSqlCacheTest {
+
+    private static final DbmsType DBMS_TYPE = new MockDbmsType();
+    private static final String SELECT = "SELECT id, name from mock_entity";
+
+    private RenderedSqlCache instance;
+
+    @Before
+    public void setUp() {
+        instance = new RenderedSqlCache(2);
+    }
+
+    @Test
+    public void testShapeIgnoresOperands() {
+        assertEquals(shapeOf(MockEntity.ID.equal(1)), shapeOf(MockEntity.ID.equal(2)));
+        assertNotEquals(shapeOf(MockEntity.ID.equal(1)), shapeOf(MockEntity.ID.notEqual(1)));
+        assertNotEquals(shapeOf(MockEntity.ID.in(1, 2)), shapeOf(MockEntity.ID.in(1, 2, 3)));
+        assertNotEquals(
+            RenderedSqlCache.shapeOf(DBMS_TYPE, SELECT, Collections.emptyList(), comparators(MockEntity.NAME.comparator())),
+            RenderedSqlCache.shapeOf(DBMS_TYPE, SELECT, Collections.emptyList(), comparators(MockEntity.NAME.comparator().reversed()))
+        );
+    }
+
+    @Test
+    public void testValuesOf() {
+        assertEquals(Arrays.asList(1, 3), RenderedSqlCache.valuesOf(predicates(MockEntity.ID.between(1, 3))));
+        assertEquals(Collections.emptyList(), RenderedSqlCache.valuesOf(predicates(MockEntity.NAME.isNull())));
+    }
+
+    @Test
+    public void testPutAndGet() {
+        final List<Predicate<MockEntity>> predicates = predicates(MockEntity.ID.equal(1));
+        final List<Object> shape = shapeOf(MockEntity.ID.equal(1));
+        assertNull(instance.get(shape));
+        assertFalse(instance.isKnown(shape));
+
+        instance.put(shape, SELECT + " WHERE id = ?", predicates, Collections.singletonList(1));
+        assertEquals(SELECT + " WHERE id = ?", instance.get(shape));
+    }
+
+    @Test
+    public void testPutWithRewrittenValues() {
+        final List<Predicate<MockEntity>> predicates = predicates(MockEntity.ID.equal(1));
+        final List<Object> shape = shapeOf(MockEntity.ID.equal(1));
+
+        instance.put(shape, SELECT + " WHERE id = ?", predicates, Collections.singletonList("1"));
+        assertTrue(instance.isKnown(shape));
+        assertNull(instance.get(shape));
+    }
+
+    @Test
+    public void testBounded() {
+        for (int i = 0; i < 10; i++) {
+            final Integer[] operands = new Integer[i + 1];
+            for (int j = 0; j <= i; j++) {
+                operands[j] = j;
+            }
+            final Predicate<MockEntity> predicate = MockEntity.ID.in(operands);
+            instance.put(shapeOf(predicate), SELECT, predicates(predicate), RenderedSqlCache.valuesOf(predicates(predicate)));
+        }
+        assertEquals(2, instance.size());
+    }
+
+    private static List<Object> shapeOf(Predicate<MockEntity> predicate) {
+        return RenderedSqlCache.shapeOf(DBMS_TYPE, SELECT, predicates(predicate), Collections.emptyList());
+    }
+
+    private static List<Predicate<MockEntity>> predicates(Predicate<MockEntity> predicate) {
+        return Collections.singletonList(predicate);
+    }
+
+    @SafeVarargs
+    private static List<FieldComparator<MockEntity>> comparators(FieldComparator<MockEntity>... comparators) {
+        return Arrays.asList(comparators);
+    }
+}
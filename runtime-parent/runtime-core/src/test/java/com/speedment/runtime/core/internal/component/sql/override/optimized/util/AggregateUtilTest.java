@@ -0,0 +1,203 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component.sql.override.optimized.util;
+
+import com.speedment.runtime.core.component.sql.SqlStreamOptimizerInfo;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.FilterAction;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.MapToIntAction;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.PeekAction;
+import com.speedment.runtime.core.internal.stream.builder.pipeline.PipelineImpl;
+import com.speedment.runtime.core.stream.Pipeline;
+import com.speedment.runtime.core.stream.action.Action;
+import com.speedment.runtime.field.collector.FieldCollectors;
+import com.speedment.runtime.field.collector.GroupingFieldCollector;
+import com.speedment.runtime.test_support.MockDbmsType;
+import com.speedment.runtime.test_support.MockEntity;
+import com.speedment.runtime.test_support.MockEntityUtil;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class AggregateUtilTest {
+
+    private SqlStreamOptimizerInfo<MockEntity> info;
+    private String lastSql;
+    private List<Object> lastValues;
+
+    @Before
+    public void setUp() {
+        info = SqlStreamOptimizerInfo.of(
+            new MockDbmsType(),
+            "SELECT id, name FROM mock_entity",
+            "SELECT COUNT(*) FROM mock_entity",
+            (sql, l) -> 1L,
+            f -> f.identifier().getColumnName(),
+            f -> MockEntity.NAME.equals(f) ? String.class : Integer.class,
+            (sql, l) -> {
+                lastSql = sql;
+                lastValues = l;
+                return Arrays.asList(42L, 3L);
+            },
+            (sql, l) -> {
+                lastSql = sql;
+                lastValues = l;
+                return Arrays.asList(Arrays.asList(1, 2L), Arrays.asList(2, 1L));
+            }
+        );
+    }
+
+    @Test
+    public void testAggregateMappedField() {
+        final Optional<List<Object>> row = AggregateUtil.aggregate(
+            info,
+            pipelineOf(new MapToIntAction<>(MockEntity.ID.getter())),
+            c -> "SUM(" + c + "), COUNT(*)"
+        );
+        assertEquals(Optional.of(Arrays.asList(42L, 3L)), row);
+        assertEquals("SELECT SUM(id), COUNT(*) FROM mock_entity", lastSql);
+        assertEquals(Collections.emptyList(), lastValues);
+    }
+
+    @Test
+    public void testAggregateFilteredMappedField() {
+        final Optional<List<Object>> row = AggregateUtil.aggregate(
+            info,
+            pipelineOf(
+                new FilterAction<>(MockEntity.ID.greaterThan(10)),
+                new MapToIntAction<>(MockEntity.ID.getter())
+            ),
+            c -> "MAX(" + c + ")"
+        );
+        assertTrue(row.isPresent());
+        assertTrue(lastSql, lastSql.startsWith("SELECT MAX(id) FROM mock_entity WHERE "));
+        assertEquals(Collections.singletonList(10), lastValues);
+    }
+
+    @Test
+    public void testNotAggregated() {
+        assertFalse(AggregateUtil.aggregate(
+            info,
+            pipelineOf(new MapToIntAction<>(MockEntity::getId)),
+            c -> "SUM(" + c + ")"
+        ).isPresent());
+
+        assertFalse(AggregateUtil.aggregate(
+            info,
+            pipelineOf(
+                new PeekAction<>(e -> {}),
+                new MapToIntAction<>(MockEntity.ID.getter())
+            ),
+            c -> "SUM(" + c + ")"
+        ).isPresent());
+
+        assertFalse(AggregateUtil.aggregate(
+            info,
+            pipelineOf(new FilterAction<>(MockEntity.ID.greaterThan(10))),
+            c -> "SUM(" + c + ")"
+        ).isPresent());
+
+        assertNull(lastSql);
+    }
+
+    @Test
+    public void testAggregateGroupsCounting() {
+        final Optional<Map<Integer, Long>> result = AggregateUtil.aggregateGroups(
+            info,
+            pipelineOf(new FilterAction<>(MockEntity.ID.greaterThan(10))),
+            groupingCollector(FieldCollectors.groupingBy(MockEntity.ID, FieldCollectors.counting()))
+        );
+        final Map<Integer, Long> expected = new HashMap<>();
+        expected.put(1, 2L);
+        expected.put(2, 1L);
+        assertEquals(Optional.of(expected), result);
+        assertTrue(lastSql, lastSql.startsWith("SELECT id, COUNT(*) FROM mock_entity WHERE "));
+        assertTrue(lastSql, lastSql.endsWith(" GROUP BY id"));
+        assertEquals(Collections.singletonList(10), lastValues);
+    }
+
+    @Test
+    public void testAggregateGroupsSumming() {
+        final Optional<Map<Integer, Integer>> result = AggregateUtil.aggregateGroups(
+            info,
+            pipelineOf(),
+            groupingCollector(FieldCollectors.groupingBy(MockEntity.ID, FieldCollectors.summingInt(MockEntity.ID)))
+        );
+        final Map<Integer, Integer> expected = new HashMap<>();
+        expected.put(1, 2);
+        expected.put(2, 1);
+        assertEquals(Optional.of(expected), result);
+        assertEquals("SELECT id, SUM(id) FROM mock_entity GROUP BY id", lastSql);
+    }
+
+    @Test
+    public void testNotGroupedByStringKey() {
+        // The collation of the column could merge keys that are not equal
+        assertFalse(AggregateUtil.aggregateGroups(
+            info,
+            pipelineOf(),
+            groupingCollector(FieldCollectors.groupingBy(MockEntity.NAME, FieldCollectors.counting()))
+        ).isPresent());
+        assertNull(lastSql);
+    }
+
+    @Test
+    public void testNotGroupedByJavaCollector() {
+        assertFalse(FieldCollectors.groupingBy(MockEntity.NAME, Collectors.counting()) instanceof GroupingFieldCollector);
+        assertFalse(AggregateUtil.aggregateGroups(
+            info,
+            pipelineOf(new FilterAction<MockEntity>(e -> e.getId() > 10)),
+            groupingCollector(FieldCollectors.groupingBy(MockEntity.NAME, FieldCollectors.counting()))
+        ).isPresent());
+        assertNull(lastSql);
+    }
+
+    @Test
+    public void testIsOnlyFieldPredicateFilters() {
+        assertTrue(AggregateUtil.isOnlyFieldPredicateFilters(pipelineOf()));
+        assertTrue(AggregateUtil.isOnlyFieldPredicateFilters(
+            pipelineOf(new FilterAction<>(MockEntity.ID.greaterThan(10)))
+        ));
+        assertFalse(AggregateUtil.isOnlyFieldPredicateFilters(
+            pipelineOf(new FilterAction<MockEntity>(e -> e.getId() > 10))
+        ));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <R> GroupingFieldCollector<MockEntity, ?, R> groupingCollector(Collector<MockEntity, ?, R> collector) {
+        return (GroupingFieldCollector<MockEntity, ?, R>) collector;
+    }
+
+    private Pipeline pipelineOf(Action<?, ?>... actions) {
+        return Stream.of(actions)
+            .collect(
+                () -> new PipelineImpl<>(() -> MockEntityUtil.stream(2)),
+                PipelineImpl::addLast,
+                (a, b) -> b.stream().forEachOrdered(a::add)
+            );
+    }
+
+}
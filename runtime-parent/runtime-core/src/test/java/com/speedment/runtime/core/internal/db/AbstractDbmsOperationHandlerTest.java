@@ -0,0 +1,253 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.db;
+
+import com.speedment.runtime.config.Dbms;
+import com.speedment.runtime.core.component.connectionpool.ConnectionPoolComponent;
+import com.speedment.runtime.core.component.connectionpool.PoolableConnection;
+import com.speedment.runtime.core.internal.manager.sql.SqlDeleteStatement;
+import com.speedment.runtime.core.internal.manager.sql.SqlInsertStatement;
+import com.speedment.runtime.core.internal.manager.sql.SqlStatement;
+import com.speedment.runtime.core.internal.manager.sql.SqlUpdateStatement;
+import com.speedment.runtime.field.Field;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.*;
+
+public class AbstractDbmsOperationHandlerTest {
+
+    private static final String SQL = "SELECT `id` FROM `point`";
+
+    private List<String> events;
+    private AbstractDbmsOperationHandler instance;
+    private Dbms dbms;
+
+    @Before
+    public void setUp() throws Exception {
+        events = new ArrayList<>();
+        instance = new AbstractDbmsOperationHandler() {};
+        dbms = proxy(Dbms.class, (method, args) -> null);
+        set("connectionPoolComponent", proxy(ConnectionPoolComponent.class, (method, args) ->
+            "getConnection".equals(method.getName()) ? connection() : null
+        ));
+    }
+
+    @Test
+    public void testExecuteQueryLazyReadsRowsOnDemand() {
+        try (Stream<Long> ids = instance.executeQueryLazy(dbms, SQL, emptyList(), rs -> rs.getLong(1))) {
+            assertEquals(0, count("rs.next"));
+
+            final Iterator<Long> iterator = ids.iterator();
+            assertEquals(Long.valueOf(1), iterator.next());
+            assertEquals(1, count("rs.next"));
+            assertEquals(Long.valueOf(2), iterator.next());
+            assertEquals(2, count("rs.next"));
+            assertFalse(events.contains("rs.close"));
+        }
+    }
+
+    @Test
+    public void testExecuteQueryLazyClosesResourcesOnClose() {
+        final Stream<Long> ids = instance.executeQueryLazy(dbms, SQL, emptyList(), rs -> rs.getLong(1));
+        assertEquals(Long.valueOf(1), ids.iterator().next());
+        assertFalse(events.contains("conn.close"));
+
+        ids.close();
+        assertEquals(asList("rs.close", "ps.close", "conn.commit", "conn.close"), closingEvents());
+
+        ids.close();
+        assertEquals("Resources must only be released once", 1, count("conn.close"));
+    }
+
+    @Test
+    public void testExecuteQueryClosesResourcesWhenConsumed() {
+        final List<Long> ids = instance.executeQuery(dbms, SQL, emptyList(), rs -> rs.getLong(1))
+            .collect(toList());
+
+        assertEquals(asList(1L, 2L, 3L), ids);
+        assertEquals(asList("rs.close", "ps.close", "conn.commit", "conn.close"), closingEvents());
+    }
+
+    @Test
+    public void testExecuteBatchesConsecutiveIdenticalStatements() throws SQLException {
+        final String update = "UPDATE `point` SET `x` = ? WHERE `id` = ?";
+        final List<SqlStatement> statements = asList(
+            new SqlUpdateStatement(update, asList(1, 1)),
+            new SqlUpdateStatement(update, asList(2, 2)),
+            new SqlUpdateStatement(update, asList(3, 3)),
+            new SqlDeleteStatement("DELETE FROM `point` WHERE `id` = ?", singletonList(4))
+        );
+
+        instance.execute(dbms, statements);
+
+        assertEquals(asList(
+            "conn.prepareStatement", "ps.addBatch", "ps.addBatch", "ps.addBatch", "ps.executeBatch",
+            "conn.prepareStatement", "ps.executeUpdate",
+            "conn.commit"
+        ), executionEvents());
+    }
+
+    @Test
+    public void testExecuteHandsBackGeneratedKeysPerRow() throws SQLException {
+        final String insert = "INSERT INTO `point` (`x`) VALUES (?)";
+        final List<List<Long>> keys = new ArrayList<>();
+        final List<SqlInsertStatement<Object>> statements = asList(
+            new SqlInsertStatement<>(insert, singletonList(1), generatedFields(), keys::add),
+            new SqlInsertStatement<>(insert, singletonList(2), generatedFields(), keys::add)
+        );
+
+        instance.execute(dbms, statements);
+
+        assertEquals(asList(singletonList(11L), singletonList(12L)), keys);
+        assertEquals(1, count("ps.executeBatch"));
+    }
+
+    @Test
+    public void testExecuteHandsBackGeneratedKeysOfMultiRowInsert() throws SQLException {
+        final String insert = "INSERT INTO `point` (`x`) VALUES (?),(?)";
+        final List<List<Long>> keys = new ArrayList<>();
+
+        instance.execute(dbms, singletonList(
+            new SqlInsertStatement<>(insert, asList(1, 2), generatedFields(), 2, keys::add)
+        ));
+
+        assertEquals(singletonList(asList(11L, 12L)), keys);
+        assertTrue(events.contains("conn.commit"));
+    }
+
+    @Test
+    public void testExecuteRollsBackMultiRowInsertWithMissingKeys() {
+        final String insert = "INSERT INTO `point` (`x`) VALUES (?),(?),(?)";
+        final List<List<Long>> keys = new ArrayList<>();
+
+        try {
+            instance.execute(dbms, singletonList(
+                new SqlInsertStatement<>(insert, asList(1, 2, 3), generatedFields(), 3, keys::add)
+            ));
+            fail("Expected the insert to fail since only 2 of 3 keys were returned");
+        } catch (SQLException expected) {
+            // Expected
+        }
+
+        assertTrue(events.contains("conn.rollback"));
+        assertFalse("Nothing may be committed", events.contains("conn.commit"));
+        assertTrue(keys.isEmpty());
+    }
+
+    private List<String> executionEvents() {
+        return events.stream()
+            .filter(e -> !e.endsWith(".close"))
+            .collect(toList());
+    }
+
+    private List<String> closingEvents() {
+        return events.stream()
+            .filter(e -> e.endsWith(".close") || e.equals("conn.commit"))
+            .collect(toList());
+    }
+
+    private long count(String event) {
+        return events.stream().filter(event::equals).count();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Field<Object>> generatedFields() {
+        return singletonList(proxy(Field.class, (method, args) -> null));
+    }
+
+    private PoolableConnection connection() {
+        return proxy(PoolableConnection.class, (method, args) -> {
+            switch (method.getName()) {
+                case "prepareStatement": events.add("conn.prepareStatement"); return statement();
+                case "getMetaData": return proxy(DatabaseMetaData.class, (m, a) -> "supportsGetGeneratedKeys".equals(m.getName()));
+                case "commit": case "rollback": case "close": events.add("conn." + method.getName()); return null;
+                default: return null;
+            }
+        });
+    }
+
+    private PreparedStatement statement() {
+        return proxy(PreparedStatement.class, (method, args) -> {
+            switch (method.getName()) {
+                case "executeQuery": return resultSet(1, 2, 3);
+                case "getGeneratedKeys": return resultSet(11, 12);
+                case "executeBatch": events.add("ps.executeBatch"); return new int[0];
+                case "addBatch": case "executeUpdate": case "close": events.add("ps." + method.getName()); return null;
+                default: return null;
+            }
+        });
+    }
+
+    private ResultSet resultSet(long... values) {
+        final int[] row = {0};
+        return proxy(ResultSet.class, (method, args) -> {
+            switch (method.getName()) {
+                case "next": events.add("rs.next"); return ++row[0] <= values.length;
+                case "getLong": return values[row[0] - 1];
+                case "close": events.add("rs.close"); return null;
+                default: return null;
+            }
+        });
+    }
+
+    private void set(String fieldName, Object value) throws Exception {
+        final java.lang.reflect.Field field = AbstractDbmsOperationHandler.class.getDeclaredField(fieldName);
+        field.setAccessible(true);
+        field.set(instance, value);
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        Object invoke(Method method, Object[] args) throws Throwable;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, Handler handler) {
+        return (T) Proxy.newProxyInstance(
+            type.getClassLoader(),
+            new Class<?>[]{type},
+            (p, method, args) -> {
+                if ("toString".equals(method.getName())) {
+                    return type.getSimpleName();
+                }
+                final Object result = handler.invoke(method, args);
+                if (result == null && method.getReturnType() == boolean.class) {
+                    return false;
+                } else if (result == null && method.getReturnType() == int.class) {
+                    return 0;
+                }
+                return result;
+            }
+        );
+    }
+}
@@ -0,0 +1,59 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.db.mysql;
+
+import com.speedment.runtime.core.db.DbmsType;
+import org.junit.Test;
+
+import static com.speedment.runtime.core.util.TestUtil.newInstance;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class MySqlDbmsTypeTest {
+
+    private final DbmsType instance = newInstance(MySqlDbmsType.class);
+
+    @Test
+    public void testRenderMerge() {
+        assertEquals(
+            "INSERT INTO `schema`.`point` (`id`,`x`,`y`) VALUES (?,?,?) ON DUPLICATE KEY UPDATE `x` = VALUES(`x`),`y` = VALUES(`y`)",
+            instance.renderMerge(
+                "`schema`.`point`",
+                asList("`id`", "`x`", "`y`"),
+                asList("`id`")
+            ).get()
+        );
+    }
+
+    @Test
+    public void testRenderMergeOnlyPrimaryKeyColumns() {
+        assertEquals(
+            "INSERT INTO `schema`.`tag` (`a`,`b`) VALUES (?,?) ON DUPLICATE KEY UPDATE `a` = `a`",
+            instance.renderMerge(
+                "`schema`.`tag`",
+                asList("`a`", "`b`"),
+                asList("`a`", "`b`")
+            ).get()
+        );
+    }
+
+    @Test
+    public void testHasGeneratedKeysForEveryRow() {
+        assertTrue(instance.hasGeneratedKeysForEveryRow());
+    }
+}
@@ -0,0 +1,77 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.manager.sql;
+
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class SqlStatementTest {
+
+    private static final String SQL = "UPDATE `user` SET `name` = ? WHERE `id` = ?";
+
+    @Test
+    public void testBindValues() throws SQLException {
+        final List<String> calls = new ArrayList<>();
+        new SqlUpdateStatement(SQL, Arrays.asList("Olle", 42)).bind(recorder(calls));
+        assertEquals(Arrays.asList("setObject(1, Olle)", "setObject(2, 42)"), calls);
+    }
+
+    @Test
+    public void testBindBinder() throws SQLException {
+        final List<String> calls = new ArrayList<>();
+        final SqlStatement statement = new SqlUpdateStatement(SQL, ps -> {
+            ps.setString(1, "Olle");
+            ps.setInt(2, 42);
+        });
+        statement.bind(recorder(calls));
+        assertEquals(Arrays.asList("setString(1, Olle)", "setInt(2, 42)"), calls);
+        assertTrue(statement.getValues().isEmpty());
+        assertEquals(SQL, statement.toString());
+    }
+
+    @Test
+    public void testGetBoundValues() throws SQLException {
+        final SqlStatement statement = new SqlUpdateStatement(SQL, ps -> {
+            ps.setInt(2, 42);
+            ps.setNull(1, java.sql.Types.VARCHAR);
+        });
+        assertEquals(Arrays.asList(null, 42), statement.getBoundValues());
+        assertEquals(
+            Arrays.asList("Olle", 42),
+            new SqlUpdateStatement(SQL, Arrays.asList("Olle", 42)).getBoundValues()
+        );
+    }
+
+    private static PreparedStatement recorder(List<String> calls) {
+        return (PreparedStatement) Proxy.newProxyInstance(
+            PreparedStatement.class.getClassLoader(),
+            new Class<?>[] {PreparedStatement.class},
+            (proxy, method, args) -> {
+                calls.add(method.getName() + "(" + args[0] + ", " + args[1] + ")");
+                return null;
+            }
+        );
+    }
+
+}
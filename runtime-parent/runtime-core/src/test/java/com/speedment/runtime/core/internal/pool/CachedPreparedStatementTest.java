@@ -0,0 +1,158 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.pool;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.*;
+
+public class CachedPreparedStatementTest {
+
+    private static final PreparedStatementCache.Key KEY = new PreparedStatementCache.Key(
+        "SELECT a FROM t",
+        ResultSet.TYPE_FORWARD_ONLY,
+        ResultSet.CONCUR_READ_ONLY,
+        Statement.NO_GENERATED_KEYS
+    );
+
+    private PreparedStatementCache cache;
+    private Map<String, Object> state;
+    private AtomicBoolean resultSetClosed;
+    private AtomicBoolean generatedKeysClosed;
+    private PreparedStatement statement;
+
+    @Before
+    public void setUp() {
+        cache               = new PreparedStatementCache(2);
+        state               = new HashMap<>();
+        resultSetClosed     = new AtomicBoolean();
+        generatedKeysClosed = new AtomicBoolean();
+        statement           = statement();
+
+        state.put("FetchSize", 10);
+        state.put("MaxRows", 0);
+        state.put("QueryTimeout", 0);
+    }
+
+    @Test
+    public void testCloseReturnsStatementToCache() throws Exception {
+        borrow().close();
+        assertSame(statement, cache.acquire(KEY));
+    }
+
+    @Test
+    public void testCloseClosesOpenResultSets() throws Exception {
+        final PreparedStatement borrowed = borrow();
+        borrowed.executeQuery();
+        borrowed.getGeneratedKeys();
+        borrowed.close();
+
+        assertTrue(resultSetClosed.get());
+        assertTrue(generatedKeysClosed.get());
+        assertSame(statement, cache.acquire(KEY));
+    }
+
+    @Test
+    public void testCloseRestoresDefaults() throws Exception {
+        final PreparedStatement borrowed = borrow();
+        borrowed.setFetchSize(1000);
+        borrowed.setMaxRows(5);
+        borrowed.setQueryTimeout(30);
+        borrowed.setFetchSize(2000);
+        borrowed.close();
+
+        assertEquals(10, state.get("FetchSize"));
+        assertEquals(0, state.get("MaxRows"));
+        assertEquals(0, state.get("QueryTimeout"));
+    }
+
+    @Test
+    public void testCloseRestoresLargeMaxRows() throws Exception {
+        final PreparedStatement borrowed = borrow();
+        borrowed.setLargeMaxRows(5L);
+        borrowed.close();
+
+        assertEquals(0, state.get("MaxRows"));
+    }
+
+    private PreparedStatement borrow() {
+        return new CachedPreparedStatement(connection(), cache, KEY, statement);
+    }
+
+    private PreparedStatement statement() {
+        return (PreparedStatement) Proxy.newProxyInstance(
+            CachedPreparedStatementTest.class.getClassLoader(),
+            new Class<?>[] {PreparedStatement.class},
+            (proxy, method, args) -> {
+                final String name = method.getName();
+                switch (name) {
+                    case "executeQuery"     : return resultSet(resultSetClosed);
+                    case "getGeneratedKeys" : return resultSet(generatedKeysClosed);
+                    case "setLargeMaxRows"  : state.put("MaxRows", (int) (long) (Long) args[0]); return null;
+                    case "isClosed"         : return false;
+                    case "clearParameters"  :
+                    case "clearBatch"       :
+                    case "clearWarnings"    : return null;
+                    case "hashCode"         : return System.identityHashCode(proxy);
+                    case "equals"           : return proxy == args[0];
+                    default : 
+                        if (name.startsWith("get") && state.containsKey(name.substring(3))) {
+                            return state.get(name.substring(3));
+                        } else if (name.startsWith("set") && state.containsKey(name.substring(3))) {
+                            state.put(name.substring(3), args[0]);
+                            return null;
+                        }
+                        throw new UnsupportedOperationException(name);
+                }
+            }
+        );
+    }
+
+    private static ResultSet resultSet(AtomicBoolean closed) {
+        return (ResultSet) Proxy.newProxyInstance(
+            CachedPreparedStatementTest.class.getClassLoader(),
+            new Class<?>[] {ResultSet.class},
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "close"    : closed.set(true); return null;
+                    case "isClosed" : return closed.get();
+                    default : throw new UnsupportedOperationException(method.getName());
+                }
+            }
+        );
+    }
+
+    private static Connection connection() {
+        return (Connection) Proxy.newProxyInstance(
+            CachedPreparedStatementTest.class.getClassLoader(),
+            new Class<?>[] {Connection.class},
+            (proxy, method, args) -> {
+                throw new UnsupportedOperationException(method.getName());
+            }
+        );
+    }
+}
@@ -0,0 +1,237 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.pool;
+
+import com.speedment.runtime.core.component.connectionpool.ConnectionLease;
+import com.speedment.runtime.core.component.connectionpool.DiscardReason;
+import com.speedment.runtime.core.exception.SpeedmentException;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toList;
+
+import static org.junit.Assert.*;
+
+public class PartitionTest {
+
+    private static final PoolKey KEY = new PoolKey("jdbc:test", "user", "pass".toCharArray());
+
+    private AtomicInteger created;
+    private ConnectionPoolMetricsImpl metrics;
+    private Partition partition;
+    private volatile CountDownLatch validating; // Null unless validation blocks
+    private volatile CountDownLatch validated;
+    private volatile long creationMillis;
+
+    @Before
+    public void setUp() {
+        created = new AtomicInteger();
+        metrics = new ConnectionPoolMetricsImpl(Stream::empty);
+        partition = new Partition(KEY, this::newConnection, 2, 2, metrics, true);
+    }
+
+    @Test
+    public void testReuse() {
+        final PoolableConnectionImpl first = partition.lease(0);
+        partition.giveBack(first);
+        final PoolableConnectionImpl second = partition.lease(0);
+
+        assertSame(first, second);
+        assertEquals(1, created.get());
+        assertEquals(1, partition.leaseSize());
+        assertEquals(0, partition.idleSize());
+    }
+
+    @Test
+    public void testMaxTotal() {
+        partition.lease(0);
+        partition.lease(0);
+        try {
+            partition.lease(10);
+            fail("Expected a timeout");
+        } catch (final SpeedmentException ex) {
+            assertEquals(1, metrics.getTimeoutCount());
+        }
+    }
+
+    @Test
+    public void testMetrics() {
+        final PoolableConnectionImpl connection = partition.lease(0);
+        assertEquals(1, metrics.getCreationTime().getCount());
+        assertEquals(1, metrics.getWaitTime().getCount());
+        assertEquals(0, metrics.getLeaseTime().getCount());
+
+        final ConnectionLease lease = partition.leases().findFirst().get();
+        assertEquals(connection.getId(), lease.getConnectionId());
+        assertTrue(lease.getLeaseStackTrace().isPresent());
+
+        assertEquals(1, partition.newLeaks(0).count());
+        assertEquals("Leaks are only reported once", 0, partition.newLeaks(0).count());
+
+        partition.giveBack(connection);
+        assertEquals(1, metrics.getLeaseTime().getCount());
+        assertEquals(0, partition.leases().collect(toList()).size());
+
+        partition.close();
+        assertEquals(1, metrics.getDiscardCount(DiscardReason.POOL_CLOSED));
+    }
+
+    @Test
+    public void testWaitTimeExcludesCreation() {
+        creationMillis = 50;
+        partition.lease(0);
+
+        assertEquals(1, metrics.getWaitTime().getCount());
+        assertEquals(1, metrics.getCreationTime().getCount());
+        assertTrue(metrics.getCreationTime().getMin() >= TimeUnit.MILLISECONDS.toNanos(50));
+        assertTrue(metrics.getWaitTime().getMax() < TimeUnit.MILLISECONDS.toNanos(50));
+    }
+
+    @Test
+    public void testHistogram() {
+        final DurationHistogramImpl histogram = new DurationHistogramImpl();
+        assertEquals(0, histogram.getPercentile(0.5));
+
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i * 1_000);
+        }
+
+        assertEquals(100, histogram.getCount());
+        assertEquals(1_000, histogram.getMin());
+        assertEquals(100_000, histogram.getMax());
+        assertEquals(50_500, histogram.getMean(), 0.001);
+        assertTrue(histogram.getPercentile(0.5) >= 50_000);
+        assertTrue(histogram.getPercentile(0.5) < 100_000);
+        assertEquals(100_000, histogram.getPercentile(1));
+    }
+
+    @Test
+    public void testWaitForReturn() throws Exception {
+        final PoolableConnectionImpl first = partition.lease(0);
+        partition.lease(0);
+
+        final CompletableFuture<PoolableConnectionImpl> waiting =
+            CompletableFuture.supplyAsync(() -> partition.lease(10_000));
+
+        partition.giveBack(first);
+        assertSame(first, waiting.get(10, TimeUnit.SECONDS));
+        assertEquals(2, created.get());
+        assertEquals(2, partition.openSize());
+    }
+
+    @Test(timeout = 10_000)
+    public void testWaitForValidation() throws Exception {
+        partition = new Partition(KEY, this::newConnection, 1, 1, metrics, true);
+        final PoolableConnectionImpl connection = partition.lease(0);
+        partition.giveBack(connection);
+
+        // Block the only connection in validation
+        validating = new CountDownLatch(1);
+        validated  = new CountDownLatch(1);
+        final CompletableFuture<Void> maintenance =
+            CompletableFuture.runAsync(() -> partition.maintain(0, 1, 0));
+        validating.await();
+
+        try {
+            partition.lease(50);
+            fail("Expected a timeout");
+        } catch (final SpeedmentException ex) {
+            assertEquals(1, metrics.getTimeoutCount());
+        }
+
+        final CompletableFuture<PoolableConnectionImpl> waiting =
+            CompletableFuture.supplyAsync(() -> partition.lease(10_000));
+
+        validated.countDown();
+        maintenance.get();
+        assertSame(connection, waiting.get());
+        assertEquals(1, created.get());
+    }
+
+    @Test
+    public void testReturnTwice() {
+        final PoolableConnectionImpl connection = partition.lease(0);
+        partition.giveBack(connection);
+        partition.giveBack(connection);
+
+        assertEquals(1, partition.idleSize());
+        assertEquals(0, partition.leaseSize());
+        partition.lease(0);
+        partition.lease(0);
+        assertEquals(2, partition.openSize());
+    }
+
+    @Test
+    public void testFillAndClose() {
+        partition.fill(5);
+        assertEquals(2, partition.idleSize());
+        assertEquals(2, created.get());
+
+        partition.close();
+        assertEquals(0, partition.idleSize());
+        assertEquals(0, partition.openSize());
+    }
+
+    private PoolableConnectionImpl newConnection() {
+        created.incrementAndGet();
+        if (creationMillis > 0) {
+            try {
+                Thread.sleep(creationMillis);
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        final AtomicBoolean closed = new AtomicBoolean();
+        final Connection connection = (Connection) Proxy.newProxyInstance(
+            PartitionTest.class.getClassLoader(),
+            new Class<?>[] {Connection.class},
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "close"    : closed.set(true); return null;
+                    case "isClosed" : return closed.get();
+                    case "isValid"  : awaitValidation(); return !closed.get();
+                    case "hashCode" : return System.identityHashCode(proxy);
+                    case "equals"   : return proxy == args[0];
+                    case "toString" : return "TestConnection";
+                    default : throw new UnsupportedOperationException(method.getName());
+                }
+            }
+        );
+
+        return new PoolableConnectionImpl(
+            KEY.getUri(), KEY.getUser(), KEY.getPassword(),
+            connection, Long.MAX_VALUE
+        );
+    }
+
+    private void awaitValidation() throws InterruptedException {
+        final CountDownLatch entered = validating;
+        if (entered != null) {
+            entered.countDown();
+            validated.await();
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.pool;
+
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.*;
+
+public class PreparedStatementCacheTest {
+
+    private static final PreparedStatementCache.Key KEY_A = key("SELECT a FROM t");
+    private static final PreparedStatementCache.Key KEY_B = key("SELECT b FROM t");
+    private static final PreparedStatementCache.Key KEY_C = key("SELECT c FROM t");
+
+    @Test
+    public void testHitAndMiss() {
+        final PreparedStatementCache cache = new PreparedStatementCache(2);
+        assertNull(cache.acquire(KEY_A));
+
+        final PreparedStatement statement = statement(new AtomicBoolean());
+        cache.release(KEY_A, statement);
+
+        assertSame(statement, cache.acquire(KEY_A));
+        assertNull("Statement is in use", cache.acquire(KEY_A));
+        assertEquals(1, cache.getHits());
+        assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsed() {
+        final PreparedStatementCache cache = new PreparedStatementCache(2);
+        final AtomicBoolean closedA = new AtomicBoolean();
+        final AtomicBoolean closedB = new AtomicBoolean();
+        final AtomicBoolean closedC = new AtomicBoolean();
+
+        cache.release(KEY_A, statement(closedA));
+        cache.release(KEY_B, statement(closedB));
+        cache.release(KEY_A, cache.acquire(KEY_A));
+        cache.release(KEY_C, statement(closedC));
+
+        assertEquals(2, cache.size());
+        assertFalse(closedA.get());
+        assertTrue(closedB.get());
+        assertFalse(closedC.get());
+    }
+
+    @Test
+    public void testDuplicateIsClosed() {
+        final PreparedStatementCache cache = new PreparedStatementCache(2);
+        final AtomicBoolean closed0 = new AtomicBoolean();
+        final AtomicBoolean closed1 = new AtomicBoolean();
+
+        cache.release(KEY_A, statement(closed0));
+        cache.release(KEY_A, statement(closed1));
+
+        assertEquals(1, cache.size());
+        assertFalse(closed0.get());
+        assertTrue(closed1.get());
+    }
+
+    @Test
+    public void testClose() {
+        final PreparedStatementCache cache = new PreparedStatementCache(2);
+        final AtomicBoolean closed0 = new AtomicBoolean();
+        final AtomicBoolean closed1 = new AtomicBoolean();
+
+        cache.release(KEY_A, statement(closed0));
+        cache.close();
+        cache.release(KEY_B, statement(closed1));
+
+        assertEquals(0, cache.size());
+        assertTrue(closed0.get());
+        assertTrue(closed1.get());
+    }
+
+    private static PreparedStatementCache.Key key(String sql) {
+        return new PreparedStatementCache.Key(sql,
+            ResultSet.TYPE_FORWARD_ONLY,
+            ResultSet.CONCUR_READ_ONLY,
+            Statement.NO_GENERATED_KEYS
+        );
+    }
+
+    private static PreparedStatement statement(AtomicBoolean closed) {
+        return (PreparedStatement) Proxy.newProxyInstance(
+            PreparedStatementCacheTest.class.getClassLoader(),
+            new Class<?>[] {PreparedStatement.class},
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "close"    : closed.set(true); return null;
+                    case "isClosed" : return closed.get();
+                    case "hashCode" : return System.identityHashCode(proxy);
+                    case "equals"   : return proxy == args[0];
+                    default : throw new UnsupportedOperationException(method.getName());
+                }
+            }
+        );
+    }
+}
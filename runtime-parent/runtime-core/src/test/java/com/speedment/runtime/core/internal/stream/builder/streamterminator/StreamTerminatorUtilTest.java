@@ -44,6 +44,8 @@ import java.util.function.Predicate;
 
 import static com.speedment.runtime.core.internal.stream.builder.streamterminator.StreamTerminatorUtil.isContainingOnlyFieldPredicate;
 import static com.speedment.runtime.core.internal.stream.builder.streamterminator.StreamTerminatorUtil.renderSqlWhere;
+import static com.speedment.runtime.core.internal.stream.builder.streamterminator.StreamTerminatorUtil.renderableConjuncts;
+import static com.speedment.runtime.core.internal.stream.builder.streamterminator.StreamTerminatorUtil.residualPredicate;
 import static java.util.Collections.singletonList;
 import static org.junit.Assert.*;
 
@@ -107,6 +109,27 @@ public class StreamTerminatorUtilTest {
         assertFalse(isContainingOnlyFieldPredicate(COMPLEX.and(person -> true)));
     }
 
+    @Test
+    public void testRenderableConjunctsOnlyFieldPredicates() {
+        assertEquals(singletonList(COMPLEX), renderableConjuncts(COMPLEX));
+        assertNull(residualPredicate(COMPLEX));
+    }
+
+    @Test
+    public void testRenderableConjunctsPolluted() {
+        final Predicate<Person> lambda = person -> true;
+        final Predicate<Person> polluted = ID_GT_0.and(lambda).and(COMPLEX);
+        assertEquals(Arrays.asList(ID_GT_0, COMPLEX), renderableConjuncts(polluted));
+        assertSame(lambda, residualPredicate(polluted));
+    }
+
+    @Test
+    public void testRenderableConjunctsPollutedOr() {
+        final Predicate<Person> polluted = ID_GT_0.or(person -> true);
+        assertTrue(renderableConjuncts(polluted).isEmpty());
+        assertSame(polluted, residualPredicate(polluted));
+    }
+
     @Test
     public void testBasicRenderSqlWhere() {
         testRender(singletonList(ID_GT_0), rr -> {
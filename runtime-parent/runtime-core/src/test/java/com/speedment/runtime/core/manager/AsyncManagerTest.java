@@ -0,0 +1,200 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.manager;
+
+import com.speedment.runtime.config.identifier.TableIdentifier;
+import com.speedment.runtime.field.Field;
+import com.speedment.runtime.test_support.MockEntity;
+import com.speedment.runtime.test_support.MockEntityUtil;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import org.junit.After;
+import org.junit.Test;
+
+import static java.util.stream.Collectors.counting;
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.*;
+
+public class AsyncManagerTest {
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final AsyncManager<MockEntity> asyncManager = AsyncManager.of(manager(), executor);
+
+    private int closed;
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testPersist() {
+        final MockEntity entity = new MockEntity(42);
+        assertSame(entity, asyncManager.persist(entity).join());
+    }
+
+    @Test
+    public void testCollect() {
+        assertEquals(Long.valueOf(5), asyncManager.collect(counting()).join());
+        assertEquals(1, closed);
+    }
+
+    @Test
+    public void testForEachBatch() {
+        final List<List<Integer>> batches = new ArrayList<>();
+        asyncManager.forEachBatch(
+            s -> s.map(MockEntity::getId),
+            2,
+            batch -> CompletableFuture.runAsync(() -> batches.add(batch))
+        ).join();
+
+        assertEquals(3, batches.size());
+        assertEquals(MockEntityUtil.stream(5).map(MockEntity::getId).collect(toList()),
+            batches.stream().flatMap(List::stream).collect(toList())
+        );
+        assertEquals(1, closed);
+    }
+
+    @Test
+    public void testForEachBatchFailure() {
+        final CompletableFuture<Void> future = asyncManager.forEachBatch(
+            s -> s,
+            2,
+            batch -> {
+                throw new IllegalStateException();
+            }
+        );
+        try {
+            future.join();
+            fail("Expected an exception");
+        } catch (final CompletionException ce) {
+            assertTrue(future.isCompletedExceptionally());
+        }
+        assertEquals(1, closed);
+    }
+
+    @Test
+    public void testForEachBatchOnSameExecutor() throws Exception {
+        // The single executor thread must not wait for the consumer
+        final List<List<Integer>> batches = new ArrayList<>();
+        asyncManager.forEachBatch(
+            s -> s.map(MockEntity::getId),
+            2,
+            batch -> CompletableFuture.runAsync(() -> batches.add(batch), executor)
+        ).get(10, TimeUnit.SECONDS);
+
+        assertEquals(3, batches.size());
+        assertEquals(1, closed);
+    }
+
+    @Test
+    public void testRejected() {
+        final AsyncManager<MockEntity> rejecting = AsyncManager.of(manager(), command -> {
+            throw new RejectedExecutionException();
+        });
+
+        assertRejected(rejecting.persist(new MockEntity(42)));
+        assertRejected(rejecting.collect(counting()));
+        assertRejected(rejecting.forEachBatch(s -> s, 2, CompletableFuture::completedFuture));
+        assertEquals(0, closed);
+    }
+
+    @Test
+    public void testRejectedWhileForEachBatch() {
+        // Accepts the task that opens the stream and rejects everything after
+        final AtomicInteger executions = new AtomicInteger();
+        final AsyncManager<MockEntity> saturated = AsyncManager.of(manager(), command -> {
+            if (executions.getAndIncrement() > 0) {
+                throw new RejectedExecutionException();
+            }
+            command.run();
+        });
+
+        final List<List<MockEntity>> batches = new ArrayList<>();
+        final CompletableFuture<Void> future = saturated.forEachBatch(
+            s -> s,
+            2,
+            batch -> CompletableFuture.runAsync(() -> batches.add(batch))
+        );
+
+        assertRejected(future);
+        assertEquals(1, batches.size());
+        assertEquals(1, closed);
+    }
+
+    private static void assertRejected(CompletableFuture<?> future) {
+        try {
+            future.join();
+            fail("Expected an exception");
+        } catch (final CompletionException ce) {
+            assertTrue(ce.getCause() instanceof RejectedExecutionException);
+        }
+    }
+
+    private Manager<MockEntity> manager() {
+        return new Manager<MockEntity>() {
+            @Override
+            public TableIdentifier<MockEntity> getTableIdentifier() {
+                return TableIdentifier.of("db", "schema", "mock_entity");
+            }
+
+            @Override
+            public Class<MockEntity> getEntityClass() {
+                return MockEntity.class;
+            }
+
+            @Override
+            public Stream<Field<MockEntity>> fields() {
+                return Stream.of(MockEntity.ID, MockEntity.NAME);
+            }
+
+            @Override
+            public Stream<Field<MockEntity>> primaryKeyFields() {
+                return Stream.of(MockEntity.ID);
+            }
+
+            @Override
+            public Stream<MockEntity> stream() {
+                return MockEntityUtil.stream(5).onClose(() -> closed++);
+            }
+
+            @Override
+            public Persister<MockEntity> persister() {
+                return entity -> entity;
+            }
+
+            @Override
+            public Updater<MockEntity> updater() {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public Remover<MockEntity> remover() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+}
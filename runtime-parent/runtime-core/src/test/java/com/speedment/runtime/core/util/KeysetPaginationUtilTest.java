@@ -0,0 +1,122 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.util;
+
+import com.speedment.runtime.config.identifier.TableIdentifier;
+import com.speedment.runtime.core.manager.Manager;
+import com.speedment.runtime.core.manager.Persister;
+import com.speedment.runtime.core.manager.Remover;
+import com.speedment.runtime.core.manager.Updater;
+import com.speedment.runtime.field.Field;
+import com.speedment.runtime.test_support.MockEntity;
+import com.speedment.runtime.test_support.MockEntityUtil;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.Test;
+
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.*;
+
+public class KeysetPaginationUtilTest {
+
+    private final List<MockEntity> entities = MockEntityUtil.stream(25)
+        .collect(toList());
+
+    private int queries;
+
+    @Test
+    public void testPage() {
+        assertEquals(ids(0, 10), ids(KeysetPaginationUtil.page(manager(), MockEntity.ID, null, 10)));
+        assertEquals(ids(10, 20), ids(KeysetPaginationUtil.page(manager(), MockEntity.ID, 9, 10)));
+        assertEquals(ids(20, 25), ids(KeysetPaginationUtil.pageAfter(manager(), MockEntity.ID, new MockEntity(19), 10)));
+    }
+
+    @Test
+    public void testChunkedScan() {
+        assertEquals(ids(0, 25), ids(KeysetPaginationUtil.chunkedScan(manager(), MockEntity.ID, 10)));
+        assertEquals(3, queries);
+    }
+
+    @Test
+    public void testChunkedScanEvenChunks() {
+        assertEquals(ids(0, 25), ids(KeysetPaginationUtil.chunkedScan(manager(), MockEntity.ID, 5)));
+        assertEquals(6, queries); // The last query returns an empty chunk
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonPositivePageSize() {
+        KeysetPaginationUtil.page(manager(), MockEntity.ID, null, 0);
+    }
+
+    private static List<Integer> ids(int from, int to) {
+        return MockEntityUtil.stream(to).skip(from).map(MockEntity::getId).collect(toList());
+    }
+
+    private static List<Integer> ids(Stream<MockEntity> stream) {
+        return stream.map(MockEntity::getId).collect(toList());
+    }
+
+    private Manager<MockEntity> manager() {
+        return new Manager<MockEntity>() {
+            @Override
+            public TableIdentifier<MockEntity> getTableIdentifier() {
+                return TableIdentifier.of("db", "schema", "mock_entity");
+            }
+
+            @Override
+            public Class<MockEntity> getEntityClass() {
+                return MockEntity.class;
+            }
+
+            @Override
+            public Stream<Field<MockEntity>> fields() {
+                return Stream.of(MockEntity.ID, MockEntity.NAME);
+            }
+
+            @Override
+            public Stream<Field<MockEntity>> primaryKeyFields() {
+                return Stream.of(MockEntity.ID);
+            }
+
+            @Override
+            public Stream<MockEntity> stream() {
+                queries++;
+                final List<MockEntity> reversed = new ArrayList<>(entities);
+                Collections.reverse(reversed);
+                return reversed.stream(); // Not in key order
+            }
+
+            @Override
+            public Persister<MockEntity> persister() {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public Updater<MockEntity> updater() {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public Remover<MockEntity> remover() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+}
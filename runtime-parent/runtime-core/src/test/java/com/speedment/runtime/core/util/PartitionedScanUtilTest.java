@@ -0,0 +1,169 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.util;
+
+import com.speedment.runtime.config.identifier.TableIdentifier;
+import com.speedment.runtime.core.manager.Manager;
+import com.speedment.runtime.core.manager.Persister;
+import com.speedment.runtime.core.manager.Remover;
+import com.speedment.runtime.core.manager.Updater;
+import com.speedment.runtime.field.Field;
+import com.speedment.runtime.test_support.MockEntity;
+import com.speedment.runtime.test_support.MockEntityUtil;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import org.junit.Test;
+
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.*;
+
+public class PartitionedScanUtilTest {
+
+    private List<MockEntity> entities = MockEntityUtil.stream(25)
+        .collect(toList());
+
+    private final AtomicInteger queries = new AtomicInteger();
+
+    @Test
+    public void testPartitionedScan() {
+        final Stream<MockEntity> stream = PartitionedScanUtil.partitionedScan(manager(), MockEntity.ID, 4);
+        assertTrue(stream.isParallel());
+        assertEquals(ids(0, 25), sorted(stream));
+        assertEquals(2 + 4, queries.get()); // Min, max and one query per partition
+    }
+
+    @Test
+    public void testBoundaries() {
+        assertEquals(
+            ids(0, 25),
+            sorted(PartitionedScanUtil.partitionedScan(manager(), MockEntity.ID, Arrays.asList(5, 10, 20)))
+        );
+        assertEquals(4, queries.get());
+    }
+
+    @Test
+    public void testSplit() {
+        final Spliterator<MockEntity> spliterator = PartitionedScanUtil
+            .partitionedScan(manager(), MockEntity.ID, Arrays.asList(5, 10, 20))
+            .spliterator();
+
+        final Spliterator<MockEntity> prefix = spliterator.trySplit();
+        assertNotNull(prefix);
+        assertNotNull(prefix.trySplit());
+        assertNull(prefix.trySplit());
+    }
+
+    @Test
+    public void testShortCircuit() {
+        assertEquals(
+            Collections.singletonList(24),
+            PartitionedScanUtil.partitionedScan(manager(), MockEntity.ID, Arrays.asList(5, 10, 20))
+                .sequential()
+                .filter(e -> e.getId() > 23)
+                .map(MockEntity::getId)
+                .limit(1)
+                .collect(toList())
+        );
+    }
+
+    @Test
+    public void testTryAdvanceThenForEachRemaining() {
+        final int size = 2 * PartitionedScanUtil.CHUNK_SIZE + 10;
+        entities = MockEntityUtil.stream(size).collect(toList());
+        final Spliterator<MockEntity> spliterator = PartitionedScanUtil
+            .partitionedScan(manager(), MockEntity.ID, Collections.singletonList(5))
+            .spliterator();
+
+        // Stop in the middle of the first chunk of the second partition
+        final List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            assertTrue(spliterator.tryAdvance(e -> ids.add(e.getId())));
+        }
+        spliterator.forEachRemaining(e -> ids.add(e.getId()));
+
+        assertEquals(ids(0, size), ids.stream().sorted().collect(toList()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDescendingBoundaries() {
+        PartitionedScanUtil.partitionedScan(manager(), MockEntity.ID, Arrays.asList(10, 5));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonPositivePartitions() {
+        PartitionedScanUtil.partitionedScan(manager(), MockEntity.ID, 0);
+    }
+
+    private static List<Integer> ids(int from, int to) {
+        return MockEntityUtil.stream(to).skip(from).map(MockEntity::getId).collect(toList());
+    }
+
+    private static List<Integer> sorted(Stream<MockEntity> stream) {
+        return stream.map(MockEntity::getId).sorted().collect(toList());
+    }
+
+    private Manager<MockEntity> manager() {
+        return new Manager<MockEntity>() {
+            @Override
+            public TableIdentifier<MockEntity> getTableIdentifier() {
+                return TableIdentifier.of("db", "schema", "mock_entity");
+            }
+
+            @Override
+            public Class<MockEntity> getEntityClass() {
+                return MockEntity.class;
+            }
+
+            @Override
+            public Stream<Field<MockEntity>> fields() {
+                return Stream.of(MockEntity.ID, MockEntity.NAME);
+            }
+
+            @Override
+            public Stream<Field<MockEntity>> primaryKeyFields() {
+                return Stream.of(MockEntity.ID);
+            }
+
+            @Override
+            public Stream<MockEntity> stream() {
+                queries.incrementAndGet();
+                return entities.stream();
+            }
+
+            @Override
+            public Persister<MockEntity> persister() {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public Updater<MockEntity> updater() {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public Remover<MockEntity> remover() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+}
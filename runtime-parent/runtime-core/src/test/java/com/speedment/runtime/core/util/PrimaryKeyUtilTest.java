@@ -0,0 +1,197 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.util;
+
+import com.speedment.runtime.config.identifier.TableIdentifier;
+import com.speedment.runtime.core.component.StreamSupplierComponent;
+import com.speedment.runtime.core.manager.Manager;
+import com.speedment.runtime.core.manager.Persister;
+import com.speedment.runtime.core.manager.Remover;
+import com.speedment.runtime.core.manager.Updater;
+import com.speedment.runtime.core.stream.parallel.ParallelStrategy;
+import com.speedment.runtime.field.Field;
+import com.speedment.runtime.field.predicate.FieldPredicate;
+import com.speedment.runtime.test_support.MockEntity;
+import com.speedment.runtime.test_support.MockEntityUtil;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.*;
+
+public class PrimaryKeyUtilTest {
+
+    private static final TableIdentifier<MockEntity> TABLE = 
+        TableIdentifier.of("db", "schema", "mock_entity");
+
+    private final List<MockEntity> entities = MockEntityUtil.stream(10)
+        .collect(toList());
+
+    @Test
+    public void testFilterByKey() {
+        assertEquals(
+            Collections.singletonList(3),
+            ids(PrimaryKeyUtil.filterByKey(entities.stream(), keyFields(), Collections.singletonList(3)))
+        );
+        assertEquals(
+            Collections.emptyList(),
+            ids(PrimaryKeyUtil.filterByKey(entities.stream(), keyFields(), Collections.singletonList(10)))
+        );
+    }
+
+    @Test
+    public void testFilterByCompositeKey() {
+        final List<Field<MockEntity>> fields = Arrays.asList(MockEntity.ID, MockEntity.NAME);
+        assertEquals(
+            Collections.singletonList(4),
+            ids(PrimaryKeyUtil.filterByKey(entities.stream(), fields, Arrays.asList(4, "Name4")))
+        );
+        assertEquals(
+            Collections.emptyList(),
+            ids(PrimaryKeyUtil.filterByKey(entities.stream(), fields, Arrays.asList(4, "Name5")))
+        );
+    }
+
+    @Test
+    public void testFilterByKeyUsesFieldPredicates() {
+        final List<Object> predicates = new ArrayList<>();
+        PrimaryKeyUtil.filterByKey(recordingStream(predicates), keyFields(), Collections.singletonList(3));
+        assertEquals(1, predicates.size());
+        assertTrue("The key filter must be renderable as SQL", predicates.get(0) instanceof FieldPredicate);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWrongNumberOfValues() {
+        PrimaryKeyUtil.filterByKey(entities.stream(), keyFields(), Arrays.asList(1, 2));
+    }
+
+    @Test
+    public void testManagerFindByPrimaryKey() {
+        assertEquals(Optional.of(7), manager().findByPrimaryKey(7).map(MockEntity::getId));
+        assertEquals(Optional.empty(), manager().findByPrimaryKey(70));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testManagerFindByPrimaryKeyWrongNumberOfValues() {
+        manager().findByPrimaryKey(7, "Name7");
+    }
+
+    @Test
+    public void testStreamSupplierFindByPrimaryKey() {
+        final StreamSupplierComponent streamSupplier = new StreamSupplierComponent() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <ENTITY> Stream<ENTITY> stream(TableIdentifier<ENTITY> tableIdentifier, ParallelStrategy strategy) {
+                assertEquals(TABLE, tableIdentifier);
+                return (Stream<ENTITY>) entities.stream();
+            }
+        };
+
+        assertEquals(
+            Optional.of(2), 
+            streamSupplier.findByPrimaryKey(TABLE, keyFields(), Collections.singletonList(2))
+                .map(MockEntity::getId)
+        );
+        assertEquals(
+            Optional.empty(), 
+            streamSupplier.findByPrimaryKey(TABLE, keyFields(), Collections.singletonList(-1))
+        );
+    }
+
+    @Test
+    public void testNonInstantiable() {
+        TestUtil.assertNonInstansiable(PrimaryKeyUtil.class);
+    }
+
+    /**
+     * Returns a stream that adds the predicate of every filter that is 
+     * applied to it to the given list.
+     */
+    @SuppressWarnings("unchecked")
+    private static Stream<MockEntity> recordingStream(List<Object> predicates) {
+        return (Stream<MockEntity>) Proxy.newProxyInstance(
+            PrimaryKeyUtilTest.class.getClassLoader(),
+            new Class<?>[] {Stream.class},
+            (proxy, method, args) -> {
+                if ("filter".equals(method.getName())) {
+                    predicates.add(args[0]);
+                    return proxy;
+                }
+                throw new UnsupportedOperationException(method.getName());
+            }
+        );
+    }
+
+    private static List<Field<MockEntity>> keyFields() {
+        return Collections.singletonList(MockEntity.ID);
+    }
+
+    private static List<Integer> ids(Stream<MockEntity> stream) {
+        return stream.map(MockEntity::getId).collect(toList());
+    }
+
+    private Manager<MockEntity> manager() {
+        return new Manager<MockEntity>() {
+            @Override
+            public TableIdentifier<MockEntity> getTableIdentifier() {
+                return TABLE;
+            }
+
+            @Override
+            public Class<MockEntity> getEntityClass() {
+                return MockEntity.class;
+            }
+
+            @Override
+            public Stream<Field<MockEntity>> fields() {
+                return Stream.of(MockEntity.ID, MockEntity.NAME);
+            }
+
+            @Override
+            public Stream<Field<MockEntity>> primaryKeyFields() {
+                return Stream.of(MockEntity.ID);
+            }
+
+            @Override
+            public Stream<MockEntity> stream() {
+                return entities.stream();
+            }
+
+            @Override
+            public Persister<MockEntity> persister() {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public Updater<MockEntity> updater() {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public Remover<MockEntity> remover() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+}
@@ -43,4 +43,14 @@ public class TestUtil {
         }
     }
 
+    public static <T> T newInstance(Class<T> clazz) {
+        try {
+            final Constructor<T> constructor = clazz.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            return constructor.newInstance();
+        } catch (NoSuchMethodException | SecurityException | InstantiationException | IllegalAccessException | InvocationTargetException e) {
+            throw new AssertionError("The class " + clazz.getName() + " could not be instantiated", e);
+        }
+    }
+
 }
@@ -0,0 +1,68 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.field.collector;
+
+import com.speedment.runtime.field.Field;
+import java.util.Optional;
+import java.util.stream.Collector;
+
+/**
+ * A downstream collector that computes an aggregate over the entities of a
+ * group. Since the aggregate is known, it can also be computed by the
+ * database.
+ *
+ * @param <T>  the entity type to be collected
+ * @param <A>  the intermediate accumulation type
+ * @param <R>  the aggregated result
+ * 
+ * @since  3.0.20
+ */
+public interface AggregateCollector<T, A, R> extends Collector<T, A, R> {
+
+    /**
+     * The aggregate function computed by an {@code AggregateCollector}.
+     */
+    enum Type {
+        COUNT, SUM
+    }
+
+    /**
+     * Returns the aggregate function computed by this collector.
+     * 
+     * @return  the aggregate function
+     */
+    Type getType();
+
+    /**
+     * Returns the field that is aggregated, or {@code Optional.empty()} if
+     * the aggregate does not depend on any field (e.g. {@code COUNT}).
+     * 
+     * @return  the aggregated field, if any
+     */
+    Optional<Field<T>> getField();
+
+    /**
+     * Converts an aggregate value computed by the database to the result that
+     * this collector would have produced. A {@code null} value is treated as
+     * zero.
+     * 
+     * @param value  the aggregate value computed by the database
+     * @return       the result of this collector
+     */
+    R fromDatabaseValue(Number value);
+
+}
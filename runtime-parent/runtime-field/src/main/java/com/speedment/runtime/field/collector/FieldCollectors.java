@@ -27,7 +27,9 @@ import com.speedment.runtime.field.LongField;
 import com.speedment.runtime.field.ReferenceField;
 import com.speedment.runtime.field.ShortField;
 import com.speedment.runtime.field.StringField;
+import com.speedment.runtime.field.internal.collector.AggregateCollectorImpl;
 import com.speedment.runtime.field.internal.collector.FieldCollectorImpl;
+import com.speedment.runtime.field.internal.collector.GroupingFieldCollectorImpl;
 import static java.util.Collections.emptySet;
 import static java.util.Collections.unmodifiableSet;
 import java.util.EnumSet;
@@ -41,6 +43,7 @@ import java.util.function.BinaryOperator;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collector;
+import java.util.stream.Collectors;
 import static java.util.stream.Collectors.toList;
 
 /**
@@ -104,52 +107,52 @@ public final class FieldCollectors {
     
     public static <ENTITY, D, A, R> Collector<ENTITY, ?, Map<Long, R>>
     groupingBy(LongField<ENTITY, D> field, Collector<ENTITY, A, R> downstream) {
-        return groupingBy(field, field.getter()::apply, HashMap::new, downstream);
+        return groupingByField(field, field.getter()::apply, downstream);
     }
     
     public static <ENTITY, D, A, R> Collector<ENTITY, ?, Map<Integer, R>>
     groupingBy(IntField<ENTITY, D> field, Collector<ENTITY, A, R> downstream) {
-        return groupingBy(field, field.getter()::apply, HashMap::new, downstream);
+        return groupingByField(field, field.getter()::apply, downstream);
     }
     
     public static <ENTITY, D, A, R> Collector<ENTITY, ?, Map<Short, R>>
     groupingBy(ShortField<ENTITY, D> field, Collector<ENTITY, A, R> downstream) {
-        return groupingBy(field, field.getter()::apply, HashMap::new, downstream);
+        return groupingByField(field, field.getter()::apply, downstream);
     }
     
     public static <ENTITY, D, A, R> Collector<ENTITY, ?, Map<Byte, R>>
     groupingBy(ByteField<ENTITY, D> field, Collector<ENTITY, A, R> downstream) {
-        return groupingBy(field, field.getter()::apply, HashMap::new, downstream);
+        return groupingByField(field, field.getter()::apply, downstream);
     }
     
     public static <ENTITY, D, A, R> Collector<ENTITY, ?, Map<Double, R>>
     groupingBy(DoubleField<ENTITY, D> field, Collector<ENTITY, A, R> downstream) {
-        return groupingBy(field, field.getter()::apply, HashMap::new, downstream);
+        return groupingByField(field, field.getter()::apply, downstream);
     }
     
     public static <ENTITY, D, A, R> Collector<ENTITY, ?, Map<Float, R>>
     groupingBy(FloatField<ENTITY, D> field, Collector<ENTITY, A, R> downstream) {
-        return groupingBy(field, field.getter()::apply, HashMap::new, downstream);
+        return groupingByField(field, field.getter()::apply, downstream);
     }
     
     public static <ENTITY, D, A, R> Collector<ENTITY, ?, Map<Boolean, R>>
     groupingBy(BooleanField<ENTITY, D> field, Collector<ENTITY, A, R> downstream) {
-        return groupingBy(field, field.getter()::apply, HashMap::new, downstream);
+        return groupingByField(field, field.getter()::apply, downstream);
     }
     
     public static <ENTITY, D, A, R> Collector<ENTITY, ?, Map<Character, R>>
     groupingBy(CharField<ENTITY, D> field, Collector<ENTITY, A, R> downstream) {
-        return groupingBy(field, field.getter()::apply, HashMap::new, downstream);
+        return groupingByField(field, field.getter()::apply, downstream);
     }
     
     public static <ENTITY, D, A, R> Collector<ENTITY, ?, Map<String, R>>
     groupingBy(StringField<ENTITY, D> field, Collector<ENTITY, A, R> downstream) {
-        return groupingBy(field, field.getter()::apply, HashMap::new, downstream);
+        return groupingByField(field, field.getter()::apply, downstream);
     }
     
     public static <ENTITY, T, D, A, R> Collector<ENTITY, ?, Map<T, R>>
     groupingBy(ReferenceField<ENTITY, D, T> field, Collector<ENTITY, A, R> downstream) {
-        return groupingBy(field, field.getter()::apply, HashMap::new, downstream);
+        return groupingByField(field, field.getter()::apply, downstream);
     }
     
     public static <T, K, D, A, M extends Map<K, D>>
@@ -186,6 +189,99 @@ public final class FieldCollectors {
         }
     }
 
+    /**
+     * Returns a {@code Collector} that counts the number of entities. If used
+     * as the downstream collector of a {@code groupingBy} collector for a
+     * field, the groups may be counted by the database.
+     *
+     * @param <ENTITY>  the entity type
+     * @return          a collector that counts entities
+     * 
+     * @see Collectors#counting()
+     */
+    public static <ENTITY> AggregateCollector<ENTITY, ?, Long> counting() {
+        return new AggregateCollectorImpl<>(
+            Collectors.<ENTITY>counting(), AggregateCollector.Type.COUNT, null, Number::longValue
+        );
+    }
+
+    /**
+     * Returns a {@code Collector} that sums the values of the given field. If
+     * used as the downstream collector of a {@code groupingBy} collector for a
+     * field, the groups may be summed by the database.
+     *
+     * @param <ENTITY>  the entity type
+     * @param <D>       the database type
+     * @param field     the field to sum
+     * @return          a collector that sums the field values of entities
+     * 
+     * @see Collectors#summingInt(java.util.function.ToIntFunction)
+     */
+    public static <ENTITY, D> AggregateCollector<ENTITY, ?, Integer> summingInt(IntField<ENTITY, D> field) {
+        return new AggregateCollectorImpl<>(
+            Collectors.summingInt(field.getter()::applyAsInt), AggregateCollector.Type.SUM, field, n -> (int) n.longValue()
+        );
+    }
+
+    /**
+     * Returns a {@code Collector} that sums the values of the given field. If
+     * used as the downstream collector of a {@code groupingBy} collector for a
+     * field, the groups may be summed by the database.
+     *
+     * @param <ENTITY>  the entity type
+     * @param <D>       the database type
+     * @param field     the field to sum
+     * @return          a collector that sums the field values of entities
+     * 
+     * @see Collectors#summingLong(java.util.function.ToLongFunction)
+     */
+    public static <ENTITY, D> AggregateCollector<ENTITY, ?, Long> summingLong(LongField<ENTITY, D> field) {
+        return new AggregateCollectorImpl<>(
+            Collectors.summingLong(field.getter()::applyAsLong), AggregateCollector.Type.SUM, field, Number::longValue
+        );
+    }
+
+    /**
+     * Returns a {@code Collector} that sums the values of the given field. If
+     * used as the downstream collector of a {@code groupingBy} collector for a
+     * field, the groups may be summed by the database.
+     *
+     * @param <ENTITY>  the entity type
+     * @param <D>       the database type
+     * @param field     the field to sum
+     * @return          a collector that sums the field values of entities
+     * 
+     * @see Collectors#summingDouble(java.util.function.ToDoubleFunction)
+     */
+    public static <ENTITY, D> AggregateCollector<ENTITY, ?, Double> summingDouble(DoubleField<ENTITY, D> field) {
+        return new AggregateCollectorImpl<>(
+            Collectors.summingDouble(field.getter()::applyAsDouble), AggregateCollector.Type.SUM, field, Number::doubleValue
+        );
+    }
+
+    private static <T, K, A, D> Collector<T, ?, Map<K, D>> groupingByField(
+            Field<T> field,
+            Function<T, K> classifier,
+            Collector<T, A, D> downstream) {
+
+        final Supplier<Map<K, D>> mapFactory = HashMap::new;
+        final FieldCollector<T, ?, Map<K, D>> collector = groupingBy(field, classifier, mapFactory, downstream);
+        if (downstream instanceof AggregateCollector) {
+            @SuppressWarnings("unchecked")
+            final AggregateCollector<T, ?, D> aggregate = (AggregateCollector<T, ?, D>) downstream;
+            return grouping(collector, aggregate, mapFactory);
+        }
+        return collector;
+    }
+
+    private static <T, A, K, D> GroupingFieldCollector<T, A, Map<K, D>> grouping(
+            FieldCollector<T, A, Map<K, D>> collector,
+            AggregateCollector<T, ?, D> downstream,
+            Supplier<Map<K, D>> mapFactory) {
+
+        return new GroupingFieldCollectorImpl<>(collector, downstream, mapFactory);
+    }
+
     private static <K, V, M extends Map<K,V>>
     BinaryOperator<M> mapMerger(BinaryOperator<V> mergeFunction) {
         return (m1, m2) -> {
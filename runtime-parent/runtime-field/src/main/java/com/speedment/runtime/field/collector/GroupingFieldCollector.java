@@ -0,0 +1,51 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.field.collector;
+
+import java.util.Map;
+
+/**
+ * A {@link FieldCollector} that groups entities by the value of its field and
+ * aggregates each group using an {@link AggregateCollector}. Such a collection
+ * can be computed by the database using a {@code GROUP BY} clause.
+ *
+ * @param <T>  the entity type to be collected
+ * @param <A>  the intermediate accumulation type of the downstream collector
+ * @param <R>  the collected result
+ * 
+ * @since  3.0.20
+ */
+public interface GroupingFieldCollector<T, A, R> extends FieldCollector<T, A, R> {
+
+    /**
+     * Returns the collector that aggregates the entities of each group.
+     * 
+     * @return  the downstream collector
+     */
+    AggregateCollector<T, ?, ?> getDownstream();
+
+    /**
+     * Creates the result of this collector from already aggregated groups.
+     * The keys of the provided map must be the field values of the groups
+     * and the values must be the results of the downstream collector.
+     * 
+     * @param groups  the aggregated groups
+     * @return        the result of this collector
+     */
+    R fromGroups(Map<?, ?> groups);
+
+}
@@ -25,6 +25,7 @@ import com.speedment.runtime.field.internal.comparator.ReferenceFieldComparatorI
 import com.speedment.runtime.field.internal.method.BackwardFinderImpl;
 import com.speedment.runtime.field.internal.method.FindFromNullableReference;
 import com.speedment.runtime.field.internal.method.FindFromReference;
+import com.speedment.runtime.field.internal.method.GetReferenceImpl;
 import com.speedment.runtime.field.internal.predicate.reference.*;
 import com.speedment.runtime.field.method.*;
 import com.speedment.runtime.field.predicate.FieldPredicate;
@@ -71,7 +72,7 @@ implements ComparableForeignKeyField<ENTITY, D, V, FK_ENTITY> {
             boolean unique) {
         
         this.identifier = requireNonNull(identifier);
-        this.getter     = requireNonNull(getter);
+        this.getter     = new GetReferenceImpl<>(this, getter);
         this.setter     = requireNonNull(setter);
         this.referenced = requireNonNull(referenced);
         this.typeMapper = requireNonNull(typeMapper);
@@ -26,6 +26,7 @@ import com.speedment.runtime.field.internal.predicate.reference.ReferenceEqualPr
 import com.speedment.runtime.field.internal.predicate.reference.ReferenceInPredicate;
 import com.speedment.runtime.field.internal.predicate.reference.ReferenceIsNotNullPredicate;
 import com.speedment.runtime.field.internal.predicate.reference.ReferenceIsNullPredicate;
+import com.speedment.runtime.field.internal.method.GetReferenceImpl;
 import com.speedment.runtime.field.method.ReferenceGetter;
 import com.speedment.runtime.field.method.ReferenceSetter;
 import com.speedment.runtime.field.predicate.Inclusion;
@@ -65,7 +66,7 @@ implements EnumField<ENTITY, D, E> {
                          Class<E> enumClass) {
 
         this.identifier   = requireNonNull(identifier);
-        this.getter       = requireNonNull(getter);
+        this.getter       = new GetReferenceImpl<>(this, getter);
         this.setter       = requireNonNull(setter);
         this.typeMapper   = requireNonNull(typeMapper);
         this.enumToString = requireNonNull(enumToString);
@@ -25,6 +25,7 @@ import com.speedment.runtime.field.internal.comparator.ReferenceFieldComparatorI
 import com.speedment.runtime.field.internal.method.BackwardFinderImpl;
 import com.speedment.runtime.field.internal.method.FindFromNullableReference;
 import com.speedment.runtime.field.internal.method.FindFromReference;
+import com.speedment.runtime.field.internal.method.GetReferenceImpl;
 import com.speedment.runtime.field.internal.predicate.AlwaysFalsePredicate;
 import com.speedment.runtime.field.internal.predicate.reference.ReferenceEqualPredicate;
 import com.speedment.runtime.field.internal.predicate.reference.ReferenceInPredicate;
@@ -74,7 +75,7 @@ implements EnumForeignKeyField<ENTITY, D, E, FK> {
                                    Class<E> enumClass) {
 
         this.identifier   = requireNonNull(identifier);
-        this.getter       = requireNonNull(getter);
+        this.getter       = new GetReferenceImpl<>(this, getter);
         this.setter       = requireNonNull(setter);
         this.typeMapper   = requireNonNull(typeMapper);
         this.referenced   = requireNonNull(referenced);
@@ -0,0 +1,97 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.field.internal.collector;
+
+import com.speedment.runtime.field.Field;
+import com.speedment.runtime.field.collector.AggregateCollector;
+import static java.util.Objects.requireNonNull;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+
+/**
+ *
+ * @param <T>  the entity type to be collected
+ * @param <A>  the intermediate accumulation type
+ * @param <R>  the aggregated result
+ * 
+ * @since  3.0.20
+ */
+public final class AggregateCollectorImpl<T, A, R>
+implements AggregateCollector<T, A, R> {
+
+    private final Collector<T, A, R> inner;
+    private final Type type;
+    private final Field<T> field; // Nullable
+    private final Function<Number, R> converter;
+
+    public AggregateCollectorImpl(
+            Collector<T, A, R> inner,
+            Type type,
+            Field<T> field,
+            Function<Number, R> converter) {
+
+        this.inner     = requireNonNull(inner);
+        this.type      = requireNonNull(type);
+        this.field     = field;
+        this.converter = requireNonNull(converter);
+    }
+
+    @Override
+    public Type getType() {
+        return type;
+    }
+
+    @Override
+    public Optional<Field<T>> getField() {
+        return Optional.ofNullable(field);
+    }
+
+    @Override
+    public R fromDatabaseValue(Number value) {
+        return converter.apply(value == null ? 0L : value);
+    }
+
+    @Override
+    public Supplier<A> supplier() {
+        return inner.supplier();
+    }
+
+    @Override
+    public BiConsumer<A, T> accumulator() {
+        return inner.accumulator();
+    }
+
+    @Override
+    public BinaryOperator<A> combiner() {
+        return inner.combiner();
+    }
+
+    @Override
+    public Function<A, R> finisher() {
+        return inner.finisher();
+    }
+
+    @Override
+    public Set<Collector.Characteristics> characteristics() {
+        return inner.characteristics();
+    }
+}
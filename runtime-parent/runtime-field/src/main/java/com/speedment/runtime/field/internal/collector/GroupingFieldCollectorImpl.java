@@ -0,0 +1,101 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.field.internal.collector;
+
+import com.speedment.runtime.field.Field;
+import com.speedment.runtime.field.collector.AggregateCollector;
+import com.speedment.runtime.field.collector.FieldCollector;
+import com.speedment.runtime.field.collector.GroupingFieldCollector;
+import java.util.Map;
+import static java.util.Objects.requireNonNull;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+
+/**
+ *
+ * @param <T>  the entity type to be collected
+ * @param <A>  the intermediate accumulation type of the downstream collector
+ * @param <K>  the key type
+ * @param <D>  the result type of the downstream collector
+ * @param <M>  the collected result
+ * 
+ * @since  3.0.20
+ */
+public final class GroupingFieldCollectorImpl<T, A, K, D, M extends Map<K, D>>
+implements GroupingFieldCollector<T, A, M> {
+
+    private final FieldCollector<T, A, M> inner;
+    private final AggregateCollector<T, ?, D> downstream;
+    private final Supplier<M> mapFactory;
+
+    public GroupingFieldCollectorImpl(
+            FieldCollector<T, A, M> inner,
+            AggregateCollector<T, ?, D> downstream,
+            Supplier<M> mapFactory) {
+
+        this.inner      = requireNonNull(inner);
+        this.downstream = requireNonNull(downstream);
+        this.mapFactory = requireNonNull(mapFactory);
+    }
+
+    @Override
+    public AggregateCollector<T, ?, D> getDownstream() {
+        return downstream;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public M fromGroups(Map<?, ?> groups) {
+        final M result = mapFactory.get();
+        groups.forEach((k, v) -> result.put((K) k, (D) v));
+        return result;
+    }
+
+    @Override
+    public Field<T> getField() {
+        return inner.getField();
+    }
+
+    @Override
+    public Supplier<A> supplier() {
+        return inner.supplier();
+    }
+
+    @Override
+    public BiConsumer<A, T> accumulator() {
+        return inner.accumulator();
+    }
+
+    @Override
+    public BinaryOperator<A> combiner() {
+        return inner.combiner();
+    }
+
+    @Override
+    public Function<A, M> finisher() {
+        return inner.finisher();
+    }
+
+    @Override
+    public Set<Collector.Characteristics> characteristics() {
+        return inner.characteristics();
+    }
+}
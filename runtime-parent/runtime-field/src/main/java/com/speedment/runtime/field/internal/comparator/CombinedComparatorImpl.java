@@ -92,7 +92,8 @@ implements CombinedComparator<ENTITY> {
             final Function<? super ENTITY, ? extends U> keyExtractor,
             final Comparator<? super U> keyComparator) {
 
-        if (keyExtractor instanceof Getter) {
+        // A field comparator can only be used if the keys are in natural order
+        if (keyExtractor instanceof Getter && keyComparator == Comparator.naturalOrder()) {
             @SuppressWarnings("unchecked")
             final Getter<ENTITY> getter = (Getter<ENTITY>) keyExtractor;
             final Optional<Comparator<ENTITY>> result = then(getter);
@@ -22,6 +22,12 @@ import com.speedment.runtime.field.method.FindFrom;
 import com.speedment.runtime.field.trait.HasComparableOperators;
 import com.speedment.runtime.field.trait.HasFinder;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 
@@ -79,4 +85,58 @@ abstract class AbstractFindFrom<
     protected final Stream<FK_ENTITY> stream() {
         return streamSupplier.get();
     }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The referenced entities are looked up using a single {@code in}
+     * predicate. Entities that are not matched that way are mapped one by one
+     * using {@link #apply(Object)}, so that the result, including any thrown
+     * exception, is the same as if each entity had been mapped individually,
+     * except that entities with the same value share the referenced instance.
+     */
+    @Override
+    public List<FK_ENTITY> applyAll(List<ENTITY> entities) {
+        return applyAll(entities, new HashMap<>());
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Only values that are not already resolved are looked up, using a single
+     * {@code in} predicate, and the found entities are added to the map.
+     * Entities that are still not matched are mapped one by one using
+     * {@link #apply(Object)}.
+     */
+    @Override
+    public List<FK_ENTITY> applyAll(List<ENTITY> entities, Map<Object, FK_ENTITY> resolved) {
+        requireNonNull(entities);
+        requireNonNull(resolved);
+        final Set<V> values = new HashSet<>();
+        for (final ENTITY entity : entities) {
+            final V value = sourceValue(entity);
+            if (value != null && !resolved.containsKey(value)) {
+                values.add(value);
+            }
+        }
+
+        if (!values.isEmpty()) {
+            stream()
+                .filter(target.in(values))
+                .forEach(fk -> resolved.putIfAbsent(target.getter().apply(fk), fk));
+        }
+
+        final List<FK_ENTITY> result = new ArrayList<>(entities.size());
+        for (final ENTITY entity : entities) {
+            final V value = sourceValue(entity);
+            final FK_ENTITY fk = value == null ? null : resolved.get(value);
+            result.add(fk == null ? apply(entity) : fk);
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private V sourceValue(ENTITY entity) {
+        return (V) source.getter().apply(entity);
+    }
 }
\ No newline at end of file
@@ -22,6 +22,12 @@ import com.speedment.runtime.field.method.BackwardFinder;
 import com.speedment.runtime.field.trait.HasComparableOperators;
 import com.speedment.runtime.field.trait.HasFinder;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 
@@ -80,4 +86,43 @@ implements BackwardFinder<ENTITY, FK_ENTITY> {
             return streamSupplier.get().filter(getField().equal(value));
         }
     }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The foreign entities are looked up using a single {@code in} predicate
+     * and are then grouped by the entity they reference.
+     */
+    @Override
+    public Stream<FK_ENTITY> applyAll(List<ENTITY> entities) {
+        requireNonNull(entities);
+        final Set<T> values = new HashSet<>();
+        for (final ENTITY entity : entities) {
+            final T value = referencedValue(entity);
+            if (value != null) {
+                values.add(value);
+            }
+        }
+
+        final Map<Object, List<FK_ENTITY>> groups = new HashMap<>();
+        if (!values.isEmpty()) {
+            streamSupplier.get()
+                .filter(getField().in(values))
+                .forEachOrdered(fk -> groups
+                    .computeIfAbsent(getField().getter().apply(fk), k -> new ArrayList<>())
+                    .add(fk)
+                );
+        }
+
+        return entities.stream()
+            .map(this::referencedValue)
+            .map(groups::get)
+            .filter(group -> group != null)
+            .flatMap(List::stream);
+    }
+
+    @SuppressWarnings("unchecked")
+    private T referencedValue(ENTITY entity) {
+        return (T) getField().getReferencedField().getter().apply(entity);
+    }
 }
\ No newline at end of file
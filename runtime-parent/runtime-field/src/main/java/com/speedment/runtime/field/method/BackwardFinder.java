@@ -19,6 +19,7 @@ package com.speedment.runtime.field.method;
 import com.speedment.runtime.config.identifier.TableIdentifier;
 import com.speedment.runtime.field.trait.HasFinder;
 
+import java.util.List;
 import java.util.function.Function;
 import java.util.stream.Stream;
 
@@ -64,4 +65,19 @@ public interface BackwardFinder<ENTITY, FK_ENTITY>
      * @return  target (foreign) table identifier
      */
     TableIdentifier<FK_ENTITY> getTableIdentifier();
+
+    /**
+     * Returns a stream of the foreign entities of all the given entities. The
+     * result is the same as flat-mapping the given entities using this
+     * finder, but an implementation may look up the foreign entities of all
+     * the given entities at once.
+     * 
+     * @param entities  the entities to find the foreign entities of
+     * @return          the foreign entities, in the order of the given entities
+     * 
+     * @since 3.0.20
+     */
+    default Stream<FK_ENTITY> applyAll(List<ENTITY> entities) {
+        return entities.stream().flatMap(this);
+    }
 }
\ No newline at end of file
@@ -19,7 +19,10 @@ package com.speedment.runtime.field.method;
 import com.speedment.runtime.config.identifier.TableIdentifier;
 import com.speedment.runtime.field.Field;
 
+import java.util.List;
+import java.util.Map;
 import java.util.function.Function;
+import static java.util.stream.Collectors.toList;
 
 /**
  * A handle for a find-operation that can be replaced runtime to optimize a 
@@ -74,4 +77,44 @@ public interface FindFrom<ENTITY, FK_ENTITY> extends Function<ENTITY, FK_ENTITY>
      */
     TableIdentifier<FK_ENTITY> getTableIdentifier();
 
+    /**
+     * Returns the referenced entities of all the given entities. The result is
+     * the same as mapping each of the given entities using this finder, but
+     * an implementation may look up the referenced entities of all the given
+     * entities at once.
+     * <p>
+     * Entities that reference the same value may therefore be given the same
+     * instance of the referenced entity. Callers that modify the returned
+     * entities must copy them first.
+     * 
+     * @param entities  the entities to find the referenced entities of
+     * @return          the referenced entities, in the order of the given 
+     *                  entities
+     * 
+     * @since 3.0.20
+     */
+    default List<FK_ENTITY> applyAll(List<ENTITY> entities) {
+        return entities.stream().map(this).collect(toList());
+    }
+
+    /**
+     * Returns the referenced entities of all the given entities, just like
+     * {@link #applyAll(List)}, but first looks up referenced entities in the
+     * given map of already resolved entities. An implementation may add the
+     * referenced entities it looks up to the map, keyed by the referenced
+     * value, so that the map can be reused for subsequent lookups. The
+     * instances in the map are returned as they are, and may thus be shared
+     * with the results of previous lookups.
+     * 
+     * @param entities  the entities to find the referenced entities of
+     * @param resolved  already resolved referenced entities
+     * @return          the referenced entities, in the order of the given 
+     *                  entities
+     * 
+     * @since 3.0.20
+     */
+    default List<FK_ENTITY> applyAll(List<ENTITY> entities, Map<Object, FK_ENTITY> resolved) {
+        return applyAll(entities);
+    }
+
 }